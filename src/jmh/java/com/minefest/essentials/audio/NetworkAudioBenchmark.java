@@ -0,0 +1,99 @@
+package com.minefest.essentials.audio;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.world.phys.Vec3;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OperationsPerInvocation;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.Random;
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * COMPONENT SIGNPOST [Index: 50]
+ * Purpose: Benchmark listener volume calculation against festival-sized speaker networks
+ * Side: BENCHMARK only - runs the server code path without a world or players
+ *
+ * Workflow:
+ * 1. [Index: 50.1] Lay speakers out on an 8-block grid, split across networks sharing one level index
+ * 2. [Index: 50.2] Scatter listeners over the festival ground with a fixed seed
+ * 3. [Index: 50.3] Measure the per-listener volume calculation done on every sync tick
+ *
+ * Dependencies:
+ * - NetworkAudioManager [Index: 26] - calculateAudioVolumeAt, the body of calculatePlayerAudioVolume
+ * - SpeakerSpatialIndex [Index: 35] - per-level speaker cells
+ *
+ * Related Files:
+ * - build.gradle - `jmh` source set and task; results land in build/reports/jmh
+ *
+ * Score is nanoseconds per listener.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Benchmark)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class NetworkAudioBenchmark {
+    private static final int LISTENERS = 1024;
+    private static final int SPEAKER_SPACING = 8;
+    private static final int GROUND_Y = 64;
+
+    @Param({"25", "250", "2500"})
+    public int speakerCount;
+
+    // Other stages in the same level; their speakers share the index cells
+    @Param({"1", "8"})
+    public int networkCount;
+
+    private NetworkAudioManager.AudioNetwork network;
+    private Vec3[] listeners;
+
+    // [Index: 50.1] / [Index: 50.2]
+    @Setup
+    public void setUp() {
+        SpeakerSpatialIndex index = new SpeakerSpatialIndex();
+        NetworkAudioManager.AudioNetwork[] networks = new NetworkAudioManager.AudioNetwork[networkCount];
+        for (int n = 0; n < networkCount; n++) {
+            networks[n] = new NetworkAudioManager.AudioNetwork(new UUID(0xBE, n), new BlockPos(n * 16, GROUND_Y, 0));
+            networks[n].attachSpeakerIndex(index);
+        }
+        network = networks[0];
+
+        int total = speakerCount * networkCount;
+        int side = (int) Math.ceil(Math.sqrt(total));
+        for (int i = 0; i < total; i++) {
+            BlockPos pos = new BlockPos((i % side) * SPEAKER_SPACING, GROUND_Y, (i / side) * SPEAKER_SPACING);
+            networks[i % networkCount].addSpeaker(pos, 0.5 + (i % 5) * 0.1);
+        }
+
+        int extent = side * SPEAKER_SPACING;
+        Random random = new Random(42);
+        listeners = new Vec3[LISTENERS];
+        for (int i = 0; i < LISTENERS; i++) {
+            listeners[i] = new Vec3(random.nextDouble() * extent, GROUND_Y + 1 + random.nextDouble() * 3,
+                random.nextDouble() * extent);
+        }
+    }
+
+    // [Index: 50.3]
+    @Benchmark
+    @OperationsPerInvocation(LISTENERS)
+    public double calculatePlayerAudioVolume() {
+        double total = 0.0;
+        for (Vec3 listener : listeners) {
+            total += NetworkAudioManager.calculateAudioVolumeAt(network, listener);
+        }
+        return total;
+    }
+}
@@ -0,0 +1,114 @@
+package com.minefest.essentials.audio;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.TearDown;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * COMPONENT SIGNPOST [Index: 52]
+ * Purpose: Benchmark stream URL validation and the stream token lifecycle
+ * Side: BENCHMARK only - tokens are issued by player UUID, no ServerPlayer or LuckPerms
+ *
+ * Workflow:
+ * 1. [Index: 52.1] Validate a file URL, a live stream URL with a port, and a rejected URL
+ * 2. [Index: 52.2] Resolve tokens against a table holding tokenCount live tokens
+ * 3. [Index: 52.3] Issue, resolve and revoke one token per operation (a join/leave cycle)
+ *
+ * Dependencies:
+ * - StreamValidator [Index: 27] - validateStreamUrl, token generation and resolution
+ *
+ * Related Files:
+ * - DJStandAudioBridge.java [Index: 25] - validates and issues tokens when a DJ starts a stream
+ * - build.gradle - `jmh` source set and task; results land in build/reports/jmh
+ *
+ * Benchmarks share StreamValidator's static token table; every token they issue is revoked again.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class StreamValidatorBenchmark {
+    private static final String STAGE_ID = "main";
+    private static final String STREAM_URL = "https://stream.minefest.example/live/main.mp3";
+    private static final long TABLE_UUID_MSB = 0x7AB1EL;
+    private static final long CYCLE_UUID_MSB = 0xC1C1EL;
+
+    private long cycle;
+
+    /**
+     * [Index: 52.1] A file URL, a live stream URL with a port, and one the validator rejects
+     */
+    @State(Scope.Thread)
+    public static class UrlInput {
+        @Param({"https://stream.minefest.example/live/main.mp3", "http://radio.minefest.example:8000/stream", "ftp://bad host/stream"})
+        public String url;
+    }
+
+    /**
+     * [Index: 52.2] Token table populated as a busy festival would
+     */
+    @State(Scope.Thread)
+    public static class TokenTable {
+        @Param({"1000", "10000"})
+        public int tokenCount;
+
+        private String[] tokens;
+        private int next;
+
+        @Setup
+        public void setUp() {
+            tokens = new String[tokenCount];
+            for (int i = 0; i < tokenCount; i++) {
+                tokens[i] = StreamValidator.generateStreamToken(new UUID(TABLE_UUID_MSB, i), "bench-" + i, STAGE_ID,
+                    STREAM_URL, StreamValidator.TicketTier.VIP);
+                if (tokens[i] == null) {
+                    throw new IllegalStateException("Token generation refused while populating the table");
+                }
+            }
+        }
+
+        @TearDown
+        public void tearDown() {
+            for (int i = 0; i < tokenCount; i++) {
+                StreamValidator.revokePlayerTokens(new UUID(TABLE_UUID_MSB, i));
+            }
+        }
+    }
+
+    @Benchmark
+    public String validateStreamUrl(UrlInput input) {
+        return StreamValidator.validateStreamUrl(input.url);
+    }
+
+    @Benchmark
+    public StreamValidator.StreamConfig resolveStreamToken(TokenTable table) {
+        int i = table.next;
+        table.next = i + 1 == table.tokens.length ? 0 : i + 1;
+        return StreamValidator.resolveStreamToken(table.tokens[i], new UUID(TABLE_UUID_MSB, i));
+    }
+
+    // [Index: 52.3] A fresh player per operation keeps the per-player rate limit out of the way
+    @Benchmark
+    public StreamValidator.StreamConfig generateResolveRevoke() {
+        UUID player = new UUID(CYCLE_UUID_MSB, cycle++);
+        String token = StreamValidator.generateStreamToken(player, "bench-cycle", STAGE_ID, STREAM_URL,
+            StreamValidator.TicketTier.GENERAL_ADMISSION);
+        StreamValidator.StreamConfig config = StreamValidator.resolveStreamToken(token, player);
+        StreamValidator.revokePlayerTokens(player);
+        return config;
+    }
+}
@@ -0,0 +1,95 @@
+package com.minefest.essentials.blocks.entity;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.nbt.CompoundTag;
+import net.minecraft.nbt.ListTag;
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.UUID;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * COMPONENT SIGNPOST [Index: 53]
+ * Purpose: Benchmark DJ Stand NBT save and load with large linked speaker lists
+ * Side: BENCHMARK only - the entity has no level, type or block state
+ *
+ * Workflow:
+ * 1. [Index: 53.1] Build a saved DJ Stand tag with speakerCount linked speakers across dimensions
+ * 2. [Index: 53.2] Measure load - the chunk load path that rebuilds the speaker list and dimension map
+ * 3. [Index: 53.3] Measure save - the chunk save path that writes them back out
+ *
+ * Dependencies:
+ * - DJStandBlockEntity [Index: 18] - saveAdditional / load
+ *
+ * Related Files:
+ * - SpeakerBlockEntity.java [Index: 19] - the speakers these entries point at
+ * - build.gradle - `jmh` source set and task; results land in build/reports/jmh
+ *
+ * The saved maxSpeakers is raised to speakerCount so lists beyond the default cap of 25 load whole.
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.MICROSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class DJStandNbtBenchmark {
+    private static final String[] DIMENSIONS = {"minecraft:overworld", "minecraft:the_nether", "minefest:festival"};
+
+    @Param({"25", "500", "5000"})
+    public int speakerCount;
+
+    private CompoundTag saved;
+    private DJStandBlockEntity entity;
+
+    // [Index: 53.1]
+    @Setup
+    public void setUp() {
+        saved = new CompoundTag();
+        saved.putString("streamUrl", "https://stream.minefest.example/live/main.mp3");
+        saved.putBoolean("isStreaming", true);
+        saved.putUUID("networkId", new UUID(0xD1, 0x57A7D));
+        saved.putInt("volume", 80);
+        saved.putString("displayName", "Main Stage");
+        saved.putBoolean("autoStart", true);
+        saved.putLong("lastStreamTime", 1_700_000_000_000L);
+        saved.putInt("streamQuality", 2);
+        saved.putInt("maxSpeakers", speakerCount);
+        saved.putString("stageId", "main");
+
+        ListTag speakerList = new ListTag();
+        for (int i = 0; i < speakerCount; i++) {
+            CompoundTag speakerTag = new CompoundTag();
+            speakerTag.putLong("pos", new BlockPos((i % 64) * 8, 64 + i / 4096, (i / 64 % 64) * 8).asLong());
+            speakerTag.putString("dimension", DIMENSIONS[i % DIMENSIONS.length]);
+            speakerList.add(speakerTag);
+        }
+        saved.put("linkedSpeakers", speakerList);
+
+        entity = new DJStandBlockEntity(null, BlockPos.ZERO, null);
+        entity.load(saved);
+    }
+
+    // [Index: 53.2]
+    @Benchmark
+    public int load() {
+        entity.load(saved);
+        return entity.getSpeakerCount();
+    }
+
+    // [Index: 53.3]
+    @Benchmark
+    public CompoundTag save() {
+        return entity.saveWithoutMetadata();
+    }
+}
@@ -0,0 +1,145 @@
+package com.minefest.essentials.network;
+
+import org.openjdk.jmh.annotations.Benchmark;
+import org.openjdk.jmh.annotations.BenchmarkMode;
+import org.openjdk.jmh.annotations.Fork;
+import org.openjdk.jmh.annotations.Measurement;
+import org.openjdk.jmh.annotations.Mode;
+import org.openjdk.jmh.annotations.OutputTimeUnit;
+import org.openjdk.jmh.annotations.Param;
+import org.openjdk.jmh.annotations.Scope;
+import org.openjdk.jmh.annotations.Setup;
+import org.openjdk.jmh.annotations.State;
+import org.openjdk.jmh.annotations.Warmup;
+
+import java.util.concurrent.TimeUnit;
+
+/**
+ * COMPONENT SIGNPOST [Index: 51]
+ * Purpose: Benchmark TimeSync message encoding, decoding and dispatch
+ * Side: BENCHMARK only - no MasterClock; dispatch ends in a counting handler
+ *
+ * Workflow:
+ * 1. [Index: 51.1] Encode each message type the way the time authority and followers do
+ * 2. [Index: 51.2] Decode master time updates as clients do
+ * 3. [Index: 51.3] Validate, decode and dispatch each message type through handleMessage
+ *
+ * Dependencies:
+ * - TimeSync [Index: 03] - message codec and handleMessage dispatch
+ *
+ * Related Files:
+ * - MinefestBungee.java [Index: 04] - forwards these messages between servers
+ * - build.gradle - `jmh` source set and task; results land in build/reports/jmh
+ */
+@BenchmarkMode(Mode.AverageTime)
+@OutputTimeUnit(TimeUnit.NANOSECONDS)
+@State(Scope.Thread)
+@Warmup(iterations = 3, time = 2)
+@Measurement(iterations = 5, time = 2)
+@Fork(1)
+public class TimeSyncBenchmark {
+    private static final String SERVER_ID = "festival-main-01";
+    private static final String SOURCE_SERVER = "lobby";
+
+    private long time = 1_700_000_000_000L;
+    private byte[] masterTimeUpdate;
+
+    @Setup
+    public void setUp() {
+        masterTimeUpdate = TimeSync.createMasterTimeUpdate(time);
+    }
+
+    // [Index: 51.1] Encode
+
+    @Benchmark
+    public byte[] encodeMasterTimeUpdate() {
+        return TimeSync.createMasterTimeUpdate(++time);
+    }
+
+    @Benchmark
+    public byte[] encodeTimeRequest() {
+        return TimeSync.createTimeRequest(SERVER_ID);
+    }
+
+    @Benchmark
+    public byte[] encodeTimeResponse() {
+        return TimeSync.createTimeResponse(SERVER_ID, ++time, time + 6_000, time + 6_050);
+    }
+
+    @Benchmark
+    public byte[] encodeDriftReport() {
+        return TimeSync.createDriftReport(SERVER_ID, ++time, time + 40, 40);
+    }
+
+    // [Index: 51.2] Decode
+
+    @Benchmark
+    public long decodeMasterTimeUpdate() {
+        return TimeSync.readMasterTimeUpdate(masterTimeUpdate);
+    }
+
+    /**
+     * [Index: 51.3] One pre-encoded message per type
+     */
+    @State(Scope.Thread)
+    public static class Inbound {
+        @Param({"MASTER_TIME_UPDATE", "TIME_REQUEST", "TIME_RESPONSE", "DRIFT_REPORT"})
+        public TimeSync.MessageType type;
+
+        private byte[] message;
+        private final CountingHandler handler = new CountingHandler();
+
+        @Setup
+        public void setUp() {
+            long now = 1_700_000_000_000L;
+            switch (type) {
+                case MASTER_TIME_UPDATE:
+                    message = TimeSync.createMasterTimeUpdate(now);
+                    break;
+                case TIME_REQUEST:
+                    message = TimeSync.createTimeRequest(SERVER_ID);
+                    break;
+                case TIME_RESPONSE:
+                    message = TimeSync.createTimeResponse(SERVER_ID, now, now + 6_000, now + 6_050);
+                    break;
+                case DRIFT_REPORT:
+                    message = TimeSync.createDriftReport(SERVER_ID, now, now + 40, 40);
+                    break;
+            }
+        }
+    }
+
+    @Benchmark
+    public long handleMessage(Inbound inbound) {
+        TimeSync.handleMessage(inbound.message, SOURCE_SERVER, inbound.handler);
+        return inbound.handler.sum;
+    }
+
+    /**
+     * Folds every decoded field into a sum so dispatch cannot be optimised away
+     */
+    private static final class CountingHandler implements TimeSync.MessageHandler {
+        private long sum;
+
+        @Override
+        public void onMasterTimeUpdate(String sourceServer, int msgId, long masterTime) {
+            sum += masterTime;
+        }
+
+        @Override
+        public void onTimeRequest(String sourceServer, int msgId, String requestingServer, long originTime, long receiveTime) {
+            sum += requestingServer.length() + originTime + receiveTime;
+        }
+
+        @Override
+        public void onTimeResponse(String sourceServer, int msgId, String serverId, long originTime, long receiveTime,
+                                   long transmitTime, long destinationTime) {
+            sum += serverId.length() + originTime + receiveTime + transmitTime + destinationTime;
+        }
+
+        @Override
+        public void onDriftReport(String sourceServer, int msgId, String serverId, long localTime, long estimatedMasterTime, long drift) {
+            sum += serverId.length() + localTime + estimatedMasterTime + drift;
+        }
+    }
+}
@@ -0,0 +1,274 @@
+package com.minefest.essentials.test;
+
+import com.minefest.essentials.MinefestCore;
+import com.minefest.essentials.audio.AudioManager;
+import com.minefest.essentials.audio.LatencyHistogram;
+import com.minefest.essentials.audio.StreamAdmissionController;
+import com.minefest.essentials.audio.StreamMetrics;
+
+import java.io.IOException;
+import java.lang.management.ManagementFactory;
+import java.lang.management.MemoryMXBean;
+import java.lang.management.ThreadMXBean;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.TreeMap;
+import java.util.UUID;
+import java.util.concurrent.CompletionException;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.locks.LockSupport;
+
+/**
+ * COMPONENT SIGNPOST [Index: 49]
+ * Purpose: Load harness that opens N streaming sessions through AudioManager and records the cost
+ * Side: TEST FIXTURE - run standalone against LocalStreamServer, never started by the mod
+ *
+ * Workflow:
+ * 1. [Index: 49.1] Ramp sessions up through AudioManager.createStreamingSession across a set of upstream URLs
+ * 2. [Index: 49.2] Sample threads, heap, connections, pending setups, frame throughput and reconnects on a fixed interval
+ * 3. [Index: 49.3] Record time-to-ready per session and failures by admission rejection reason
+ * 4. [Index: 49.4] Hold, tear every session down, and summarise the run as a report (plus CSV samples)
+ *
+ * Dependencies:
+ * - AudioManager [Index: 05] - the system under test
+ * - StreamAdmissionController [Index: 43] - rejection reasons and queue depth
+ * - StreamMetrics [Index: 47] - reconnects and underruns across all streams
+ * - LatencyHistogram [Index: 48] - time-to-ready distribution
+ *
+ * Related Files:
+ * - LocalStreamServer.java [Index: 30] - local upstream with configurable bitrate, framing and faults
+ *
+ * Usage: AudioLoadHarness <mediaDir> <sessions> <upstreams> <rampMs> <holdMs>
+ *        [PLAIN|ICY|CHUNKED] [latencyMs] [disconnectAfterMs] [bitrateKbps] [samples.csv]
+ *        -Dminefest.load.maxConnections / -Dminefest.load.loaderThreads override AudioManager's limits
+ */
+public class AudioLoadHarness {
+
+    /**
+     * @param sessions          sessions to open
+     * @param upstreams         distinct upstream URLs they are spread over; sessions on one URL share a source
+     * @param rampMs            time over which session starts are spread evenly
+     * @param holdMs            time to keep every session open after the ramp
+     * @param sampleIntervalMs  sampling period
+     */
+    public record LoadPlan(int sessions, int upstreams, long rampMs, long holdMs, long sampleIntervalMs) {
+    }
+
+    /**
+     * [Index: 49.2] One sampling point
+     */
+    public record Sample(long elapsedMs, int threads, long heapUsedBytes, int activeConnections, int pendingSetups,
+                         int sessionsReady, double framesPerSecond, long reconnects, long underruns) {
+    }
+
+    /**
+     * [Index: 49.4] Outcome of one run
+     */
+    public record Report(LoadPlan plan, int ready, Map<String, Integer> failures, LatencyHistogram.Snapshot timeToReady,
+                         int baselineThreads, int peakThreads, long baselineHeapBytes, long peakHeapBytes,
+                         double holdFramesPerSecond, StreamMetrics.Snapshot streams, List<Sample> samples) {
+
+        @Override
+        public String toString() {
+            StringBuilder report = new StringBuilder();
+            report.append(String.format("Sessions: %d requested, %d ready, %s failed%n",
+                plan.sessions(), ready, failures.isEmpty() ? "none" : failures));
+            report.append(String.format("Time to ready: %s%n", timeToReady));
+            report.append(String.format("Threads: %d baseline, %d peak (+%d)%n",
+                baselineThreads, peakThreads, peakThreads - baselineThreads));
+            report.append(String.format("Heap: %d MB baseline, %d MB peak%n",
+                baselineHeapBytes >> 20, peakHeapBytes >> 20));
+            report.append(String.format("Frame throughput during hold: %.0f frames/s%n", holdFramesPerSecond));
+            report.append(streams);
+            return report.toString();
+        }
+
+        public void writeCsv(Path target) throws IOException {
+            List<String> lines = new ArrayList<>();
+            lines.add("elapsed_ms,threads,heap_used_bytes,active_connections,pending_setups,sessions_ready,frames_per_second,reconnects,underruns");
+            for (Sample sample : samples) {
+                lines.add(String.format("%d,%d,%d,%d,%d,%d,%.1f,%d,%d", sample.elapsedMs(), sample.threads(),
+                    sample.heapUsedBytes(), sample.activeConnections(), sample.pendingSetups(), sample.sessionsReady(),
+                    sample.framesPerSecond(), sample.reconnects(), sample.underruns()));
+            }
+            Files.write(target, lines);
+        }
+    }
+
+    private final AudioManager audioManager;
+    private final List<String> urls;
+    private final ThreadMXBean threadBean = ManagementFactory.getThreadMXBean();
+    private final MemoryMXBean memoryBean = ManagementFactory.getMemoryMXBean();
+
+    /**
+     * @param urls upstream URLs; each is also varied by query string to reach the plan's upstream count
+     */
+    public AudioLoadHarness(AudioManager audioManager, List<String> urls) {
+        this.audioManager = audioManager;
+        this.urls = urls;
+    }
+
+    public Report run(LoadPlan plan) throws InterruptedException {
+        Set<UUID> sessions = ConcurrentHashMap.newKeySet();
+        Map<String, Integer> failures = new ConcurrentHashMap<>();
+        LatencyHistogram timeToReady = new LatencyHistogram();
+        AtomicInteger ready = new AtomicInteger(0);
+        CountDownLatch settled = new CountDownLatch(plan.sessions());
+        List<Sample> samples = Collections.synchronizedList(new ArrayList<>());
+
+        System.gc();
+        int baselineThreads = threadBean.getThreadCount();
+        long baselineHeap = memoryBean.getHeapMemoryUsage().getUsed();
+        long startedAt = System.nanoTime();
+
+        // [Index: 49.2] Sampler
+        ScheduledExecutorService sampler = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "Minefest-LoadSampler");
+            thread.setDaemon(true);
+            return thread;
+        });
+        long[] lastFrames = {audioManager.getFramePump().getFramesPumped(), startedAt};
+        sampler.scheduleAtFixedRate(() -> {
+            long now = System.nanoTime();
+            long frames = audioManager.getFramePump().getFramesPumped();
+            double framesPerSecond = (frames - lastFrames[0]) * 1e9 / Math.max(1, now - lastFrames[1]);
+            lastFrames[0] = frames;
+            lastFrames[1] = now;
+            StreamMetrics.Snapshot streams = audioManager.getMetricsSnapshot();
+            samples.add(new Sample(TimeUnit.NANOSECONDS.toMillis(now - startedAt), threadBean.getThreadCount(),
+                memoryBean.getHeapMemoryUsage().getUsed(), audioManager.getActiveConnections(),
+                audioManager.getAdmissionController().getPendingCount(), ready.get(), framesPerSecond,
+                streams.reconnects(), streams.underruns()));
+        }, 0, plan.sampleIntervalMs(), TimeUnit.MILLISECONDS);
+
+        // [Index: 49.1] Ramp - starts are paced against the clock, not slept between
+        long rampNanos = TimeUnit.MILLISECONDS.toNanos(plan.rampMs());
+        for (int i = 0; i < plan.sessions(); i++) {
+            long due = startedAt + (plan.sessions() > 1 ? rampNanos * i / (plan.sessions() - 1) : 0);
+            long wait;
+            while ((wait = due - System.nanoTime()) > 0) {
+                LockSupport.parkNanos(wait);
+            }
+
+            String url = upstreamUrl(i % Math.max(1, plan.upstreams()));
+            long requestedAt = System.nanoTime();
+            audioManager.createStreamingSession(url).whenComplete((session, error) -> {
+                // [Index: 49.3] Outcome per session
+                if (error == null) {
+                    timeToReady.recordNanos(System.nanoTime() - requestedAt);
+                    ready.incrementAndGet();
+                    sessions.add(session.getSessionId());
+                } else {
+                    failures.merge(describeFailure(error), 1, Integer::sum);
+                }
+                settled.countDown();
+            });
+        }
+
+        // Hold from the moment every start has settled (or the ramp plus hold has elapsed)
+        settled.await(plan.rampMs() + plan.holdMs() + 60000, TimeUnit.MILLISECONDS);
+        long holdStartFrames = audioManager.getFramePump().getFramesPumped();
+        long holdStartedAt = System.nanoTime();
+        Thread.sleep(plan.holdMs());
+        double holdFramesPerSecond = (audioManager.getFramePump().getFramesPumped() - holdStartFrames) * 1e9
+            / Math.max(1, System.nanoTime() - holdStartedAt);
+        StreamMetrics.Snapshot streams = audioManager.getMetricsSnapshot();
+
+        // [Index: 49.4] Teardown
+        sampler.shutdownNow();
+        sampler.awaitTermination(5, TimeUnit.SECONDS);
+        for (UUID sessionId : sessions) {
+            audioManager.stopStreamingSession(sessionId);
+        }
+
+        int peakThreads = baselineThreads;
+        long peakHeap = baselineHeap;
+        synchronized (samples) {
+            for (Sample sample : samples) {
+                peakThreads = Math.max(peakThreads, sample.threads());
+                peakHeap = Math.max(peakHeap, sample.heapUsedBytes());
+            }
+        }
+
+        return new Report(plan, ready.get(), new TreeMap<>(failures), timeToReady.snapshot(), baselineThreads,
+            peakThreads, baselineHeap, peakHeap, holdFramesPerSecond, streams, new ArrayList<>(samples));
+    }
+
+    /**
+     * Distinct URL per upstream index; LocalStreamServer ignores the query string
+     */
+    private String upstreamUrl(int upstream) {
+        String base = urls.get(upstream % urls.size());
+        return upstream < urls.size() ? base : base + "?upstream=" + upstream;
+    }
+
+    private static String describeFailure(Throwable error) {
+        Throwable cause = error instanceof CompletionException && error.getCause() != null ? error.getCause() : error;
+        if (cause instanceof StreamAdmissionController.AdmissionRejectedException rejected) {
+            return rejected.getReason().name();
+        }
+        return cause.getClass().getSimpleName();
+    }
+
+    /**
+     * Standalone entry point: serve a media directory locally and load AudioManager against it
+     */
+    public static void main(String[] args) throws Exception {
+        if (args.length < 5) {
+            System.err.println("Usage: AudioLoadHarness <mediaDir> <sessions> <upstreams> <rampMs> <holdMs>"
+                + " [PLAIN|ICY|CHUNKED] [latencyMs] [disconnectAfterMs] [bitrateKbps] [samples.csv]");
+            System.exit(2);
+        }
+
+        LocalStreamServer.StreamProfile profile = LocalStreamServer.StreamProfile.defaults();
+        if (args.length > 5) {
+            profile = profile.withMode(LocalStreamServer.Mode.valueOf(args[5]));
+        }
+        if (args.length > 6) {
+            profile = profile.withLatency(Long.parseLong(args[6]));
+        }
+        if (args.length > 7) {
+            profile = profile.withDisconnectAfter(Long.parseLong(args[7]));
+        }
+        if (args.length > 8) {
+            profile = profile.withBitrate(Integer.parseInt(args[8]));
+        }
+        LoadPlan plan = new LoadPlan(Integer.parseInt(args[1]), Integer.parseInt(args[2]),
+            Long.parseLong(args[3]), Long.parseLong(args[4]), 1000);
+
+        LocalStreamServer server = new LocalStreamServer(Path.of(args[0]), profile);
+        server.start(0);
+        List<String> urls = new ArrayList<>();
+        for (String fileName : server.getFileNames()) {
+            urls.add(server.urlFor(fileName));
+        }
+
+        // Sweep the limits under test without rebuilding
+        AudioManager audioManager = new AudioManager(
+            Integer.getInteger("minefest.load.maxConnections", AudioManager.DEFAULT_MAX_CONNECTIONS),
+            Integer.getInteger("minefest.load.loaderThreads", AudioManager.DEFAULT_LOADER_THREADS));
+        audioManager.initialize();
+        try {
+            Report report = new AudioLoadHarness(audioManager, urls).run(plan);
+            MinefestCore.getLogger().info("Audio load test finished:\n{}\nUpstream server: {} connections, {} MB sent, {} injected disconnects",
+                report, server.getAcceptedConnections(), server.getBytesSent() >> 20, server.getInjectedDisconnects());
+            if (args.length > 9) {
+                report.writeCsv(Path.of(args[9]));
+            }
+        } finally {
+            audioManager.shutdown();
+            server.stop();
+        }
+        System.exit(0);
+    }
+}
@@ -0,0 +1,483 @@
+package com.minefest.essentials.test;
+
+import com.minefest.essentials.MinefestCore;
+
+import java.io.IOException;
+import java.net.InetSocketAddress;
+import java.nio.ByteBuffer;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.channels.SelectionKey;
+import java.nio.channels.Selector;
+import java.nio.channels.ServerSocketChannel;
+import java.nio.channels.SocketChannel;
+import java.nio.charset.StandardCharsets;
+import java.nio.file.DirectoryStream;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+import java.util.ArrayList;
+import java.util.Iterator;
+import java.util.List;
+import java.util.Locale;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * COMPONENT SIGNPOST [Index: 30]
+ * Purpose: Local stand-in for internet radio servers, for load-testing the audio pipeline
+ * Side: TEST FIXTURE - never started by the mod; used by AudioLoadHarness and manual runs
+ *
+ * Workflow:
+ * 1. [Index: 30.1] Map every MP3/OGG/AAC file of a directory and serve it at /<file name>
+ * 2. [Index: 30.2] Loop each file forever, paced to the profile's bitrate after a short pre-roll burst
+ * 3. [Index: 30.3] Answer as a plain HTTP/1.0 radio stream, an ICY stream with metadata, or HTTP/1.1 chunked
+ * 4. [Index: 30.4] Inject response latency and mid-stream disconnects
+ * 5. [Index: 30.5] Count connections, bytes and injected faults
+ *
+ * Dependencies:
+ * - MinefestCore [Index: 02] - logging
+ *
+ * Related Files:
+ * - AudioLoadHarness.java [Index: 49] - drives AudioManager against this server
+ * - AudioManager.java [Index: 05] - the system under test
+ *
+ * Threading: one selector thread serves every connection, so the fixture adds a single
+ * thread to the thread counts the harness measures. Files are memory-mapped and shared.
+ */
+public class LocalStreamServer {
+    private static final long PACE_INTERVAL_MS = 20;
+    private static final int OUTBOUND_BYTES = 64 * 1024;
+    private static final int REQUEST_BYTES = 4096;
+    private static final int ICY_METAINT = 16000;
+
+    /**
+     * How every stream is served
+     *
+     * @param bitrateKbps     pacing rate; roughly the encoded bitrate of the files
+     * @param preRollMs       audio sent immediately on connect, as real servers burst their backlog
+     * @param mode            response framing
+     * @param latencyMs       delay before the response headers are sent
+     * @param disconnectAfterMs close each connection after this long (0 = never), +-25% jitter
+     */
+    public record StreamProfile(int bitrateKbps, long preRollMs, Mode mode, long latencyMs, long disconnectAfterMs) {
+        public static StreamProfile defaults() {
+            return new StreamProfile(128, 1000, Mode.PLAIN, 0, 0);
+        }
+
+        public StreamProfile withMode(Mode newMode) {
+            return new StreamProfile(bitrateKbps, preRollMs, newMode, latencyMs, disconnectAfterMs);
+        }
+
+        public StreamProfile withLatency(long newLatencyMs) {
+            return new StreamProfile(bitrateKbps, preRollMs, mode, newLatencyMs, disconnectAfterMs);
+        }
+
+        public StreamProfile withDisconnectAfter(long newDisconnectAfterMs) {
+            return new StreamProfile(bitrateKbps, preRollMs, mode, latencyMs, newDisconnectAfterMs);
+        }
+
+        public StreamProfile withBitrate(int newBitrateKbps) {
+            return new StreamProfile(newBitrateKbps, preRollMs, mode, latencyMs, disconnectAfterMs);
+        }
+
+        long bytesPerSecond() {
+            return bitrateKbps * 1000L / 8;
+        }
+    }
+
+    /**
+     * [Index: 30.3] Response framing
+     */
+    public enum Mode {
+        PLAIN,      // HTTP/1.0, no length, close-delimited - most radio servers
+        ICY,        // as PLAIN plus icy-* headers; metadata blocks when the client asks for them
+        CHUNKED     // HTTP/1.1 Transfer-Encoding: chunked
+    }
+
+    private static final class Connection {
+        private final SocketChannel channel;
+        private final ByteBuffer request = ByteBuffer.allocate(REQUEST_BYTES);
+        private final ByteBuffer outbound = ByteBuffer.allocate(OUTBOUND_BYTES);
+        private ByteBuffer file;          // private duplicate of the shared mapping
+        private String fileName;
+        private long respondAt;
+        private long streamingSince;
+        private long closeAt;
+        private long audioSent;
+        private boolean metadata;
+        private int untilMetadata = ICY_METAINT;
+        private boolean headersSent;
+
+        private Connection(SocketChannel channel) {
+            this.channel = channel;
+            this.outbound.flip(); // empty, in read mode
+        }
+    }
+
+    private final Path root;
+    private final StreamProfile profile;
+    private final Map<String, MappedByteBuffer> files = new ConcurrentHashMap<>();
+    private final List<Connection> connections = new ArrayList<>();
+    private Selector selector;
+    private ServerSocketChannel serverChannel;
+    private Thread thread;
+    private volatile boolean running;
+
+    // [Index: 30.5] Counters
+    private final AtomicLong accepted = new AtomicLong(0);
+    private final AtomicInteger active = new AtomicInteger(0);
+    private final AtomicLong bytesSent = new AtomicLong(0);
+    private final AtomicLong injectedDisconnects = new AtomicLong(0);
+    private final AtomicLong notFound = new AtomicLong(0);
+
+    public LocalStreamServer(Path root, StreamProfile profile) {
+        this.root = root;
+        this.profile = profile;
+    }
+
+    /**
+     * [Index: 30.1] Map the files and start serving
+     *
+     * @param port 0 picks a free port
+     */
+    public void start(int port) throws IOException {
+        try (DirectoryStream<Path> entries = Files.newDirectoryStream(root, "*.{mp3,ogg,aac,m4a}")) {
+            for (Path path : entries) {
+                try (FileChannel channel = FileChannel.open(path, StandardOpenOption.READ)) {
+                    if (channel.size() > 0) {
+                        files.put(path.getFileName().toString(), channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size()));
+                    }
+                }
+            }
+        }
+        if (files.isEmpty()) {
+            throw new IOException("No MP3/OGG/AAC files in " + root);
+        }
+
+        selector = Selector.open();
+        serverChannel = ServerSocketChannel.open();
+        serverChannel.bind(new InetSocketAddress("127.0.0.1", port), 1024);
+        serverChannel.configureBlocking(false);
+        serverChannel.register(selector, SelectionKey.OP_ACCEPT);
+
+        running = true;
+        thread = new Thread(this::serve, "Minefest-StreamStub");
+        thread.setDaemon(true);
+        thread.start();
+        MinefestCore.getLogger().info("Local stream server on port {} serving {} files at {} kbps ({})",
+            getPort(), files.size(), profile.bitrateKbps(), profile.mode());
+    }
+
+    public int getPort() {
+        return serverChannel.socket().getLocalPort();
+    }
+
+    public String urlFor(String fileName) {
+        return "http://127.0.0.1:" + getPort() + "/" + fileName;
+    }
+
+    public List<String> getFileNames() {
+        return new ArrayList<>(files.keySet());
+    }
+
+    private void serve() {
+        long nextPace = System.currentTimeMillis();
+        while (running) {
+            try {
+                selector.select(Math.max(1, nextPace - System.currentTimeMillis()));
+                Iterator<SelectionKey> keys = selector.selectedKeys().iterator();
+                while (keys.hasNext()) {
+                    SelectionKey key = keys.next();
+                    keys.remove();
+                    if (!key.isValid()) {
+                        continue;
+                    }
+                    if (key.isAcceptable()) {
+                        accept();
+                    } else if (key.isReadable()) {
+                        readRequest((Connection) key.attachment(), key);
+                    }
+                }
+
+                long now = System.currentTimeMillis();
+                if (now >= nextPace) {
+                    nextPace = now + PACE_INTERVAL_MS;
+                    pace(now);
+                }
+            } catch (IOException e) {
+                if (running) {
+                    MinefestCore.getLogger().debug("Local stream server loop error: {}", e.getMessage());
+                }
+            }
+        }
+    }
+
+    private void accept() throws IOException {
+        SocketChannel channel;
+        while ((channel = serverChannel.accept()) != null) {
+            channel.configureBlocking(false);
+            channel.socket().setTcpNoDelay(true);
+            Connection connection = new Connection(channel);
+            channel.register(selector, SelectionKey.OP_READ, connection);
+            connections.add(connection);
+            accepted.incrementAndGet();
+            active.incrementAndGet();
+        }
+    }
+
+    private void readRequest(Connection connection, SelectionKey key) {
+        try {
+            if (connection.channel.read(connection.request) < 0 || !connection.request.hasRemaining()) {
+                close(connection);
+                return;
+            }
+            if (connection.file != null || !headersComplete(connection.request)) {
+                return;
+            }
+
+            String head = new String(connection.request.array(), 0, connection.request.position(), StandardCharsets.ISO_8859_1);
+            String[] requestLine = head.substring(0, head.indexOf("\r\n")).split(" ");
+            String name = requestLine.length > 1 ? requestLine[1].replaceFirst("^/", "").replaceFirst("\\?.*$", "") : "";
+            MappedByteBuffer mapped = files.get(name);
+            if (mapped == null) {
+                notFound.incrementAndGet();
+                connection.outbound.clear();
+                connection.outbound.put("HTTP/1.0 404 Not Found\r\nContent-Length: 0\r\n\r\n".getBytes(StandardCharsets.ISO_8859_1));
+                connection.outbound.flip();
+                connection.channel.write(connection.outbound);
+                close(connection);
+                return;
+            }
+
+            long now = System.currentTimeMillis();
+            connection.file = mapped.duplicate();
+            connection.fileName = name;
+            connection.metadata = profile.mode() == Mode.ICY
+                && head.toLowerCase(Locale.ROOT).contains("\r\nicy-metadata: 1");
+            // [Index: 30.4] Injected latency holds back the response, not the accept
+            connection.respondAt = now + profile.latencyMs();
+            if (profile.disconnectAfterMs() > 0) {
+                long jitter = profile.disconnectAfterMs() / 4;
+                connection.closeAt = connection.respondAt + profile.disconnectAfterMs()
+                    + ThreadLocalRandom.current().nextLong(-jitter, jitter + 1);
+            }
+            key.interestOps(0); // we do not read anything after the request
+        } catch (IOException e) {
+            close(connection);
+        }
+    }
+
+    private static boolean headersComplete(ByteBuffer request) {
+        byte[] data = request.array();
+        for (int i = 3; i < request.position(); i++) {
+            if (data[i - 3] == '\r' && data[i - 2] == '\n' && data[i - 1] == '\r' && data[i] == '\n') {
+                return true;
+            }
+        }
+        return false;
+    }
+
+    /**
+     * [Index: 30.2] Top every streaming connection up to what its bitrate owes
+     */
+    private void pace(long now) {
+        for (int i = connections.size() - 1; i >= 0; i--) {
+            Connection connection = connections.get(i);
+            if (connection.file == null || now < connection.respondAt) {
+                continue;
+            }
+            try {
+                if (connection.closeAt > 0 && now >= connection.closeAt) {
+                    injectedDisconnects.incrementAndGet();
+                    close(connection);
+                    continue;
+                }
+                if (!connection.headersSent) {
+                    writeHeaders(connection);
+                    connection.headersSent = true;
+                    connection.streamingSince = now;
+                }
+                if (!connection.outbound.hasRemaining()) {
+                    long owed = (now - connection.streamingSince + profile.preRollMs()) * profile.bytesPerSecond() / 1000
+                        - connection.audioSent;
+                    fill(connection, (int) Math.min(owed, OUTBOUND_BYTES - 64));
+                }
+                int written = connection.channel.write(connection.outbound);
+                bytesSent.addAndGet(written);
+            } catch (IOException e) {
+                close(connection);
+            }
+        }
+    }
+
+    private void writeHeaders(Connection connection) {
+        StringBuilder headers = new StringBuilder();
+        String contentType = contentTypeOf(connection.fileName);
+        if (profile.mode() == Mode.CHUNKED) {
+            headers.append("HTTP/1.1 200 OK\r\nTransfer-Encoding: chunked\r\n");
+        } else {
+            headers.append("HTTP/1.0 200 OK\r\n");
+        }
+        headers.append("Content-Type: ").append(contentType).append("\r\n");
+        headers.append("Cache-Control: no-cache\r\n");
+        if (profile.mode() == Mode.ICY) {
+            headers.append("icy-name: Minefest Load Test\r\n");
+            headers.append("icy-br: ").append(profile.bitrateKbps()).append("\r\n");
+            if (connection.metadata) {
+                headers.append("icy-metaint: ").append(ICY_METAINT).append("\r\n");
+            }
+        }
+        headers.append("Connection: close\r\n\r\n");
+
+        connection.outbound.clear();
+        connection.outbound.put(headers.toString().getBytes(StandardCharsets.ISO_8859_1));
+        connection.outbound.flip();
+    }
+
+    /**
+     * Copy up to {@code budget} audio bytes into the empty outbound buffer, adding
+     * chunk framing or ICY metadata blocks as the mode requires
+     */
+    private void fill(Connection connection, int budget) {
+        if (budget <= 0) {
+            return;
+        }
+        ByteBuffer out = connection.outbound;
+        out.clear();
+        int chunkHeaderAt = -1;
+        if (profile.mode() == Mode.CHUNKED) {
+            chunkHeaderAt = out.position();
+            out.position(out.position() + 10); // "%08x\r\n", written once the size is known
+        }
+
+        int remaining = budget;
+        while (remaining > 0) {
+            int span = remaining;
+            if (connection.metadata) {
+                span = Math.min(span, connection.untilMetadata);
+            }
+            span = Math.min(span, out.remaining() - 64);
+            if (span <= 0) {
+                break;
+            }
+
+            // Loop the file
+            if (!connection.file.hasRemaining()) {
+                connection.file.rewind();
+            }
+            int take = Math.min(span, connection.file.remaining());
+            ByteBuffer slice = connection.file.slice();
+            slice.limit(take);
+            out.put(slice);
+            connection.file.position(connection.file.position() + take);
+            connection.audioSent += take;
+            remaining -= take;
+
+            if (connection.metadata) {
+                connection.untilMetadata -= take;
+                if (connection.untilMetadata == 0) {
+                    writeMetadataBlock(out, connection.audioSent);
+                    connection.untilMetadata = ICY_METAINT;
+                }
+            }
+        }
+
+        if (chunkHeaderAt >= 0) {
+            int size = out.position() - chunkHeaderAt - 10;
+            if (size == 0) {
+                // A zero-length chunk would end the response
+                out.clear();
+                out.flip();
+                return;
+            }
+            byte[] header = String.format("%08x\r\n", size).getBytes(StandardCharsets.ISO_8859_1);
+            out.put(chunkHeaderAt, header);
+            out.put("\r\n".getBytes(StandardCharsets.ISO_8859_1));
+        }
+        out.flip();
+    }
+
+    private static void writeMetadataBlock(ByteBuffer out, long audioSent) {
+        byte[] text = ("StreamTitle='Minefest load test " + audioSent / 1024 + "k';")
+            .getBytes(StandardCharsets.ISO_8859_1);
+        int blocks = Math.min(3, (text.length + 15) / 16);
+        out.put((byte) blocks);
+        out.put(text, 0, Math.min(text.length, blocks * 16));
+        for (int i = text.length; i < blocks * 16; i++) {
+            out.put((byte) 0);
+        }
+    }
+
+    private static String contentTypeOf(String name) {
+        String lower = name.toLowerCase(Locale.ROOT);
+        if (lower.endsWith(".ogg")) {
+            return "audio/ogg";
+        }
+        if (lower.endsWith(".aac")) {
+            return "audio/aac";
+        }
+        if (lower.endsWith(".m4a")) {
+            return "audio/mp4";
+        }
+        return "audio/mpeg";
+    }
+
+    private void close(Connection connection) {
+        if (connections.remove(connection)) {
+            active.decrementAndGet();
+        }
+        try {
+            connection.channel.close();
+        } catch (IOException ignored) {
+            // Already gone
+        }
+    }
+
+    public void stop() {
+        running = false;
+        if (selector != null) {
+            selector.wakeup();
+        }
+        try {
+            if (thread != null) {
+                thread.join(2000);
+            }
+            for (Connection connection : new ArrayList<>(connections)) {
+                close(connection);
+            }
+            if (serverChannel != null) {
+                serverChannel.close();
+            }
+            if (selector != null) {
+                selector.close();
+            }
+        } catch (IOException | InterruptedException e) {
+            MinefestCore.getLogger().debug("Local stream server stop: {}", e.getMessage());
+        }
+    }
+
+    // [Index: 30.5] Monitoring
+    public long getAcceptedConnections() {
+        return accepted.get();
+    }
+
+    public int getActiveConnections() {
+        return active.get();
+    }
+
+    public long getBytesSent() {
+        return bytesSent.get();
+    }
+
+    public long getInjectedDisconnects() {
+        return injectedDisconnects.get();
+    }
+
+    public long getNotFoundCount() {
+        return notFound.get();
+    }
+}
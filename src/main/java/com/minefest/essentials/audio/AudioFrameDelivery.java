@@ -0,0 +1,213 @@
+package com.minefest.essentials.audio;
+
+import io.netty.buffer.ByteBuf;
+import io.netty.buffer.Unpooled;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * COMPONENT SIGNPOST [Index: 38]
+ * Purpose: Encode-once, fan-out delivery of a network's stream frames to its listeners
+ * Side: DEDICATED_SERVER only - one instance per AudioNetwork, driven by its sync task
+ *
+ * Workflow:
+ * 1. [Index: 38.1] Keep one frame cursor per bitrate variant, bound to the current session
+ * 2. [Index: 38.2] Drain a variant's pending frames into a single encoded body, once per sync
+ * 3. [Index: 38.3] Send each listener a payload holding a retained duplicate of their variant's body
+ * 4. [Index: 38.4] Skip unused variants (and everything, when nobody listens) to the live edge
+ * 5. [Index: 38.5] Stamp each frame with its MasterClock playout time: production time plus a fixed delay
+ *
+ * Dependencies:
+ * - AudioFrameRing [Index: 32] - decoded frame feeds read through private cursors
+ * - AudioFramePayload [Index: 39] - wire format and per-player header
+ * - BitrateLadder [Index: 40] - variant feeds and demand signalling
+ * - StreamMetrics [Index: 47] - frames lost to a lagging cursor count as dropped
+ *
+ * Related Files:
+ * - NetworkAudioManager.java [Index: 26] - selects listeners, their volumes and variants
+ * - StreamingSession.java [Index: 06] - hands out the frame cursors
+ *
+ * Threading: every call for one network comes from the sync wheel thread; an encoded
+ * body is immutable once fan-out starts and is shared by all payloads of that variant.
+ */
+public class AudioFrameDelivery {
+    public static final int MAX_FRAMES_PER_PACKET = 8; // 160ms of audio; a sync normally drains 2-3
+
+    /**
+     * [Index: 38.5] Covers one sync interval of batching plus network transit and jitter.
+     * Every listener hears a frame at the same master time, so the delay is also the
+     * end-to-end latency bound: frames later than this are dropped by the client.
+     */
+    public static final long PLAYOUT_DELAY_MS = 250;
+
+    private static final int BODY_HEADER_BYTES = 16 + 1 + 1;
+    private static final int FRAME_HEADER_BYTES = 8 + 3;
+    private static final int TYPICAL_FRAME_BYTES = 256;
+    private static final BitrateLadder.Variant[] VARIANTS = BitrateLadder.Variant.values();
+
+    private final UUID networkId;
+    private final byte[] frameScratch = new byte[AudioFrameRing.DEFAULT_SLOT_BYTES];
+    private final AudioFrameRing.Cursor[] cursors = new AudioFrameRing.Cursor[VARIANTS.length];
+    private final ByteBuf[] bodies = new ByteBuf[VARIANTS.length];
+    private final boolean[] encodedThisSync = new boolean[VARIANTS.length];
+    private StreamingSession session;
+    private UUID boundSessionId;
+
+    private final AtomicLong bodiesEncoded = new AtomicLong(0);
+    private final AtomicLong bytesEncoded = new AtomicLong(0);
+    private final AtomicLong payloadsSent = new AtomicLong(0);
+
+    public AudioFrameDelivery(UUID networkId) {
+        this.networkId = networkId;
+    }
+
+    /**
+     * [Index: 38.1] Start a sync round. A new session means new feeds, opened at the live edge.
+     */
+    public void beginSync(StreamingSession current) {
+        if (!current.getSessionId().equals(boundSessionId)) {
+            boundSessionId = current.getSessionId();
+            for (int i = 0; i < cursors.length; i++) {
+                cursors[i] = null;
+            }
+        }
+        session = current;
+    }
+
+    private AudioFrameRing.Cursor cursorFor(BitrateLadder.Variant variant) {
+        AudioFrameRing.Cursor cursor = cursors[variant.ordinal()];
+        if (cursor == null) {
+            cursor = session.openFrameCursor(variant);
+            cursors[variant.ordinal()] = cursor;
+        }
+        return cursor;
+    }
+
+    /**
+     * [Index: 38.2] Body for a variant in this sync round, encoded on first request.
+     * A variant the ladder has not started producing falls back to the next rung up
+     * until its first frames arrive.
+     *
+     * @return the shared body, or null if no frame is pending; owned by this delivery until endSync()
+     */
+    public ByteBuf bodyFor(BitrateLadder.Variant variant) {
+        BitrateLadder ladder = session.getSource().getBitrateLadder();
+        BitrateLadder.Variant served = variant;
+        while (served != BitrateLadder.Variant.HIGH && !ladder.isProducing(served)) {
+            served = VARIANTS[served.ordinal() + 1];
+        }
+        ladder.demand(variant);
+
+        int index = served.ordinal();
+        if (!encodedThisSync[index]) {
+            encodedThisSync[index] = true;
+            bodies[index] = encodePending(served);
+        }
+        return bodies[index];
+    }
+
+    private ByteBuf encodePending(BitrateLadder.Variant variant) {
+        AudioFrameRing.Cursor feed = cursorFor(variant);
+        int pending = Math.min(feed.available(), MAX_FRAMES_PER_PACKET);
+        if (pending == 0) {
+            return null;
+        }
+
+        FriendlyByteBuf body = new FriendlyByteBuf(Unpooled.buffer(
+            BODY_HEADER_BYTES + pending * (FRAME_HEADER_BYTES + TYPICAL_FRAME_BYTES)));
+        int countIndex = AudioFramePayload.writeBodyHeader(body, networkId, variant);
+
+        int count = 0;
+        int length;
+        long droppedBefore = feed.getDroppedFrames();
+        while (count < MAX_FRAMES_PER_PACKET && (length = feed.read(frameScratch)) != AudioFrameRing.NO_FRAME) {
+            AudioFramePayload.writeFrame(body, feed.getLastStamp() + PLAYOUT_DELAY_MS, frameScratch, length);
+            count++;
+        }
+
+        // Frames the producer overwrote before we read them never reach a listener
+        long lapped = feed.getDroppedFrames() - droppedBefore;
+        if (lapped > 0) {
+            session.getMetrics().recordDropped(lapped);
+        }
+
+        if (count == 0) {
+            body.release();
+            return null;
+        }
+
+        body.setByte(countIndex, count);
+        bodiesEncoded.incrementAndGet();
+        bytesEncoded.addAndGet(body.readableBytes());
+        return body;
+    }
+
+    /**
+     * [Index: 38.3] Queue a shared body for one listener. Only the volume header
+     * is per player; the audio bytes are the same buffer for everyone on the variant.
+     */
+    public void send(ServerPlayer player, ByteBuf body, double volume) {
+        if (AudioFramePayload.sendTo(player, AudioFramePayload.toVolumeLevel(volume), body)) {
+            payloadsSent.incrementAndGet();
+        }
+    }
+
+    /**
+     * [Index: 38.4] Finish the round: release our references and move feeds nobody
+     * drew from to the live edge, so a listener switching variant hears live audio.
+     */
+    public void endSync() {
+        for (int i = 0; i < bodies.length; i++) {
+            if (bodies[i] != null) {
+                bodies[i].release();
+                bodies[i] = null;
+            }
+            if (!encodedThisSync[i] && cursors[i] != null) {
+                cursors[i].skipToLive();
+            }
+            encodedThisSync[i] = false;
+        }
+        session = null;
+    }
+
+    /**
+     * [Index: 38.4] Nobody in range - discard every backlog
+     */
+    public void skipPending(StreamingSession current) {
+        beginSync(current);
+        endSync();
+    }
+
+    public void reset() {
+        boundSessionId = null;
+        for (int i = 0; i < cursors.length; i++) {
+            cursors[i] = null;
+        }
+    }
+
+    // Monitoring
+    public long getBodiesEncoded() {
+        return bodiesEncoded.get();
+    }
+
+    public long getBytesEncoded() {
+        return bytesEncoded.get();
+    }
+
+    public long getPayloadsSent() {
+        return payloadsSent.get();
+    }
+
+    public long getDroppedFrames() {
+        long dropped = 0;
+        for (AudioFrameRing.Cursor cursor : cursors) {
+            if (cursor != null) {
+                dropped += cursor.getDroppedFrames();
+            }
+        }
+        return dropped;
+    }
+}
@@ -0,0 +1,173 @@
+package com.minefest.essentials.audio;
+
+import com.minefest.essentials.MinefestCore;
+
+import io.netty.buffer.ByteBuf;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.PacketSendListener;
+import net.minecraft.network.protocol.Packet;
+import net.minecraft.network.protocol.common.ClientboundCustomPayloadPacket;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.level.ServerPlayer;
+
+import java.nio.ByteBuffer;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicBoolean;
+
+/**
+ * COMPONENT SIGNPOST [Index: 39]
+ * Purpose: Wire format for stream audio frames sent to listening players
+ * Side: COMMON - written by the server delivery stage, decoded by the client
+ *
+ * Workflow:
+ * 1. [Index: 39.1] Per-player header: one byte of quantized listener volume
+ * 2. [Index: 39.2] Shared body: network id, bitrate variant, frame count, then playout time + Opus data per frame
+ * 3. [Index: 39.3] Copy the pre-encoded body into the connection buffer and drop our reference
+ * 4. [Index: 39.4] Decode header and frames on the receiving side
+ * 5. [Index: 39.5] Release the body reference on every path that never writes it
+ *
+ * Dependencies:
+ * - Netty ByteBuf [Index: N/A] - shared, reference-counted frame body
+ * - MinefestCore [Index: 02] - mod id for the channel name
+ *
+ * Related Files:
+ * - AudioFrameDelivery.java [Index: 38] - encodes the body once and fans payloads out
+ * - BitrateLadder.java [Index: 40] - variant ids and their codec parameters
+ * - ClientAudioHandler.java [Index: 29] - client-side consumer of decoded frames
+ */
+public class AudioFramePayload implements CustomPacketPayload {
+    public static final String AUDIO_FRAME_CHANNEL = "audio_frame";
+    public static final ResourceLocation ID = new ResourceLocation(MinefestCore.MOD_ID, AUDIO_FRAME_CHANNEL);
+
+    private final int volumeLevel;
+    private final ByteBuf body;
+    private final AtomicBoolean released = new AtomicBoolean(false);
+
+    /**
+     * @param volumeLevel quantized listener volume (see {@link #toVolumeLevel(double)})
+     * @param body        retained duplicate of the shared encoded body; released once written
+     */
+    public AudioFramePayload(int volumeLevel, ByteBuf body) {
+        this.volumeLevel = volumeLevel;
+        this.body = body;
+    }
+
+    @Override
+    public ResourceLocation id() {
+        return ID;
+    }
+
+    /**
+     * [Index: 39.3] Called once by the connection's encoder. The body was encoded
+     * before fan-out, so this is a header byte plus a bulk copy.
+     */
+    @Override
+    public void write(FriendlyByteBuf buffer) {
+        // [Index: 39.1] Per-player header
+        buffer.writeByte(volumeLevel);
+        buffer.writeBytes(body, body.readerIndex(), body.readableBytes());
+        release();
+    }
+
+    /**
+     * [Index: 39.5] Drop this payload's body reference; safe to call more than once
+     */
+    public void release() {
+        if (released.compareAndSet(false, true)) {
+            body.release();
+        }
+    }
+
+    /**
+     * [Index: 39.5] Send {@code body} to one listener. Disconnected players get nothing
+     * retained, and a packet the connection fails to write gives its reference back.
+     *
+     * @return true if the packet was handed to the connection
+     */
+    public static boolean sendTo(ServerPlayer player, int volumeLevel, ByteBuf body) {
+        if (player.hasDisconnected()) {
+            return false;
+        }
+        AudioFramePayload payload = new AudioFramePayload(volumeLevel, body.retainedDuplicate());
+        try {
+            player.connection.send(new ClientboundCustomPayloadPacket(payload), new PacketSendListener() {
+                @Override
+                public Packet<?> onFailure() {
+                    payload.release();
+                    return null;
+                }
+            });
+            return true;
+        } catch (RuntimeException e) {
+            payload.release();
+            throw e;
+        }
+    }
+
+    // [Index: 39.1] Volume quantization - 0..255 is finer than audible steps
+    public static int toVolumeLevel(double volume) {
+        return (int) Math.round(Math.max(0.0, Math.min(1.0, volume)) * 255.0);
+    }
+
+    public static float fromVolumeLevel(int level) {
+        return (level & 0xFF) / 255.0f;
+    }
+
+    /**
+     * [Index: 39.2] Write the shared body header. Frames follow via {@link #writeFrame}.
+     *
+     * @return writer index of the frame count byte, patched once the frame count is known
+     */
+    public static int writeBodyHeader(FriendlyByteBuf body, UUID networkId, BitrateLadder.Variant variant) {
+        body.writeUUID(networkId);
+        body.writeByte(variant.ordinal());
+        int countIndex = body.writerIndex();
+        body.writeByte(0);
+        return countIndex;
+    }
+
+    /**
+     * @param playoutTime MasterClock time at which every listener should hear the frame
+     */
+    public static void writeFrame(FriendlyByteBuf body, long playoutTime, byte[] data, int length) {
+        body.writeLong(playoutTime);
+        body.writeVarInt(length);
+        body.writeBytes(data, 0, length);
+    }
+
+    /**
+     * Same as {@link #writeFrame(FriendlyByteBuf, long, byte[], int)} for an encoder's
+     * output buffer; writes its remaining bytes and leaves it drained
+     */
+    public static void writeFrame(FriendlyByteBuf body, long playoutTime, ByteBuffer data) {
+        body.writeLong(playoutTime);
+        body.writeVarInt(data.remaining());
+        body.writeBytes(data);
+    }
+
+    /**
+     * Receiver of decoded frames.
+     */
+    @FunctionalInterface
+    public interface FrameVisitor {
+        void frame(UUID networkId, BitrateLadder.Variant variant, long playoutTime, byte[] data, float volume);
+    }
+
+    /**
+     * [Index: 39.4] Decode a received payload
+     */
+    public static void decode(FriendlyByteBuf buffer, FrameVisitor visitor) {
+        float volume = fromVolumeLevel(buffer.readUnsignedByte());
+        UUID networkId = buffer.readUUID();
+        BitrateLadder.Variant variant = BitrateLadder.Variant.fromQuality(buffer.readUnsignedByte());
+        int frameCount = buffer.readUnsignedByte();
+
+        for (int i = 0; i < frameCount; i++) {
+            long playoutTime = buffer.readLong();
+            byte[] data = new byte[buffer.readVarInt()];
+            buffer.readBytes(data);
+            visitor.frame(networkId, variant, playoutTime, data, volume);
+        }
+    }
+}
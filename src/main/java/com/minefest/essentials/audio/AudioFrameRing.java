@@ -0,0 +1,202 @@
+package com.minefest.essentials.audio;
+
+import java.lang.invoke.VarHandle;
+
+/**
+ * COMPONENT SIGNPOST [Index: 32]
+ * Purpose: Preallocated single-producer/multi-consumer ring of audio frames
+ * Side: DEDICATED_SERVER only - holds the decoded frame feed of one shared stream
+ *
+ * Workflow:
+ * 1. [Index: 32.1] Preallocate every slot's byte array once at construction
+ * 2. [Index: 32.2] Producer claims a slot, fills it and commits the sequence
+ * 3. [Index: 32.3] Consumers read through private cursors without locking
+ * 4. [Index: 32.4] Slow consumers skip ahead and count overrun frames as dropped
+ * 5. [Index: 32.5] Each frame carries the MasterClock time it was produced at, for playout scheduling
+ *
+ * Dependencies:
+ * - FramePump [Index: 31] - the producer of source rings; its transcode thread fills variant rings
+ *
+ * Related Files:
+ * - SharedStreamSource.java [Index: 28] - owns one ring per upstream
+ * - StreamingSession.java [Index: 06] - hands cursors to speaker networks, recorders and relays
+ *
+ * Threading: claim()/commit() must only be called from the ring's producer thread. Each Cursor
+ * belongs to a single consumer thread; any number of cursors may read concurrently.
+ * Neither side allocates after construction.
+ */
+public final class AudioFrameRing {
+    public static final int DEFAULT_SLOT_COUNT = 64;      // ~1.3 seconds of 20ms frames
+    public static final int DEFAULT_SLOT_BYTES = 2048;    // Opus packets never exceed 1275 bytes
+    public static final int NO_FRAME = -1;
+
+    private final byte[][] slots;
+    private final int[] lengths;
+    private final long[] timecodes;
+    private final long[] stamps;
+    private final int capacity;
+    private final int mask;
+    private final int slotBytes;
+
+    // [Index: 32.2] Sequence numbers: claimed is raised before a slot is overwritten,
+    // published after it is complete. Consumers compare against both.
+    private volatile long claimedSequence = -1;
+    private volatile long publishedSequence = -1;
+
+    public AudioFrameRing() {
+        this(DEFAULT_SLOT_COUNT, DEFAULT_SLOT_BYTES);
+    }
+
+    public AudioFrameRing(int slotCount, int slotBytes) {
+        if (slotCount <= 0 || Integer.bitCount(slotCount) != 1) {
+            throw new IllegalArgumentException("Slot count must be a positive power of two: " + slotCount);
+        }
+        this.capacity = slotCount;
+        this.mask = slotCount - 1;
+        this.slotBytes = slotBytes;
+        this.slots = new byte[slotCount][slotBytes];
+        this.lengths = new int[slotCount];
+        this.timecodes = new long[slotCount];
+        this.stamps = new long[slotCount];
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public int getSlotBytes() {
+        return slotBytes;
+    }
+
+    public long getPublishedSequence() {
+        return publishedSequence;
+    }
+
+    // [Index: 32.2] Producer side
+
+    /**
+     * Claim the next slot for writing. The returned array is owned by the ring and
+     * is only valid until {@link #commit(int, long, long)} is called.
+     */
+    public byte[] claim() {
+        long next = publishedSequence + 1;
+        claimedSequence = next;
+        // A volatile write only orders the stores before it; without this fence the slot
+        // could be filled before a lapping reader can see the claim
+        VarHandle.storeStoreFence();
+        return slots[(int) (next & mask)];
+    }
+
+    /**
+     * Publish the slot returned by the preceding {@link #claim()}.
+     *
+     * @param timecode position within the track, as reported by the player
+     * @param stamp    [Index: 32.5] MasterClock time the frame was produced at
+     */
+    public void commit(int length, long timecode, long stamp) {
+        long sequence = claimedSequence;
+        int index = (int) (sequence & mask);
+        lengths[index] = length;
+        timecodes[index] = timecode;
+        stamps[index] = stamp;
+        publishedSequence = sequence;
+    }
+
+    /**
+     * Copying convenience for producers that already hold the frame bytes.
+     */
+    public boolean publish(byte[] data, int offset, int length, long timecode, long stamp) {
+        if (length > slotBytes) {
+            return false;
+        }
+        System.arraycopy(data, offset, claim(), 0, length);
+        commit(length, timecode, stamp);
+        return true;
+    }
+
+    // [Index: 32.3] Consumer side
+
+    /**
+     * Open a cursor positioned at the live edge; it will see the next committed frame.
+     */
+    public Cursor openCursor() {
+        return new Cursor(publishedSequence + 1);
+    }
+
+    /**
+     * Independent read position into the ring. Not thread-safe; one per consumer.
+     */
+    public final class Cursor {
+        private long nextSequence;
+        private long lastTimecode;
+        private long lastStamp;
+        private long droppedFrames;
+
+        private Cursor(long startSequence) {
+            this.nextSequence = startSequence;
+        }
+
+        /**
+         * Copy the next frame into {@code target}, which must hold at least
+         * {@link #getSlotBytes()} bytes.
+         *
+         * @return the frame length, or {@link #NO_FRAME} if the consumer is caught up
+         */
+        public int read(byte[] target) {
+            while (true) {
+                long published = publishedSequence;
+                if (nextSequence > published) {
+                    return NO_FRAME;
+                }
+
+                // [Index: 32.4] Producer lapped us - jump to the oldest frame still intact
+                long oldest = published - capacity + 1;
+                if (nextSequence < oldest) {
+                    droppedFrames += oldest - nextSequence;
+                    nextSequence = oldest;
+                }
+
+                int index = (int) (nextSequence & mask);
+                int length = lengths[index];
+                long timecode = timecodes[index];
+                long stamp = stamps[index];
+                System.arraycopy(slots[index], 0, target, 0, length);
+
+                // Verify the slot was not reclaimed while we were copying it
+                VarHandle.loadLoadFence();
+                if (claimedSequence - nextSequence >= capacity) {
+                    continue;
+                }
+
+                lastTimecode = timecode;
+                lastStamp = stamp;
+                nextSequence++;
+                return length;
+            }
+        }
+
+        public int available() {
+            long pending = publishedSequence - nextSequence + 1;
+            return (int) Math.max(0, Math.min(pending, capacity));
+        }
+
+        public long getLastTimecode() {
+            return lastTimecode;
+        }
+
+        /**
+         * [Index: 32.5] MasterClock time at which the last read frame was produced
+         */
+        public long getLastStamp() {
+            return lastStamp;
+        }
+
+        public long getDroppedFrames() {
+            return droppedFrames;
+        }
+
+        public void skipToLive() {
+            nextSequence = publishedSequence + 1;
+        }
+    }
+}
@@ -5,12 +5,15 @@ import com.sedmelluq.discord.lavaplayer.player.AudioPlayer;
 import com.sedmelluq.discord.lavaplayer.player.AudioPlayerManager;
 import com.sedmelluq.discord.lavaplayer.player.DefaultAudioPlayerManager;
 import com.sedmelluq.discord.lavaplayer.source.http.HttpAudioSourceManager;
+import com.sedmelluq.discord.lavaplayer.tools.FriendlyException;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
 import com.sedmelluq.discord.lavaplayer.track.AudioTrackEndReason;
+import com.sedmelluq.discord.lavaplayer.track.playback.NonAllocatingAudioFrameBuffer;
 import com.sedmelluq.discord.lavaplayer.player.event.AudioEventAdapter;
 
 import java.util.concurrent.*;
-import java.util.concurrent.atomic.AtomicInteger;
+import java.util.ArrayList;
+import java.util.List;
 import java.util.Map;
 import java.util.UUID;
 
@@ -21,13 +24,23 @@ import java.util.UUID;
  * 
  * Workflow:
  * 1. [Index: 05.1] Initialize audio player manager and connection pooling
- * 2. [Index: 05.2] Create and manage streaming sessions with automatic reconnection
+ * 2. [Index: 05.2] Create streaming sessions on shared, reference-counted upstream sources
  * 3. [Index: 05.3] Handle audio events and connection failures gracefully
  * 4. [Index: 05.4] Manage resource cleanup and connection lifecycle
+ * 5. [Index: 05.5] Park sessions without listeners and resume them on demand
+ * 6. [Index: 05.6] Report pipeline metrics per stream and for the whole server
  * 
  * Dependencies:
  * - LavaPlayer [Index: N/A] - audio streaming and playback framework
  * - StreamingSession [Index: 06] - individual audio session management
+ * - SharedStreamSource [Index: 28] - one decode pipeline per unique stream URL
+ * - FramePump [Index: 31] - pulls decoded frames out of every shared player
+ * - ReconnectScheduler [Index: 33] - backoff timer for dropped upstreams
+ * - FrameBufferBudget [Index: 42] - global cap on LavaPlayer frame buffer memory
+ * - StreamAdmissionController [Index: 43] - bounded, tier-prioritised stream setup
+ * - SessionParker [Index: 44] - closes upstreams nobody is listening to
+ * - StreamProbeCache [Index: 45] - skips content detection when a URL is reloaded
+ * - StreamMetrics [Index: 47] - per-stream pipeline metrics, aggregated server-wide here
  * - MinefestAudioLoadHandler [Index: 07] - audio loading event handling
  * - MinefestCore [Index: 02] - logging and core mod access
  * 
@@ -39,158 +52,281 @@ import java.util.UUID;
 public class AudioManager {
     private final AudioPlayerManager playerManager;
     private final Map<UUID, StreamingSession> streamingSessions;
-    private static final int RECONNECT_DELAY_SECONDS = 5;
+    private final Map<String, SharedStreamSource> sharedSources;
+    private final Object sourceLock = new Object();
     private static final int MAX_RECONNECT_ATTEMPTS = 5;
     
-    // Connection pool settings
-    private static final int CORE_POOL_SIZE = 10;
-    private static final int MAX_POOL_SIZE = 50;
-    private static final int QUEUE_CAPACITY = 2000;
-    private static final int KEEP_ALIVE_SECONDS = 60;
+    // Connection admission settings
+    private static final int SETUP_WORKERS = 10;
+    public static final int DEFAULT_LOADER_THREADS = 50;
+    public static final int DEFAULT_MAX_CONNECTIONS = 2000;
+    private static final int PENDING_CAPACITY = 256;
+    private final int maxConnections;
     
-    private final ThreadPoolExecutor connectionPool;
-    private final AtomicInteger activeConnections = new AtomicInteger(0);
+    private final StreamAdmissionController admissionController;
+    private final FramePump framePump;
+    private final ReconnectScheduler reconnectScheduler;
+    private final FrameBufferBudget frameBufferBudget;
+    private final SessionParker sessionParker;
+    private final StreamProbeCache probeCache;
 
     public AudioManager() {
+        this(DEFAULT_MAX_CONNECTIONS, DEFAULT_LOADER_THREADS);
+    }
+    
+    /**
+     * @param maxConnections upstream connections open at once
+     * @param loaderThreads  LavaPlayer item loader threads (probing and connecting)
+     */
+    public AudioManager(int maxConnections, int loaderThreads) {
+        this.maxConnections = maxConnections;
         this.playerManager = new DefaultAudioPlayerManager();
         this.streamingSessions = new ConcurrentHashMap<>();
+        this.sharedSources = new ConcurrentHashMap<>();
         
-        // Initialize connection pool with custom thread factory
-        this.connectionPool = new ThreadPoolExecutor(
-            CORE_POOL_SIZE,
-            MAX_POOL_SIZE,
-            KEEP_ALIVE_SECONDS,
-            TimeUnit.SECONDS,
-            new ArrayBlockingQueue<>(QUEUE_CAPACITY),
-            new ThreadFactory() {
-                private final AtomicInteger threadCount = new AtomicInteger(1);
-                @Override
-                public Thread newThread(Runnable r) {
-                    Thread thread = new Thread(r);
-                    thread.setName("Minefest-Stream-" + threadCount.getAndIncrement());
-                    thread.setDaemon(true);
-                    return thread;
-                }
-            },
-            new ThreadPoolExecutor.CallerRunsPolicy()
-        );
+        // Stream setup runs only on the admission workers; overload is rejected, never run inline
+        this.admissionController = new StreamAdmissionController(maxConnections, PENDING_CAPACITY, SETUP_WORKERS);
         
         // Configure for streaming
         playerManager.registerSourceManager(new HttpAudioSourceManager());
         
-        // Configure frame buffer
-        playerManager.setFrameBufferDuration(5000);
-        playerManager.setItemLoaderThreadPoolSize(MAX_POOL_SIZE);
+        // Configure frame buffer - preallocated per track and sized by the budget on each
+        // track start; the manager default only applies to tracks started outside a source
+        playerManager.getConfiguration().setFrameBufferFactory(NonAllocatingAudioFrameBuffer::new);
+        playerManager.setFrameBufferDuration(FrameBufferBudget.MAX_BUFFER_MS);
+        playerManager.setItemLoaderThreadPoolSize(loaderThreads);
+        this.frameBufferBudget = new FrameBufferBudget(FrameBufferBudget.DEFAULT_BUDGET_BYTES,
+            playerManager.getConfiguration().getOutputFormat());
+        
+        this.framePump = new FramePump();
+        this.probeCache = new StreamProbeCache(StreamProbeCache.DEFAULT_TTL_MS, StreamProbeCache.DEFAULT_MAX_ENTRIES);
+        this.reconnectScheduler = new ReconnectScheduler(playerManager, probeCache, MAX_RECONNECT_ATTEMPTS);
+        this.sessionParker = new SessionParker(playerManager, probeCache, admissionController, reconnectScheduler,
+            sharedSources.values());
     }
 
     public void initialize() {
-        MinefestCore.getLogger().info("Initializing AudioManager with connection pool capacity: " + QUEUE_CAPACITY);
+        MinefestCore.getLogger().info("Initializing AudioManager with connection capacity: " + maxConnections);
+        admissionController.start();
+        framePump.start();
+        frameBufferBudget.start();
+        sessionParker.start();
+        AutoStartPrewarmer.start();
+        StreamHandoff.start();
     }
 
+    /**
+     * [Index: 05.2] Create a streaming session for a URL at the default admission tier
+     */
     public CompletableFuture<StreamingSession> createStreamingSession(String url) {
+        return createStreamingSession(url, StreamAdmissionController.DEFAULT_TIER);
+    }
+
+    /**
+     * [Index: 05.2] Create a streaming session for a URL
+     * The first session for a URL opens the upstream; later sessions attach to the
+     * same SharedStreamSource and complete once it has loaded. A stream that is not
+     * admitted fails with {@link StreamAdmissionController.AdmissionRejectedException}.
+     *
+     * @param tier admission priority of the upstream setup if this call has to open one
+     */
+    public CompletableFuture<StreamingSession> createStreamingSession(String url, StreamValidator.TicketTier tier) {
         CompletableFuture<StreamingSession> future = new CompletableFuture<>();
+        String sourceKey = url.trim();
         
-        if (activeConnections.get() >= QUEUE_CAPACITY) {
-            future.completeExceptionally(new RuntimeException("Server at maximum capacity"));
-            return future;
-        }
+        SharedStreamSource source;
+        StreamingSession session;
+        boolean openedSource = false;
         
-        connectionPool.submit(() -> {
-            try {
-                activeConnections.incrementAndGet();
-                
-                AudioPlayer player = playerManager.createPlayer();
-                StreamingSession session = new StreamingSession(player);
-                session.setCurrentUrl(url);
-                
-                setupEventHandling(session, player);
-                
-                playerManager.loadItem(url, new MinefestAudioLoadHandler(session, future));
-                
-                streamingSessions.put(session.getSessionId(), session);
+        synchronized (sourceLock) {
+            source = sharedSources.get(sourceKey);
+            if (source == null || !source.isReusable()) {
+                StreamAdmissionController.Rejection rejection = frameBufferBudget.canAdmit()
+                    ? admissionController.reserveConnection()
+                    : admissionController.reject(StreamAdmissionController.Rejection.BUFFER_BUDGET);
+                if (rejection != null) {
+                    future.completeExceptionally(new StreamAdmissionController.AdmissionRejectedException(rejection));
+                    return future;
+                }
                 
-            } catch (Exception e) {
-                activeConnections.decrementAndGet();
-                future.completeExceptionally(e);
+                source = new SharedStreamSource(sourceKey, playerManager.createPlayer(),
+                    playerManager.getConfiguration(), frameBufferBudget);
+                sharedSources.put(sourceKey, source);
+                framePump.register(source);
+                frameBufferBudget.register(source);
+                openedSource = true;
+            }
+            
+            session = new StreamingSession(source);
+            session.setCurrentUrl(url);
+            source.addSubscriber(session.getSessionId(), tier);
+            streamingSessions.put(session.getSessionId(), session);
+        }
+        
+        if (openedSource) {
+            openSharedSource(source, tier);
+        } else {
+            MinefestCore.getLogger().debug("Attached session {} to shared stream {} ({} subscribers)",
+                session.getSessionId(), sourceKey, source.getSubscriberCount());
+        }
+        
+        source.getReadyFuture().whenComplete((ready, error) -> {
+            if (error != null) {
+                stopStreamingSession(session.getSessionId());
+                future.completeExceptionally(error);
+            } else {
+                future.complete(session);
             }
         });
         
         return future;
     }
 
-    private void setupEventHandling(StreamingSession session, AudioPlayer player) {
-        player.addListener(new AudioEventAdapter() {
-            private final AtomicInteger reconnectAttempts = new AtomicInteger(0);
+    /**
+     * [Index: 05.2.1] Open and decode the upstream for a newly created shared source.
+     * A setup that is refused or displaced fails the ready future, which releases
+     * every attached session and with them the connection slot.
+     */
+    private void openSharedSource(SharedStreamSource source, StreamValidator.TicketTier tier) {
+        admissionController.submit(tier, () -> {
+            try {
+                setupEventHandling(source);
+                probeCache.load(playerManager, source, source.getReadyFuture());
+            } catch (Exception e) {
+                source.getReadyFuture().completeExceptionally(e);
+            }
+        }, reason -> source.getReadyFuture().completeExceptionally(
+            new StreamAdmissionController.AdmissionRejectedException(reason)));
+    }
 
+    /**
+     * [Index: 05.3] Route upstream failures to the reconnect scheduler
+     */
+    private void setupEventHandling(SharedStreamSource source) {
+        source.getPlayer().addListener(new AudioEventAdapter() {
+            @Override
             public void onTrackEnd(AudioPlayer player, AudioTrack track, AudioTrackEndReason endReason) {
-                if (session.isPlaying() && (endReason == AudioTrackEndReason.FINISHED || endReason == AudioTrackEndReason.LOAD_FAILED)) {
-                    attemptReconnect(session);
+                if (endReason == AudioTrackEndReason.LOAD_FAILED) {
+                    probeCache.invalidate(source.getUrl());
+                }
+                if (source.isPlaying() && (endReason == AudioTrackEndReason.FINISHED || endReason == AudioTrackEndReason.LOAD_FAILED)) {
+                    reconnectScheduler.scheduleReconnect(source);
                 }
             }
             
-            public void onTrackException(AudioPlayer player, AudioTrack track, Exception exception) {
+            @Override
+            public void onTrackException(AudioPlayer player, AudioTrack track, FriendlyException exception) {
                 MinefestCore.getLogger().error("Stream error: " + exception.getMessage());
-                if (session.isPlaying()) {
-                    attemptReconnect(session);
+                probeCache.invalidate(source.getUrl());
+                if (source.isPlaying()) {
+                    reconnectScheduler.scheduleReconnect(source);
                 }
             }
 
+            @Override
             public void onTrackStuck(AudioPlayer player, AudioTrack track, long thresholdMs) {
                 MinefestCore.getLogger().warn("Stream stuck for " + thresholdMs + "ms");
-                if (session.isPlaying()) {
-                    attemptReconnect(session);
-                }
-            }
-
-            private void attemptReconnect(StreamingSession session) {
-                if (reconnectAttempts.get() >= MAX_RECONNECT_ATTEMPTS) {
-                    MinefestCore.getLogger().error("Max reconnection attempts reached. Stream may be offline.");
-                    session.setPlaying(false);
-                    activeConnections.decrementAndGet();
-                    return;
+                if (source.isPlaying()) {
+                    reconnectScheduler.scheduleReconnect(source);
                 }
-
-                reconnectAttempts.incrementAndGet();
-                MinefestCore.getLogger().info("Attempting to reconnect to stream (attempt " + reconnectAttempts + "/" + MAX_RECONNECT_ATTEMPTS + ")");
-                
-                connectionPool.submit(() -> {
-                    try {
-                        Thread.sleep(TimeUnit.SECONDS.toMillis(RECONNECT_DELAY_SECONDS));
-                        playerManager.loadItem(session.getCurrentUrl(), new MinefestAudioLoadHandler(session, new CompletableFuture<>()));
-                    } catch (InterruptedException e) {
-                        Thread.currentThread().interrupt();
-                    }
-                });
             }
         });
     }
 
+    /**
+     * [Index: 05.4] Stop a streaming session
+     * Releases the session's reference on its shared source; the upstream is only
+     * destroyed when no other session is still subscribed to it.
+     */
     public void stopStreamingSession(UUID sessionId) {
-        StreamingSession session = streamingSessions.get(sessionId);
-        if (session != null) {
-            session.getPlayer().destroy();
-            streamingSessions.remove(sessionId);
-            activeConnections.decrementAndGet();
+        StreamingSession session = streamingSessions.remove(sessionId);
+        if (session == null) {
+            return;
         }
+        
+        SharedStreamSource source = session.getSource();
+        synchronized (sourceLock) {
+            if (!source.removeSubscriber(sessionId) || source.getSubscriberCount() > 0) {
+                return;
+            }
+            sharedSources.remove(source.getUrl(), source);
+            framePump.unregister(source);
+            frameBufferBudget.unregister(source);
+            source.close();
+        }
+        admissionController.releaseConnection();
+        MinefestCore.getLogger().debug("Closed shared stream {} - last subscriber released", source.getUrl());
     }
 
     public StreamingSession getSession(UUID sessionId) {
         return streamingSessions.get(sessionId);
     }
     
+    /**
+     * [Index: 05.5] Listeners are back in range of a parked session - reopen its upstream
+     */
+    public void resumeParkedSession(StreamingSession session) {
+        sessionParker.requestResume(session.getSource());
+    }
+    
+    /**
+     * [Index: 05.6] Metrics of every open stream, labelled by URL
+     */
+    public List<StreamMetrics.Snapshot> getStreamMetrics() {
+        List<StreamMetrics.Snapshot> snapshots = new ArrayList<>();
+        for (SharedStreamSource source : sharedSources.values()) {
+            snapshots.add(source.getMetrics().snapshot(source.getUrl()));
+        }
+        return snapshots;
+    }
+    
+    /**
+     * [Index: 05.6] All open streams combined. Streams that have closed drop out of the total.
+     */
+    public StreamMetrics.Snapshot getMetricsSnapshot() {
+        return StreamMetrics.Snapshot.aggregate("server", getStreamMetrics());
+    }
+    
     public int getActiveConnections() {
-        return activeConnections.get();
+        return admissionController.getActiveConnections();
+    }
+    
+    public int getSharedSourceCount() {
+        return sharedSources.size();
+    }
+    
+    public int getSessionCount() {
+        return streamingSessions.size();
+    }
+    
+    public FramePump getFramePump() {
+        return framePump;
+    }
+    
+    public FrameBufferBudget getFrameBufferBudget() {
+        return frameBufferBudget;
+    }
+    
+    public StreamAdmissionController getAdmissionController() {
+        return admissionController;
+    }
+    
+    public SessionParker getSessionParker() {
+        return sessionParker;
+    }
+    
+    public StreamProbeCache getProbeCache() {
+        return probeCache;
     }
     
     public void shutdown() {
-        connectionPool.shutdown();
-        try {
-            if (!connectionPool.awaitTermination(60, TimeUnit.SECONDS)) {
-                connectionPool.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            connectionPool.shutdownNow();
-            Thread.currentThread().interrupt();
-        }
+        AutoStartPrewarmer.shutdown();
+        StreamHandoff.shutdown();
+        sessionParker.shutdown();
+        framePump.shutdown();
+        frameBufferBudget.shutdown();
+        reconnectScheduler.shutdown();
+        admissionController.shutdown();
+        probeCache.clear();
     }
 } 
\ No newline at end of file
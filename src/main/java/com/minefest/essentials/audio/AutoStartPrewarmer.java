@@ -0,0 +1,255 @@
+package com.minefest.essentials.audio;
+
+import com.minefest.essentials.MinefestCore;
+import com.minefest.essentials.blocks.entity.DJStandBlockEntity;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.GlobalPos;
+import net.minecraft.server.level.ServerLevel;
+
+import java.util.ArrayDeque;
+import java.util.HashSet;
+import java.util.Set;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * COMPONENT SIGNPOST [Index: 46]
+ * Purpose: Staged, parallel start of autoStart DJ Stands as their chunks load
+ * Side: DEDICATED_SERVER only - brings persisted stages back up after a restart
+ *
+ * Workflow:
+ * 1. [Index: 46.1] Collect autoStart stands with a stream URL as their block entities load
+ * 2. [Index: 46.2] Launch queued stands one per stagger interval, at most MAX_CONCURRENT_STARTS in flight
+ * 3. [Index: 46.3] Open each stream on the server thread through DJStandAudioBridge
+ * 4. [Index: 46.4] Time each wave from its first collected stand until every stand has settled
+ * 5. [Index: 46.5] Start a fresh launcher per server lifecycle; starts left over from a stopped server are ignored
+ *
+ * Dependencies:
+ * - DJStandBlockEntity [Index: 18] - persisted autoStart flag and stream URL
+ * - DJStandAudioBridge [Index: 25] - session bookkeeping for the started stream
+ * - AudioManager [Index: 05] - admission and shared upstream setup
+ *
+ * Related Files:
+ * - StreamAdmissionController.java [Index: 43] - still bounds total setup work; this only paces our share
+ * - SpeakerRegistry.java [Index: 36] - same load-event collection pattern for speakers
+ *
+ * Threading: the queue and wave counters are guarded by {@code lock}; stream starts are
+ * handed to the owning server's thread because they touch the block entity.
+ */
+public final class AutoStartPrewarmer {
+    public static final int MAX_CONCURRENT_STARTS = 4;
+    public static final long STAGGER_MS = 250;       // spaces out upstream connects and probes
+    private static final long STAGGER_JITTER_MS = 100;
+
+    private record PendingStand(ServerLevel level, GlobalPos location, int lifecycle) {
+        BlockPos pos() {
+            return location.pos();
+        }
+    }
+
+    private static final Object lock = new Object();
+    private static final ArrayDeque<PendingStand> queue = new ArrayDeque<>();
+    private static final Set<GlobalPos> known = new HashSet<>(); // queued or in flight
+    private static int inFlight = 0;
+    private static boolean drainScheduled = false;
+    private static int lifecycle = 0;
+    private static ScheduledExecutorService launcher;
+
+    // [Index: 46.4] Current wave
+    private static long waveStartedAt = 0;
+    private static int waveStands = 0;
+    private static int waveFailures = 0;
+
+    private static final AtomicLong started = new AtomicLong(0);
+    private static final AtomicLong failed = new AtomicLong(0);
+    private static final AtomicLong skipped = new AtomicLong(0);
+    private static volatile long lastTimeToAllLiveMs = -1;
+    private static volatile int lastWaveStands = 0;
+
+    private AutoStartPrewarmer() {
+    }
+
+    /**
+     * [Index: 46.5] Called from AudioManager.initialize, and again by the first stand
+     * collected after a shutdown, so a restarted server gets a working launcher
+     */
+    public static void start() {
+        synchronized (lock) {
+            if (launcher != null) {
+                return;
+            }
+            launcher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "Minefest-Prewarm");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+    }
+
+    /**
+     * [Index: 46.1] Called from DJStandBlockEntity.onLoad on the server thread
+     */
+    public static void onDJStandLoaded(ServerLevel level, DJStandBlockEntity djStand) {
+        if (!djStand.isAutoStart() || djStand.getStreamUrl().isEmpty()) {
+            return;
+        }
+        start();
+
+        synchronized (lock) {
+            PendingStand stand = new PendingStand(level, GlobalPos.of(level.dimension(), djStand.getBlockPos()), lifecycle);
+            if (!known.add(stand.location())) {
+                return;
+            }
+            if (queue.isEmpty() && inFlight == 0) {
+                waveStartedAt = System.nanoTime();
+                waveStands = 0;
+                waveFailures = 0;
+            }
+            waveStands++;
+            queue.add(stand);
+            scheduleDrain(0);
+        }
+    }
+
+    // Caller holds lock
+    private static void scheduleDrain(long delayMs) {
+        if (drainScheduled || launcher == null) {
+            return;
+        }
+        drainScheduled = true;
+        launcher.schedule(AutoStartPrewarmer::launchNext, delayMs, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * [Index: 46.2] Launch at most one stand per pass, then come back after the stagger.
+     * A full set of in-flight starts ends the pass; the next completion reschedules it.
+     */
+    private static void launchNext() {
+        PendingStand next;
+        synchronized (lock) {
+            drainScheduled = false;
+            if (queue.isEmpty() || inFlight >= MAX_CONCURRENT_STARTS) {
+                return;
+            }
+            next = queue.poll();
+            inFlight++;
+            if (!queue.isEmpty()) {
+                scheduleDrain(STAGGER_MS + ThreadLocalRandom.current().nextLong(STAGGER_JITTER_MS));
+            }
+        }
+
+        try {
+            next.level().getServer().execute(() -> start(next));
+        } catch (Exception e) {
+            MinefestCore.getLogger().debug("Auto-start of DJ Stand at {} could not be scheduled: {}",
+                next.pos(), e.getMessage());
+            failed.incrementAndGet();
+            settle(next, true);
+        }
+    }
+
+    /**
+     * [Index: 46.3] Server thread: re-check the stand, then open its stream
+     */
+    private static void start(PendingStand stand) {
+        try {
+            if (!(stand.level().getBlockEntity(stand.pos()) instanceof DJStandBlockEntity djStand)
+                    || !djStand.isAutoStart()) {
+                // Broken or reconfigured while queued - nothing to bring up
+                skipped.incrementAndGet();
+                settle(stand, false);
+                return;
+            }
+            DJStandAudioBridge.startAutoStream(stand.level(), stand.pos())
+                .whenComplete((live, error) -> {
+                    boolean failure = error != null || !Boolean.TRUE.equals(live);
+                    (failure ? failed : started).incrementAndGet();
+                    settle(stand, failure);
+                });
+        } catch (Exception e) {
+            MinefestCore.getLogger().error("Auto-start of DJ Stand at {} failed: {}", stand.pos(), e.getMessage());
+            failed.incrementAndGet();
+            settle(stand, true);
+        }
+    }
+
+    private static void settle(PendingStand stand, boolean failure) {
+        synchronized (lock) {
+            if (stand.lifecycle() != lifecycle) {
+                return; // queued before a shutdown; the counters were reset since
+            }
+            known.remove(stand.location());
+            inFlight--;
+            if (failure) {
+                waveFailures++;
+            }
+
+            if (!queue.isEmpty()) {
+                scheduleDrain(STAGGER_MS);
+            } else if (inFlight == 0) {
+                // [Index: 46.4] Every stand collected in this wave has settled
+                lastTimeToAllLiveMs = (System.nanoTime() - waveStartedAt) / 1_000_000;
+                lastWaveStands = waveStands;
+                MinefestCore.getLogger().info("Auto-start: {} DJ Stands settled in {} ms ({} failed)",
+                    waveStands, lastTimeToAllLiveMs, waveFailures);
+            }
+        }
+    }
+
+    // Monitoring
+    public static int getPendingCount() {
+        synchronized (lock) {
+            return queue.size();
+        }
+    }
+
+    public static int getInFlightCount() {
+        synchronized (lock) {
+            return inFlight;
+        }
+    }
+
+    public static long getStartedCount() {
+        return started.get();
+    }
+
+    public static long getFailedCount() {
+        return failed.get();
+    }
+
+    public static long getSkippedCount() {
+        return skipped.get();
+    }
+
+    /**
+     * Milliseconds from the first stand of the last completed wave to its last stand
+     * settling, or -1 before any wave has completed
+     */
+    public static long getLastTimeToAllLiveMs() {
+        return lastTimeToAllLiveMs;
+    }
+
+    public static int getLastWaveStandCount() {
+        return lastWaveStands;
+    }
+
+    public static void shutdown() {
+        ScheduledExecutorService stopped;
+        synchronized (lock) {
+            queue.clear();
+            known.clear();
+            inFlight = 0;
+            drainScheduled = false;
+            lifecycle++;
+            stopped = launcher;
+            launcher = null;
+        }
+        if (stopped != null) {
+            stopped.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,347 @@
+package com.minefest.essentials.audio;
+
+import com.minefest.essentials.MinefestCore;
+import com.sedmelluq.discord.lavaplayer.format.OpusAudioDataFormat;
+import com.sedmelluq.discord.lavaplayer.format.transcoder.AudioChunkEncoder;
+import com.sedmelluq.discord.lavaplayer.natives.opus.OpusDecoder;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+
+import net.minecraft.server.level.ServerPlayer;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * COMPONENT SIGNPOST [Index: 40]
+ * Purpose: Per-stream ladder of Opus bitrate variants chosen by listener distance and ticket tier
+ * Side: DEDICATED_SERVER only - transcodes on the pump's transcode thread, consulted by frame delivery
+ *
+ * Workflow:
+ * 1. [Index: 40.1] HIGH is the source feed itself (48kHz stereo); NORMAL and LOW are mono re-encodes
+ * 2. [Index: 40.2] Variants are produced only while some delivery has asked for them recently
+ * 3. [Index: 40.3] Decode each source frame once, then downmix/decimate and encode per live variant
+ * 4. [Index: 40.4] Pick a listener's variant from their attenuation band, capped by their ticket tier
+ * 5. [Index: 40.5] Follow the source ring through a cursor, a bounded number of frames per tick
+ *
+ * Dependencies:
+ * - LavaPlayer OpusAudioDataFormat [Index: N/A] - Opus chunk decoder/encoders
+ * - AudioFrameRing [Index: 32] - one ring per produced variant
+ * - StreamValidator [Index: 27] - TicketTier resolution for the quality cap
+ *
+ * Related Files:
+ * - FramePump.java [Index: 31] - drives transcode() from its own transcode thread
+ * - AudioFrameDelivery.java [Index: 38] - one encoded body per variant in use
+ * - NetworkAudioManager.java [Index: 26] - supplies the listener's attenuation
+ *
+ * Threading: transcode() and release() run on the transcode thread only, which is the sole
+ * producer of the NORMAL and LOW rings; demand and ring lookups are safe from any thread.
+ */
+public class BitrateLadder {
+    private static final long DEMAND_TIMEOUT_MS = 2000;
+    private static final long TIER_CACHE_MS = 30000;
+    private static final int TIER_CACHE_SWEEP_SIZE = 1024;
+    // [Index: 40.5] A tick normally finds one frame; a stalled tick may catch up by two more
+    private static final int MAX_FRAMES_PER_TICK = 3;
+
+    // [Index: 40.4] Attenuation bands from NetworkAudioManager.calculateDistanceAttenuation
+    private static final double HIGH_BAND_MIN_ATTENUATION = 0.20;   // within ~8 blocks
+    private static final double NORMAL_BAND_MIN_ATTENUATION = 0.05; // within ~17 blocks
+
+    /**
+     * [Index: 40.1] Ladder rungs. Ordinals match SpeakerBlockEntity.audioQuality (0=low, 1=normal, 2=high).
+     * Bitrates are libopus defaults for the channel layout and rate.
+     */
+    public enum Variant {
+        LOW(1, 24000, 480, 0),          // ~27 kbps mono
+        NORMAL(1, 48000, 960, 128),     // ~51 kbps mono
+        HIGH(2, 48000, 960, 192);       // ~99 kbps stereo, the untouched source frames
+
+        private final int channels;
+        private final int sampleRate;
+        private final int chunkSamples;
+        private final int minTierKbps;
+
+        Variant(int channels, int sampleRate, int chunkSamples, int minTierKbps) {
+            this.channels = channels;
+            this.sampleRate = sampleRate;
+            this.chunkSamples = chunkSamples;
+            this.minTierKbps = minTierKbps;
+        }
+
+        public int getChannels() { return channels; }
+        public int getSampleRate() { return sampleRate; }
+        public int getChunkSamples() { return chunkSamples; }
+
+        public static Variant fromQuality(int quality) {
+            Variant[] variants = values();
+            return variants[Math.max(0, Math.min(variants.length - 1, quality))];
+        }
+    }
+
+    private static final Map<UUID, CachedTier> tierCache = new ConcurrentHashMap<>();
+
+    private record CachedTier(Variant cap, long expiresAt) {
+    }
+
+    private final AudioConfiguration configuration;
+    private final AudioFrameRing sourceRing;
+    private final AudioFrameRing[] rings = new AudioFrameRing[Variant.values().length];
+    private final AtomicLongArray lastDemand = new AtomicLongArray(Variant.values().length);
+
+    // Transcode-thread state, created on first demand and reused for every frame
+    private AudioFrameRing.Cursor sourceCursor;
+    private OpusDecoder decoder;
+    private final AudioChunkEncoder[] encoders = new AudioChunkEncoder[Variant.values().length];
+    private byte[] sourceFrame;
+    private ByteBuffer sourcePacket;
+    private ByteBuffer encodedPacket;
+    private ShortBuffer sourcePcm;
+    private ShortBuffer variantPcm;
+    private volatile long skippedFrames = 0;
+    private boolean released = false;
+
+    public BitrateLadder(AudioFrameRing sourceRing, AudioConfiguration configuration) {
+        this.configuration = configuration;
+        this.sourceRing = sourceRing;
+        for (Variant variant : Variant.values()) {
+            rings[variant.ordinal()] = variant == Variant.HIGH ? sourceRing : new AudioFrameRing();
+        }
+    }
+
+    // [Index: 40.2] Demand tracking
+
+    public AudioFrameRing getRing(Variant variant) {
+        return rings[variant.ordinal()];
+    }
+
+    public void demand(Variant variant) {
+        lastDemand.set(variant.ordinal(), System.currentTimeMillis());
+    }
+
+    /**
+     * @return true if the pump is currently producing this variant
+     */
+    public boolean isProducing(Variant variant) {
+        return variant == Variant.HIGH
+            || System.currentTimeMillis() - lastDemand.get(variant.ordinal()) < DEMAND_TIMEOUT_MS;
+    }
+
+    /**
+     * [Index: 40.5] One transcode tick: catch up on the source ring, at most
+     * MAX_FRAMES_PER_TICK frames, so a slow ladder drops frames instead of
+     * delaying every other stream. Allocation-free once the codecs exist.
+     */
+    void transcode() {
+        if (released || !(isProducing(Variant.NORMAL) || isProducing(Variant.LOW))) {
+            sourceCursor = null; // resume at the live edge when demand returns
+            return;
+        }
+
+        try {
+            if (sourceCursor == null) {
+                if (decoder == null) {
+                    decoder = new OpusDecoder(48000, 2);
+                    sourceFrame = new byte[sourceRing.getSlotBytes()];
+                    sourcePacket = ByteBuffer.allocateDirect(sourceRing.getSlotBytes());
+                    encodedPacket = ByteBuffer.allocateDirect(AudioFrameRing.DEFAULT_SLOT_BYTES);
+                    sourcePcm = directShorts(960 * 2);
+                    variantPcm = directShorts(960);
+                }
+                sourceCursor = sourceRing.openCursor();
+            }
+
+            for (int i = 0; i < MAX_FRAMES_PER_TICK; i++) {
+                int length = sourceCursor.read(sourceFrame);
+                if (length == AudioFrameRing.NO_FRAME) {
+                    break;
+                }
+                transcodeFrame(length, sourceCursor.getLastTimecode(), sourceCursor.getLastStamp());
+            }
+
+            int backlog = sourceCursor.available();
+            if (backlog > MAX_FRAMES_PER_TICK) {
+                skippedFrames += backlog;
+                sourceCursor.skipToLive();
+            }
+        } catch (Exception e) {
+            MinefestCore.getLogger().debug("Bitrate ladder transcode failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * [Index: 40.3] Transcode one source frame into every demanded variant.
+     * The source decode happens once no matter how many variants are live.
+     */
+    private void transcodeFrame(int length, long timecode, long stamp) {
+        sourcePacket.clear();
+        sourcePacket.put(sourceFrame, 0, length);
+        sourcePacket.flip();
+        int frames = decoder.decode(sourcePacket, sourcePcm);
+        if (frames <= 0) {
+            return;
+        }
+
+        for (Variant variant : Variant.values()) {
+            if (variant == Variant.HIGH || !isProducing(variant)) {
+                continue;
+            }
+
+            int samples = convert(variant, sourcePcm, frames, variantPcm);
+            if (samples != variant.chunkSamples) {
+                continue; // partial frame - encoder needs whole chunks
+            }
+
+            encodedPacket.clear();
+            encoderFor(variant).encode(variantPcm, encodedPacket);
+            int encodedLength = encodedPacket.remaining();
+            AudioFrameRing ring = rings[variant.ordinal()];
+            if (encodedLength > ring.getSlotBytes()) {
+                continue;
+            }
+            encodedPacket.get(ring.claim(), 0, encodedLength);
+            ring.commit(encodedLength, timecode, stamp);
+        }
+    }
+
+    private AudioChunkEncoder encoderFor(Variant variant) {
+        AudioChunkEncoder encoder = encoders[variant.ordinal()];
+        if (encoder == null) {
+            encoder = createEncoder(variant, configuration);
+            encoders[variant.ordinal()] = encoder;
+        }
+        return encoder;
+    }
+
+    /**
+     * Opus encoder for one rung; the zone mixer encodes its mixes with the same settings
+     */
+    static AudioChunkEncoder createEncoder(Variant variant, AudioConfiguration configuration) {
+        return new OpusAudioDataFormat(variant.channels, variant.sampleRate, variant.chunkSamples)
+            .createEncoder(configuration);
+    }
+
+    /**
+     * Convert 48kHz stereo PCM to a mono rung's layout
+     *
+     * @return samples written to {@code mono}, flipped for reading
+     */
+    static int convert(Variant variant, ShortBuffer stereo, int frames, ShortBuffer mono) {
+        return variant.sampleRate == 48000
+            ? downmix(stereo, frames, mono)
+            : downmixHalfRate(stereo, frames, mono);
+    }
+
+    // Stereo 48kHz -> mono 48kHz
+    private static int downmix(ShortBuffer stereo, int frames, ShortBuffer mono) {
+        int base = stereo.position();
+        mono.clear();
+        for (int i = 0; i < frames; i++) {
+            int left = stereo.get(base + i * 2);
+            int right = stereo.get(base + i * 2 + 1);
+            mono.put((short) ((left + right) >> 1));
+        }
+        mono.flip();
+        return mono.remaining();
+    }
+
+    // Stereo 48kHz -> mono 24kHz; averaging sample pairs doubles as a crude low-pass
+    private static int downmixHalfRate(ShortBuffer stereo, int frames, ShortBuffer mono) {
+        int base = stereo.position();
+        mono.clear();
+        for (int i = 0; i + 1 < frames; i += 2) {
+            int sum = stereo.get(base + i * 2) + stereo.get(base + i * 2 + 1)
+                    + stereo.get(base + i * 2 + 2) + stereo.get(base + i * 2 + 3);
+            mono.put((short) (sum >> 2));
+        }
+        mono.flip();
+        return mono.remaining();
+    }
+
+    private static ShortBuffer directShorts(int count) {
+        return ByteBuffer.allocateDirect(count * 2).order(ByteOrder.nativeOrder()).asShortBuffer();
+    }
+
+    /**
+     * Frames the transcode thread skipped because it fell behind the source
+     */
+    public long getSkippedFrames() {
+        return skippedFrames;
+    }
+
+    /**
+     * Free native codec state. Must run on the transcode thread, after the source is unregistered.
+     */
+    void release() {
+        released = true;
+        sourceCursor = null;
+        if (decoder != null) {
+            decoder.close();
+            decoder = null;
+        }
+        for (int i = 0; i < encoders.length; i++) {
+            if (encoders[i] != null) {
+                encoders[i].close();
+                encoders[i] = null;
+            }
+        }
+    }
+
+    // [Index: 40.4] Variant selection
+
+    public static Variant forAttenuation(double attenuation) {
+        if (attenuation >= HIGH_BAND_MIN_ATTENUATION) {
+            return Variant.HIGH;
+        }
+        if (attenuation >= NORMAL_BAND_MIN_ATTENUATION) {
+            return Variant.NORMAL;
+        }
+        return Variant.LOW;
+    }
+
+    public static Variant capForTier(StreamValidator.TicketTier tier) {
+        int kbps = tier != null ? tier.getAudioQuality() : 0;
+        Variant cap = Variant.LOW;
+        for (Variant variant : Variant.values()) {
+            if (kbps >= variant.minTierKbps) {
+                cap = variant;
+            }
+        }
+        return cap;
+    }
+
+    /**
+     * Variant for one listener: the distance band, never above what their ticket allows.
+     * Tiers come from permission lookups, so they are cached per player.
+     */
+    public static Variant selectVariant(ServerPlayer player, double attenuation) {
+        Variant band = forAttenuation(attenuation);
+        Variant cap = getTierCap(player);
+        return band.ordinal() <= cap.ordinal() ? band : cap;
+    }
+
+    private static Variant getTierCap(ServerPlayer player) {
+        long now = System.currentTimeMillis();
+        UUID playerId = player.getUUID();
+        CachedTier cached = tierCache.get(playerId);
+        if (cached != null && cached.expiresAt() > now) {
+            return cached.cap();
+        }
+
+        if (tierCache.size() > TIER_CACHE_SWEEP_SIZE) {
+            tierCache.values().removeIf(entry -> entry.expiresAt() <= now);
+        }
+
+        Variant cap = capForTier(StreamValidator.resolveTicketTier(player));
+        tierCache.put(playerId, new CachedTier(cap, now + TIER_CACHE_MS));
+        return cap;
+    }
+
+    public static void invalidateTier(UUID playerId) {
+        tierCache.remove(playerId);
+    }
+}
@@ -9,32 +9,44 @@
  * 3. [Index: 25.3] LavaPlayer session lifecycle management
  * 4. [Index: 25.4] Volume control and audio configuration coordination
  * 5. [Index: 25.5] Speaker network synchronization support
+ * 6. [Index: 25.16] Gapless stream changes: pre-buffer the next stream while the current one plays
  * 
  * Dependencies:
  * - AudioManager [Index: 03] - core audio system integration
  * - StreamValidator [Index: 24] - enterprise security validation
  * - DJStandBlockEntity [Index: 18] - block entity state management
+ * - StreamAdmissionController [Index: 43] - tier-prioritised admission of new upstreams
+ * - StreamMetrics [Index: 47] - per-stage aggregation of stream pipeline metrics
+ * - StreamHandoff [Index: 54] - decides when an incoming stream is buffered enough to take over
  * 
  * Related Files:
  * - AudioManager.java [Index: 03] - manages LavaPlayer session creation
  * - StreamValidator.java [Index: 24] - handles stream URL validation
  * - DJStandBlock.java [Index: 15] - physical block requiring audio coordination
+ * - AutoStartPrewarmer.java [Index: 46] - starts persisted autoStart stands without a player
  */
 package com.minefest.essentials.audio;
 
 import com.minefest.essentials.MinefestCore;
 import com.minefest.essentials.blocks.entity.DJStandBlockEntity;
 import net.minecraft.core.BlockPos;
+import net.minecraft.server.MinecraftServer;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraftforge.api.distmarker.Dist;
 import net.minecraftforge.api.distmarker.OnlyIn;
 
+import java.util.Collections;
+import java.util.HashMap;
+import java.util.IdentityHashMap;
 import java.util.Map;
+import java.util.Set;
 import java.util.UUID;
 import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.CompletionException;
 import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
 
 /**
  * [Index: 25] Audio streaming bridge for DJ Stand block entities
@@ -61,7 +73,9 @@ public class DJStandAudioBridge {
         private boolean isActive;
         private long lastHeartbeat;
         private String currentUrl;
+        private String stageId;
         private int volume;
+        private int handoffGeneration; // [Index: 25.16] newest pending handoff wins
         
         public AudioSession(UUID djStandNetworkId, BlockPos djStandPos) {
             this.sessionId = UUID.randomUUID();
@@ -70,6 +84,7 @@ public class DJStandAudioBridge {
             this.isActive = false;
             this.lastHeartbeat = System.currentTimeMillis();
             this.currentUrl = "";
+            this.stageId = "main";
             this.volume = 100;
         }
         
@@ -85,8 +100,15 @@ public class DJStandAudioBridge {
         public void updateHeartbeat() { this.lastHeartbeat = System.currentTimeMillis(); }
         public String getCurrentUrl() { return currentUrl; }
         public void setCurrentUrl(String url) { this.currentUrl = url; }
+        public String getStageId() { return stageId; }
+        public void setStageId(String stageId) { this.stageId = stageId; }
         public int getVolume() { return volume; }
         public void setVolume(int volume) { this.volume = Math.max(0, Math.min(100, volume)); }
+        
+        // [Index: 25.16] A new start or a stop supersedes any handoff still buffering
+        public synchronized int beginHandoff() { return ++handoffGeneration; }
+        public synchronized void cancelHandoff() { handoffGeneration++; }
+        public synchronized boolean isCurrentHandoff(int generation) { return handoffGeneration == generation; }
     }
     
     /**
@@ -125,27 +147,77 @@ public class DJStandAudioBridge {
         // [Index: 25.3.4] Get or create audio session
         UUID networkId = djStandEntity.getNetworkId();
         AudioSession session = getOrCreateSession(networkId, djStandPos);
-        session.setCurrentUrl(actualStreamUrl); // Use the security-validated URL
+        session.setStageId(stageId);
         session.updateHeartbeat();
         
-        // [Index: 25.3.5] Stop existing stream if running
+        // The player's ticket tier decides its place in the setup queue when the server is busy
+        StreamValidator.TicketTier tier = StreamValidator.resolveTicketTier(player);
+        String description = streamConfig.getMaxBitrate() + "kbps";
+        
+        // [Index: 25.3.5] A live stand keeps playing until the new stream is buffered
         if (session.isActive() && session.getLavaPlayerSession() != null) {
+            if (StreamHandoff.isEnabled()) {
+                return handoffLavaPlayerSession(session, djStandEntity, actualStreamUrl, tier, description);
+            }
             stopStreamingInternal(session);
         }
         
         // [Index: 25.3.6] Create LavaPlayer streaming session with validated URL
-        return audioManager.createStreamingSession(actualStreamUrl)
+        session.setCurrentUrl(actualStreamUrl); // Use the security-validated URL
+        return openLavaPlayerSession(session, djStandEntity, actualStreamUrl, tier, description);
+    }
+    
+    /**
+     * [Index: 25.14] Start the persisted stream of an autoStart DJ Stand at server startup.
+     * No player is involved: the URL and stage were authorised when they were saved, so
+     * the stored URL is only re-validated and opened at the default admission tier.
+     */
+    public static CompletableFuture<Boolean> startAutoStream(ServerLevel level, BlockPos djStandPos) {
+        BlockEntity blockEntity = level.getBlockEntity(djStandPos);
+        if (!(blockEntity instanceof DJStandBlockEntity djStandEntity)) {
+            return CompletableFuture.completedFuture(false);
+        }
+        
+        String streamUrl = StreamValidator.validateStreamUrl(djStandEntity.getStreamUrl());
+        if (streamUrl == null) {
+            MinefestCore.getLogger().warn("[DJStandAudioBridge] Auto-start skipped for DJ Stand at {} - stored URL is invalid", djStandPos);
+            djStandEntity.setStreaming(false);
+            return CompletableFuture.completedFuture(false);
+        }
+        
+        AudioSession session = getOrCreateSession(djStandEntity.getNetworkId(), djStandPos);
+        if (session.isActive() && session.getLavaPlayerSession() != null) {
+            return CompletableFuture.completedFuture(true); // Already live, e.g. chunk reloaded
+        }
+        session.setCurrentUrl(streamUrl);
+        session.setStageId(djStandEntity.getStageId());
+        session.updateHeartbeat();
+        
+        return openLavaPlayerSession(session, djStandEntity, streamUrl, StreamAdmissionController.DEFAULT_TIER,
+            StreamAdmissionController.DEFAULT_TIER.name());
+    }
+    
+    /**
+     * [Index: 25.3.6] Open the LavaPlayer session for a DJ Stand and record the outcome
+     */
+    private static CompletableFuture<Boolean> openLavaPlayerSession(AudioSession session, DJStandBlockEntity djStandEntity,
+                                                                    String actualStreamUrl, StreamValidator.TicketTier tier,
+                                                                    String description) {
+        BlockPos djStandPos = session.getDjStandPos();
+        return audioManager.createStreamingSession(actualStreamUrl, tier)
             .thenApply(lavaPlayerSession -> {
                 if (lavaPlayerSession != null) {
                     session.setLavaPlayerSession(lavaPlayerSession);
                     session.setActive(true);
                     
-                    // [Index: 25.3.7] Update DJ Stand block entity state
-                    djStandEntity.setStreaming(true);
-                    djStandEntity.setStreamUrl(actualStreamUrl); // Store the validated URL
+                    // [Index: 25.3.7] Update DJ Stand block entity state on its own thread
+                    onServerThread(djStandEntity, () -> {
+                        djStandEntity.setStreaming(true);
+                        djStandEntity.setStreamUrl(actualStreamUrl); // Store the validated URL
+                    });
                     
                     MinefestCore.getLogger().info("[DJStandAudioBridge] Successfully started stream for DJ Stand at {} with {} tier",
-                                                 djStandPos, streamConfig.getMaxBitrate() + "kbps");
+                                                 djStandPos, description);
                     return true;
                 } else {
                     MinefestCore.getLogger().error("[DJStandAudioBridge] Failed to create LavaPlayer session for URL: {}", actualStreamUrl);
@@ -153,12 +225,120 @@ public class DJStandAudioBridge {
                 }
             })
             .exceptionally(throwable -> {
-                MinefestCore.getLogger().error("[DJStandAudioBridge] Exception starting stream: ", throwable);
+                Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                    ? throwable.getCause() : throwable;
+                if (cause instanceof StreamAdmissionController.AdmissionRejectedException rejected) {
+                    MinefestCore.getLogger().warn("[DJStandAudioBridge] Stream for DJ Stand at {} not admitted: {}",
+                                                 djStandPos, rejected.getReason());
+                } else {
+                    MinefestCore.getLogger().error("[DJStandAudioBridge] Exception starting stream: ", throwable);
+                }
                 session.setActive(false);
                 return false;
             });
     }
     
+    /**
+     * [Index: 25.3.7] Stream futures complete on LavaPlayer and admission threads, but block
+     * entities may only be touched from the server thread that owns their level
+     */
+    private static void onServerThread(DJStandBlockEntity djStandEntity, Runnable update) {
+        MinecraftServer server = serverOf(djStandEntity);
+        if (server == null) {
+            return; // unloaded since the stream was requested
+        }
+        server.execute(() -> {
+            if (!djStandEntity.isRemoved()) {
+                update.run();
+            }
+        });
+    }
+    
+    private static MinecraftServer serverOf(DJStandBlockEntity djStandEntity) {
+        return djStandEntity.getLevel() != null ? djStandEntity.getLevel().getServer() : null;
+    }
+    
+    /**
+     * [Index: 25.16] Switch a live DJ Stand to a new stream without a gap. The incoming
+     * session is opened and pre-buffered while the outgoing one keeps playing; speaker
+     * networks are then repointed (fading the new stream in if a fade-in is set) and
+     * the outgoing session is released. If the incoming stream fails, the crowd keeps
+     * hearing the current one. The swap runs on the server thread, like every other
+     * change to networks and the block entity.
+     */
+    private static CompletableFuture<Boolean> handoffLavaPlayerSession(AudioSession session, DJStandBlockEntity djStandEntity,
+                                                                       String actualStreamUrl, StreamValidator.TicketTier tier,
+                                                                       String description) {
+        BlockPos djStandPos = session.getDjStandPos();
+        MinecraftServer server = serverOf(djStandEntity);
+        if (server == null) {
+            return CompletableFuture.completedFuture(false);
+        }
+        int generation = session.beginHandoff();
+        long startedAt = System.nanoTime();
+        
+        return audioManager.createStreamingSession(actualStreamUrl, tier)
+            .thenCompose(incoming -> {
+                if (incoming == null) {
+                    return CompletableFuture.completedFuture((StreamingSession) null);
+                }
+                return StreamHandoff.awaitPrebuffered(incoming).thenApply(buffered -> {
+                    if (buffered) {
+                        return incoming;
+                    }
+                    audioManager.stopStreamingSession(incoming.getSessionId());
+                    return null;
+                });
+            })
+            .thenApplyAsync(incoming -> {
+                if (incoming == null) {
+                    MinefestCore.getLogger().warn("[DJStandAudioBridge] New stream for DJ Stand at {} did not buffer, keeping the current one: {}",
+                                                 djStandPos, actualStreamUrl);
+                    return false;
+                }
+                
+                StreamingSession outgoing;
+                synchronized (session) {
+                    if (!session.isCurrentHandoff(generation)) {
+                        // A later start or a stop took over while this stream was buffering
+                        audioManager.stopStreamingSession(incoming.getSessionId());
+                        return false;
+                    }
+                    outgoing = session.getLavaPlayerSession();
+                    session.setLavaPlayerSession(incoming);
+                    session.setCurrentUrl(actualStreamUrl);
+                    session.setActive(true);
+                    session.updateHeartbeat();
+                }
+                
+                if (outgoing != null) {
+                    NetworkAudioManager.handoffStreamSession(outgoing.getSessionId(), incoming.getSessionId(),
+                                                             StreamHandoff.getFadeInMs());
+                    audioManager.stopStreamingSession(outgoing.getSessionId());
+                }
+                
+                if (!djStandEntity.isRemoved()) {
+                    djStandEntity.setStreaming(true);
+                    djStandEntity.setStreamUrl(actualStreamUrl);
+                }
+                
+                MinefestCore.getLogger().info("[DJStandAudioBridge] Handed DJ Stand at {} over to new stream with {} tier after {}ms",
+                                             djStandPos, description, TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt));
+                return true;
+            }, server)
+            .exceptionally(throwable -> {
+                Throwable cause = throwable instanceof CompletionException && throwable.getCause() != null
+                    ? throwable.getCause() : throwable;
+                if (cause instanceof StreamAdmissionController.AdmissionRejectedException rejected) {
+                    MinefestCore.getLogger().warn("[DJStandAudioBridge] New stream for DJ Stand at {} not admitted, keeping the current one: {}",
+                                                 djStandPos, rejected.getReason());
+                } else {
+                    MinefestCore.getLogger().error("[DJStandAudioBridge] Exception handing over stream: ", throwable);
+                }
+                return false;
+            });
+    }
+    
     /**
      * [Index: 25.4] Stop streaming for a specific DJ Stand
      */
@@ -195,6 +375,7 @@ public class DJStandAudioBridge {
      * [Index: 25.5] Internal method to stop streaming session
      */
     private static void stopStreamingInternal(AudioSession session) {
+        session.cancelHandoff();
         if (session.getLavaPlayerSession() != null) {
             // Stop the LavaPlayer session through AudioManager
             audioManager.stopStreamingSession(session.getLavaPlayerSession().getSessionId());
@@ -249,7 +430,7 @@ public class DJStandAudioBridge {
                     session.isActive(),
                     session.getCurrentUrl(),
                     session.getVolume(),
-                    session.getLavaPlayerSession() != null ? "Connected" : "Disconnected",
+                    describeConnection(session.getLavaPlayerSession()),
                     System.currentTimeMillis() - session.getLastHeartbeat()
                 );
             }
@@ -258,6 +439,13 @@ public class DJStandAudioBridge {
         return new StreamingStatus(false, "", 100, "No Session", 0);
     }
     
+    private static String describeConnection(StreamingSession lavaPlayerSession) {
+        if (lavaPlayerSession == null) {
+            return "Disconnected";
+        }
+        return lavaPlayerSession.isReconnecting() ? "Reconnecting" : "Connected";
+    }
+    
     /**
      * [Index: 25.8] Streaming status data structure
      */
@@ -354,4 +542,29 @@ public class DJStandAudioBridge {
     public static int getTotalSessionCount() {
         return activeSessions.size();
     }
+    
+    /**
+     * [Index: 25.15] Pipeline metrics per stage. DJ Stands of one stage that play the
+     * same URL share a stream, which is only counted once.
+     */
+    public static Map<String, StreamMetrics.Snapshot> getStageMetrics() {
+        Map<String, Set<SharedStreamSource>> stageSources = new HashMap<>();
+        for (AudioSession session : activeSessions.values()) {
+            StreamingSession lavaPlayerSession = session.getLavaPlayerSession();
+            if (session.isActive() && lavaPlayerSession != null) {
+                stageSources.computeIfAbsent(session.getStageId(), key -> Collections.newSetFromMap(new IdentityHashMap<>()))
+                    .add(lavaPlayerSession.getSource());
+            }
+        }
+        
+        Map<String, StreamMetrics.Snapshot> stageMetrics = new HashMap<>();
+        for (Map.Entry<String, Set<SharedStreamSource>> entry : stageSources.entrySet()) {
+            StreamMetrics.Snapshot total = StreamMetrics.Snapshot.empty(entry.getKey());
+            for (SharedStreamSource source : entry.getValue()) {
+                total = total.plus(source.getMetrics().snapshot(source.getUrl()));
+            }
+            stageMetrics.put(entry.getKey(), total);
+        }
+        return stageMetrics;
+    }
 } 
\ No newline at end of file
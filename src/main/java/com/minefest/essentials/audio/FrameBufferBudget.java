@@ -0,0 +1,201 @@
+package com.minefest.essentials.audio;
+
+import com.minefest.essentials.MinefestCore;
+import com.sedmelluq.discord.lavaplayer.format.AudioDataFormat;
+
+import java.util.ArrayList;
+import java.util.Comparator;
+import java.util.List;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * COMPONENT SIGNPOST [Index: 42]
+ * Purpose: Global memory budget for LavaPlayer frame buffers, shared out by listener demand
+ * Side: DEDICATED_SERVER only - sizes every shared source's decode-ahead buffer
+ *
+ * Workflow:
+ * 1. [Index: 42.1] Convert buffer durations to the bytes a preallocated frame buffer reserves
+ * 2. [Index: 42.2] Grant each starting track a share of the cap weighted by its listeners
+ * 3. [Index: 42.3] Refuse new sources once even the minimum buffer no longer fits
+ * 4. [Index: 42.4] Over the cap, restart idle sources' tracks with their smaller grant
+ * 5. [Index: 42.5] Expose reserved and budgeted bytes for monitoring
+ *
+ * Dependencies:
+ * - LavaPlayer AudioDataFormat [Index: N/A] - maximum chunk size and frame duration
+ * - SharedStreamSource [Index: 28] - reservations and listener peaks
+ *
+ * Related Files:
+ * - AudioManager.java [Index: 05] - installs the non-allocating frame buffer and admits sources
+ * - NetworkAudioManager.java [Index: 26] - reports listener counts each sync
+ *
+ * LavaPlayer fixes a buffer's size when its track starts, so a grant applies to the
+ * next start; only sources with no listeners are restarted to apply a cut.
+ */
+public class FrameBufferBudget {
+    public static final long DEFAULT_BUDGET_BYTES = 256L * 1024 * 1024;
+    public static final int MIN_BUFFER_MS = 500;     // covers upstream read jitter, nothing more
+    public static final int MAX_BUFFER_MS = 5000;
+
+    private static final long REBALANCE_INTERVAL_MS = 2000;
+    private static final long IDLE_AFTER_MS = 30000;
+    private static final int MAX_RESTARTS_PER_PASS = 4; // each restart reopens an upstream
+
+    private final long budgetBytes;
+    private final int frameBytes;
+    private final long frameDurationMs;
+    private final Set<SharedStreamSource> sources = ConcurrentHashMap.newKeySet();
+    private final ScheduledExecutorService rebalancer;
+
+    public FrameBufferBudget(long budgetBytes, AudioDataFormat format) {
+        this.budgetBytes = budgetBytes;
+        this.frameBytes = format.maximumChunkSize();
+        this.frameDurationMs = Math.max(1, format.frameDuration());
+        this.rebalancer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "Minefest-FrameBudget");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start() {
+        rebalancer.scheduleAtFixedRate(this::rebalance, REBALANCE_INTERVAL_MS, REBALANCE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    public void register(SharedStreamSource source) {
+        sources.add(source);
+    }
+
+    public void unregister(SharedStreamSource source) {
+        sources.remove(source);
+    }
+
+    // [Index: 42.1] Same sizing as NonAllocatingAudioFrameBuffer's backing array
+    public long bytesFor(int bufferMs) {
+        return bufferMs <= 0 ? 0 : (bufferMs / frameDurationMs + 1) * frameBytes;
+    }
+
+    private int durationFor(long bytes) {
+        return (int) Math.min(Integer.MAX_VALUE, Math.max(0, bytes / frameBytes - 1) * frameDurationMs);
+    }
+
+    // [Index: 42.2] Grants
+
+    private boolean isIdle(SharedStreamSource source, long now) {
+        return now - source.getLastListenedAt() > IDLE_AFTER_MS;
+    }
+
+    private int weightOf(SharedStreamSource source, long now) {
+        return isIdle(source, now) ? 0 : 1 + source.getLastPeakListeners();
+    }
+
+    /**
+     * Buffer duration for a source whose track is about to start: its listener-weighted
+     * share of the cap, limited to what is actually free, never below the minimum.
+     */
+    public int allocate(SharedStreamSource source) {
+        return targetFor(source, System.currentTimeMillis());
+    }
+
+    private int targetFor(SharedStreamSource source, long now) {
+        int weight = weightOf(source, now);
+        if (weight == 0) {
+            return MIN_BUFFER_MS;
+        }
+
+        // Idle sources are only owed their minimum; active ones split the rest by weight
+        int totalWeight = weight;
+        long idleFloor = 0;
+        for (SharedStreamSource other : sources) {
+            if (other == source) {
+                continue;
+            }
+            int otherWeight = weightOf(other, now);
+            totalWeight += otherWeight;
+            if (otherWeight == 0) {
+                idleFloor += bytesFor(MIN_BUFFER_MS);
+            }
+        }
+
+        long share = (budgetBytes - idleFloor) * weight / totalWeight;
+        long free = budgetBytes - getReservedBytes() + bytesFor(source.getFrameBufferMs());
+        int grant = durationFor(Math.min(share, free));
+        return Math.max(MIN_BUFFER_MS, Math.min(MAX_BUFFER_MS, grant));
+    }
+
+    /**
+     * [Index: 42.3] Whether a new source's minimum buffer still fits under the cap
+     */
+    public boolean canAdmit() {
+        return getReservedBytes() + bytesFor(MIN_BUFFER_MS) <= budgetBytes;
+    }
+
+    /**
+     * [Index: 42.4] Roll every source's listener window and, while over the cap, restart
+     * the largest idle reservations so they drop to the minimum buffer.
+     */
+    private void rebalance() {
+        try {
+            long now = System.currentTimeMillis();
+            for (SharedStreamSource source : sources) {
+                source.rollListenerWindow();
+            }
+
+            long excess = getReservedBytes() - budgetBytes;
+            if (excess <= 0) {
+                return;
+            }
+
+            List<SharedStreamSource> candidates = new ArrayList<>();
+            for (SharedStreamSource source : sources) {
+                if (isIdle(source, now) && source.getFrameBufferMs() > MIN_BUFFER_MS && source.isPlaying()) {
+                    candidates.add(source);
+                }
+            }
+            candidates.sort(Comparator.comparingInt(SharedStreamSource::getFrameBufferMs).reversed());
+
+            int restarts = 0;
+            for (SharedStreamSource source : candidates) {
+                if (excess <= 0 || restarts >= MAX_RESTARTS_PER_PASS) {
+                    break;
+                }
+                long before = bytesFor(source.getFrameBufferMs());
+                if (source.restartWithBudget()) {
+                    excess -= before - bytesFor(source.getFrameBufferMs());
+                    restarts++;
+                }
+            }
+
+            if (restarts > 0) {
+                MinefestCore.getLogger().debug("Frame buffer budget over cap - shrank {} idle streams", restarts);
+            }
+        } catch (Exception e) {
+            MinefestCore.getLogger().debug("Frame buffer rebalance failed: {}", e.getMessage());
+        }
+    }
+
+    // [Index: 42.5] Monitoring
+    public long getReservedBytes() {
+        long reserved = 0;
+        for (SharedStreamSource source : sources) {
+            reserved += bytesFor(source.getFrameBufferMs());
+        }
+        return reserved;
+    }
+
+    public long getBudgetBytes() {
+        return budgetBytes;
+    }
+
+    public int getSourceCount() {
+        return sources.size();
+    }
+
+    public void shutdown() {
+        rebalancer.shutdownNow();
+        sources.clear();
+    }
+}
@@ -0,0 +1,217 @@
+package com.minefest.essentials.audio;
+
+import com.minefest.essentials.MinefestCore;
+import com.sedmelluq.discord.lavaplayer.track.playback.MutableAudioFrame;
+
+import java.nio.ByteBuffer;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * COMPONENT SIGNPOST [Index: 31]
+ * Purpose: Dedicated 20ms frame pump moving decoded audio out of every shared AudioPlayer
+ * Side: DEDICATED_SERVER only - the single producer for all AudioFrameRings
+ *
+ * Workflow:
+ * 1. [Index: 31.1] Track open shared sources in a copy-on-write array
+ * 2. [Index: 31.2] Poll each playing source's AudioPlayer.provide() once per 20ms tick
+ * 3. [Index: 31.3] Copy each frame into the source's preallocated ring slot
+ * 4. [Index: 31.4] Expose pump counters for monitoring
+ * 5. [Index: 31.5] Run bitrate ladders on a separate transcode thread so codec work never delays the pump
+ * 6. [Index: 31.6] Stamp every frame of a tick with one MasterClock reading
+ * 7. [Index: 31.7] Report per-stream frame, byte, fetch latency and underrun metrics
+ *
+ * Dependencies:
+ * - LavaPlayer MutableAudioFrame [Index: N/A] - reusable frame target for provide()
+ * - SharedStreamSource [Index: 28] - upstream player and owning ring
+ * - AudioFrameRing [Index: 32] - per-source frame storage
+ * - BitrateLadder [Index: 40] - transcodes demanded variants on the transcode thread
+ * - MasterClock [Index: 01] - network-wide time base for frame stamps
+ * - StreamMetrics [Index: 47] - per-stream pipeline counters
+ * - ReconnectScheduler [Index: 33] - budget restored once a source plays without underruns
+ *
+ * Related Files:
+ * - AudioManager.java [Index: 05] - registers sources as they open and close
+ * - NetworkAudioManager.java [Index: 26] - downstream consumer of the frame feed
+ */
+public class FramePump {
+    public static final long FRAME_INTERVAL_MS = 20;
+
+    private final ScheduledExecutorService pumpThread;
+    private final ScheduledExecutorService transcodeThread;
+    private final MutableAudioFrame scratchFrame;
+    private final Object registrationLock = new Object();
+    private volatile SharedStreamSource[] sources = new SharedStreamSource[0];
+
+    private final AtomicLong framesPumped = new AtomicLong(0);
+    private final AtomicLong oversizedFrames = new AtomicLong(0);
+    private final AtomicLong pumpErrors = new AtomicLong(0);
+
+    public FramePump() {
+        this.pumpThread = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "Minefest-FramePump");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MAX_PRIORITY);
+            return thread;
+        });
+        this.transcodeThread = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "Minefest-Transcode");
+            thread.setDaemon(true);
+            return thread;
+        });
+
+        // Only ever touched from the pump thread, so a single scratch frame suffices
+        this.scratchFrame = new MutableAudioFrame();
+        this.scratchFrame.setBuffer(ByteBuffer.allocate(AudioFrameRing.DEFAULT_SLOT_BYTES));
+    }
+
+    public void start() {
+        pumpThread.scheduleAtFixedRate(this::pumpFrames, FRAME_INTERVAL_MS, FRAME_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        transcodeThread.scheduleAtFixedRate(this::transcodeFrames, FRAME_INTERVAL_MS, FRAME_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        MinefestCore.getLogger().info("Frame pump started at {}ms cadence", FRAME_INTERVAL_MS);
+    }
+
+    // [Index: 31.1] Source registration (rare) copies the array so the tick never locks
+    public void register(SharedStreamSource source) {
+        synchronized (registrationLock) {
+            SharedStreamSource[] current = sources;
+            SharedStreamSource[] updated = new SharedStreamSource[current.length + 1];
+            System.arraycopy(current, 0, updated, 0, current.length);
+            updated[current.length] = source;
+            sources = updated;
+        }
+    }
+
+    public void unregister(SharedStreamSource source) {
+        synchronized (registrationLock) {
+            SharedStreamSource[] current = sources;
+            int index = -1;
+            for (int i = 0; i < current.length; i++) {
+                if (current[i] == source) {
+                    index = i;
+                    break;
+                }
+            }
+            if (index < 0) {
+                return;
+            }
+            SharedStreamSource[] updated = new SharedStreamSource[current.length - 1];
+            System.arraycopy(current, 0, updated, 0, index);
+            System.arraycopy(current, index + 1, updated, index, current.length - index - 1);
+            sources = updated;
+        }
+
+        // Codec state may be mid-use by the current tick; free it on the transcode thread
+        BitrateLadder ladder = source.getBitrateLadder();
+        try {
+            transcodeThread.execute(ladder::release);
+        } catch (RejectedExecutionException e) {
+            ladder.release();
+        }
+    }
+
+    /**
+     * [Index: 31.2] One pump tick - pulls at most one frame per source so playback
+     * stays paced at real time. Allocation-free in steady state.
+     */
+    private void pumpFrames() {
+        SharedStreamSource[] snapshot = sources;
+        if (snapshot.length == 0) {
+            return;
+        }
+
+        // [Index: 31.6] Same stamp for all sources, so networks on different streams stay in phase
+        long stamp = readMasterTime();
+        for (SharedStreamSource source : snapshot) {
+            if (source.isClosed() || !source.isPlaying()) {
+                continue;
+            }
+
+            StreamMetrics metrics = source.getMetrics();
+            try {
+                long fetchStarted = System.nanoTime();
+                if (!source.getPlayer().provide(scratchFrame)) {
+                    // [Index: 31.7] RECONNECTING sources are expected to be empty
+                    if (source.getState() == StreamingSession.State.PLAYING) {
+                        metrics.recordEmptyFetch();
+                    }
+                    source.notePlaybackTick(false, fetchStarted);
+                    continue;
+                }
+
+                // [Index: 31.3] Copy into the ring's preallocated slot
+                int length = scratchFrame.getDataLength();
+                AudioFrameRing ring = source.getFrameRing();
+                if (length > ring.getSlotBytes()) {
+                    oversizedFrames.incrementAndGet();
+                    metrics.recordDropped(1);
+                    continue;
+                }
+                byte[] slot = ring.claim();
+                scratchFrame.getData(slot, 0);
+                ring.commit(length, scratchFrame.getTimecode(), stamp);
+                framesPumped.incrementAndGet();
+                metrics.recordFrame(length, System.nanoTime() - fetchStarted);
+                source.notePlaybackTick(source.getState() == StreamingSession.State.PLAYING, fetchStarted);
+            } catch (Exception e) {
+                pumpErrors.incrementAndGet();
+                MinefestCore.getLogger().debug("Frame pump error for {}: {}", source.getUrl(), e.getMessage());
+            }
+        }
+    }
+
+    /**
+     * [Index: 31.5] Ladders read the source rings through their own cursors, so a slow
+     * re-encode only costs that ladder frames, never the pump's cadence
+     */
+    private void transcodeFrames() {
+        for (SharedStreamSource source : sources) {
+            if (!source.isClosed()) {
+                source.getBitrateLadder().transcode();
+            }
+        }
+    }
+
+    /**
+     * [Index: 31.6] MasterClock.getCurrentTime() only advances once per server tick, too
+     * coarse for 20ms frames, so apply the clock's network offset to the wall clock instead.
+     * An exception here would cancel the fixed-rate task, so fall back to local time while
+     * the clock is unavailable (startup/shutdown, or outside a running server such as the
+     * load harness, where FML has not set up the environment).
+     */
+    private static long readMasterTime() {
+        try {
+            return System.currentTimeMillis() + MinefestCore.getMasterClock().getNetworkTimeOffset();
+        } catch (RuntimeException e) {
+            return System.currentTimeMillis();
+        }
+    }
+
+    // [Index: 31.4] Monitoring
+    public int getSourceCount() {
+        return sources.length;
+    }
+
+    public long getFramesPumped() {
+        return framesPumped.get();
+    }
+
+    public long getOversizedFrames() {
+        return oversizedFrames.get();
+    }
+
+    public long getPumpErrors() {
+        return pumpErrors.get();
+    }
+
+    public void shutdown() {
+        pumpThread.shutdownNow();
+        transcodeThread.shutdownNow();
+        synchronized (registrationLock) {
+            sources = new SharedStreamSource[0];
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.minefest.essentials.audio;
+
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.concurrent.atomic.AtomicLongArray;
+
+/**
+ * COMPONENT SIGNPOST [Index: 48]
+ * Purpose: Lock-free, log-bucketed latency histogram with cheap point-in-time snapshots
+ * Side: DEDICATED_SERVER only - records on hot audio threads, read by monitoring
+ *
+ * Workflow:
+ * 1. [Index: 48.1] Map a duration in microseconds to a log-linear bucket (8 sub-buckets per power of two)
+ * 2. [Index: 48.2] Record with a single atomic increment per bucket - no locks, no allocation
+ * 3. [Index: 48.3] Snapshot by copying the bucket counts into an immutable value
+ * 4. [Index: 48.4] Merge snapshots and answer percentile, mean and max queries from them
+ *
+ * Dependencies:
+ * - None
+ *
+ * Related Files:
+ * - StreamMetrics.java [Index: 47] - decode latency and time-to-first-frame per stream
+ *
+ * Buckets are at most 12.5% wide relative to their value; percentiles report the bucket's
+ * upper bound, capped at the largest value recorded. Durations beyond ~71 minutes share
+ * the last bucket.
+ */
+public final class LatencyHistogram {
+    private static final int SUB_BUCKET_BITS = 3;
+    private static final int SUB_BUCKETS = 1 << SUB_BUCKET_BITS;
+    private static final int MAX_EXPONENT = 31;
+    static final int BUCKET_COUNT = (MAX_EXPONENT - SUB_BUCKET_BITS + 2) * SUB_BUCKETS;
+    private static final long MAX_TRACKABLE_MICROS = (1L << (MAX_EXPONENT + 1)) - 1;
+
+    private final AtomicLongArray buckets = new AtomicLongArray(BUCKET_COUNT);
+    private final AtomicLong count = new AtomicLong(0);
+    private final AtomicLong sumMicros = new AtomicLong(0);
+    private final AtomicLong maxMicros = new AtomicLong(0);
+
+    // [Index: 48.1] Values below SUB_BUCKETS are exact; above, the top bits pick the bucket
+    static int bucketOf(long micros) {
+        long value = Math.min(Math.max(micros, 0), MAX_TRACKABLE_MICROS);
+        if (value < SUB_BUCKETS) {
+            return (int) value;
+        }
+        int exponent = 63 - Long.numberOfLeadingZeros(value);
+        int sub = (int) (value >>> (exponent - SUB_BUCKET_BITS)) & (SUB_BUCKETS - 1);
+        return (exponent - SUB_BUCKET_BITS + 1) * SUB_BUCKETS + sub;
+    }
+
+    static long upperBoundOf(int bucket) {
+        if (bucket < SUB_BUCKETS) {
+            return bucket;
+        }
+        int exponent = bucket / SUB_BUCKETS + SUB_BUCKET_BITS - 1;
+        int sub = bucket % SUB_BUCKETS;
+        int shift = exponent - SUB_BUCKET_BITS;
+        return ((long) (SUB_BUCKETS + sub + 1) << shift) - 1;
+    }
+
+    /**
+     * [Index: 48.2] Record one duration
+     */
+    public void recordNanos(long nanos) {
+        recordMicros(TimeUnit.NANOSECONDS.toMicros(nanos));
+    }
+
+    public void recordMicros(long micros) {
+        long value = Math.max(micros, 0);
+        buckets.incrementAndGet(bucketOf(value));
+        count.incrementAndGet();
+        sumMicros.addAndGet(value);
+        maxMicros.accumulateAndGet(value, Math::max);
+    }
+
+    /**
+     * [Index: 48.3] Copy of the current counts. Concurrent records may land in the
+     * buckets but not yet in the totals (or vice versa); the skew is a handful of samples.
+     */
+    public Snapshot snapshot() {
+        long[] counts = new long[BUCKET_COUNT];
+        for (int i = 0; i < BUCKET_COUNT; i++) {
+            counts[i] = buckets.get(i);
+        }
+        return new Snapshot(counts, count.get(), sumMicros.get(), maxMicros.get());
+    }
+
+    /**
+     * [Index: 48.4] Immutable histogram state; all durations are in microseconds
+     */
+    public static final class Snapshot {
+        public static final Snapshot EMPTY = new Snapshot(new long[BUCKET_COUNT], 0, 0, 0);
+
+        private final long[] counts;
+        private final long count;
+        private final long sumMicros;
+        private final long maxMicros;
+
+        private Snapshot(long[] counts, long count, long sumMicros, long maxMicros) {
+            this.counts = counts;
+            this.count = count;
+            this.sumMicros = sumMicros;
+            this.maxMicros = maxMicros;
+        }
+
+        public Snapshot merge(Snapshot other) {
+            long[] merged = new long[BUCKET_COUNT];
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                merged[i] = counts[i] + other.counts[i];
+            }
+            return new Snapshot(merged, count + other.count, sumMicros + other.sumMicros,
+                Math.max(maxMicros, other.maxMicros));
+        }
+
+        /**
+         * @param percentile 0-100
+         * @return the value at or below which that share of samples fall, 0 when empty
+         */
+        public long getPercentileMicros(double percentile) {
+            long total = 0;
+            for (long bucketCount : counts) {
+                total += bucketCount;
+            }
+            if (total == 0) {
+                return 0;
+            }
+
+            long rank = Math.max(1, (long) Math.ceil(total * Math.min(100.0, Math.max(0.0, percentile)) / 100.0));
+            long seen = 0;
+            for (int i = 0; i < BUCKET_COUNT; i++) {
+                seen += counts[i];
+                if (seen >= rank) {
+                    return Math.min(upperBoundOf(i), maxMicros);
+                }
+            }
+            return maxMicros;
+        }
+
+        public long getCount() {
+            return count;
+        }
+
+        public double getMeanMicros() {
+            return count == 0 ? 0.0 : (double) sumMicros / count;
+        }
+
+        public long getMaxMicros() {
+            return maxMicros;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("n=%d mean=%.0fus p50=%dus p99=%dus max=%dus",
+                count, getMeanMicros(), getPercentileMicros(50), getPercentileMicros(99), maxMicros);
+        }
+    }
+}
@@ -18,31 +18,41 @@ import java.util.concurrent.CompletableFuture;
  * 2. [Index: 07.2] Process playlist loading for radio streams
  * 3. [Index: 07.3] Handle loading failures and error cases
  * 4. [Index: 07.4] Complete CompletableFuture for async operation tracking
+ * 5. [Index: 07.5] Record probed tracks in the probe cache for the next start
  * 
  * Dependencies:
  * - LavaPlayer AudioLoadResultHandler [Index: N/A] - audio loading interface
- * - StreamingSession [Index: 06] - session state management
+ * - SharedStreamSource [Index: 28] - shared upstream whose player receives the track
+ * - StreamProbeCache [Index: 45] - probed tracks reused by later loads of the same URL
  * - MinefestCore [Index: 02] - logging access
  * 
  * Related Files:
  * - AudioManager.java [Index: 05] - creates handler instances for audio loading
- * - StreamingSession.java [Index: 06] - manages session state updates
+ * - SharedStreamSource.java [Index: 28] - playback state seen by every subscribing session
  */
 public class MinefestAudioLoadHandler implements AudioLoadResultHandler {
-    private final StreamingSession session;
-    private final CompletableFuture<StreamingSession> future;
+    private final SharedStreamSource source;
+    private final CompletableFuture<SharedStreamSource> future;
+    private final StreamProbeCache probeCache;
 
-    public MinefestAudioLoadHandler(StreamingSession session, CompletableFuture<StreamingSession> future) {
-        this.session = session;
+    public MinefestAudioLoadHandler(SharedStreamSource source, CompletableFuture<SharedStreamSource> future,
+                                    StreamProbeCache probeCache) {
+        this.source = source;
         this.future = future;
+        this.probeCache = probeCache;
     }
 
+    /**
+     * [Index: 07.1] Also called directly by StreamProbeCache with a clone of a cached track
+     */
     @Override
     public void trackLoaded(AudioTrack track) {
         MinefestCore.getLogger().info("Stream loaded successfully");
-        session.getPlayer().playTrack(track);
-        session.setPlaying(true);
-        future.complete(session);
+        // [Index: 07.5] Must happen before playback starts consuming this instance
+        probeCache.store(source.getUrl(), track);
+        source.playTrack(track);
+        source.setPlaying(true);
+        future.complete(source);
     }
 
     @Override
@@ -54,9 +64,9 @@ public class MinefestAudioLoadHandler implements AudioLoadResultHandler {
         } else {
             // For some radio streams, we might get an empty playlist but the stream is still valid
             // We'll check if we have a stream URL and try to play it directly
-            if (session.getCurrentUrl() != null) {
+            if (source.getUrl() != null) {
                 MinefestCore.getLogger().info("Received empty playlist but continuing with stream URL");
-                future.complete(session);
+                future.complete(source);
             } else {
                 future.completeExceptionally(new RuntimeException("No playable content found"));
             }
@@ -15,6 +15,15 @@
  * - DJStandBlockEntity [Index: 18] - Network topology and stream session data
  * - SpeakerBlockEntity [Index: 19] - Individual speaker state and positioning
  * - DJStandAudioBridge [Index: 25] - GUI-triggered audio operations
+ * - NetworkTimingWheel [Index: 34] - shared periodic sync driver for all networks
+ * - SpeakerSpatialIndex [Index: 35] - per-level speaker cells for listener range queries
+ * - SpeakerRegistry [Index: 36] - loaded speakers by linked DJ Stand for network discovery
+ * - SpeakerVolumeMap [Index: 37] - primitive speaker membership and volume storage
+ * - AudioFrameDelivery [Index: 38] - encode-once frame fan-out to listening players
+ * - BitrateLadder [Index: 40] - per-listener bitrate variant selection
+ * - StreamHandoff [Index: 54] - fade-in length when a DJ Stand switches streams
+ * - ZoneMixer [Index: 56] - one mixed stream for listeners who hear several networks
+ * - StageRecorder [Index: 57] - records each network's stream for replays
  * 
  * Related Files:
  * - StreamValidator.java [Index: 27] - Stream URL validation and processing
@@ -26,17 +35,17 @@ import com.minefest.essentials.blocks.entity.DJStandBlockEntity;
 import com.minefest.essentials.blocks.entity.SpeakerBlockEntity;
 import com.minefest.essentials.MinefestCore;
 
+import io.netty.buffer.ByteBuf;
 import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
 import net.minecraft.server.level.ServerLevel;
 import net.minecraft.server.level.ServerPlayer;
-import net.minecraft.world.level.block.entity.BlockEntity;
+import net.minecraft.world.level.Level;
 import net.minecraft.world.phys.Vec3;
 
 import java.util.*;
 import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.CompletableFuture;
-import java.util.concurrent.ScheduledExecutorService;
-import java.util.concurrent.Executors;
 import java.util.concurrent.TimeUnit;
 
 public class NetworkAudioManager {
@@ -44,13 +53,26 @@ public class NetworkAudioManager {
     // [Index: 26.1] Network registration and management
     private static final Map<UUID, AudioNetwork> activeNetworks = new ConcurrentHashMap<>();
     private static final Map<BlockPos, UUID> djStandToNetwork = new ConcurrentHashMap<>();
-    private static final ScheduledExecutorService scheduler = Executors.newScheduledThreadPool(4);
+    
+    // [Index: 26.4] Speaker positions bucketed per level for listener range queries
+    private static final Map<ResourceKey<Level>, SpeakerSpatialIndex> speakerIndexes = new ConcurrentHashMap<>();
     
     // Audio synchronization constants
     private static final int SYNC_INTERVAL_MS = 50; // 20 times per second for smooth audio
+    private static final int SYNC_WHEEL_SLOTS = 10; // Networks spread across 5ms batches
+    
+    // [Index: 26.5] One timing wheel drives every network instead of a task per network
+    private static final NetworkTimingWheel syncWheel = 
+        new NetworkTimingWheel("Minefest-NetworkSync", SYNC_INTERVAL_MS, SYNC_WHEEL_SLOTS);
     private static final double MAX_AUDIO_DISTANCE = 64.0; // Maximum distance for audio hearing
     private static final double SPEAKER_BASE_VOLUME = 1.0; // Base speaker volume multiplier
     
+    // [Index: 26.5] Listeners in earshot of more than one network are served a zone mix
+    private static final ZoneMixer zoneMixer = new ZoneMixer();
+    
+    // [Index: 26.5] Every stage's output can be archived for replays and post-show broadcasts
+    private static final StageRecorder stageRecorder = new StageRecorder();
+    
     /**
      * [Index: 26.1.1] Audio Network data structure
      * Represents a complete audio network with DJ Stand and connected speakers
@@ -58,18 +80,22 @@ public class NetworkAudioManager {
     public static class AudioNetwork {
         private final UUID networkId;
         private final BlockPos djStandPos;
-        private final Set<BlockPos> speakerPositions;
-        private final Map<BlockPos, Double> speakerVolumes;
+        private final SpeakerVolumeMap speakers;
         private UUID currentStreamSession;
         private double masterVolume;
         private volatile boolean isActive;
         private long lastSyncTime;
+        private NetworkTimingWheel.Timeout syncTimeout;
+        private SpeakerSpatialIndex speakerIndex;
+        private final AudioFrameDelivery frameDelivery;
+        private volatile long fadeInStartedAt;
+        private volatile long fadeInMs;
         
         public AudioNetwork(UUID networkId, BlockPos djStandPos) {
             this.networkId = networkId;
             this.djStandPos = djStandPos;
-            this.speakerPositions = ConcurrentHashMap.newKeySet();
-            this.speakerVolumes = new ConcurrentHashMap<>();
+            this.speakers = new SpeakerVolumeMap();
+            this.frameDelivery = new AudioFrameDelivery(networkId);
             this.masterVolume = 0.7; // Default 70% master volume
             this.isActive = false;
             this.lastSyncTime = System.currentTimeMillis();
@@ -78,10 +104,12 @@ public class NetworkAudioManager {
         // Getters and network management methods
         public UUID getNetworkId() { return networkId; }
         public BlockPos getDjStandPos() { return djStandPos; }
-        public Set<BlockPos> getSpeakerPositions() { return new HashSet<>(speakerPositions); }
+        public int getSpeakerCount() { return speakers.size(); }
+        public boolean hasSpeaker(BlockPos speakerPos) { return speakers.containsKey(speakerPos.asLong()); }
         public double getMasterVolume() { return masterVolume; }
         public UUID getCurrentStreamSession() { return currentStreamSession; }
         public boolean isActive() { return isActive; }
+        public AudioFrameDelivery getFrameDelivery() { return frameDelivery; }
         
         public void setMasterVolume(double volume) {
             this.masterVolume = Math.max(0.0, Math.min(1.0, volume));
@@ -92,24 +120,68 @@ public class NetworkAudioManager {
             this.isActive = (sessionId != null);
         }
         
+        /**
+         * [Index: 26.2.8] Ramp listener volume up from silence over the given time
+         */
+        public void startFadeIn(long durationMs) {
+            this.fadeInStartedAt = System.currentTimeMillis();
+            this.fadeInMs = durationMs;
+        }
+        
+        public double getFadeInGain(long now) {
+            long duration = fadeInMs;
+            if (duration <= 0) {
+                return 1.0;
+            }
+            long elapsed = now - fadeInStartedAt;
+            if (elapsed >= duration) {
+                fadeInMs = 0;
+                return 1.0;
+            }
+            return Math.max(0.0, (double) elapsed / duration);
+        }
+        
+        /**
+         * Allocating copy for debugging and monitoring; the sync path reads getSpeakerSnapshot()
+         */
+        public Set<BlockPos> getSpeakerPositions() {
+            SpeakerVolumeMap.Snapshot snapshot = speakers.snapshot();
+            Set<BlockPos> positions = new HashSet<>(snapshot.size());
+            for (int i = 0; i < snapshot.size(); i++) {
+                positions.add(BlockPos.of(snapshot.positionAt(i)));
+            }
+            return positions;
+        }
+        
+        public SpeakerVolumeMap.Snapshot getSpeakerSnapshot() {
+            return speakers.snapshot();
+        }
+        
         public void addSpeaker(BlockPos speakerPos, double volume) {
-            speakerPositions.add(speakerPos);
-            speakerVolumes.put(speakerPos, Math.max(0.0, Math.min(1.0, volume)));
+            speakers.put(speakerPos.asLong(), (float) Math.max(0.0, Math.min(1.0, volume)));
+            if (speakerIndex != null) {
+                speakerIndex.add(speakerPos, networkId);
+            }
         }
         
         public void removeSpeaker(BlockPos speakerPos) {
-            speakerPositions.remove(speakerPos);
-            speakerVolumes.remove(speakerPos);
+            speakers.remove(speakerPos.asLong());
+            if (speakerIndex != null) {
+                speakerIndex.remove(speakerPos, networkId);
+            }
         }
         
         public void setSpeakerVolume(BlockPos speakerPos, double volume) {
-            if (speakerPositions.contains(speakerPos)) {
-                speakerVolumes.put(speakerPos, Math.max(0.0, Math.min(1.0, volume)));
+            long key = speakerPos.asLong();
+            synchronized (speakers) {
+                if (speakers.containsKey(key)) {
+                    speakers.put(key, (float) Math.max(0.0, Math.min(1.0, volume)));
+                }
             }
         }
         
         public double getSpeakerVolume(BlockPos speakerPos) {
-            return speakerVolumes.getOrDefault(speakerPos, SPEAKER_BASE_VOLUME);
+            return speakers.snapshot().volumeOf(speakerPos.asLong(), (float) SPEAKER_BASE_VOLUME);
         }
         
         public void updateSyncTime() {
@@ -119,6 +191,37 @@ public class NetworkAudioManager {
         public long getTimeSinceLastSync() {
             return System.currentTimeMillis() - lastSyncTime;
         }
+        
+        void setSyncTimeout(NetworkTimingWheel.Timeout timeout) {
+            this.syncTimeout = timeout;
+        }
+        
+        void cancelSync() {
+            if (syncTimeout != null) {
+                syncTimeout.cancel();
+                syncTimeout = null;
+            }
+        }
+        
+        // Speakers added after attachment are indexed by addSpeaker/removeSpeaker
+        void attachSpeakerIndex(SpeakerSpatialIndex index) {
+            this.speakerIndex = index;
+            SpeakerVolumeMap.Snapshot snapshot = speakers.snapshot();
+            for (int i = 0; i < snapshot.size(); i++) {
+                index.add(BlockPos.of(snapshot.positionAt(i)), networkId);
+            }
+        }
+        
+        void detachSpeakerIndex() {
+            if (speakerIndex != null) {
+                speakerIndex.removeNetwork(networkId);
+                speakerIndex = null;
+            }
+        }
+        
+        SpeakerSpatialIndex getSpeakerIndex() {
+            return speakerIndex;
+        }
     }
     
     /**
@@ -126,8 +229,14 @@ public class NetworkAudioManager {
      * Creates and tracks a new audio network for a DJ Stand
      */
     public static UUID registerAudioNetwork(BlockPos djStandPos, ServerLevel level) {
+        // Re-registering a stand replaces its network; the old one must stop ticking
+        if (djStandToNetwork.containsKey(djStandPos)) {
+            unregisterAudioNetwork(djStandPos);
+        }
+        
         UUID networkId = UUID.randomUUID();
         AudioNetwork network = new AudioNetwork(networkId, djStandPos);
+        network.attachSpeakerIndex(getSpeakerIndex(level));
         
         activeNetworks.put(networkId, network);
         djStandToNetwork.put(djStandPos, networkId);
@@ -152,7 +261,9 @@ public class NetworkAudioManager {
         if (networkId != null) {
             AudioNetwork network = activeNetworks.remove(networkId);
             if (network != null) {
-                // Stop any active audio streaming
+                // Stop the periodic sync and any active audio streaming
+                network.cancelSync();
+                network.detachSpeakerIndex();
                 stopNetworkAudio(network);
                 MinefestCore.getLogger().info("Unregistered audio network {} for DJ Stand at {}", 
                                         networkId, djStandPos);
@@ -162,34 +273,82 @@ public class NetworkAudioManager {
     
     /**
      * [Index: 26.1.6] Auto-discover speaker network topology
-     * Scans for connected speakers and builds network topology
+     * Looks up loaded speakers linked to this DJ Stand in the speaker registry;
+     * speakers loading later join through onSpeakerLoaded
      */
     private static void discoverSpeakerNetwork(AudioNetwork network, ServerLevel level) {
         BlockPos djStandPos = network.getDjStandPos();
         
-        // Search in a reasonable radius for connected speakers
-        int searchRadius = 25; // Maximum network radius
-        
-        for (int x = -searchRadius; x <= searchRadius; x++) {
-            for (int y = -searchRadius; y <= searchRadius; y++) {
-                for (int z = -searchRadius; z <= searchRadius; z++) {
-                    BlockPos checkPos = djStandPos.offset(x, y, z);
-                    BlockEntity blockEntity = level.getBlockEntity(checkPos);
-                    
-                    if (blockEntity instanceof SpeakerBlockEntity speakerEntity) {
-                        // [Index: 26.1.7] Check if speaker is linked to this DJ Stand
-                        if (isSpeakerLinkedToDJStand(speakerEntity, djStandPos)) {
-                            network.addSpeaker(checkPos, SPEAKER_BASE_VOLUME);
-                            MinefestCore.getLogger().debug("Added speaker at {} to network {}", 
-                                                    checkPos, network.getNetworkId());
-                        }
-                    }
-                }
+        for (SpeakerBlockEntity speakerEntity : SpeakerRegistry.getLinkedSpeakers(level, djStandPos)) {
+            // [Index: 26.1.7] Check if speaker is linked to this DJ Stand
+            if (isSpeakerLinkedToDJStand(speakerEntity, djStandPos)) {
+                BlockPos speakerPos = speakerEntity.getBlockPos();
+                network.addSpeaker(speakerPos, SPEAKER_BASE_VOLUME);
+                MinefestCore.getLogger().debug("Added speaker at {} to network {}", 
+                                        speakerPos, network.getNetworkId());
             }
         }
         
         MinefestCore.getLogger().info("Discovered {} speakers for network {}", 
-                                network.getSpeakerPositions().size(), network.getNetworkId());
+                                network.getSpeakerCount(), network.getNetworkId());
+    }
+    
+    /**
+     * [Index: 26.1.9] Speaker index for a level, created on first use
+     */
+    private static SpeakerSpatialIndex getSpeakerIndex(ServerLevel level) {
+        return speakerIndexes.computeIfAbsent(level.dimension(), key -> new SpeakerSpatialIndex());
+    }
+    
+    /**
+     * [Index: 26.1.10] Speaker lifecycle hooks
+     * Called by SpeakerBlockEntity as it loads, unloads and changes link so the
+     * speaker registry, the owning network and its spatial index track only
+     * speakers that exist in the world.
+     */
+    public static void onSpeakerLoaded(ServerLevel level, SpeakerBlockEntity speaker) {
+        SpeakerRegistry.register(level, speaker);
+        joinNetwork(level, speaker.getBlockPos(), speaker.getLinkedDJStand());
+    }
+    
+    public static void onSpeakerUnloaded(ServerLevel level, SpeakerBlockEntity speaker) {
+        BlockPos djStandPos = SpeakerRegistry.unregister(level, speaker);
+        leaveNetwork(level, speaker.getBlockPos(), djStandPos);
+    }
+    
+    public static void onSpeakerLinkChanged(ServerLevel level, SpeakerBlockEntity speaker) {
+        BlockPos previous = SpeakerRegistry.relink(level, speaker);
+        BlockPos current = speaker.getLinkedDJStand();
+        if (Objects.equals(previous, current)) {
+            return;
+        }
+        leaveNetwork(level, speaker.getBlockPos(), previous);
+        joinNetwork(level, speaker.getBlockPos(), current);
+    }
+    
+    private static void joinNetwork(ServerLevel level, BlockPos speakerPos, BlockPos djStandPos) {
+        AudioNetwork network = findNetworkInLevel(level, djStandPos);
+        if (network != null && !network.hasSpeaker(speakerPos)) {
+            network.addSpeaker(speakerPos, SPEAKER_BASE_VOLUME);
+        }
+    }
+    
+    private static void leaveNetwork(ServerLevel level, BlockPos speakerPos, BlockPos djStandPos) {
+        AudioNetwork network = findNetworkInLevel(level, djStandPos);
+        if (network != null) {
+            network.removeSpeaker(speakerPos);
+        }
+    }
+    
+    private static AudioNetwork findNetworkInLevel(ServerLevel level, BlockPos djStandPos) {
+        if (djStandPos == null) {
+            return null;
+        }
+        AudioNetwork network = getAudioNetwork(djStandPos);
+        if (network == null || network.getSpeakerIndex() != speakerIndexes.get(level.dimension())) {
+            return null;
+        }
+        return network;
     }
     
     /**
@@ -235,6 +394,7 @@ public class NetworkAudioManager {
                 if (session != null) {
                     UUID sessionId = session.getSessionId();
                     network.setCurrentStreamSession(sessionId);
+                    stageRecorder.onStreamSwitched(networkId, session);
                     
                     // [Index: 26.2.4] Session is automatically started by AudioManager
                     MinefestCore.getLogger().info("Started audio streaming for network {} with session {}", 
@@ -251,6 +411,34 @@ public class NetworkAudioManager {
         });
     }
     
+    /**
+     * [Index: 26.2.7] Move every network playing the outgoing session onto the incoming
+     * one. Their next sync delivers the incoming stream, which is already buffered.
+     * 
+     * @param fadeInMs fade-in of the incoming stream, 0 for a hard switch
+     * @return number of networks switched
+     */
+    public static int handoffStreamSession(UUID outgoingSessionId, UUID incomingSessionId, long fadeInMs) {
+        StreamingSession incoming = MinefestCore.getAudioManager().getSession(incomingSessionId);
+        int switched = 0;
+        for (AudioNetwork network : activeNetworks.values()) {
+            if (outgoingSessionId.equals(network.getCurrentStreamSession())) {
+                if (fadeInMs > 0) {
+                    network.startFadeIn(fadeInMs);
+                }
+                network.setCurrentStreamSession(incomingSessionId);
+                // [Index: 26.2.7] Recordings follow the switch now, before the outgoing session stops
+                stageRecorder.onStreamSwitched(network.getNetworkId(), incoming);
+                switched++;
+            }
+        }
+        if (switched > 0) {
+            MinefestCore.getLogger().info("Handed {} network(s) from session {} to {}", 
+                                    switched, outgoingSessionId, incomingSessionId);
+        }
+        return switched;
+    }
+    
     /**
      * [Index: 26.2.5] Stop audio streaming for a network
      * Stops synchronized audio playback across all speakers in the network
@@ -367,24 +555,52 @@ public class NetworkAudioManager {
             return 0.0;
         }
         
-        Vec3 playerPos = player.position();
-        double maxVolume = 0.0;
+        return calculateAudioVolumeAt(network, player.position());
+    }
+    
+    /**
+     * [Index: 26.4.1.1] Effective volume at a position, without the stand lookup;
+     * shared by calculatePlayerAudioVolume and the hot-path benchmarks
+     */
+    static double calculateAudioVolumeAt(AudioNetwork network, Vec3 position) {
+        ListenerLevel level = new ListenerLevel();
+        measureListener(position, network, level);
+        return level.volume;
+    }
+    
+    /**
+     * Loudest effective volume a listener hears, plus the strongest distance
+     * attenuation among the speakers in range (which picks their bitrate band)
+     */
+    private static final class ListenerLevel {
+        private double volume;
+        private double attenuation;
+    }
+    
+    private static void measureListener(Vec3 playerPos, AudioNetwork network, ListenerLevel level) {
+        level.volume = 0.0;
+        level.attenuation = 0.0;
         
-        // [Index: 26.4.2] Find closest speaker and calculate volume
-        for (BlockPos speakerPos : network.getSpeakerPositions()) {
-            double distance = playerPos.distanceTo(Vec3.atCenterOf(speakerPos));
-            
-            if (distance <= MAX_AUDIO_DISTANCE) {
+        SpeakerSpatialIndex index = network.getSpeakerIndex();
+        if (index == null) {
+            return;
+        }
+        
+        SpeakerVolumeMap.Snapshot speakers = network.getSpeakerSnapshot();
+        double masterVolume = network.getMasterVolume();
+        
+        // [Index: 26.4.2] Visit only speakers in cells within hearing range
+        index.forEachInRange(playerPos.x, playerPos.y, playerPos.z, MAX_AUDIO_DISTANCE, network.getNetworkId(),
+            (speakerPos, distance) -> {
                 // [Index: 26.4.3] Distance attenuation calculation
                 double attenuatedVolume = calculateDistanceAttenuation(distance);
-                double speakerVolume = network.getSpeakerVolume(speakerPos);
-                double effectiveVolume = attenuatedVolume * speakerVolume * network.getMasterVolume();
+                double speakerVolume = speakers.volumeOf(speakerPos.asLong(), (float) SPEAKER_BASE_VOLUME);
+                double effectiveVolume = attenuatedVolume * speakerVolume * masterVolume;
                 
-                maxVolume = Math.max(maxVolume, effectiveVolume);
-            }
-        }
-        
-        return maxVolume;
+                level.volume = Math.max(level.volume, effectiveVolume);
+                level.attenuation = Math.max(level.attenuation, attenuatedVolume);
+                return true;
+            });
     }
     
     /**
@@ -405,14 +621,16 @@ public class NetworkAudioManager {
     
     /**
      * [Index: 26.5.1] Start network synchronization
-     * Begins periodic synchronization for smooth audio distribution
+     * Places the network in the least-loaded slot of the shared sync wheel; the
+     * handle is kept on the network so unregistering cancels it.
      */
     private static void startNetworkSynchronization(AudioNetwork network, ServerLevel level) {
-        scheduler.scheduleAtFixedRate(() -> {
+        NetworkTimingWheel.Timeout timeout = syncWheel.schedule(() -> {
             if (network.isActive()) {
                 synchronizeNetworkAudio(network, level);
             }
-        }, SYNC_INTERVAL_MS, SYNC_INTERVAL_MS, TimeUnit.MILLISECONDS);
+        }, 1);
+        network.setSyncTimeout(timeout);
     }
     
     /**
@@ -429,7 +647,7 @@ public class NetworkAudioManager {
             // [Index: 26.5.3] Check audio session health
             AudioManager audioManager = MinefestCore.getAudioManager();
             StreamingSession session = audioManager.getSession(sessionId);
-            if (session == null || !session.isPlaying()) {
+            if (session == null || !(session.isPlaying() || session.isParked())) {
                 network.setCurrentStreamSession(null);
                 MinefestCore.getLogger().warn("Audio session {} became inactive, stopping network {}", 
                                        sessionId, network.getNetworkId());
@@ -441,12 +659,51 @@ public class NetworkAudioManager {
             
             // [Index: 26.5.5] Send audio updates to nearby players
             List<ServerPlayer> nearbyPlayers = getNearbyPlayers(network, level);
-            for (ServerPlayer player : nearbyPlayers) {
-                double volume = calculatePlayerAudioVolume(player, network.getDjStandPos());
-                if (volume > 0.0) {
-                    // Note: Actual client audio packets will be implemented in Step 5
-                    // This is the infrastructure for audio distribution
+            session.getSource().noteListeners(nearbyPlayers.size());
+            AudioFrameDelivery delivery = network.getFrameDelivery();
+            if (nearbyPlayers.isEmpty()) {
+                delivery.skipPending(session);
+                return;
+            }
+            
+            // [Index: 26.5.5.1] Someone walked into range of a parked stream - reopen it;
+            // frames follow once the reload completes
+            if (session.isParked()) {
+                audioManager.resumeParkedSession(session);
+                return;
+            }
+            
+            // Frames are encoded once per network and bitrate variant; each listener
+            // only adds a volume header
+            ListenerLevel listenerLevel = new ListenerLevel();
+            double fadeInGain = network.getFadeInGain(System.currentTimeMillis());
+            delivery.beginSync(session);
+            try {
+                for (ServerPlayer player : nearbyPlayers) {
+                    measureListener(player.position(), network, listenerLevel);
+                    if (listenerLevel.volume <= 0.0) {
+                        continue;
+                    }
+                    
+                    // [Index: 26.4.6] Distant listeners get a lower-rate variant, capped by ticket tier
+                    BitrateLadder.Variant variant = BitrateLadder.selectVariant(player, listenerLevel.attenuation);
+                    
+                    // [Index: 26.5.5.2] Overlapping stages reach this listener as one mixed stream
+                    if (zoneMixer.isEnabled()) {
+                        if (hearsOtherNetworks(network, player.position())) {
+                            zoneMixer.route(level, player, network.getNetworkId(), listenerLevel.volume * fadeInGain, variant);
+                            continue;
+                        }
+                        zoneMixer.leave(player.getUUID());
+                    }
+                    
+                    ByteBuf body = delivery.bodyFor(variant);
+                    if (body != null) {
+                        delivery.send(player, body, listenerLevel.volume * fadeInGain);
+                    }
                 }
+            } finally {
+                delivery.endSync();
             }
             
         } catch (Exception e) {
@@ -457,24 +714,40 @@ public class NetworkAudioManager {
     
     /**
      * [Index: 26.5.6] Get nearby players for audio distribution
-     * Finds all players within audio range of the network
+     * Finds all players within audio range of the network; each player probes
+     * only the index cells around them and stops at the first speaker in range
      */
     private static List<ServerPlayer> getNearbyPlayers(AudioNetwork network, ServerLevel level) {
         List<ServerPlayer> nearbyPlayers = new ArrayList<>();
+        SpeakerSpatialIndex index = network.getSpeakerIndex();
+        if (index == null) {
+            return nearbyPlayers;
+        }
         
         for (ServerPlayer player : level.players()) {
-            for (BlockPos speakerPos : network.getSpeakerPositions()) {
-                double distance = player.position().distanceTo(Vec3.atCenterOf(speakerPos));
-                if (distance <= MAX_AUDIO_DISTANCE) {
-                    nearbyPlayers.add(player);
-                    break; // Player is in range of at least one speaker
-                }
+            Vec3 playerPos = player.position();
+            if (index.anyInRange(playerPos.x, playerPos.y, playerPos.z, MAX_AUDIO_DISTANCE, network.getNetworkId())) {
+                nearbyPlayers.add(player);
             }
         }
         
         return nearbyPlayers;
     }
     
+    /**
+     * [Index: 26.5.6.1] Whether another streaming network on the same level has a speaker in range
+     */
+    private static boolean hearsOtherNetworks(AudioNetwork network, Vec3 playerPos) {
+        SpeakerSpatialIndex index = network.getSpeakerIndex();
+        for (AudioNetwork other : activeNetworks.values()) {
+            if (other != network && other.getSpeakerIndex() == index && other.getCurrentStreamSession() != null
+                    && index.anyInRange(playerPos.x, playerPos.y, playerPos.z, MAX_AUDIO_DISTANCE, other.getNetworkId())) {
+                return true;
+            }
+        }
+        return false;
+    }
+    
     // [Index: 26.5.7] Public API methods for network management
     
     /**
@@ -499,29 +772,49 @@ public class NetworkAudioManager {
         return new ArrayList<>(activeNetworks.values());
     }
     
+    /**
+     * Get an active audio network by id (zone mixing looks up contributing networks)
+     */
+    static AudioNetwork getAudioNetworkById(UUID networkId) {
+        return activeNetworks.get(networkId);
+    }
+    
+    /**
+     * Zone mixer for overlapping stages (for configuration/monitoring)
+     */
+    public static ZoneMixer getZoneMixer() {
+        return zoneMixer;
+    }
+    
+    /**
+     * Stage recorder (for enabling recording and opening replays)
+     */
+    public static StageRecorder getStageRecorder() {
+        return stageRecorder;
+    }
+    
     /**
      * [Index: 26.5.8] Cleanup and shutdown
      * Properly shuts down the NetworkAudioManager
      */
     public static void shutdown() {
-        // Stop all active audio streams
+        // Stop all periodic syncs and active audio streams
         for (AudioNetwork network : activeNetworks.values()) {
+            network.cancelSync();
+            network.detachSpeakerIndex();
             stopNetworkAudio(network);
         }
         
         // Clear all networks
         activeNetworks.clear();
         djStandToNetwork.clear();
+        speakerIndexes.clear();
+        SpeakerRegistry.clear();
         
-        // Shutdown scheduler
-        scheduler.shutdown();
-        try {
-            if (!scheduler.awaitTermination(5, TimeUnit.SECONDS)) {
-                scheduler.shutdownNow();
-            }
-        } catch (InterruptedException e) {
-            scheduler.shutdownNow();
-        }
+        // Shutdown sync wheel
+        syncWheel.shutdown();
+        zoneMixer.shutdown();
+        stageRecorder.shutdown();
         
         MinefestCore.getLogger().info("NetworkAudioManager shutdown complete");
     }
@@ -0,0 +1,176 @@
+package com.minefest.essentials.audio;
+
+import com.minefest.essentials.MinefestCore;
+
+import java.util.List;
+import java.util.concurrent.CopyOnWriteArrayList;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * COMPONENT SIGNPOST [Index: 34]
+ * Purpose: Hashed timing wheel driving every speaker network's periodic sync from one thread
+ * Side: DEDICATED_SERVER only - replaces one fixed-rate task per network
+ *
+ * Workflow:
+ * 1. [Index: 34.1] Divide one sync period into equal slots served by a single ticking thread
+ * 2. [Index: 34.2] Place each registered task in the least-loaded slot to keep batches even
+ * 3. [Index: 34.3] Run the current slot's batch each tick, honouring multi-rotation periods
+ * 4. [Index: 34.4] Cancel tasks through their handle so removed networks stop ticking
+ * 5. [Index: 34.5] Start a fresh ticking thread for each server lifecycle
+ *
+ * Dependencies:
+ * - MinefestCore [Index: 02] - logging access
+ *
+ * Related Files:
+ * - NetworkAudioManager.java [Index: 26] - registers one periodic task per AudioNetwork
+ */
+public class NetworkTimingWheel {
+    private final int slotCount;
+    private final long tickMs;
+    private final List<Timeout>[] slots;
+    private final String name;
+    private ScheduledExecutorService tickThread;   // null between server lifecycles
+    private long tickCount = 0;
+
+    /**
+     * @param rotationMs time for one full rotation - the base period of every task
+     * @param slotCount  number of batches the rotation is split into
+     */
+    @SuppressWarnings("unchecked")
+    public NetworkTimingWheel(String name, long rotationMs, int slotCount) {
+        this.slotCount = slotCount;
+        this.tickMs = Math.max(1, rotationMs / slotCount);
+        this.slots = new List[slotCount];
+        for (int i = 0; i < slotCount; i++) {
+            slots[i] = new CopyOnWriteArrayList<>();
+        }
+        this.name = name;
+    }
+
+    /**
+     * [Index: 34.5] The first task after construction or shutdown starts a new thread, so an
+     * integrated server that is stopped and started again gets a working wheel
+     */
+    private synchronized void ensureStarted() {
+        if (tickThread == null) {
+            tickCount = 0;
+            tickThread = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, name);
+                thread.setDaemon(true);
+                return thread;
+            });
+            tickThread.scheduleAtFixedRate(this::tick, tickMs, tickMs, TimeUnit.MILLISECONDS);
+        }
+    }
+
+    /**
+     * [Index: 34.2] Register a periodic task
+     *
+     * @param task           work to run once per period
+     * @param periodRotations period expressed in whole wheel rotations (1 = every rotation)
+     * @return handle used to cancel the task
+     */
+    public synchronized Timeout schedule(Runnable task, int periodRotations) {
+        int target = 0;
+        for (int i = 1; i < slotCount; i++) {
+            if (slots[i].size() < slots[target].size()) {
+                target = i;
+            }
+        }
+
+        Timeout timeout = new Timeout(task, Math.max(1, periodRotations), target);
+        slots[target].add(timeout);
+        ensureStarted();
+        return timeout;
+    }
+
+    /**
+     * [Index: 34.3] Run the batch for the current slot
+     */
+    private void tick() {
+        int slot = (int) (tickCount++ % slotCount);
+        for (Timeout timeout : slots[slot]) {
+            if (timeout.cancelled) {
+                continue;
+            }
+            if (--timeout.remainingRotations > 0) {
+                continue;
+            }
+            timeout.remainingRotations = timeout.periodRotations;
+
+            try {
+                timeout.task.run();
+            } catch (Exception e) {
+                MinefestCore.getLogger().error("Timing wheel task failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    public int getTaskCount() {
+        int count = 0;
+        for (List<Timeout> slot : slots) {
+            count += slot.size();
+        }
+        return count;
+    }
+
+    public long getTickMs() {
+        return tickMs;
+    }
+
+    public void shutdown() {
+        ScheduledExecutorService thread;
+        synchronized (this) {
+            thread = tickThread;
+            tickThread = null;
+            for (List<Timeout> slot : slots) {
+                slot.clear();
+            }
+        }
+        if (thread == null) {
+            return;
+        }
+        thread.shutdown();
+        try {
+            if (!thread.awaitTermination(5, TimeUnit.SECONDS)) {
+                thread.shutdownNow();
+            }
+        } catch (InterruptedException e) {
+            thread.shutdownNow();
+            Thread.currentThread().interrupt();
+        }
+    }
+
+    /**
+     * [Index: 34.4] Handle for a scheduled task
+     */
+    public final class Timeout {
+        private final Runnable task;
+        private final int periodRotations;
+        private final int slot;
+        private int remainingRotations;
+        private volatile boolean cancelled;
+
+        private Timeout(Runnable task, int periodRotations, int slot) {
+            this.task = task;
+            this.periodRotations = periodRotations;
+            this.slot = slot;
+            this.remainingRotations = periodRotations;
+        }
+
+        public void cancel() {
+            cancelled = true;
+            slots[slot].remove(this);
+        }
+
+        public boolean isCancelled() {
+            return cancelled;
+        }
+
+        public int getSlot() {
+            return slot;
+        }
+    }
+}
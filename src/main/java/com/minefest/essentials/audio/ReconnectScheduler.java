@@ -0,0 +1,130 @@
+package com.minefest.essentials.audio;
+
+import com.minefest.essentials.MinefestCore;
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayerManager;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.ThreadLocalRandom;
+import java.util.concurrent.TimeUnit;
+
+/**
+ * COMPONENT SIGNPOST [Index: 33]
+ * Purpose: Timer-driven stream reconnects with exponential backoff, jitter and an attempt budget
+ * Side: DEDICATED_SERVER only - retries dropped upstreams without parking worker threads
+ *
+ * Workflow:
+ * 1. [Index: 33.1] Move a dropped source into RECONNECTING and charge its attempt budget
+ * 2. [Index: 33.2] Compute an exponential delay with equal jitter
+ * 3. [Index: 33.3] Fire the reload from a single timer thread (loadItem is asynchronous)
+ * 4. [Index: 33.4] Reschedule on failure, FAIL when exhausted
+ * 5. [Index: 33.5] Give the budget back only after sustained playback (FramePump reports it)
+ *
+ * Dependencies:
+ * - LavaPlayer AudioPlayerManager [Index: N/A] - asynchronous item loading
+ * - SharedStreamSource [Index: 28] - reconnect state and attempt counters
+ * - MinefestAudioLoadHandler [Index: 07] - completes each reload attempt
+ * - StreamProbeCache [Index: 45] - reloads skip the probe while the URL is cached
+ * - FramePump [Index: 31] - reports playback without underruns that clears the budget
+ *
+ * Related Files:
+ * - AudioManager.java [Index: 05] - routes track end/exception/stuck events here
+ * - StreamingSession.java [Index: 06] - exposes the RECONNECTING state to callers
+ */
+public class ReconnectScheduler {
+    private static final long BASE_DELAY_MS = 1000;
+    private static final long MAX_DELAY_MS = 60000;
+    // [Index: 33.5] A load alone proves nothing: a flapping stream loads and drops again
+    public static final long STABLE_PLAYBACK_MS = 30000;
+
+    private final AudioPlayerManager playerManager;
+    private final StreamProbeCache probeCache;
+    private final int maxAttempts;
+    private final ScheduledExecutorService timer;
+
+    public ReconnectScheduler(AudioPlayerManager playerManager, StreamProbeCache probeCache, int maxAttempts) {
+        this.playerManager = playerManager;
+        this.probeCache = probeCache;
+        this.maxAttempts = maxAttempts;
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "Minefest-Reconnect");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    /**
+     * [Index: 33.1] Schedule a reconnect for a dropped source
+     * Duplicate triggers (end + exception for the same drop) collapse into one pending timer.
+     *
+     * @return true if a reconnect is now pending
+     */
+    public boolean scheduleReconnect(SharedStreamSource source) {
+        if (source.isClosed() || !source.markReconnectScheduled()) {
+            return false;
+        }
+
+        int attempt = source.incrementReconnectAttempts();
+        if (attempt > maxAttempts) {
+            MinefestCore.getLogger().error("Max reconnection attempts reached for {}. Stream may be offline.", source.getUrl());
+            source.setState(StreamingSession.State.FAILED);
+            source.setNextReconnectAt(0);
+            source.clearReconnectScheduled();
+            return false;
+        }
+
+        long delayMs = computeDelay(attempt);
+        source.setState(StreamingSession.State.RECONNECTING);
+        source.setNextReconnectAt(System.currentTimeMillis() + delayMs);
+
+        MinefestCore.getLogger().info("Reconnecting to {} in {}ms (attempt {}/{})",
+            source.getUrl(), delayMs, attempt, maxAttempts);
+
+        timer.schedule(() -> reconnect(source), delayMs, TimeUnit.MILLISECONDS);
+        return true;
+    }
+
+    /**
+     * [Index: 33.2] Exponential backoff with equal jitter: half fixed, half random,
+     * so a fleet of sources dropped by the same outage does not retry in lockstep.
+     */
+    static long computeDelay(int attempt) {
+        int shift = Math.min(attempt - 1, 16);
+        long exponential = Math.min(MAX_DELAY_MS, BASE_DELAY_MS << shift);
+        long half = exponential / 2;
+        return half + ThreadLocalRandom.current().nextLong(half + 1);
+    }
+
+    /**
+     * [Index: 33.3] Timer callback - hands the reload to LavaPlayer's loader and returns
+     */
+    private void reconnect(SharedStreamSource source) {
+        source.clearReconnectScheduled();
+        if (source.isClosed()) {
+            return;
+        }
+        source.getMetrics().recordReconnect();
+
+        // [Index: 33.4] Outcome of this attempt decides the next step
+        CompletableFuture<SharedStreamSource> attemptFuture = new CompletableFuture<>();
+        attemptFuture.whenComplete((loaded, error) -> {
+            if (error == null) {
+                MinefestCore.getLogger().info("Reconnected to {} after {} attempt(s)", source.getUrl(), source.getReconnectAttempts());
+                source.setNextReconnectAt(0);
+            } else if (!source.isClosed()) {
+                scheduleReconnect(source);
+            }
+        });
+
+        try {
+            probeCache.load(playerManager, source, attemptFuture);
+        } catch (Exception e) {
+            attemptFuture.completeExceptionally(e);
+        }
+    }
+
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+}
@@ -0,0 +1,281 @@
+package com.minefest.essentials.audio;
+
+import java.io.IOException;
+import java.nio.MappedByteBuffer;
+import java.nio.channels.FileChannel;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.nio.file.StandardOpenOption;
+
+/**
+ * COMPONENT SIGNPOST [Index: 59]
+ * Purpose: One fixed-size memory-mapped file of recorded frames with a sparse time index
+ * Side: DEDICATED_SERVER only - written by the recorder thread, read by replay cursors
+ *
+ * Workflow:
+ * 1. [Index: 59.1] Map the whole file up front; frames are appended with absolute puts
+ * 2. [Index: 59.2] Every INDEX_STRIDE-th frame adds a (stamp, offset) entry to the index region
+ * 3. [Index: 59.3] Publish the new end of data only after the frame is fully written
+ * 4. [Index: 59.4] Seek by binary search of the index, then a scan of at most one stride
+ * 5. [Index: 59.5] Reopen finished segments read-only for replay after a restart
+ *
+ * Dependencies:
+ * - java.nio MappedByteBuffer [Index: N/A] - frame bytes live in the page cache, not the heap
+ *
+ * Related Files:
+ * - StageRecording.java [Index: 58] - orders segments and walks across them on replay
+ * - StageRecorder.java [Index: 57] - appends frames from the live feed
+ *
+ * File layout (big-endian):
+ *   header  [magic:int][version:int][indexCapacity:int][indexCount:int][frameCount:int]
+ *           [dataEnd:int][firstStamp:long][lastStamp:long]          padded to HEADER_BYTES
+ *   index   indexCapacity x [stamp:long][offset:int][reserved:int]
+ *   data    frames of [stamp:long][length:short][opus bytes]
+ * Stamps are MasterClock times and never decrease within a segment.
+ * Threading: one writer; any number of readers, who only look below getPublishedEnd().
+ */
+public final class RecordingSegment {
+    public static final String FILE_SUFFIX = ".mfrec";
+    public static final int MAGIC = 0x4D465253;            // "MFRS"
+    public static final int VERSION = 1;
+    public static final int INDEX_STRIDE = 50;             // one entry per second of 20ms frames
+    public static final int FRAME_HEADER_BYTES = Long.BYTES + Short.BYTES;
+
+    private static final int HEADER_BYTES = 64;
+    private static final int INDEX_ENTRY_BYTES = 16;
+    private static final int MIN_FRAME_BYTES = 32;         // sizes the index for the smallest frames
+
+    private static final int OFF_MAGIC = 0;
+    private static final int OFF_VERSION = 4;
+    private static final int OFF_INDEX_CAPACITY = 8;
+    private static final int OFF_INDEX_COUNT = 12;
+    private static final int OFF_FRAME_COUNT = 16;
+    private static final int OFF_DATA_END = 20;
+    private static final int OFF_FIRST_STAMP = 24;
+    private static final int OFF_LAST_STAMP = 32;
+
+    private final Path file;
+    private final MappedByteBuffer buffer;
+    private final int capacity;
+    private final int indexCapacity;
+    private final int dataStart;
+    private final boolean writable;
+
+    // Writer state; readers see the volatile publish below
+    private int indexCount;
+    private int frameCount;
+    private int dataEnd;
+    private volatile long firstStamp = Long.MIN_VALUE;
+    private volatile long lastStamp = Long.MIN_VALUE;
+    private volatile int publishedEnd;
+    private volatile int publishedIndexCount;
+
+    private RecordingSegment(Path file, MappedByteBuffer buffer, boolean writable) {
+        this.file = file;
+        this.buffer = buffer;
+        this.capacity = buffer.capacity();
+        this.writable = writable;
+        this.indexCapacity = buffer.getInt(OFF_INDEX_CAPACITY);
+        this.dataStart = HEADER_BYTES + indexCapacity * INDEX_ENTRY_BYTES;
+    }
+
+    /**
+     * [Index: 59.1] Create and map a new segment of {@code capacityBytes}
+     */
+    public static RecordingSegment create(Path file, int capacityBytes) throws IOException {
+        int indexCapacity = Math.max(1, capacityBytes / (INDEX_STRIDE * MIN_FRAME_BYTES));
+        if (HEADER_BYTES + (long) indexCapacity * INDEX_ENTRY_BYTES >= capacityBytes) {
+            throw new IllegalArgumentException("Segment capacity " + capacityBytes + " is too small");
+        }
+
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.CREATE_NEW,
+                StandardOpenOption.READ, StandardOpenOption.WRITE)) {
+            buffer = channel.map(FileChannel.MapMode.READ_WRITE, 0, capacityBytes);
+        }
+        buffer.putInt(OFF_MAGIC, MAGIC);
+        buffer.putInt(OFF_VERSION, VERSION);
+        buffer.putInt(OFF_INDEX_CAPACITY, indexCapacity);
+        buffer.putInt(OFF_INDEX_COUNT, 0);
+        buffer.putInt(OFF_FRAME_COUNT, 0);
+        buffer.putLong(OFF_FIRST_STAMP, Long.MIN_VALUE);
+        buffer.putLong(OFF_LAST_STAMP, Long.MIN_VALUE);
+
+        RecordingSegment segment = new RecordingSegment(file, buffer, true);
+        segment.dataEnd = segment.dataStart;
+        segment.publishedEnd = segment.dataStart;
+        buffer.putInt(OFF_DATA_END, segment.dataStart);
+        return segment;
+    }
+
+    /**
+     * [Index: 59.5] Map an existing segment read-only. A segment cut short by a crash
+     * is readable up to the last frame whose header update reached the file.
+     */
+    public static RecordingSegment open(Path file) throws IOException {
+        MappedByteBuffer buffer;
+        try (FileChannel channel = FileChannel.open(file, StandardOpenOption.READ)) {
+            buffer = channel.map(FileChannel.MapMode.READ_ONLY, 0, channel.size());
+        }
+        if (buffer.capacity() < HEADER_BYTES || buffer.getInt(OFF_MAGIC) != MAGIC) {
+            throw new IOException("Not a recording segment: " + file);
+        }
+        if (buffer.getInt(OFF_VERSION) != VERSION) {
+            throw new IOException("Unsupported recording segment version " + buffer.getInt(OFF_VERSION) + ": " + file);
+        }
+
+        RecordingSegment segment = new RecordingSegment(file, buffer, false);
+        segment.indexCount = buffer.getInt(OFF_INDEX_COUNT);
+        segment.frameCount = buffer.getInt(OFF_FRAME_COUNT);
+        segment.dataEnd = buffer.getInt(OFF_DATA_END);
+        segment.firstStamp = buffer.getLong(OFF_FIRST_STAMP);
+        segment.lastStamp = buffer.getLong(OFF_LAST_STAMP);
+        segment.publishedEnd = segment.dataEnd;
+        segment.publishedIndexCount = Math.min(segment.indexCount, segment.indexCapacity);
+        return segment;
+    }
+
+    public static boolean isSegmentFile(Path file) {
+        return Files.isRegularFile(file) && file.getFileName().toString().endsWith(FILE_SUFFIX);
+    }
+
+    /**
+     * [Index: 59.2] Append one frame. Allocation-free.
+     *
+     * @return false when the segment (data or index) is full and the caller should roll over
+     */
+    public boolean append(long stamp, byte[] data, int length) {
+        if (!writable) {
+            throw new IllegalStateException("Segment is read-only: " + file);
+        }
+        boolean indexed = frameCount % INDEX_STRIDE == 0;
+        if (dataEnd + FRAME_HEADER_BYTES + length > capacity || (indexed && indexCount == indexCapacity)) {
+            return false;
+        }
+
+        int offset = dataEnd;
+        buffer.putLong(offset, stamp);
+        buffer.putShort(offset + Long.BYTES, (short) length);
+        buffer.put(offset + FRAME_HEADER_BYTES, data, 0, length);
+
+        if (indexed) {
+            int entry = HEADER_BYTES + indexCount * INDEX_ENTRY_BYTES;
+            buffer.putLong(entry, stamp);
+            buffer.putInt(entry + Long.BYTES, offset);
+            indexCount++;
+            buffer.putInt(OFF_INDEX_COUNT, indexCount);
+        }
+        if (frameCount == 0) {
+            firstStamp = stamp;
+            buffer.putLong(OFF_FIRST_STAMP, stamp);
+        }
+        lastStamp = stamp;
+        frameCount++;
+        dataEnd = offset + FRAME_HEADER_BYTES + length;
+        buffer.putLong(OFF_LAST_STAMP, stamp);
+        buffer.putInt(OFF_FRAME_COUNT, frameCount);
+        buffer.putInt(OFF_DATA_END, dataEnd);
+
+        // [Index: 59.3] Readers never look past this; the end goes out before the index
+        // count, so any index entry a reader can see points below the end it reads next
+        publishedEnd = dataEnd;
+        publishedIndexCount = indexCount;
+        return true;
+    }
+
+    /**
+     * [Index: 59.4] Offset of the first frame stamped at or after {@code stamp},
+     * or getPublishedEnd() if every frame is earlier
+     */
+    public int seek(long stamp) {
+        int entries = publishedIndexCount;
+        int end = publishedEnd;
+        if (entries == 0 || end == dataStart) {
+            return end;
+        }
+
+        // Last index entry at or before the target
+        int low = 0;
+        int high = entries - 1;
+        int found = 0;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (buffer.getLong(HEADER_BYTES + mid * INDEX_ENTRY_BYTES) <= stamp) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+
+        int offset = buffer.getInt(HEADER_BYTES + found * INDEX_ENTRY_BYTES + Long.BYTES);
+        while (offset < end && stampAt(offset) < stamp) {
+            offset = nextOffset(offset);
+        }
+        return offset;
+    }
+
+    public long stampAt(int offset) {
+        return buffer.getLong(offset);
+    }
+
+    public int lengthAt(int offset) {
+        return buffer.getShort(offset + Long.BYTES) & 0xFFFF;
+    }
+
+    public int nextOffset(int offset) {
+        return offset + FRAME_HEADER_BYTES + lengthAt(offset);
+    }
+
+    /**
+     * Copy the frame at {@code offset} straight out of the mapping
+     *
+     * @return the frame length
+     */
+    public int read(int offset, byte[] target) {
+        int length = lengthAt(offset);
+        buffer.get(offset + FRAME_HEADER_BYTES, target, 0, length);
+        return length;
+    }
+
+    /**
+     * Flush written pages to disk. The mapping stays valid until the segment is unreachable.
+     */
+    public void force() {
+        if (writable) {
+            buffer.force();
+        }
+    }
+
+    public Path getFile() {
+        return file;
+    }
+
+    public int getDataStart() {
+        return dataStart;
+    }
+
+    public int getPublishedEnd() {
+        return publishedEnd;
+    }
+
+    public int getFrameCount() {
+        return frameCount;
+    }
+
+    public long getFirstStamp() {
+        return firstStamp;
+    }
+
+    public long getLastStamp() {
+        return lastStamp;
+    }
+
+    public int getCapacity() {
+        return capacity;
+    }
+
+    public boolean isWritable() {
+        return writable;
+    }
+}
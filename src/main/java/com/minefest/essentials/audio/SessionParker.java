@@ -0,0 +1,155 @@
+package com.minefest.essentials.audio;
+
+import com.minefest.essentials.MinefestCore;
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayerManager;
+
+import java.util.Collection;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * COMPONENT SIGNPOST [Index: 44]
+ * Purpose: Demand-driven parking of shared streams that have had no listeners in range
+ * Side: DEDICATED_SERVER only - frees decode work and upstream bandwidth of empty stages
+ *
+ * Workflow:
+ * 1. [Index: 44.1] Periodically park PLAYING sources whose networks reported no listeners for a while
+ * 2. [Index: 44.2] Parking stops the track: the HTTP connection and frame buffer are released
+ * 3. [Index: 44.3] A network sync that finds listeners asks for a resume
+ * 4. [Index: 44.4] Resumes reload through the admission queue at the source's tier; failures fall back to the reconnect scheduler
+ *
+ * Dependencies:
+ * - SharedStreamSource [Index: 28] - PARKED state, listener timestamps, resume descriptor and tier
+ * - StreamAdmissionController [Index: 43] - runs the reload off the caller's thread
+ * - ReconnectScheduler [Index: 33] - retries a resume whose reload failed
+ * - StreamProbeCache [Index: 45] - resumes skip the probe while the URL is cached
+ *
+ * Related Files:
+ * - AudioManager.java [Index: 05] - owns the parker and its source collection
+ * - NetworkAudioManager.java [Index: 26] - reports listeners and triggers resumes
+ *
+ * A parked source keeps its subscribers and connection slot, so the owning networks
+ * and DJ Stands see a continuous session across park and resume.
+ */
+public class SessionParker {
+    public static final long PARK_AFTER_MS = 60000;
+    private static final long CHECK_INTERVAL_MS = 5000;
+
+    private final AudioPlayerManager playerManager;
+    private final StreamProbeCache probeCache;
+    private final StreamAdmissionController admissionController;
+    private final ReconnectScheduler reconnectScheduler;
+    private final Collection<SharedStreamSource> sources;
+    private final ScheduledExecutorService timer;
+
+    private final AtomicLong parks = new AtomicLong(0);
+    private final AtomicLong resumes = new AtomicLong(0);
+
+    /**
+     * @param sources live view of the open shared sources
+     */
+    public SessionParker(AudioPlayerManager playerManager, StreamProbeCache probeCache,
+                         StreamAdmissionController admissionController, ReconnectScheduler reconnectScheduler,
+                         Collection<SharedStreamSource> sources) {
+        this.playerManager = playerManager;
+        this.probeCache = probeCache;
+        this.admissionController = admissionController;
+        this.reconnectScheduler = reconnectScheduler;
+        this.sources = sources;
+        this.timer = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "Minefest-SessionParker");
+            thread.setDaemon(true);
+            return thread;
+        });
+    }
+
+    public void start() {
+        timer.scheduleAtFixedRate(this::parkIdleSources, CHECK_INTERVAL_MS, CHECK_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    /**
+     * [Index: 44.1] Park every playing source nobody has listened to for PARK_AFTER_MS
+     */
+    private void parkIdleSources() {
+        try {
+            long now = System.currentTimeMillis();
+            for (SharedStreamSource source : sources) {
+                if (now - source.getLastListenedAt() < PARK_AFTER_MS) {
+                    continue;
+                }
+                // [Index: 44.2] park() stops the track, which closes the upstream connection
+                if (source.park()) {
+                    parks.incrementAndGet();
+                    MinefestCore.getLogger().debug("Parked stream {} - no listeners for {}s",
+                        source.getUrl(), PARK_AFTER_MS / 1000);
+                }
+            }
+        } catch (Exception e) {
+            MinefestCore.getLogger().debug("Session parking pass failed: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * [Index: 44.3] Reopen a parked source. Safe to call on every sync that has
+     * listeners; only the first caller after parking starts a reload.
+     */
+    public void requestResume(SharedStreamSource source) {
+        if (!source.beginResume()) {
+            return;
+        }
+
+        admissionController.submit(source.getAdmissionTier(),
+            () -> reload(source),
+            reason -> {
+                MinefestCore.getLogger().debug("Resume of {} not admitted: {}", source.getUrl(), reason);
+                source.abortResume();
+            });
+    }
+
+    /**
+     * [Index: 44.4] Same reload path as a reconnect; on failure the scheduler takes over
+     */
+    private void reload(SharedStreamSource source) {
+        CompletableFuture<SharedStreamSource> resumeFuture = new CompletableFuture<>();
+        resumeFuture.whenComplete((loaded, error) -> {
+            if (error == null) {
+                resumes.incrementAndGet();
+                MinefestCore.getLogger().debug("Resumed parked stream {}", source.getUrl());
+            } else if (!source.isClosed()) {
+                reconnectScheduler.scheduleReconnect(source);
+            }
+        });
+
+        try {
+            probeCache.load(playerManager, source, resumeFuture);
+        } catch (Exception e) {
+            resumeFuture.completeExceptionally(e);
+        }
+    }
+
+    // Monitoring
+    public int getParkedCount() {
+        int parked = 0;
+        for (SharedStreamSource source : sources) {
+            if (source.isParked()) {
+                parked++;
+            }
+        }
+        return parked;
+    }
+
+    public long getParkCount() {
+        return parks.get();
+    }
+
+    public long getResumeCount() {
+        return resumes.get();
+    }
+
+    public void shutdown() {
+        timer.shutdownNow();
+    }
+}
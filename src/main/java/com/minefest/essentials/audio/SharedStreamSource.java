@@ -0,0 +1,356 @@
+package com.minefest.essentials.audio;
+
+import com.minefest.essentials.MinefestCore;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayer;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicBoolean;
+import java.util.concurrent.atomic.AtomicInteger;
+
+/**
+ * COMPONENT SIGNPOST [Index: 28]
+ * Purpose: Reference-counted upstream stream shared by every session playing the same URL
+ * Side: DEDICATED_SERVER only - owns the single LavaPlayer pipeline per unique stream URL
+ *
+ * Workflow:
+ * 1. [Index: 28.1] Hold the one AudioPlayer that opens and decodes a stream URL
+ * 2. [Index: 28.2] Track subscribing StreamingSessions as the reference count
+ * 3. [Index: 28.3] Publish load completion and playback state to every subscriber
+ * 4. [Index: 28.4] Destroy the upstream player once the last subscriber has released it
+ * 5. [Index: 28.5] Own the frame ring that FramePump fills for all subscribers
+ * 6. [Index: 28.6] Carry the upstream's lifecycle state and reconnect budget
+ * 7. [Index: 28.7] Own the bitrate ladder that derives lower-rate variants of the feed
+ * 8. [Index: 28.8] Start tracks with the frame buffer granted by the budget; track listener demand
+ * 9. [Index: 28.9] Park without listeners, keeping only what is needed to reopen the upstream
+ * 10. [Index: 28.10] Carry the stream's pipeline metrics, shared by every subscriber
+ *
+ * Dependencies:
+ * - LavaPlayer AudioPlayer [Index: N/A] - shared decode pipeline
+ * - AudioManager [Index: 05] - acquires and releases sources under its source lock
+ * - AudioFrameRing [Index: 32] - decoded frame feed shared by subscribers
+ * - BitrateLadder [Index: 40] - per-stream bitrate variants
+ * - FrameBufferBudget [Index: 42] - sizes the LavaPlayer frame buffer of each track
+ * - StreamMetrics [Index: 47] - decode, drop, underrun and reconnect counters
+ *
+ * Related Files:
+ * - AudioManager.java [Index: 05] - keeps the URL -> source map and connection accounting
+ * - StreamingSession.java [Index: 06] - per-caller handle attached to a source
+ * - MinefestAudioLoadHandler.java [Index: 07] - completes the source's ready future
+ * - ReconnectScheduler.java [Index: 33] - drives the RECONNECTING state
+ * - SessionParker.java [Index: 44] - drives the PARKED state
+ */
+public class SharedStreamSource {
+    private final String url;
+    private final AudioPlayer player;
+    private final Set<UUID> subscribers;
+    private final CompletableFuture<SharedStreamSource> readyFuture;
+    private final AudioFrameRing frameRing;
+    private final BitrateLadder bitrateLadder;
+    private final StreamMetrics metrics;
+    private volatile StreamingSession.State state;
+    private volatile boolean closed;
+
+    // [Index: 28.6] Reconnect bookkeeping owned by ReconnectScheduler
+    private final AtomicInteger reconnectAttempts;
+    private final AtomicBoolean reconnectScheduled;
+    private volatile long nextReconnectAt;
+    // [Index: 28.6] Pump thread only: nanoTime of the first frame since the last gap, 0 during one
+    private long playingSince;
+
+    // [Index: 28.8] Frame buffer reservation and listener demand
+    private final FrameBufferBudget frameBufferBudget;
+    private volatile int frameBufferMs;
+    private final AtomicInteger peakListeners = new AtomicInteger(0);
+    private volatile int lastPeakListeners;
+    private volatile long lastListenedAt;
+
+    // [Index: 28.9] Position to restore on resume; 0 for live streams, which rejoin live
+    private volatile long resumePosition;
+    // [Index: 28.9] Highest admission tier of any subscriber, used again when a parked source resumes
+    private volatile StreamValidator.TicketTier admissionTier = StreamAdmissionController.DEFAULT_TIER;
+
+    public SharedStreamSource(String url, AudioPlayer player, AudioConfiguration configuration,
+                              FrameBufferBudget frameBufferBudget) {
+        this.url = url;
+        this.player = player;
+        this.subscribers = ConcurrentHashMap.newKeySet();
+        this.readyFuture = new CompletableFuture<>();
+        this.frameRing = new AudioFrameRing();
+        this.bitrateLadder = new BitrateLadder(frameRing, configuration);
+        this.metrics = new StreamMetrics();
+        this.state = StreamingSession.State.CONNECTING;
+        this.closed = false;
+        this.reconnectAttempts = new AtomicInteger(0);
+        this.reconnectScheduled = new AtomicBoolean(false);
+        this.nextReconnectAt = 0;
+        this.frameBufferBudget = frameBufferBudget;
+        this.frameBufferMs = 0;
+        this.lastListenedAt = System.currentTimeMillis();
+    }
+
+    public String getUrl() {
+        return url;
+    }
+
+    public AudioPlayer getPlayer() {
+        return player;
+    }
+
+    // [Index: 28.5] Frame feed filled by FramePump, read by subscriber cursors
+    public AudioFrameRing getFrameRing() {
+        return frameRing;
+    }
+
+    // [Index: 28.7] Lower-bitrate variants of the frame feed
+    public BitrateLadder getBitrateLadder() {
+        return bitrateLadder;
+    }
+
+    // [Index: 28.10] Pipeline metrics
+    public StreamMetrics getMetrics() {
+        return metrics;
+    }
+
+    // [Index: 28.2] Subscriber tracking - callers hold AudioManager's source lock
+    public void addSubscriber(UUID sessionId, StreamValidator.TicketTier tier) {
+        subscribers.add(sessionId);
+        if (tier != null && tier.ordinal() > admissionTier.ordinal()) {
+            admissionTier = tier;
+        }
+    }
+
+    public boolean removeSubscriber(UUID sessionId) {
+        return subscribers.remove(sessionId);
+    }
+
+    public int getSubscriberCount() {
+        return subscribers.size();
+    }
+
+    // [Index: 28.3] Load completion shared by all subscribers
+    public CompletableFuture<SharedStreamSource> getReadyFuture() {
+        return readyFuture;
+    }
+
+    /**
+     * A source whose initial load failed must not pick up new subscribers;
+     * the next caller for the URL opens a fresh upstream instead.
+     */
+    public boolean isReusable() {
+        return !closed && state != StreamingSession.State.FAILED && !readyFuture.isCompletedExceptionally();
+    }
+
+    /**
+     * A source waiting to reconnect still counts as playing so networks keep their session.
+     */
+    public boolean isPlaying() {
+        StreamingSession.State current = state;
+        return current == StreamingSession.State.PLAYING || current == StreamingSession.State.RECONNECTING;
+    }
+
+    public void setPlaying(boolean playing) {
+        state = playing ? StreamingSession.State.PLAYING : StreamingSession.State.STOPPED;
+    }
+
+    public StreamingSession.State getState() {
+        return state;
+    }
+
+    public void setState(StreamingSession.State state) {
+        this.state = state;
+    }
+
+    // [Index: 28.6] Reconnect budget
+    public int incrementReconnectAttempts() {
+        return reconnectAttempts.incrementAndGet();
+    }
+
+    public int getReconnectAttempts() {
+        return reconnectAttempts.get();
+    }
+
+    public void resetReconnectAttempts() {
+        reconnectAttempts.set(0);
+        nextReconnectAt = 0;
+    }
+
+    /**
+     * [Index: 28.6] Pump thread, once per tick of a playing source. Any empty tick restarts
+     * the run; STABLE_PLAYBACK_MS of frames in a row gives the reconnect budget back.
+     */
+    public void notePlaybackTick(boolean frameProduced, long nowNanos) {
+        if (!frameProduced) {
+            playingSince = 0;
+        } else if (playingSince == 0) {
+            playingSince = Math.max(1, nowNanos);
+        } else if (reconnectAttempts.get() > 0
+                && nowNanos - playingSince >= TimeUnit.MILLISECONDS.toNanos(ReconnectScheduler.STABLE_PLAYBACK_MS)) {
+            MinefestCore.getLogger().debug("Stream {} stable for {}s, reconnect budget restored",
+                url, ReconnectScheduler.STABLE_PLAYBACK_MS / 1000);
+            resetReconnectAttempts();
+        }
+    }
+
+    /**
+     * Claim the single pending reconnect slot; false if one is already scheduled.
+     */
+    public boolean markReconnectScheduled() {
+        return reconnectScheduled.compareAndSet(false, true);
+    }
+
+    public void clearReconnectScheduled() {
+        reconnectScheduled.set(false);
+    }
+
+    public long getNextReconnectAt() {
+        return nextReconnectAt;
+    }
+
+    public void setNextReconnectAt(long time) {
+        this.nextReconnectAt = time;
+    }
+
+    /**
+     * [Index: 28.8] Start a loaded track with the frame buffer the budget grants now.
+     * LavaPlayer sizes the buffer when the track starts, so the grant holds until the next start.
+     */
+    public void playTrack(AudioTrack track) {
+        long position = resumePosition;
+        if (position > 0) {
+            resumePosition = 0;
+            if (track.isSeekable()) {
+                track.setPosition(position);
+            }
+        }
+
+        int grantedMs = frameBufferBudget.allocate(this);
+        player.setFrameBufferDuration(grantedMs);
+        frameBufferMs = grantedMs;
+        player.playTrack(track);
+    }
+
+    /**
+     * [Index: 28.8] Restart the current track so a smaller grant takes effect. The upstream
+     * reconnects, so the budget only does this to sources nobody is listening to.
+     *
+     * @return false if there was no track to restart
+     */
+    public boolean restartWithBudget() {
+        AudioTrack current = player.getPlayingTrack();
+        if (closed || current == null) {
+            return false;
+        }
+        playTrack(current.makeClone());
+        return true;
+    }
+
+    /**
+     * Milliseconds of frame buffer reserved by the running track, 0 when none is running
+     */
+    public int getFrameBufferMs() {
+        return frameBufferMs;
+    }
+
+    /**
+     * Called by each network sync with its listener count; the budget reads the peak.
+     */
+    public void noteListeners(int listeners) {
+        if (listeners > 0) {
+            lastListenedAt = System.currentTimeMillis();
+            peakListeners.accumulateAndGet(listeners, Math::max);
+        }
+    }
+
+    /**
+     * Close the current listener window.
+     *
+     * @return the peak listener count seen since the previous call
+     */
+    public int rollListenerWindow() {
+        lastPeakListeners = peakListeners.getAndSet(0);
+        return lastPeakListeners;
+    }
+
+    public int getLastPeakListeners() {
+        return lastPeakListeners;
+    }
+
+    public long getLastListenedAt() {
+        return lastListenedAt;
+    }
+
+    /**
+     * [Index: 28.9] Close the upstream of a playing source that nobody is listening to.
+     * Live streams keep only their URL; seekable tracks also keep their position.
+     *
+     * @return false if the source was not playing (or is already parked)
+     */
+    public synchronized boolean park() {
+        if (closed || state != StreamingSession.State.PLAYING) {
+            return false;
+        }
+        AudioTrack current = player.getPlayingTrack();
+        resumePosition = current != null && !current.getInfo().isStream ? current.getPosition() : 0;
+        state = StreamingSession.State.PARKED;
+        player.stopTrack();
+        frameBufferMs = 0;
+        return true;
+    }
+
+    /**
+     * [Index: 28.9] Claim the resume of a parked source. RECONNECTING keeps the owning
+     * networks attached while the reload runs.
+     *
+     * @return false if the source is not parked or another caller is already resuming it
+     */
+    public synchronized boolean beginResume() {
+        if (closed || state != StreamingSession.State.PARKED) {
+            return false;
+        }
+        state = StreamingSession.State.RECONNECTING;
+        lastListenedAt = System.currentTimeMillis();
+        return true;
+    }
+
+    /**
+     * [Index: 28.9] Return to PARKED after a resume could not be started
+     */
+    public synchronized void abortResume() {
+        if (!closed && state == StreamingSession.State.RECONNECTING) {
+            state = StreamingSession.State.PARKED;
+        }
+    }
+
+    /**
+     * [Index: 28.9] Tier a parked source's reload is queued at, so a VIP stage that went
+     * quiet does not resume behind general admission setups
+     */
+    public StreamValidator.TicketTier getAdmissionTier() {
+        return admissionTier;
+    }
+
+    public boolean isParked() {
+        return state == StreamingSession.State.PARKED;
+    }
+
+    // [Index: 28.4] Upstream teardown
+    public boolean isClosed() {
+        return closed;
+    }
+
+    public void close() {
+        if (closed) {
+            return;
+        }
+        closed = true;
+        state = StreamingSession.State.STOPPED;
+        player.destroy();
+        frameBufferMs = 0;
+    }
+}
@@ -0,0 +1,150 @@
+package com.minefest.essentials.audio;
+
+import com.minefest.essentials.blocks.entity.SpeakerBlockEntity;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.world.level.Level;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.Map;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
+
+/**
+ * COMPONENT SIGNPOST [Index: 36]
+ * Purpose: Event-driven registry of loaded speakers, indexed by their linked DJ Stand
+ * Side: DEDICATED_SERVER only - replaces block scans during network discovery
+ *
+ * Workflow:
+ * 1. [Index: 36.1] Record speakers as their block entities load into a level
+ * 2. [Index: 36.2] Move speakers between DJ Stand buckets when their link changes
+ * 3. [Index: 36.3] Drop speakers when they are removed or their chunk unloads
+ * 4. [Index: 36.4] Answer "which loaded speakers link to this stand" with a direct lookup
+ *
+ * Dependencies:
+ * - SpeakerBlockEntity [Index: 19] - lifecycle events and link state
+ *
+ * Related Files:
+ * - NetworkAudioManager.java [Index: 26] - discovers network topology from this registry
+ * - SpeakerSpatialIndex.java [Index: 35] - positional index kept alongside network membership
+ *
+ * Threading: written from the server thread; lookups are safe from any thread and never load chunks.
+ */
+public final class SpeakerRegistry {
+    private static final Map<ResourceKey<Level>, LevelSpeakers> levels = new ConcurrentHashMap<>();
+
+    /**
+     * Speakers of one level: every loaded speaker, plus a bucket per linked DJ Stand.
+     * {@code indexedUnder} remembers the bucket a speaker was filed in, because the
+     * entity's own link has already changed by the time we are told about it.
+     */
+    private static final class LevelSpeakers {
+        private final Map<BlockPos, SpeakerBlockEntity> speakers = new ConcurrentHashMap<>();
+        private final Map<BlockPos, Set<BlockPos>> byDjStand = new ConcurrentHashMap<>();
+        private final Map<BlockPos, BlockPos> indexedUnder = new ConcurrentHashMap<>();
+
+        private void file(BlockPos speakerPos, BlockPos djStandPos) {
+            if (djStandPos == null) {
+                return;
+            }
+            byDjStand.computeIfAbsent(djStandPos, key -> ConcurrentHashMap.newKeySet()).add(speakerPos);
+            indexedUnder.put(speakerPos, djStandPos);
+        }
+
+        private BlockPos unfile(BlockPos speakerPos) {
+            BlockPos djStandPos = indexedUnder.remove(speakerPos);
+            if (djStandPos != null) {
+                byDjStand.computeIfPresent(djStandPos, (key, bucket) -> {
+                    bucket.remove(speakerPos);
+                    return bucket.isEmpty() ? null : bucket;
+                });
+            }
+            return djStandPos;
+        }
+    }
+
+    private SpeakerRegistry() {
+    }
+
+    // [Index: 36.1] Speaker loaded
+    public static void register(ServerLevel level, SpeakerBlockEntity speaker) {
+        LevelSpeakers entries = levels.computeIfAbsent(level.dimension(), key -> new LevelSpeakers());
+        BlockPos speakerPos = speaker.getBlockPos();
+
+        entries.speakers.put(speakerPos, speaker);
+        entries.unfile(speakerPos);
+        entries.file(speakerPos, speaker.getLinkedDJStand());
+    }
+
+    /**
+     * [Index: 36.2] Re-file a speaker under its current link
+     *
+     * @return the DJ Stand it was previously filed under, or null
+     */
+    public static BlockPos relink(ServerLevel level, SpeakerBlockEntity speaker) {
+        LevelSpeakers entries = levels.get(level.dimension());
+        if (entries == null || entries.speakers.get(speaker.getBlockPos()) != speaker) {
+            return null;
+        }
+
+        BlockPos speakerPos = speaker.getBlockPos();
+        BlockPos previous = entries.unfile(speakerPos);
+        entries.file(speakerPos, speaker.getLinkedDJStand());
+        return previous;
+    }
+
+    /**
+     * [Index: 36.3] Speaker removed or unloaded. Called twice on chunk unload
+     * (onChunkUnloaded then setRemoved), so only the first call does anything.
+     *
+     * @return the DJ Stand it was filed under, or null
+     */
+    public static BlockPos unregister(ServerLevel level, SpeakerBlockEntity speaker) {
+        LevelSpeakers entries = levels.get(level.dimension());
+        if (entries == null) {
+            return null;
+        }
+
+        BlockPos speakerPos = speaker.getBlockPos();
+        if (!entries.speakers.remove(speakerPos, speaker)) {
+            return null;
+        }
+        return entries.unfile(speakerPos);
+    }
+
+    // [Index: 36.4] Direct lookups
+
+    public static List<SpeakerBlockEntity> getLinkedSpeakers(ServerLevel level, BlockPos djStandPos) {
+        LevelSpeakers entries = levels.get(level.dimension());
+        if (entries == null) {
+            return Collections.emptyList();
+        }
+
+        Set<BlockPos> bucket = entries.byDjStand.get(djStandPos);
+        if (bucket == null) {
+            return Collections.emptyList();
+        }
+
+        List<SpeakerBlockEntity> linked = new ArrayList<>(bucket.size());
+        for (BlockPos speakerPos : bucket) {
+            SpeakerBlockEntity speaker = entries.speakers.get(speakerPos);
+            if (speaker != null) {
+                linked.add(speaker);
+            }
+        }
+        return linked;
+    }
+
+    public static int getSpeakerCount(ServerLevel level) {
+        LevelSpeakers entries = levels.get(level.dimension());
+        return entries != null ? entries.speakers.size() : 0;
+    }
+
+    public static void clear() {
+        levels.clear();
+    }
+}
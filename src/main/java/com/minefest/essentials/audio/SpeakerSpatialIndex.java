@@ -0,0 +1,195 @@
+package com.minefest.essentials.audio;
+
+import net.minecraft.core.BlockPos;
+import net.minecraft.core.SectionPos;
+
+import java.util.List;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.CopyOnWriteArrayList;
+
+/**
+ * COMPONENT SIGNPOST [Index: 35]
+ * Purpose: Section-bucketed spatial hash of speaker positions for one level
+ * Side: DEDICATED_SERVER only - answers listener range queries for NetworkAudioManager
+ *
+ * Workflow:
+ * 1. [Index: 35.1] Bucket speakers into 16x16x16 cells keyed by SectionPos packed longs
+ * 2. [Index: 35.2] Add and remove speakers incrementally as networks change
+ * 3. [Index: 35.3] Visit only the cells overlapping a listener's audio radius
+ * 4. [Index: 35.4] Fall back to scanning occupied cells when they are fewer than the query span
+ *
+ * Dependencies:
+ * - Minecraft SectionPos [Index: N/A] - cell coordinate packing
+ *
+ * Related Files:
+ * - NetworkAudioManager.java [Index: 26] - owns one index per level and queries it per listener
+ * - SpeakerBlockEntity.java [Index: 19] - load/unload/link events that keep the index current
+ *
+ * Threading: written from the server thread, read from the network sync wheel.
+ */
+public class SpeakerSpatialIndex {
+    private static final int CELL_SHIFT = 4; // 16 blocks per cell edge
+
+    private final Map<Long, Cell> cells = new ConcurrentHashMap<>();
+
+    /**
+     * Visitor for range queries. Return false to stop the query early.
+     */
+    @FunctionalInterface
+    public interface SpeakerVisitor {
+        boolean visit(BlockPos speakerPos, double distance);
+    }
+
+    private static final class Cell {
+        private final int x;
+        private final int y;
+        private final int z;
+        private final List<Entry> entries = new CopyOnWriteArrayList<>();
+
+        private Cell(int x, int y, int z) {
+            this.x = x;
+            this.y = y;
+            this.z = z;
+        }
+    }
+
+    private static final class Entry {
+        private final BlockPos pos;
+        private final UUID networkId;
+        private final double centerX;
+        private final double centerY;
+        private final double centerZ;
+
+        private Entry(BlockPos pos, UUID networkId) {
+            this.pos = pos;
+            this.networkId = networkId;
+            this.centerX = pos.getX() + 0.5;
+            this.centerY = pos.getY() + 0.5;
+            this.centerZ = pos.getZ() + 0.5;
+        }
+    }
+
+    // [Index: 35.2] Incremental maintenance
+
+    public void add(BlockPos speakerPos, UUID networkId) {
+        int cx = speakerPos.getX() >> CELL_SHIFT;
+        int cy = speakerPos.getY() >> CELL_SHIFT;
+        int cz = speakerPos.getZ() >> CELL_SHIFT;
+        Cell cell = cells.computeIfAbsent(SectionPos.asLong(cx, cy, cz), key -> new Cell(cx, cy, cz));
+
+        for (Entry entry : cell.entries) {
+            if (entry.pos.equals(speakerPos) && entry.networkId.equals(networkId)) {
+                return;
+            }
+        }
+        cell.entries.add(new Entry(speakerPos.immutable(), networkId));
+    }
+
+    public void remove(BlockPos speakerPos, UUID networkId) {
+        long key = SectionPos.asLong(speakerPos.getX() >> CELL_SHIFT,
+                                     speakerPos.getY() >> CELL_SHIFT,
+                                     speakerPos.getZ() >> CELL_SHIFT);
+        Cell cell = cells.get(key);
+        if (cell == null) {
+            return;
+        }
+
+        cell.entries.removeIf(entry -> entry.pos.equals(speakerPos) && entry.networkId.equals(networkId));
+        if (cell.entries.isEmpty()) {
+            cells.remove(key, cell);
+        }
+    }
+
+    public void removeNetwork(UUID networkId) {
+        cells.entrySet().removeIf(mapping -> {
+            List<Entry> entries = mapping.getValue().entries;
+            entries.removeIf(entry -> entry.networkId.equals(networkId));
+            return entries.isEmpty();
+        });
+    }
+
+    // [Index: 35.3] Range queries
+
+    /**
+     * Visit every speaker within {@code radius} of a point.
+     *
+     * @param networkId only visit speakers of this network, or null for all networks
+     * @return false if the visitor stopped the query early
+     */
+    public boolean forEachInRange(double x, double y, double z, double radius,
+                                  UUID networkId, SpeakerVisitor visitor) {
+        double radiusSqr = radius * radius;
+        int minX = cellCoord(x - radius);
+        int maxX = cellCoord(x + radius);
+        int minY = cellCoord(y - radius);
+        int maxY = cellCoord(y + radius);
+        int minZ = cellCoord(z - radius);
+        int maxZ = cellCoord(z + radius);
+
+        long span = (long) (maxX - minX + 1) * (maxY - minY + 1) * (maxZ - minZ + 1);
+
+        // [Index: 35.4] Sparse levels: scanning occupied cells beats probing empty ones
+        if (cells.size() < span) {
+            for (Cell cell : cells.values()) {
+                if (cell.x < minX || cell.x > maxX || cell.y < minY || cell.y > maxY
+                        || cell.z < minZ || cell.z > maxZ) {
+                    continue;
+                }
+                if (!visitCell(cell, x, y, z, radiusSqr, networkId, visitor)) {
+                    return false;
+                }
+            }
+            return true;
+        }
+
+        for (int cx = minX; cx <= maxX; cx++) {
+            for (int cy = minY; cy <= maxY; cy++) {
+                for (int cz = minZ; cz <= maxZ; cz++) {
+                    Cell cell = cells.get(SectionPos.asLong(cx, cy, cz));
+                    if (cell != null && !visitCell(cell, x, y, z, radiusSqr, networkId, visitor)) {
+                        return false;
+                    }
+                }
+            }
+        }
+        return true;
+    }
+
+    /**
+     * @return true if any speaker of the network lies within {@code radius} of the point
+     */
+    public boolean anyInRange(double x, double y, double z, double radius, UUID networkId) {
+        return !forEachInRange(x, y, z, radius, networkId, (speakerPos, distance) -> false);
+    }
+
+    private static boolean visitCell(Cell cell, double x, double y, double z, double radiusSqr,
+                                     UUID networkId, SpeakerVisitor visitor) {
+        for (Entry entry : cell.entries) {
+            if (networkId != null && !networkId.equals(entry.networkId)) {
+                continue;
+            }
+            double dx = entry.centerX - x;
+            double dy = entry.centerY - y;
+            double dz = entry.centerZ - z;
+            double distanceSqr = dx * dx + dy * dy + dz * dz;
+            if (distanceSqr <= radiusSqr && !visitor.visit(entry.pos, Math.sqrt(distanceSqr))) {
+                return false;
+            }
+        }
+        return true;
+    }
+
+    private static int cellCoord(double blockCoord) {
+        return ((int) Math.floor(blockCoord)) >> CELL_SHIFT;
+    }
+
+    public int getCellCount() {
+        return cells.size();
+    }
+
+    public void clear() {
+        cells.clear();
+    }
+}
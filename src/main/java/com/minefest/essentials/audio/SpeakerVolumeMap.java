@@ -0,0 +1,223 @@
+package com.minefest.essentials.audio;
+
+import java.util.Arrays;
+
+/**
+ * COMPONENT SIGNPOST [Index: 37]
+ * Purpose: Primitive long -> float map of speaker volumes keyed by BlockPos.asLong()
+ * Side: DEDICATED_SERVER only - speaker storage for AudioNetwork
+ *
+ * Workflow:
+ * 1. [Index: 37.1] Open-addressing table with linear probing and backward-shift deletion
+ * 2. [Index: 37.2] Mutations (link/unlink/load/unload) serialize on the map and invalidate the snapshot
+ * 3. [Index: 37.3] Readers take an immutable sorted snapshot, rebuilt at most once per change
+ * 4. [Index: 37.4] Snapshot lookups binary-search the packed positions without allocating
+ *
+ * Dependencies:
+ * - None (primitive arrays only)
+ *
+ * Related Files:
+ * - NetworkAudioManager.java [Index: 26] - AudioNetwork speaker membership and volumes
+ * - SpeakerSpatialIndex.java [Index: 35] - positional index over the same speakers
+ *
+ * Memory: 12 bytes per table slot at <= 0.75 load, plus 12 bytes per speaker in the snapshot.
+ */
+public class SpeakerVolumeMap {
+    /**
+     * Packs to x = -33554432, far outside the world border, so no real speaker uses it.
+     */
+    private static final long EMPTY = Long.MIN_VALUE;
+    private static final int MIN_CAPACITY = 16;
+
+    private long[] keys;
+    private float[] values;
+    private int size;
+    private volatile Snapshot snapshot = Snapshot.EMPTY_SNAPSHOT;
+    private volatile boolean dirty = false;
+
+    public SpeakerVolumeMap() {
+        allocate(MIN_CAPACITY);
+    }
+
+    private void allocate(int capacity) {
+        keys = new long[capacity];
+        values = new float[capacity];
+        Arrays.fill(keys, EMPTY);
+    }
+
+    // [Index: 37.1] Table operations
+
+    private static int slotFor(long key, int mask) {
+        long hash = key * 0x9E3779B97F4A7C15L;
+        return (int) (hash ^ (hash >>> 32)) & mask;
+    }
+
+    private int indexOf(long key) {
+        int mask = keys.length - 1;
+        int slot = slotFor(key, mask);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                return slot;
+            }
+            slot = (slot + 1) & mask;
+        }
+        return -1;
+    }
+
+    public synchronized boolean containsKey(long key) {
+        return indexOf(key) >= 0;
+    }
+
+    public synchronized float get(long key, float defaultValue) {
+        int slot = indexOf(key);
+        return slot >= 0 ? values[slot] : defaultValue;
+    }
+
+    // [Index: 37.2] Mutations
+    public synchronized void put(long key, float value) {
+        if (key == EMPTY) {
+            throw new IllegalArgumentException("Position outside the world cannot be stored");
+        }
+
+        if ((size + 1) * 4 > keys.length * 3) {
+            rehash(keys.length * 2);
+        }
+
+        int mask = keys.length - 1;
+        int slot = slotFor(key, mask);
+        while (keys[slot] != EMPTY) {
+            if (keys[slot] == key) {
+                values[slot] = value;
+                dirty = true;
+                return;
+            }
+            slot = (slot + 1) & mask;
+        }
+
+        keys[slot] = key;
+        values[slot] = value;
+        size++;
+        dirty = true;
+    }
+
+    public synchronized boolean remove(long key) {
+        int slot = indexOf(key);
+        if (slot < 0) {
+            return false;
+        }
+
+        // Backward-shift deletion keeps probe chains intact without tombstones
+        int mask = keys.length - 1;
+        int hole = slot;
+        int next = (hole + 1) & mask;
+        while (keys[next] != EMPTY) {
+            int home = slotFor(keys[next], mask);
+            // Move the entry back if its home slot is not cyclically within (hole, next]
+            if (((next - home) & mask) >= ((next - hole) & mask)) {
+                keys[hole] = keys[next];
+                values[hole] = values[next];
+                hole = next;
+            }
+            next = (next + 1) & mask;
+        }
+        keys[hole] = EMPTY;
+        size--;
+        dirty = true;
+        return true;
+    }
+
+    private void rehash(int capacity) {
+        long[] oldKeys = keys;
+        float[] oldValues = values;
+        allocate(capacity);
+
+        int mask = capacity - 1;
+        for (int i = 0; i < oldKeys.length; i++) {
+            if (oldKeys[i] != EMPTY) {
+                int slot = slotFor(oldKeys[i], mask);
+                while (keys[slot] != EMPTY) {
+                    slot = (slot + 1) & mask;
+                }
+                keys[slot] = oldKeys[i];
+                values[slot] = oldValues[i];
+            }
+        }
+    }
+
+    public synchronized int size() {
+        return size;
+    }
+
+    public synchronized void clear() {
+        allocate(MIN_CAPACITY);
+        size = 0;
+        dirty = true;
+    }
+
+    /**
+     * [Index: 37.3] Immutable view for readers. Unchanged maps return the cached
+     * snapshot with no locking or allocation.
+     */
+    public Snapshot snapshot() {
+        if (!dirty) {
+            return snapshot;
+        }
+        synchronized (this) {
+            if (dirty) {
+                long[] positions = new long[size];
+                int count = 0;
+                for (long key : keys) {
+                    if (key != EMPTY) {
+                        positions[count++] = key;
+                    }
+                }
+                Arrays.sort(positions);
+
+                float[] volumes = new float[count];
+                for (int i = 0; i < count; i++) {
+                    volumes[i] = values[indexOf(positions[i])];
+                }
+
+                snapshot = new Snapshot(positions, volumes);
+                dirty = false;
+            }
+            return snapshot;
+        }
+    }
+
+    /**
+     * [Index: 37.4] Sorted, immutable speaker arrays. Callers must not modify the arrays.
+     */
+    public static final class Snapshot {
+        private static final Snapshot EMPTY_SNAPSHOT = new Snapshot(new long[0], new float[0]);
+
+        private final long[] positions;
+        private final float[] volumes;
+
+        private Snapshot(long[] positions, float[] volumes) {
+            this.positions = positions;
+            this.volumes = volumes;
+        }
+
+        public int size() {
+            return positions.length;
+        }
+
+        public long positionAt(int index) {
+            return positions[index];
+        }
+
+        public float volumeAt(int index) {
+            return volumes[index];
+        }
+
+        public float volumeOf(long position, float defaultValue) {
+            int index = Arrays.binarySearch(positions, position);
+            return index >= 0 ? volumes[index] : defaultValue;
+        }
+
+        public boolean contains(long position) {
+            return Arrays.binarySearch(positions, position) >= 0;
+        }
+    }
+}
@@ -0,0 +1,372 @@
+package com.minefest.essentials.audio;
+
+import com.minefest.essentials.MinefestCore;
+
+import java.io.IOException;
+import java.nio.file.FileAlreadyExistsException;
+import java.nio.file.Path;
+import java.time.LocalDateTime;
+import java.time.format.DateTimeFormatter;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * COMPONENT SIGNPOST [Index: 57]
+ * Purpose: Records every streaming stage to disk for replays and post-show broadcasts
+ * Side: DEDICATED_SERVER only - drains frame feeds on its own thread, off the heap
+ *
+ * Workflow:
+ * 1. [Index: 57.1] Once a second, start a recording for each network with a live stream
+ * 2. [Index: 57.2] Follow the network across stream switches: the switch hands over a cursor on the new feed
+ * 3. [Index: 57.3] Every 20ms drain each feed into its stage recording
+ * 4. [Index: 57.4] Finish recordings whose network went away or whose disk writes failed
+ * 5. [Index: 57.5] Open replay cursors over live recordings or archives on disk
+ *
+ * Dependencies:
+ * - StageRecording [Index: 58] - segment rollover and replay cursors
+ * - AudioFrameRing [Index: 32] - frame feed with MasterClock stamps from the pump
+ * - NetworkAudioManager [Index: 26] - active networks and their current stream sessions
+ *
+ * Related Files:
+ * - RecordingSegment.java [Index: 59] - on-disk layout
+ * - FramePump.java [Index: 31] - stamps every frame with one MasterClock reading per tick
+ *
+ * Frames are stored exactly as the pump published them (HIGH variant Opus packets), so
+ * a replay can go out through the normal delivery path; only stamps that would go
+ * backwards are raised to their predecessor's. Draining a feed allocates
+ * nothing; only opening a segment file (once per segmentBytes of audio) does.
+ */
+public class StageRecorder {
+    public static final int DEFAULT_SEGMENT_BYTES = 64 * 1024 * 1024;    // ~90 minutes of HIGH audio
+    private static final int DISCOVERY_TICKS = 50;                       // 1 second of 20ms ticks
+    private static final DateTimeFormatter DIRECTORY_TIME = DateTimeFormatter.ofPattern("yyyyMMdd-HHmmss-SSS");
+    private static final int MAX_DIRECTORY_ATTEMPTS = 100;
+
+    /**
+     * One network being recorded
+     */
+    private static final class Track {
+        private final StageRecording recording;
+        private SharedStreamSource source;
+        private AudioFrameRing.Cursor cursor;
+        private long droppedFrames;
+
+        private Track(StageRecording recording) {
+            this.recording = recording;
+        }
+    }
+
+    private final Map<UUID, Track> tracks = new ConcurrentHashMap<>();
+    private final byte[] scratch = new byte[AudioFrameRing.DEFAULT_SLOT_BYTES];   // recorder thread only
+    private volatile ScheduledExecutorService recorderThread;   // null until enabled, and again after shutdown
+    private volatile boolean enabled = false;
+    private volatile Path recordingRoot = Path.of("minefest", "recordings");
+    private volatile int segmentBytes = DEFAULT_SEGMENT_BYTES;
+    private long tick = 0;
+
+    private final AtomicLong framesRecorded = new AtomicLong(0);
+    private final AtomicLong framesDropped = new AtomicLong(0);
+    private final AtomicLong writeFailures = new AtomicLong(0);
+
+    // Configuration
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Off by default - a stage records roughly 45MB an hour. Disabling finishes every
+     * open recording on the next tick. The setting outlives shutdown(): the next stream
+     * a network starts brings the recorder back up.
+     */
+    public void setEnabled(boolean recordingEnabled) {
+        this.enabled = recordingEnabled;
+        if (recordingEnabled) {
+            start();
+        }
+    }
+
+    public Path getRecordingRoot() {
+        return recordingRoot;
+    }
+
+    /**
+     * Applies to recordings started afterwards
+     */
+    public void setRecordingRoot(Path root) {
+        this.recordingRoot = root;
+    }
+
+    public void setSegmentBytes(int bytes) {
+        this.segmentBytes = Math.max(1024 * 1024, bytes);
+    }
+
+    /**
+     * Start the recorder thread if it is not running; a server restart starts a new one
+     *
+     * @return the running executor
+     */
+    private synchronized ScheduledExecutorService start() {
+        if (recorderThread == null) {
+            ScheduledExecutorService thread = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread recorder = new Thread(r, "Minefest-Recorder");
+                recorder.setDaemon(true);
+                return recorder;
+            });
+            tick = 0;
+            thread.scheduleAtFixedRate(this::recordTick, FramePump.FRAME_INTERVAL_MS,
+                FramePump.FRAME_INTERVAL_MS, TimeUnit.MILLISECONDS);
+            recorderThread = thread;
+            MinefestCore.getLogger().info("Stage recorder started, writing to {}", recordingRoot.toAbsolutePath());
+        }
+        return recorderThread;
+    }
+
+    private void recordTick() {
+        try {
+            tick++;
+            if (!enabled) {
+                finishAll();
+                return;
+            }
+            if (tick % DISCOVERY_TICKS == 1) {
+                discoverStages();
+            }
+
+            // [Index: 57.3] Drain everything published since the last tick
+            for (Track track : tracks.values()) {
+                drain(track);
+            }
+        } catch (Exception e) {
+            MinefestCore.getLogger().error("Stage recorder tick failed", e);
+        }
+    }
+
+    /**
+     * [Index: 57.1] / [Index: 57.2] / [Index: 57.4]
+     */
+    private void discoverStages() {
+        AudioManager audioManager = MinefestCore.getAudioManager();
+        for (NetworkAudioManager.AudioNetwork network : NetworkAudioManager.getAllActiveNetworks()) {
+            UUID sessionId = network.getCurrentStreamSession();
+            StreamingSession session = sessionId != null && audioManager != null ? audioManager.getSession(sessionId) : null;
+            if (session == null || session.getSource().isClosed()) {
+                continue;
+            }
+
+            Track track = tracks.get(network.getNetworkId());
+            if (track == null) {
+                track = startTrack(network.getNetworkId());
+                if (track == null) {
+                    continue;
+                }
+            }
+            // Fallback for switches that did not go through onStreamSwitched()
+            if (track.source != session.getSource()) {
+                retarget(track, session.getSource(), session.getSource().getFrameRing().openCursor());
+            }
+        }
+
+        Iterator<Map.Entry<UUID, Track>> iterator = tracks.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<UUID, Track> entry = iterator.next();
+            if (NetworkAudioManager.getAudioNetworkById(entry.getKey()) == null) {
+                iterator.remove();
+                finishTrack(entry.getKey(), entry.getValue());
+            }
+        }
+    }
+
+    /**
+     * [Index: 57.2] Called when a network switches streams, before the outgoing session is
+     * stopped. The cursor on the incoming feed is opened here, at the switch, so the
+     * recording continues without waiting for the next discovery pass.
+     */
+    public void onStreamSwitched(UUID networkId, StreamingSession incoming) {
+        if (!enabled || incoming == null) {
+            return;
+        }
+        ScheduledExecutorService thread = recorderThread;
+        if (thread == null) {
+            thread = start();
+        }
+        SharedStreamSource source = incoming.getSource();
+        AudioFrameRing.Cursor cursor = source.getFrameRing().openCursor();
+        try {
+            thread.execute(() -> {
+                Track track = tracks.get(networkId);
+                if (track != null && track.source != source) {
+                    retarget(track, source, cursor);
+                }
+            });
+        } catch (RejectedExecutionException e) {
+            // shutting down
+        }
+    }
+
+    // Recorder thread
+    private void retarget(Track track, SharedStreamSource source, AudioFrameRing.Cursor cursor) {
+        if (track.recording.isFinished()) {
+            return;
+        }
+        if (track.cursor != null) {
+            drain(track); // keep the tail of the outgoing stream
+        }
+        track.source = source;
+        track.cursor = cursor;
+        track.droppedFrames = 0;
+    }
+
+    private Track startTrack(UUID networkId) {
+        // A stage restarted within the same millisecond gets a numbered sibling directory
+        Path stageRoot = recordingRoot.resolve(networkId.toString());
+        String name = LocalDateTime.now().format(DIRECTORY_TIME);
+        Path directory = stageRoot.resolve(name);
+        try {
+            for (int attempt = 1; ; attempt++) {
+                try {
+                    Track track = new Track(StageRecording.create(directory, segmentBytes));
+                    tracks.put(networkId, track);
+                    MinefestCore.getLogger().info("Recording network {} to {}", networkId, directory);
+                    return track;
+                } catch (FileAlreadyExistsException e) {
+                    if (attempt == MAX_DIRECTORY_ATTEMPTS) {
+                        throw e;
+                    }
+                    directory = stageRoot.resolve(name + "-" + attempt);
+                }
+            }
+        } catch (IOException e) {
+            writeFailures.incrementAndGet();
+            MinefestCore.getLogger().error("Could not start recording for network {} in {}: {}",
+                networkId, directory, e.getMessage());
+            return null;
+        }
+    }
+
+    /**
+     * The ring outlives its source, so a stopped stream's last frames are still drained
+     */
+    private void drain(Track track) {
+        AudioFrameRing.Cursor cursor = track.cursor;
+        if (cursor == null) {
+            return;
+        }
+        try {
+            int length;
+            while ((length = cursor.read(scratch)) != AudioFrameRing.NO_FRAME) {
+                track.recording.append(cursor.getLastStamp(), scratch, length);
+                framesRecorded.incrementAndGet();
+            }
+        } catch (IOException e) {
+            // [Index: 57.4] Disk full or unwritable - keep what was recorded, stop this stage
+            writeFailures.incrementAndGet();
+            MinefestCore.getLogger().error("Recording to {} failed, stopping it: {}",
+                track.recording.getDirectory(), e.getMessage());
+            track.cursor = null;
+            track.recording.finish();
+            return;
+        }
+
+        long dropped = cursor.getDroppedFrames();
+        if (dropped != track.droppedFrames) {
+            framesDropped.addAndGet(dropped - track.droppedFrames);
+            track.droppedFrames = dropped;
+        }
+    }
+
+    private void finishTrack(UUID networkId, Track track) {
+        drain(track);
+        track.recording.finish();
+        MinefestCore.getLogger().info("Finished recording network {}: {} frames in {} segments",
+            networkId, track.recording.getFramesRecorded(), track.recording.getSegmentCount());
+    }
+
+    private void finishAll() {
+        Iterator<Map.Entry<UUID, Track>> iterator = tracks.entrySet().iterator();
+        while (iterator.hasNext()) {
+            Map.Entry<UUID, Track> entry = iterator.next();
+            iterator.remove();
+            finishTrack(entry.getKey(), entry.getValue());
+        }
+    }
+
+    /**
+     * [Index: 57.5] Recording in progress for a network, or null
+     */
+    public StageRecording getRecording(UUID networkId) {
+        Track track = tracks.get(networkId);
+        return track != null ? track.recording : null;
+    }
+
+    /**
+     * [Index: 57.5] Replay a network's live recording from a MasterClock time, or null if it is not recording
+     */
+    public StageRecording.ReplayCursor openReplay(UUID networkId, long fromStamp) {
+        StageRecording recording = getRecording(networkId);
+        return recording != null ? recording.openReplay(fromStamp) : null;
+    }
+
+    /**
+     * [Index: 57.5] Open a finished recording directory (e.g. after a restart) for replay
+     */
+    public static StageRecording openArchive(Path directory) throws IOException {
+        return StageRecording.open(directory);
+    }
+
+    // Monitoring
+
+    public int getActiveRecordingCount() {
+        return tracks.size();
+    }
+
+    public long getFramesRecorded() {
+        return framesRecorded.get();
+    }
+
+    /**
+     * Frames the recorder fell too far behind to save (the feed ring lapped it)
+     */
+    public long getFramesDropped() {
+        return framesDropped.get();
+    }
+
+    public long getWriteFailures() {
+        return writeFailures.get();
+    }
+
+    /**
+     * Finish every open recording and stop the recorder thread. Leaves {@link #isEnabled()}
+     * as configured, so recording resumes with the next server's streams.
+     */
+    public void shutdown() {
+        ScheduledExecutorService thread;
+        synchronized (this) {
+            thread = recorderThread;
+            recorderThread = null;
+        }
+        if (thread == null) {
+            return;
+        }
+        try {
+            // shutdown() cancels the tick but still runs the finish queued before it
+            thread.submit(this::finishAll);
+            thread.shutdown();
+            if (!thread.awaitTermination(2, TimeUnit.SECONDS)) {
+                MinefestCore.getLogger().warn("Stage recorder did not finish cleanly within 2s");
+            }
+        } catch (RejectedExecutionException e) {
+            // already shut down
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+        }
+        thread.shutdownNow();
+    }
+}
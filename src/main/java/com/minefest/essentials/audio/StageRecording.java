@@ -0,0 +1,255 @@
+package com.minefest.essentials.audio;
+
+import com.minefest.essentials.MinefestCore;
+
+import java.io.IOException;
+import java.nio.file.Files;
+import java.nio.file.Path;
+import java.util.ArrayList;
+import java.util.List;
+import java.util.stream.Stream;
+
+/**
+ * COMPONENT SIGNPOST [Index: 58]
+ * Purpose: One stage's recording as an ordered run of memory-mapped segments
+ * Side: DEDICATED_SERVER only - appended by the recorder, replayed by any number of cursors
+ *
+ * Workflow:
+ * 1. [Index: 58.1] Append frames to the open segment, rolling to a new file when it fills
+ * 2. [Index: 58.2] Publish segments through a copy-on-write array (one copy per segment)
+ * 3. [Index: 58.3] Seek: binary search over segment start stamps, then the segment's own index
+ * 4. [Index: 58.4] Replay cursors read frames straight out of the mappings, crossing segments
+ * 5. [Index: 58.5] Reopen a recording directory from disk for post-show playback
+ *
+ * Dependencies:
+ * - RecordingSegment [Index: 59] - file layout, append and in-segment seek
+ *
+ * Related Files:
+ * - StageRecorder.java [Index: 57] - creates recordings and feeds them from the live stream
+ * - AudioFrameRing.java [Index: 32] - ReplayCursor mirrors its Cursor read contract
+ *
+ * Threading: append() and finish() from the recorder thread only; cursors on any thread.
+ */
+public final class StageRecording {
+    private static final String SEGMENT_PREFIX = "segment-";
+
+    private final Path directory;
+    private final int segmentBytes;
+    private volatile RecordingSegment[] segments;
+    private volatile boolean finished;
+
+    private long framesRecorded;
+    private long bytesRecorded;
+    private long lastAppendedStamp = Long.MIN_VALUE;
+
+    private StageRecording(Path directory, int segmentBytes, RecordingSegment[] segments, boolean finished) {
+        this.directory = directory;
+        this.segmentBytes = segmentBytes;
+        this.segments = segments;
+        this.finished = finished;
+    }
+
+    /**
+     * Start a new recording in a directory that must not exist yet
+     *
+     * @throws java.nio.file.FileAlreadyExistsException if another recording already uses the directory
+     */
+    public static StageRecording create(Path directory, int segmentBytes) throws IOException {
+        Path parent = directory.toAbsolutePath().getParent();
+        if (parent != null) {
+            Files.createDirectories(parent);
+        }
+        Files.createDirectory(directory);
+        return new StageRecording(directory, segmentBytes, new RecordingSegment[0], false);
+    }
+
+    /**
+     * [Index: 58.5] Open a finished recording read-only
+     */
+    public static StageRecording open(Path directory) throws IOException {
+        List<Path> files;
+        try (Stream<Path> listing = Files.list(directory)) {
+            files = listing.filter(RecordingSegment::isSegmentFile).sorted().toList();
+        }
+        List<RecordingSegment> opened = new ArrayList<>(files.size());
+        for (Path file : files) {
+            RecordingSegment segment = RecordingSegment.open(file);
+            if (segment.getFrameCount() > 0) {
+                opened.add(segment);
+            }
+        }
+        return new StageRecording(directory, 0, opened.toArray(new RecordingSegment[0]), true);
+    }
+
+    /**
+     * [Index: 58.1] Append one frame, rolling over to a fresh segment when the current one is full.
+     * Seeks need stamps that never decrease, so a frame stamped before its predecessor (the
+     * master clock stepped back, or the new stream of a switch) is written with the previous stamp.
+     */
+    public void append(long stamp, byte[] data, int length) throws IOException {
+        if (finished) {
+            throw new IllegalStateException("Recording is finished: " + directory);
+        }
+        long written = Math.max(stamp, lastAppendedStamp);
+        RecordingSegment[] current = segments;
+        RecordingSegment tail = current.length > 0 ? current[current.length - 1] : null;
+        if (tail == null || !tail.append(written, data, length)) {
+            if (tail != null) {
+                tail.force();
+            }
+            RecordingSegment next = RecordingSegment.create(
+                directory.resolve(String.format("%s%05d%s", SEGMENT_PREFIX, current.length, RecordingSegment.FILE_SUFFIX)),
+                segmentBytes);
+            if (!next.append(written, data, length)) {
+                throw new IOException("Frame of " + length + " bytes does not fit an empty segment");
+            }
+
+            // [Index: 58.2] Cursors pick up the new segment on their next read
+            RecordingSegment[] updated = new RecordingSegment[current.length + 1];
+            System.arraycopy(current, 0, updated, 0, current.length);
+            updated[current.length] = next;
+            segments = updated;
+            MinefestCore.getLogger().debug("Recording {} rolled to segment {}", directory.getFileName(), current.length);
+        }
+        lastAppendedStamp = written;
+        framesRecorded++;
+        bytesRecorded += length;
+    }
+
+    /**
+     * Flush the open segment and stop accepting frames
+     */
+    public void finish() {
+        if (finished) {
+            return;
+        }
+        finished = true;
+        RecordingSegment[] current = segments;
+        if (current.length > 0) {
+            current[current.length - 1].force();
+        }
+    }
+
+    /**
+     * [Index: 58.3] Index of the segment holding the first frame at or after {@code stamp}
+     */
+    private static int findSegment(RecordingSegment[] current, long stamp) {
+        int low = 0;
+        int high = current.length - 1;
+        int found = 0;
+        while (low <= high) {
+            int mid = (low + high) >>> 1;
+            if (current[mid].getFirstStamp() <= stamp) {
+                found = mid;
+                low = mid + 1;
+            } else {
+                high = mid - 1;
+            }
+        }
+        return found;
+    }
+
+    /**
+     * [Index: 58.4] Cursor positioned at the first frame stamped at or after {@code stamp}
+     */
+    public ReplayCursor openReplay(long stamp) {
+        ReplayCursor cursor = new ReplayCursor();
+        cursor.seek(stamp);
+        return cursor;
+    }
+
+    public Path getDirectory() {
+        return directory;
+    }
+
+    public boolean isFinished() {
+        return finished;
+    }
+
+    public int getSegmentCount() {
+        return segments.length;
+    }
+
+    /**
+     * First recorded MasterClock time, or Long.MIN_VALUE before the first frame
+     */
+    public long getFirstStamp() {
+        RecordingSegment[] current = segments;
+        return current.length > 0 ? current[0].getFirstStamp() : Long.MIN_VALUE;
+    }
+
+    public long getLastStamp() {
+        RecordingSegment[] current = segments;
+        return current.length > 0 ? current[current.length - 1].getLastStamp() : Long.MIN_VALUE;
+    }
+
+    public long getFramesRecorded() {
+        return framesRecorded;
+    }
+
+    public long getBytesRecorded() {
+        return bytesRecorded;
+    }
+
+    /**
+     * Sequential reader over the recording. Not thread-safe; one per consumer.
+     * Reading a live recording follows it up to the last published frame.
+     */
+    public final class ReplayCursor {
+        private int segmentIndex;
+        private int offset = -1;
+        private long lastStamp;
+
+        private ReplayCursor() {
+        }
+
+        /**
+         * [Index: 58.3] O(log segments + log index entries) plus a scan of at most one stride
+         */
+        public void seek(long stamp) {
+            RecordingSegment[] current = segments;
+            if (current.length == 0) {
+                segmentIndex = 0;
+                offset = -1;
+                return;
+            }
+            segmentIndex = findSegment(current, stamp);
+            offset = current[segmentIndex].seek(stamp);
+        }
+
+        /**
+         * Copy the next frame into {@code target}, which must hold at least
+         * AudioFrameRing.DEFAULT_SLOT_BYTES bytes.
+         *
+         * @return the frame length, or AudioFrameRing.NO_FRAME at the end of the recording
+         */
+        public int read(byte[] target) {
+            RecordingSegment[] current = segments;
+            while (segmentIndex < current.length) {
+                RecordingSegment segment = current[segmentIndex];
+                if (offset < 0) {
+                    offset = segment.getDataStart(); // recording was empty when seeked
+                }
+                if (offset < segment.getPublishedEnd()) {
+                    lastStamp = segment.stampAt(offset);
+                    int length = segment.read(offset, target);
+                    offset = segment.nextOffset(offset);
+                    return length;
+                }
+                if (segmentIndex + 1 == current.length) {
+                    break; // live tail - more frames may follow
+                }
+                segmentIndex++;
+                offset = current[segmentIndex].getDataStart();
+            }
+            return AudioFrameRing.NO_FRAME;
+        }
+
+        /**
+         * MasterClock time at which the last read frame was produced
+         */
+        public long getLastStamp() {
+            return lastStamp;
+        }
+    }
+}
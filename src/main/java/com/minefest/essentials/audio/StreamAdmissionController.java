@@ -0,0 +1,288 @@
+package com.minefest.essentials.audio;
+
+import com.minefest.essentials.MinefestCore;
+
+import java.util.Comparator;
+import java.util.EnumMap;
+import java.util.Map;
+import java.util.TreeSet;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+import java.util.function.Consumer;
+
+/**
+ * COMPONENT SIGNPOST [Index: 43]
+ * Purpose: Admission control for upstream stream setup with a bounded, tier-prioritised queue
+ * Side: DEDICATED_SERVER only - the only place stream setup work is executed
+ *
+ * Workflow:
+ * 1. [Index: 43.1] Reserve a connection slot atomically, or reject with AT_CAPACITY
+ * 2. [Index: 43.2] Queue setup work by TicketTier, then arrival order, up to a fixed depth
+ * 3. [Index: 43.3] On a full queue, displace the lowest-priority entry or reject the newcomer
+ * 4. [Index: 43.4] Run setups on dedicated workers only - never on the submitting thread
+ * 5. [Index: 43.5] Record queue wait times and rejection counts per reason
+ *
+ * Dependencies:
+ * - StreamValidator [Index: 27] - TicketTier priorities
+ * - MinefestCore [Index: 02] - logging
+ *
+ * Related Files:
+ * - AudioManager.java [Index: 05] - reserves slots and submits shared source setup
+ * - DJStandAudioBridge.java [Index: 25] - passes the starting player's tier
+ * - NetworkAudioManager.java [Index: 26] - starts network streams at the default tier
+ *
+ * Threading: the pending set is guarded by its own monitor; workers wait on it. Rejection
+ * callbacks run on the thread that caused the rejection and must not block.
+ */
+public class StreamAdmissionController {
+    public static final StreamValidator.TicketTier DEFAULT_TIER = StreamValidator.TicketTier.GENERAL_ADMISSION;
+
+    /**
+     * Why a stream was not admitted
+     */
+    public enum Rejection {
+        AT_CAPACITY,      // every connection slot is in use
+        QUEUE_FULL,       // the pending queue is full of equal or higher tiers
+        DISPLACED,        // queued, then pushed out by a higher tier
+        BUFFER_BUDGET,    // the frame buffer budget cannot fit another stream
+        SHUTDOWN          // the controller is stopping
+    }
+
+    /**
+     * Failure carried by a stream future that was not admitted
+     */
+    public static class AdmissionRejectedException extends RuntimeException {
+        private final Rejection reason;
+
+        public AdmissionRejectedException(Rejection reason) {
+            super("Stream not admitted: " + reason);
+            this.reason = reason;
+        }
+
+        public Rejection getReason() {
+            return reason;
+        }
+    }
+
+    private static final class PendingSetup {
+        private final StreamValidator.TicketTier tier;
+        private final long sequence;
+        private final long enqueuedAt;
+        private final Runnable setup;
+        private final Consumer<Rejection> onRejected;
+
+        private PendingSetup(StreamValidator.TicketTier tier, long sequence, Runnable setup, Consumer<Rejection> onRejected) {
+            this.tier = tier;
+            this.sequence = sequence;
+            this.enqueuedAt = System.nanoTime();
+            this.setup = setup;
+            this.onRejected = onRejected;
+        }
+    }
+
+    // [Index: 43.2] Highest tier first, FIFO within a tier; last() is the cheapest to displace
+    private static final Comparator<PendingSetup> PRIORITY = Comparator
+        .<PendingSetup>comparingInt(pending -> -pending.tier.ordinal())
+        .thenComparingLong(pending -> pending.sequence);
+
+    private final int maxConnections;
+    private final int maxPending;
+    private final AtomicInteger activeConnections = new AtomicInteger(0);
+    private final TreeSet<PendingSetup> pending = new TreeSet<>(PRIORITY);
+    private final Thread[] workers;
+    private long nextSequence = 0;
+    private volatile boolean running = true;
+
+    // [Index: 43.5] Metrics
+    private final AtomicLong admitted = new AtomicLong(0);
+    private final AtomicLong startedSetups = new AtomicLong(0);
+    private final AtomicLong totalWaitNanos = new AtomicLong(0);
+    private final AtomicLong maxWaitNanos = new AtomicLong(0);
+    private final Map<Rejection, AtomicLong> rejections = new EnumMap<>(Rejection.class);
+
+    public StreamAdmissionController(int maxConnections, int maxPending, int workerCount) {
+        this.maxConnections = maxConnections;
+        this.maxPending = maxPending;
+        for (Rejection reason : Rejection.values()) {
+            rejections.put(reason, new AtomicLong(0));
+        }
+
+        this.workers = new Thread[workerCount];
+        for (int i = 0; i < workerCount; i++) {
+            Thread worker = new Thread(this::workerLoop, "Minefest-Stream-" + (i + 1));
+            worker.setDaemon(true);
+            workers[i] = worker;
+        }
+    }
+
+    public void start() {
+        for (Thread worker : workers) {
+            worker.start();
+        }
+    }
+
+    /**
+     * [Index: 43.1] Claim a connection slot without a check-then-act race.
+     *
+     * @return null if a slot was reserved, otherwise the rejection reason
+     */
+    public Rejection reserveConnection() {
+        if (!running) {
+            return reject(Rejection.SHUTDOWN);
+        }
+        while (true) {
+            int current = activeConnections.get();
+            if (current >= maxConnections) {
+                return reject(Rejection.AT_CAPACITY);
+            }
+            if (activeConnections.compareAndSet(current, current + 1)) {
+                return null;
+            }
+        }
+    }
+
+    public void releaseConnection() {
+        activeConnections.updateAndGet(current -> Math.max(0, current - 1));
+    }
+
+    /**
+     * Count a rejection decided outside the controller (e.g. by the frame buffer budget)
+     */
+    public Rejection reject(Rejection reason) {
+        rejections.get(reason).incrementAndGet();
+        return reason;
+    }
+
+    /**
+     * [Index: 43.2] Queue setup work. Rejection is reported through {@code onRejected},
+     * either immediately or later if a higher tier displaces this entry.
+     *
+     * @return true if the work was queued
+     */
+    public boolean submit(StreamValidator.TicketTier tier, Runnable setup, Consumer<Rejection> onRejected) {
+        StreamValidator.TicketTier priority = tier != null ? tier : DEFAULT_TIER;
+        PendingSetup displaced = null;
+        Rejection refused = null;
+
+        synchronized (pending) {
+            if (!running) {
+                refused = Rejection.SHUTDOWN;
+            } else {
+                PendingSetup entry = new PendingSetup(priority, nextSequence++, setup, onRejected);
+                if (pending.size() >= maxPending) {
+                    // [Index: 43.3] Only a strictly higher tier may push an entry out
+                    PendingSetup lowest = pending.last();
+                    if (lowest.tier.ordinal() < priority.ordinal()) {
+                        displaced = pending.pollLast();
+                    } else {
+                        refused = Rejection.QUEUE_FULL;
+                    }
+                }
+                if (refused == null) {
+                    pending.add(entry);
+                    admitted.incrementAndGet();
+                    pending.notify();
+                }
+            }
+        }
+
+        if (displaced != null) {
+            notifyRejected(displaced, reject(Rejection.DISPLACED));
+        }
+        if (refused != null) {
+            onRejected.accept(reject(refused));
+            return false;
+        }
+        return true;
+    }
+
+    private void notifyRejected(PendingSetup entry, Rejection reason) {
+        try {
+            entry.onRejected.accept(reason);
+        } catch (Exception e) {
+            MinefestCore.getLogger().error("Stream rejection callback failed: {}", e.getMessage());
+        }
+    }
+
+    // [Index: 43.4] Workers
+
+    private void workerLoop() {
+        while (true) {
+            PendingSetup next;
+            synchronized (pending) {
+                while (running && pending.isEmpty()) {
+                    try {
+                        pending.wait();
+                    } catch (InterruptedException e) {
+                        if (!running) {
+                            return;
+                        }
+                    }
+                }
+                if (!running) {
+                    return;
+                }
+                next = pending.pollFirst();
+            }
+
+            long waited = System.nanoTime() - next.enqueuedAt;
+            totalWaitNanos.addAndGet(waited);
+            maxWaitNanos.accumulateAndGet(waited, Math::max);
+            startedSetups.incrementAndGet();
+
+            try {
+                next.setup.run();
+            } catch (Exception e) {
+                MinefestCore.getLogger().error("Stream setup failed: {}", e.getMessage());
+            }
+        }
+    }
+
+    public void shutdown() {
+        PendingSetup[] abandoned;
+        synchronized (pending) {
+            running = false;
+            abandoned = pending.toArray(new PendingSetup[0]);
+            pending.clear();
+            pending.notifyAll();
+        }
+        for (PendingSetup entry : abandoned) {
+            notifyRejected(entry, reject(Rejection.SHUTDOWN));
+        }
+        for (Thread worker : workers) {
+            worker.interrupt();
+        }
+    }
+
+    // [Index: 43.5] Monitoring
+    public int getActiveConnections() {
+        return activeConnections.get();
+    }
+
+    public int getMaxConnections() {
+        return maxConnections;
+    }
+
+    public int getPendingCount() {
+        synchronized (pending) {
+            return pending.size();
+        }
+    }
+
+    public long getAdmittedCount() {
+        return admitted.get();
+    }
+
+    public long getRejectedCount(Rejection reason) {
+        return rejections.get(reason).get();
+    }
+
+    public double getAverageWaitMillis() {
+        long started = startedSetups.get();
+        return started == 0 ? 0.0 : totalWaitNanos.get() / 1_000_000.0 / started;
+    }
+
+    public double getMaxWaitMillis() {
+        return maxWaitNanos.get() / 1_000_000.0;
+    }
+}
@@ -0,0 +1,189 @@
+package com.minefest.essentials.audio;
+
+import com.minefest.essentials.MinefestCore;
+
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * COMPONENT SIGNPOST [Index: 54]
+ * Purpose: Pre-buffered handoff between the outgoing and incoming stream of a live DJ Stand
+ * Side: DEDICATED_SERVER only - gates the stream switch done by DJStandAudioBridge
+ *
+ * Workflow:
+ * 1. [Index: 54.1] Watch the incoming session's frame feed while the outgoing one keeps playing
+ * 2. [Index: 54.2] Report ready once the feed holds the pre-buffer threshold of decoded frames
+ * 3. [Index: 54.3] Give up on incoming streams that fail, stop, or never produce a frame in time
+ * 4. [Index: 54.4] Fade-in length for networks switching over to the incoming stream
+ * 5. [Index: 54.5] Start a fresh watcher thread per server lifecycle
+ *
+ * Dependencies:
+ * - StreamingSession [Index: 06] - lifecycle state of the incoming stream
+ * - AudioFrameRing [Index: 32] - a watch cursor counts the frames buffered on the incoming feed
+ *
+ * Related Files:
+ * - DJStandAudioBridge.java [Index: 25] - opens the incoming session and swaps it in
+ * - NetworkAudioManager.java [Index: 26] - repoints speaker networks and applies the fade
+ *
+ * Frames are Opus packets and a network delivers one stream at a time, so there is no
+ * crossfade: the outgoing stream stops at the switch and the fade-in ramps the listener
+ * volume header of the incoming stream from silence. Buffered frames are counted from
+ * the start of the watch, so an upstream another stand already plays is not mistaken
+ * for a buffered one by the frames it published earlier.
+ */
+public final class StreamHandoff {
+    public static final int DEFAULT_PREBUFFER_FRAMES = 25;    // 500ms of 20ms frames
+    public static final long DEFAULT_FADE_IN_MS = 0;          // hard switch
+    public static final long MAX_FADE_IN_MS = 5000;
+    public static final long PREBUFFER_TIMEOUT_MS = 10000;
+    private static final long POLL_INTERVAL_MS = 20;          // one frame
+
+    private static volatile boolean enabled = true;
+    private static volatile int prebufferFrames = DEFAULT_PREBUFFER_FRAMES;
+    private static volatile long fadeInMs = DEFAULT_FADE_IN_MS;
+
+    private static final AtomicLong handoffsReady = new AtomicLong(0);
+    private static final AtomicLong handoffsAbandoned = new AtomicLong(0);
+    private static volatile long lastPrebufferMs = -1;
+
+    private static ScheduledExecutorService watcher;
+
+    private StreamHandoff() {
+    }
+
+    /**
+     * [Index: 54.5] Called from AudioManager.initialize, and again by the first watch after
+     * a shutdown, so a restarted server can still hand streams over
+     */
+    public static synchronized ScheduledExecutorService start() {
+        if (watcher == null) {
+            watcher = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "Minefest-Handoff");
+                thread.setDaemon(true);
+                return thread;
+            });
+        }
+        return watcher;
+    }
+
+    // Configuration
+
+    /**
+     * With handoff disabled a live stand stops its stream before opening the next one
+     */
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    public static void setEnabled(boolean handoffEnabled) {
+        enabled = handoffEnabled;
+    }
+
+    public static int getPrebufferFrames() {
+        return prebufferFrames;
+    }
+
+    public static void setPrebufferFrames(int frames) {
+        prebufferFrames = Math.max(1, Math.min(AudioFrameRing.DEFAULT_SLOT_COUNT, frames));
+    }
+
+    // [Index: 54.4]
+    public static long getFadeInMs() {
+        return fadeInMs;
+    }
+
+    public static void setFadeInMs(long ms) {
+        fadeInMs = Math.max(0, Math.min(MAX_FADE_IN_MS, ms));
+    }
+
+    /**
+     * [Index: 54.1] Wait until the incoming session is ready to take over.
+     *
+     * @return completes with true once the feed is buffered (or, at the timeout, has at
+     *         least started), false if the incoming stream failed or never produced audio
+     */
+    public static CompletableFuture<Boolean> awaitPrebuffered(StreamingSession incoming) {
+        CompletableFuture<Boolean> ready = new CompletableFuture<>();
+        long startedAt = System.nanoTime();
+        long deadline = startedAt + TimeUnit.MILLISECONDS.toNanos(PREBUFFER_TIMEOUT_MS);
+        int threshold = prebufferFrames;
+        ScheduledExecutorService thread = start();
+        AudioFrameRing.Cursor watch = incoming.getFrameRing().openCursor();
+
+        Runnable[] poll = new Runnable[1];
+        poll[0] = () -> {
+            try {
+                Boolean outcome = check(incoming, watch, threshold, System.nanoTime() >= deadline);
+                if (outcome == null) {
+                    thread.schedule(poll[0], POLL_INTERVAL_MS, TimeUnit.MILLISECONDS);
+                    return;
+                }
+                if (outcome) {
+                    handoffsReady.incrementAndGet();
+                    lastPrebufferMs = TimeUnit.NANOSECONDS.toMillis(System.nanoTime() - startedAt);
+                } else {
+                    handoffsAbandoned.incrementAndGet();
+                }
+                ready.complete(outcome);
+            } catch (RejectedExecutionException e) {
+                ready.complete(false); // shutting down
+            } catch (Exception e) {
+                MinefestCore.getLogger().error("Stream handoff watch failed for session {}", incoming.getSessionId(), e);
+                ready.complete(false);
+            }
+        };
+        poll[0].run();
+        return ready;
+    }
+
+    // [Index: 54.2] / [Index: 54.3] null while still waiting
+    private static Boolean check(StreamingSession incoming, AudioFrameRing.Cursor watch, int threshold,
+                                 boolean timedOut) {
+        StreamingSession.State state = incoming.getState();
+        if (state == StreamingSession.State.FAILED || state == StreamingSession.State.STOPPED) {
+            return false;
+        }
+
+        // Published sequence minus the watch cursor, which never reads
+        int buffered = watch.available();
+        if (incoming.isPlaying() && buffered >= threshold) {
+            return true;
+        }
+        if (timedOut) {
+            return incoming.isPlaying() && buffered > 0;
+        }
+        return null;
+    }
+
+    // Monitoring
+
+    public static long getHandoffsReady() {
+        return handoffsReady.get();
+    }
+
+    public static long getHandoffsAbandoned() {
+        return handoffsAbandoned.get();
+    }
+
+    /**
+     * Time the last completed handoff spent buffering the incoming stream, -1 before the first
+     */
+    public static long getLastPrebufferMs() {
+        return lastPrebufferMs;
+    }
+
+    public static void shutdown() {
+        ScheduledExecutorService stopped;
+        synchronized (StreamHandoff.class) {
+            stopped = watcher;
+            watcher = null;
+        }
+        if (stopped != null) {
+            stopped.shutdownNow();
+        }
+    }
+}
@@ -0,0 +1,128 @@
+package com.minefest.essentials.audio;
+
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * COMPONENT SIGNPOST [Index: 47]
+ * Purpose: Audio pipeline counters and latency histograms for one upstream stream
+ * Side: DEDICATED_SERVER only - written by the frame pump, loaders and deliveries
+ *
+ * Workflow:
+ * 1. [Index: 47.1] Count frames decoded, frames dropped, buffer underruns, reconnects and bytes in
+ * 2. [Index: 47.2] Time every frame fetch from the player into the decode latency histogram
+ * 3. [Index: 47.3] Time each (re)load from its start to the first frame it produces
+ * 4. [Index: 47.4] Snapshot into an immutable value; merge snapshots into stage and server views
+ *
+ * Dependencies:
+ * - LatencyHistogram [Index: 48] - lock-free log-bucketed histograms
+ *
+ * Related Files:
+ * - SharedStreamSource.java [Index: 28] - owns one instance; every session on the URL reports it
+ * - FramePump.java [Index: 31] - frames, bytes, fetch latency and underruns
+ * - StreamProbeCache.java [Index: 45] - marks the start of every load, reconnect and resume
+ * - AudioFrameDelivery.java [Index: 38] - frames lost by deliveries that fell behind the feed
+ * - AudioManager.java [Index: 05] - server-wide view
+ * - DJStandAudioBridge.java [Index: 25] - per-stage view
+ *
+ * Threading: counters are atomics; the underrun flag is only touched by the pump thread.
+ */
+public class StreamMetrics {
+    private final AtomicLong framesDecoded = new AtomicLong(0);
+    private final AtomicLong framesDropped = new AtomicLong(0);
+    private final AtomicLong underruns = new AtomicLong(0);
+    private final AtomicLong reconnects = new AtomicLong(0);
+    private final AtomicLong bytesIn = new AtomicLong(0);
+    private final LatencyHistogram decodeLatency = new LatencyHistogram();
+    private final LatencyHistogram timeToFirstFrame = new LatencyHistogram();
+
+    // [Index: 47.3] nanoTime the pending load started, 0 once its first frame arrived
+    private volatile long loadStartedAt = 0;
+    private boolean starving = false;
+
+    // [Index: 47.1] / [Index: 47.2] Pump thread
+    public void recordFrame(int length, long fetchNanos) {
+        framesDecoded.incrementAndGet();
+        bytesIn.addAndGet(length);
+        decodeLatency.recordNanos(fetchNanos);
+        starving = false;
+
+        long started = loadStartedAt;
+        if (started != 0) {
+            loadStartedAt = 0;
+            timeToFirstFrame.recordNanos(System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * A playing source had no frame ready for a pump tick. Consecutive empty ticks
+     * are one underrun; nothing counts until the current load has produced a frame.
+     */
+    public void recordEmptyFetch() {
+        if (!starving && loadStartedAt == 0 && framesDecoded.get() > 0) {
+            starving = true;
+            underruns.incrementAndGet();
+        }
+    }
+
+    public void recordDropped(long frames) {
+        framesDropped.addAndGet(frames);
+    }
+
+    public void recordReconnect() {
+        reconnects.incrementAndGet();
+    }
+
+    // [Index: 47.3] Any load path - initial open, reconnect, parked resume
+    public void markLoadStarted() {
+        loadStartedAt = Math.max(1, System.nanoTime());
+    }
+
+    /**
+     * [Index: 47.4] Point-in-time copy of this stream's metrics
+     */
+    public Snapshot snapshot(String label) {
+        return new Snapshot(label, 1, framesDecoded.get(), framesDropped.get(), underruns.get(),
+            reconnects.get(), bytesIn.get(), decodeLatency.snapshot(), timeToFirstFrame.snapshot());
+    }
+
+    /**
+     * [Index: 47.4] Immutable metrics of one stream, or the sum of several
+     */
+    public record Snapshot(String label, int streams, long framesDecoded, long framesDropped, long underruns,
+                           long reconnects, long bytesIn, LatencyHistogram.Snapshot decodeLatency,
+                           LatencyHistogram.Snapshot timeToFirstFrame) {
+
+        public static Snapshot empty(String label) {
+            return new Snapshot(label, 0, 0, 0, 0, 0, 0, LatencyHistogram.Snapshot.EMPTY, LatencyHistogram.Snapshot.EMPTY);
+        }
+
+        public static Snapshot aggregate(String label, Iterable<Snapshot> snapshots) {
+            Snapshot total = empty(label);
+            for (Snapshot snapshot : snapshots) {
+                total = total.plus(snapshot);
+            }
+            return total;
+        }
+
+        public Snapshot plus(Snapshot other) {
+            return new Snapshot(label, streams + other.streams, framesDecoded + other.framesDecoded,
+                framesDropped + other.framesDropped, underruns + other.underruns, reconnects + other.reconnects,
+                bytesIn + other.bytesIn, decodeLatency.merge(other.decodeLatency),
+                timeToFirstFrame.merge(other.timeToFirstFrame));
+        }
+
+        /**
+         * Share of produced frames that never reached a listener, 0-1
+         */
+        public double getDropRate() {
+            long total = framesDecoded + framesDropped;
+            return total == 0 ? 0.0 : (double) framesDropped / total;
+        }
+
+        @Override
+        public String toString() {
+            return String.format("%s: streams=%d decoded=%d dropped=%d underruns=%d reconnects=%d bytesIn=%d decode[%s] firstFrame[%s]",
+                label, streams, framesDecoded, framesDropped, underruns, reconnects, bytesIn, decodeLatency, timeToFirstFrame);
+        }
+    }
+}
@@ -0,0 +1,157 @@
+package com.minefest.essentials.audio;
+
+import com.sedmelluq.discord.lavaplayer.player.AudioPlayerManager;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrack;
+import com.sedmelluq.discord.lavaplayer.track.AudioTrackInfo;
+
+import java.util.LinkedHashMap;
+import java.util.Map;
+import java.util.concurrent.CompletableFuture;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * COMPONENT SIGNPOST [Index: 45]
+ * Purpose: TTL + LRU cache of probed stream tracks so restarts skip content detection
+ * Side: DEDICATED_SERVER only - shared by initial loads, reconnects and parked-session resumes
+ *
+ * Workflow:
+ * 1. [Index: 45.1] Keep an unplayed clone of each loaded track, keyed by validated URL
+ * 2. [Index: 45.2] On a hit, hand the load handler a fresh clone - no probe, no container parsing
+ * 3. [Index: 45.3] On a miss, load through LavaPlayer; the handler stores the result
+ * 4. [Index: 45.4] Expire entries after their TTL and evict least recently used beyond the size bound
+ * 5. [Index: 45.5] Drop an entry when playback of its track fails
+ *
+ * Dependencies:
+ * - LavaPlayer AudioTrack [Index: N/A] - makeClone() keeps the probed container and track info
+ * - MinefestAudioLoadHandler [Index: 07] - consumes hits and stores misses
+ * - StreamMetrics [Index: 47] - every load through here starts a time-to-first-frame sample
+ *
+ * Related Files:
+ * - AudioManager.java [Index: 05] - owns the cache, invalidates on track failure
+ * - ReconnectScheduler.java [Index: 33] - reconnects reuse the cached probe
+ * - SessionParker.java [Index: 44] - resumes reuse the cached probe
+ */
+public class StreamProbeCache {
+    public static final long DEFAULT_TTL_MS = 10 * 60 * 1000;
+    public static final int DEFAULT_MAX_ENTRIES = 512;
+
+    private record Entry(AudioTrack prototype, long expiresAt) {
+    }
+
+    private final long ttlMs;
+    private final int maxEntries;
+    private final LinkedHashMap<String, Entry> entries;
+
+    private final AtomicLong hits = new AtomicLong(0);
+    private final AtomicLong misses = new AtomicLong(0);
+    private final AtomicLong expirations = new AtomicLong(0);
+    private final AtomicLong evictions = new AtomicLong(0);
+
+    public StreamProbeCache(long ttlMs, int maxEntries) {
+        this.ttlMs = ttlMs;
+        this.maxEntries = maxEntries;
+        // [Index: 45.4] Access order makes the eldest entry the least recently used
+        this.entries = new LinkedHashMap<>(16, 0.75f, true) {
+            @Override
+            protected boolean removeEldestEntry(Map.Entry<String, Entry> eldest) {
+                if (size() > StreamProbeCache.this.maxEntries) {
+                    evictions.incrementAndGet();
+                    return true;
+                }
+                return false;
+            }
+        };
+    }
+
+    /**
+     * [Index: 45.2] Playable clone of the cached track, or null on a miss
+     */
+    public synchronized AudioTrack lookup(String url) {
+        Entry entry = entries.get(url);
+        if (entry == null) {
+            misses.incrementAndGet();
+            return null;
+        }
+        if (entry.expiresAt() <= System.currentTimeMillis()) {
+            entries.remove(url);
+            expirations.incrementAndGet();
+            misses.incrementAndGet();
+            return null;
+        }
+        hits.incrementAndGet();
+        return entry.prototype().makeClone();
+    }
+
+    /**
+     * Track info of a cached probe without counting a lookup
+     */
+    public synchronized AudioTrackInfo peekInfo(String url) {
+        Entry entry = entries.get(url);
+        return entry != null && entry.expiresAt() > System.currentTimeMillis() ? entry.prototype().getInfo() : null;
+    }
+
+    /**
+     * [Index: 45.1] Remember a freshly loaded track. A live entry is left alone, so
+     * replaying a cached clone does not extend its TTL.
+     */
+    public synchronized void store(String url, AudioTrack track) {
+        Entry existing = entries.get(url);
+        if (existing != null && existing.expiresAt() > System.currentTimeMillis()) {
+            return;
+        }
+        // Cache an unplayed clone; the loaded instance is about to be played
+        entries.put(url, new Entry(track.makeClone(), System.currentTimeMillis() + ttlMs));
+    }
+
+    /**
+     * [Index: 45.5] Forget a URL whose cached probe may be stale
+     */
+    public synchronized void invalidate(String url) {
+        entries.remove(url);
+    }
+
+    /**
+     * [Index: 45.3] Load a source's URL - from the cache when possible, otherwise through LavaPlayer
+     */
+    public void load(AudioPlayerManager playerManager, SharedStreamSource source,
+                     CompletableFuture<SharedStreamSource> future) {
+        MinefestAudioLoadHandler handler = new MinefestAudioLoadHandler(source, future, this);
+        source.getMetrics().markLoadStarted();
+        AudioTrack cached = lookup(source.getUrl());
+        if (cached != null) {
+            handler.trackLoaded(cached);
+        } else {
+            playerManager.loadItem(source.getUrl(), handler);
+        }
+    }
+
+    public synchronized void clear() {
+        entries.clear();
+    }
+
+    // Monitoring
+    public synchronized int size() {
+        return entries.size();
+    }
+
+    public long getHits() {
+        return hits.get();
+    }
+
+    public long getMisses() {
+        return misses.get();
+    }
+
+    public long getExpirations() {
+        return expirations.get();
+    }
+
+    public long getEvictions() {
+        return evictions.get();
+    }
+
+    public double getHitRate() {
+        long total = hits.get() + misses.get();
+        return total == 0 ? 0.0 : (double) hits.get() / total;
+    }
+}
@@ -234,6 +234,31 @@ public class StreamValidator {
         }
     }
     
+    /**
+     * [Index: 27.1] Resolve the highest ticket tier a player holds, regardless of stage
+     * 
+     * Used to cap delivery quality on the audio sync path, so it does not log.
+     * 
+     * @param player The listening player
+     * @return The highest tier whose permissions the player holds, GENERAL_ADMISSION otherwise
+     */
+    public static TicketTier resolveTicketTier(ServerPlayer player) {
+        TicketTier[] tiers = TicketTier.values();
+        for (int i = tiers.length - 1; i > 0; i--) {
+            boolean hasTierAccess = true;
+            for (String permission : tiers[i].getRequiredPermissions()) {
+                if (!MinefestPermissions.hasPermission(player, permission)) {
+                    hasTierAccess = false;
+                    break;
+                }
+            }
+            if (hasTierAccess) {
+                return tiers[i];
+            }
+        }
+        return TicketTier.GENERAL_ADMISSION;
+    }
+    
     /**
      * [Index: 27.2] Validate and process stream URL with format checking
      * 
@@ -313,16 +338,22 @@ public class StreamValidator {
      * @return Obfuscated token string, or null if generation fails
      */
     public static String generateStreamToken(ServerPlayer player, String stageId, String realUrl, TicketTier tier) {
+        return generateStreamToken(player.getUUID(), player.getName().getString(), stageId, realUrl, tier);
+    }
+    
+    /**
+     * [Index: 27.3.1] Token generation keyed by player identity alone, so issuing
+     * needs no live ServerPlayer (hot-path benchmarks, offline tooling)
+     */
+    static String generateStreamToken(UUID playerUUID, String playerName, String stageId, String realUrl, TicketTier tier) {
         try {
-            UUID playerUUID = player.getUUID();
-            
             // [Index: 27.5] Rate limiting check
             AtomicLong lastRequest = playerLastRequest.get(playerUUID);
             long currentTime = System.currentTimeMillis();
             
             if (lastRequest != null && (currentTime - lastRequest.get()) < RATE_LIMIT_MS) {
                 LOGGER.warn("Rate limit exceeded for player {} - token generation denied", 
-                          player.getName().getString());
+                          playerName);
                 return null;
             }
             
@@ -339,7 +370,7 @@ public class StreamValidator {
                 existingTokens = playerTokens.get(playerUUID);
                 if (existingTokens != null && existingTokens.size() >= MAX_TOKENS_PER_PLAYER) {
                     LOGGER.warn("Token limit exceeded for player {} - generation denied", 
-                              player.getName().getString());
+                              playerName);
                     return null;
                 }
             }
@@ -357,14 +388,14 @@ public class StreamValidator {
             playerTokens.computeIfAbsent(playerUUID, k -> new ArrayList<>()).add(token);
             
             LOGGER.info("Generated stream token for player {} (tier: {}, stage: {}): {}", 
-                       player.getName().getString(), tier.getDisplayName(), stageId, 
+                       playerName, tier.getDisplayName(), stageId, 
                        token.substring(0, 8) + "...");
             
             return token;
             
         } catch (Exception e) {
             LOGGER.error("Error generating stream token for player {}: {}", 
-                        player.getName().getString(), e.getMessage());
+                        playerName, e.getMessage());
             return null;
         }
     }
@@ -513,6 +544,7 @@ public class StreamValidator {
      * @param playerUUID The player whose tokens should be revoked
      */
     public static void revokePlayerTokens(UUID playerUUID) {
+        BitrateLadder.invalidateTier(playerUUID);
         List<String> tokens = playerTokens.remove(playerUUID);
         if (tokens == null) return;
         
@@ -16,36 +16,84 @@ import java.util.UUID;
  * Side: DEDICATED_SERVER only - manages single stream session lifecycle
  * 
  * Workflow:
- * 1. [Index: 06.1] Initialize session with unique ID and audio player
+ * 1. [Index: 06.1] Initialize session with unique ID and its shared upstream source
  * 2. [Index: 06.2] Track current URL and playback state
  * 3. [Index: 06.3] Provide state access for session management
+ * 4. [Index: 06.4] Hand out frame cursors onto the shared frame feed
+ * 5. [Index: 06.5] Expose lifecycle state, including sessions waiting to reconnect
+ * 6. [Index: 06.6] Expose the pipeline metrics of the stream the session plays
  * 
  * Dependencies:
  * - LavaPlayer AudioPlayer [Index: N/A] - audio playback control
+ * - SharedStreamSource [Index: 28] - upstream player shared with other sessions on the same URL
  * - AudioManager [Index: 05] - session lifecycle management
  * 
  * Related Files:
  * - AudioManager.java [Index: 05] - session creation and management
+ * - SharedStreamSource.java [Index: 28] - reference-counted upstream decode
  * - MinefestAudioLoadHandler.java [Index: 07] - audio loading events
  */
 public class StreamingSession {
+    /**
+     * [Index: 06.5] Lifecycle of the upstream a session is attached to
+     */
+    public enum State {
+        CONNECTING,     // Initial load in progress
+        PLAYING,        // Frames are flowing
+        RECONNECTING,   // Upstream dropped; a backoff timer will retry the load
+        FAILED,         // Reconnect budget exhausted
+        STOPPED,        // Released or stopped deliberately
+        PARKED          // No listeners in range; upstream closed, resumes on demand
+    }
+
     private final UUID sessionId;
-    private final AudioPlayer player;
+    private final SharedStreamSource source;
     private String currentUrl;
-    private boolean isPlaying;
 
-    public StreamingSession(AudioPlayer player) {
+    public StreamingSession(SharedStreamSource source) {
         this.sessionId = UUID.randomUUID();
-        this.player = player;
-        this.isPlaying = false;
+        this.source = source;
     }
 
     public UUID getSessionId() {
         return sessionId;
     }
 
+    /**
+     * The player is owned by the shared source; sessions must not destroy it directly.
+     */
     public AudioPlayer getPlayer() {
-        return player;
+        return source.getPlayer();
+    }
+
+    public SharedStreamSource getSource() {
+        return source;
+    }
+
+    // [Index: 06.4] Frame feed access for speaker networks, recorders and relays
+    public AudioFrameRing getFrameRing() {
+        return source.getFrameRing();
+    }
+
+    /**
+     * Open a private read position on the frame feed. Each consumer needs its own cursor.
+     */
+    public AudioFrameRing.Cursor openFrameCursor() {
+        return source.getFrameRing().openCursor();
+    }
+
+    /**
+     * Open a cursor on one bitrate variant of the feed (HIGH is the feed itself).
+     */
+    public AudioFrameRing.Cursor openFrameCursor(BitrateLadder.Variant variant) {
+        return source.getBitrateLadder().getRing(variant).openCursor();
+    }
+
+    /**
+     * [Index: 06.6] Sessions on one URL share a decode pipeline, so they report the same metrics
+     */
+    public StreamMetrics getMetrics() {
+        return source.getMetrics();
     }
 
     public String getCurrentUrl() {
@@ -56,11 +104,38 @@ public class StreamingSession {
         this.currentUrl = url;
     }
 
+    // Playback state lives on the upstream, so every subscriber sees the same value
     public boolean isPlaying() {
-        return isPlaying;
+        return source.isPlaying();
     }
 
     public void setPlaying(boolean playing) {
-        isPlaying = playing;
+        source.setPlaying(playing);
+    }
+
+    public State getState() {
+        return source.getState();
+    }
+
+    public boolean isReconnecting() {
+        return source.getState() == State.RECONNECTING;
+    }
+
+    /**
+     * [Index: 06.5] A parked session is still owned by its network, but has no upstream
+     */
+    public boolean isParked() {
+        return source.getState() == State.PARKED;
+    }
+
+    public int getReconnectAttempts() {
+        return source.getReconnectAttempts();
+    }
+
+    /**
+     * @return wall-clock time of the next scheduled reconnect, or 0 if none is pending
+     */
+    public long getNextReconnectAt() {
+        return source.getNextReconnectAt();
     }
 } 
\ No newline at end of file
@@ -0,0 +1,615 @@
+package com.minefest.essentials.audio;
+
+import com.minefest.essentials.MinefestCore;
+import com.sedmelluq.discord.lavaplayer.format.transcoder.AudioChunkEncoder;
+import com.sedmelluq.discord.lavaplayer.natives.opus.OpusDecoder;
+import com.sedmelluq.discord.lavaplayer.player.AudioConfiguration;
+
+import io.netty.buffer.PooledByteBufAllocator;
+import net.minecraft.core.SectionPos;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.resources.ResourceKey;
+import net.minecraft.server.level.ServerLevel;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraft.world.level.Level;
+import net.minecraft.world.phys.Vec3;
+
+import java.nio.ByteBuffer;
+import java.nio.ByteOrder;
+import java.nio.ShortBuffer;
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.IdentityHashMap;
+import java.util.Iterator;
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.RejectedExecutionException;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+import java.util.concurrent.atomic.AtomicInteger;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * COMPONENT SIGNPOST [Index: 56]
+ * Purpose: One mixed stream per zone for listeners in earshot of several DJ Stand networks
+ * Side: DEDICATED_SERVER only - decodes, mixes, encodes and delivers on its own 20ms thread
+ *
+ * Workflow:
+ * 1. [Index: 56.1] Route listeners who hear two or more active networks to the zone of their 16-block cell
+ * 2. [Index: 56.2] Decode each contributing stream once per frame to 48kHz stereo PCM, shared by every zone
+ * 3. [Index: 56.3] Mix per zone with gains from master volume, speaker volume and distance at the zone centre
+ * 4. [Index: 56.4] Encode each zone's mix once per bitrate variant its listeners may receive, and deliver
+ *    it with the listener's loudest volume in the header
+ * 5. [Index: 56.5] Retire zones nobody listens to and decoders no zone uses, releasing their codecs
+ * 6. [Index: 56.6] Keep each listener in one zone at a time, leaving a cell only a little past its edge
+ *
+ * Dependencies:
+ * - PcmMixer [Index: 55] - fixed-point mix bus
+ * - LavaPlayer OpusAudioDataFormat [Index: N/A] - Opus decoders per source, encoder per zone
+ * - AudioFrameRing [Index: 32] - source feeds read through private cursors
+ * - AudioFramePayload [Index: 39] - same wire format as single-network delivery
+ * - BitrateLadder [Index: 40] - variant layouts and encoders, capped by ticket tier
+ *
+ * Related Files:
+ * - NetworkAudioManager.java [Index: 26] - routes listeners here and supplies network gains
+ * - AudioFrameDelivery.java [Index: 38] - delivery for listeners who hear a single network
+ *
+ * Relative balance between stages is fixed per zone (computed at its centre); the payload
+ * header carries each listener's own loudest volume, as single-network delivery does.
+ * Every zone sends under MIX_STREAM_ID: a listener receives at most one mix, so walking
+ * into the next zone continues the same client stream instead of restarting it.
+ * Threading: route() and leave() are called from the network sync wheel; everything else,
+ * including all codec state, belongs to the mix thread.
+ */
+public class ZoneMixer {
+    /**
+     * [Index: 56.6] Stream id of every mix on the wire, distinct from any network id
+     */
+    public static final UUID MIX_STREAM_ID = UUID.nameUUIDFromBytes("minefest:zone-mix".getBytes(StandardCharsets.UTF_8));
+
+    private static final int ZONE_SHIFT = 4;                  // 16-block zones
+    private static final double ZONE_HALF_SIZE = 8.0;
+    private static final double ZONE_HYSTERESIS = 2.0;        // blocks past a cell edge before changing zone
+    private static final int DELIVER_EVERY_TICKS = 2;         // 40ms of audio per packet
+    private static final int GAIN_REFRESH_TICKS = 10;         // 200ms
+    private static final int MAX_SOURCE_BACKLOG = 5;          // frames; further behind rejoins the live edge
+    private static final long LISTENER_TIMEOUT_MS = 250;      // five network syncs without a route
+    private static final long LISTENER_ROUND_MS = 40;         // routes closer than this are one sync round
+    private static final int BODY_HEADER_BYTES = 16 + 1 + 1;
+    private static final int FRAME_HEADER_BYTES = 8 + 3;
+    private static final BitrateLadder.Variant[] VARIANTS = BitrateLadder.Variant.values();
+
+    private record ZoneKey(ResourceKey<Level> dimension, long cell) {
+    }
+
+    private static final class Listener {
+        private volatile ServerPlayer player;
+        private volatile double volume;
+        private volatile BitrateLadder.Variant variant = BitrateLadder.Variant.LOW;
+        private volatile long routedAt;
+        private volatile Zone zone;
+
+        private Listener(ServerPlayer player) {
+            this.player = player;
+        }
+    }
+
+    /**
+     * [Index: 56.2] Decoded view of one upstream, shared by every zone it contributes to
+     */
+    private static final class SourceTap {
+        private final AudioFrameRing.Cursor cursor;
+        private final byte[] frame = new byte[AudioFrameRing.DEFAULT_SLOT_BYTES];
+        private final ByteBuffer packet = ByteBuffer.allocateDirect(AudioFrameRing.DEFAULT_SLOT_BYTES);
+        private final short[] pcm = new short[PcmMixer.FRAME_LENGTH];
+        private final ShortBuffer decoded = directShorts(PcmMixer.FRAME_LENGTH);
+        private OpusDecoder decoder;
+        private boolean fresh;
+        private long stamp;
+        private long usedTick;
+
+        private SourceTap(SharedStreamSource source) {
+            this.cursor = source.getFrameRing().openCursor();
+        }
+
+        private void pull() {
+            fresh = false;
+            if (cursor.available() > MAX_SOURCE_BACKLOG) {
+                cursor.skipToLive();
+            }
+            int length = cursor.read(frame);
+            if (length == AudioFrameRing.NO_FRAME) {
+                return;
+            }
+            if (decoder == null) {
+                decoder = new OpusDecoder(PcmMixer.SAMPLE_RATE, PcmMixer.CHANNELS);
+            }
+            packet.clear();
+            packet.put(frame, 0, length);
+            packet.flip();
+            int samples = Math.min(decoder.decode(packet, decoded) * PcmMixer.CHANNELS, PcmMixer.FRAME_LENGTH);
+            if (samples <= 0) {
+                return;
+            }
+            decoded.get(pcm, 0, samples);
+            if (samples < PcmMixer.FRAME_LENGTH) {
+                Arrays.fill(pcm, samples, PcmMixer.FRAME_LENGTH, (short) 0);
+            }
+            stamp = cursor.getLastStamp();
+            fresh = true;
+        }
+
+        private void release() {
+            fresh = false;
+            if (decoder != null) {
+                decoder.close();
+                decoder = null;
+            }
+        }
+    }
+
+    private final class Zone {
+        private final ZoneKey key;
+        private final Vec3 center;
+        private final Map<UUID, Long> networks = new ConcurrentHashMap<>();   // network -> last routed
+        private final Map<UUID, Listener> listeners = new ConcurrentHashMap<>();
+        private final AtomicInteger wantedVariants = new AtomicInteger(0);     // bit per variant ordinal
+        private volatile boolean retired;
+
+        // Mix thread only; contributor arrays are reused across refreshes
+        private SourceTap[] contributorTaps = new SourceTap[2];
+        private int[] contributorGains = new int[2];
+        private int contributorCount;
+        private final short[] mixed = new short[PcmMixer.FRAME_LENGTH];
+        private final AudioChunkEncoder[] encoders = new AudioChunkEncoder[VARIANTS.length];
+        private final FriendlyByteBuf[] bodies = new FriendlyByteBuf[VARIANTS.length];
+        private final int[] bodyCountIndex = new int[VARIANTS.length];
+        private final int[] bodyFrames = new int[VARIANTS.length];
+
+        private Zone(ZoneKey key) {
+            this.key = key;
+            this.center = new Vec3(
+                (SectionPos.x(key.cell()) << ZONE_SHIFT) + ZONE_HALF_SIZE,
+                (SectionPos.y(key.cell()) << ZONE_SHIFT) + ZONE_HALF_SIZE,
+                (SectionPos.z(key.cell()) << ZONE_SHIFT) + ZONE_HALF_SIZE);
+        }
+
+        // [Index: 56.6] Inside the cell, or not yet far enough past its edge to switch
+        private boolean holds(ResourceKey<Level> dimension, Vec3 position) {
+            double reach = ZONE_HALF_SIZE + ZONE_HYSTERESIS;
+            return !retired && key.dimension().equals(dimension)
+                && Math.abs(position.x - center.x) <= reach
+                && Math.abs(position.y - center.y) <= reach
+                && Math.abs(position.z - center.z) <= reach;
+        }
+
+        private void want(BitrateLadder.Variant variant) {
+            int bit = 1 << variant.ordinal();
+            if ((wantedVariants.get() & bit) == 0) {
+                wantedVariants.getAndAccumulate(bit, (current, added) -> current | added);
+            }
+        }
+
+        private void release() {
+            for (int i = 0; i < VARIANTS.length; i++) {
+                if (bodies[i] != null) {
+                    bodies[i].release();
+                    bodies[i] = null;
+                }
+                if (encoders[i] != null) {
+                    encoders[i].close();
+                    encoders[i] = null;
+                }
+            }
+        }
+    }
+
+    private final Map<ZoneKey, Zone> zones = new ConcurrentHashMap<>();
+    private final Map<UUID, Listener> listeners = new ConcurrentHashMap<>();
+    private final Map<SharedStreamSource, SourceTap> taps = new IdentityHashMap<>(); // mix thread only
+    private final PcmMixer mixer = new PcmMixer();
+    private final AudioConfiguration configuration = new AudioConfiguration();
+    private volatile ScheduledExecutorService mixThread;
+    private volatile boolean enabled = true;
+    private long tick = 0;
+
+    // Mix thread scratch, reused for every zone and refresh
+    private final ShortBuffer encodeInput = directShorts(PcmMixer.FRAME_LENGTH);
+    private final ShortBuffer variantPcm = directShorts(PcmMixer.FRAME_SAMPLES);
+    private final ByteBuffer encoded = ByteBuffer.allocateDirect(AudioFrameRing.DEFAULT_SLOT_BYTES);
+    private double[] refreshGains = new double[4];
+    private SharedStreamSource[] refreshSources = new SharedStreamSource[4];
+
+    private final AtomicLong framesMixed = new AtomicLong(0);
+    private final AtomicLong payloadsSent = new AtomicLong(0);
+    private final LatencyHistogram tickLatency = new LatencyHistogram();
+
+    public boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Disabled, every network delivers its own stream to every listener in range again
+     */
+    public void setEnabled(boolean mixingEnabled) {
+        this.enabled = mixingEnabled;
+        if (!mixingEnabled) {
+            // Codec state belongs to the mix thread, so retire the zones there
+            ScheduledExecutorService thread = mixThread;
+            if (thread != null) {
+                try {
+                    thread.execute(this::retireAll);
+                } catch (RejectedExecutionException e) {
+                    // Shutting down; shutdown() releases everything
+                }
+            }
+        }
+    }
+
+    // First route after construction or shutdown starts the mix thread
+    private synchronized void ensureStarted() {
+        if (mixThread == null) {
+            mixThread = Executors.newSingleThreadScheduledExecutor(r -> {
+                Thread thread = new Thread(r, "Minefest-ZoneMix");
+                thread.setDaemon(true);
+                thread.setPriority(Thread.MAX_PRIORITY);
+                return thread;
+            });
+            mixThread.scheduleAtFixedRate(this::mixTick, FramePump.FRAME_INTERVAL_MS, FramePump.FRAME_INTERVAL_MS,
+                TimeUnit.MILLISECONDS);
+            MinefestCore.getLogger().info("Zone mixer started at {}ms cadence", FramePump.FRAME_INTERVAL_MS);
+        }
+    }
+
+    /**
+     * [Index: 56.1] Serve a listener who hears this network and at least one other from
+     * the mix of their zone. Called once per audible network per sync round.
+     *
+     * @param variant the listener's variant for this network, already capped by their ticket tier
+     */
+    public void route(ServerLevel level, ServerPlayer player, UUID networkId, double volume,
+                      BitrateLadder.Variant variant) {
+        if (mixThread == null) {
+            ensureStarted();
+        }
+
+        Listener listener = listeners.computeIfAbsent(player.getUUID(), id -> new Listener(player));
+        listener.player = player; // a relogged player is a new entity
+
+        // [Index: 56.6] A listener belongs to one zone; they only move once clear of its edge
+        Vec3 position = player.position();
+        ResourceKey<Level> dimension = level.dimension();
+        Zone zone = listener.zone;
+        if (zone == null || !zone.holds(dimension, position)) {
+            long cell = SectionPos.asLong((int) Math.floor(position.x) >> ZONE_SHIFT,
+                (int) Math.floor(position.y) >> ZONE_SHIFT, (int) Math.floor(position.z) >> ZONE_SHIFT);
+            Zone next = zones.compute(new ZoneKey(dimension, cell),
+                (key, existing) -> existing == null || existing.retired ? new Zone(key) : existing);
+            if (zone != null) {
+                zone.listeners.remove(player.getUUID(), listener);
+            }
+            next.listeners.put(player.getUUID(), listener);
+            listener.zone = next;
+            zone = next;
+        }
+
+        long now = System.currentTimeMillis();
+        zone.networks.put(networkId, now);
+        // Loudest network and best variant of the current round; a new round starts from this route
+        boolean sameRound = now - listener.routedAt < LISTENER_ROUND_MS;
+        listener.volume = sameRound ? Math.max(listener.volume, volume) : volume;
+        listener.variant = sameRound && listener.variant.ordinal() > variant.ordinal() ? listener.variant : variant;
+        listener.routedAt = now;
+        zone.want(listener.variant);
+    }
+
+    /**
+     * [Index: 56.6] The listener is served directly again; stop mixing for them at once
+     * rather than after the route timeout, so they never hear both streams
+     */
+    public void leave(UUID playerId) {
+        Listener listener = listeners.remove(playerId);
+        if (listener != null) {
+            Zone zone = listener.zone;
+            if (zone != null) {
+                zone.listeners.remove(playerId, listener);
+            }
+        }
+    }
+
+    /**
+     * One 20ms frame for every zone
+     */
+    private void mixTick() {
+        long started = System.nanoTime();
+        try {
+            tick++;
+            if (tick % GAIN_REFRESH_TICKS == 0) {
+                refreshZones();
+            } else {
+                refreshNewZones();
+                markTaps();
+            }
+
+            // [Index: 56.2] Each source decodes at most one frame per tick, whatever the zone count
+            for (SourceTap tap : taps.values()) {
+                if (tap.usedTick == tick) {
+                    tap.pull();
+                }
+            }
+
+            boolean deliver = tick % DELIVER_EVERY_TICKS == 0;
+            for (Zone zone : zones.values()) {
+                mixZone(zone);
+                if (deliver) {
+                    deliverZone(zone);
+                }
+            }
+        } catch (Exception e) {
+            MinefestCore.getLogger().debug("Zone mix tick failed: {}", e.getMessage());
+        } finally {
+            tickLatency.recordNanos(System.nanoTime() - started);
+        }
+    }
+
+    /**
+     * [Index: 56.3] A listener moves into a new zone at once; without contributors it would
+     * hear nothing until the next refresh, up to GAIN_REFRESH_TICKS later
+     */
+    private void refreshNewZones() {
+        AudioManager audioManager = null;
+        for (Zone zone : zones.values()) {
+            if (zone.contributorCount == 0 && !zone.networks.isEmpty() && !zone.retired) {
+                if (audioManager == null) {
+                    audioManager = MinefestCore.getAudioManager();
+                }
+                refreshContributors(zone, audioManager);
+            }
+        }
+    }
+
+    // Marks the taps this tick's zones read, so only those decode
+    private void markTaps() {
+        for (Zone zone : zones.values()) {
+            for (int i = 0; i < zone.contributorCount; i++) {
+                zone.contributorTaps[i].usedTick = tick;
+            }
+        }
+    }
+
+    /**
+     * [Index: 56.3] Recompute contributors and gains at each zone centre. Gains are
+     * normalised to the loudest stage; the payload header restores absolute loudness.
+     * [Index: 56.5] Zones without listeners and taps without zones are released here.
+     */
+    private void refreshZones() {
+        long now = System.currentTimeMillis();
+        AudioManager audioManager = MinefestCore.getAudioManager();
+
+        Iterator<Zone> zoneIterator = zones.values().iterator();
+        while (zoneIterator.hasNext()) {
+            Zone zone = zoneIterator.next();
+            int wanted = 0;
+            for (Iterator<Map.Entry<UUID, Listener>> it = zone.listeners.entrySet().iterator(); it.hasNext(); ) {
+                Map.Entry<UUID, Listener> entry = it.next();
+                Listener listener = entry.getValue();
+                if (now - listener.routedAt > LISTENER_TIMEOUT_MS) {
+                    it.remove();
+                    listeners.remove(entry.getKey(), listener);
+                } else {
+                    wanted |= 1 << listener.variant.ordinal();
+                }
+            }
+            zone.networks.values().removeIf(routedAt -> now - routedAt > LISTENER_TIMEOUT_MS);
+            if (zone.listeners.isEmpty()) {
+                zone.retired = true;
+                zoneIterator.remove();
+                zone.release();
+                continue;
+            }
+            zone.wantedVariants.set(wanted);
+            refreshContributors(zone, audioManager);
+        }
+
+        // Taps no zone reads any more; closed sources drop out here too
+        markTaps();
+        Iterator<Map.Entry<SharedStreamSource, SourceTap>> tapIterator = taps.entrySet().iterator();
+        while (tapIterator.hasNext()) {
+            Map.Entry<SharedStreamSource, SourceTap> entry = tapIterator.next();
+            if (entry.getValue().usedTick != tick || entry.getKey().isClosed()) {
+                tapIterator.remove();
+                entry.getValue().release();
+            }
+        }
+    }
+
+    // [Index: 56.3] Contributors and gains at the zone centre, from the networks routed to it
+    private void refreshContributors(Zone zone, AudioManager audioManager) {
+        int networkCount = zone.networks.size();
+        if (refreshGains.length < networkCount) {
+            refreshGains = new double[networkCount];
+            refreshSources = new SharedStreamSource[networkCount];
+        }
+        double loudest = 0.0;
+        int count = 0;
+        for (UUID networkId : zone.networks.keySet()) {
+            NetworkAudioManager.AudioNetwork network = NetworkAudioManager.getAudioNetworkById(networkId);
+            UUID sessionId = network != null ? network.getCurrentStreamSession() : null;
+            StreamingSession session = sessionId != null ? audioManager.getSession(sessionId) : null;
+            if (session == null || session.getSource().isClosed() || count == refreshGains.length) {
+                continue;
+            }
+            refreshGains[count] = NetworkAudioManager.calculateAudioVolumeAt(network, zone.center);
+            refreshSources[count] = session.getSource();
+            loudest = Math.max(loudest, refreshGains[count]);
+            count++;
+        }
+
+        if (zone.contributorTaps.length < count) {
+            zone.contributorTaps = new SourceTap[count];
+            zone.contributorGains = new int[count];
+        }
+        int contributors = 0;
+        for (int i = 0; i < count; i++) {
+            int gain = loudest > 0.0 ? PcmMixer.toFixedGain(refreshGains[i] / loudest) : 0;
+            if (gain > 0) {
+                zone.contributorTaps[contributors] = taps.computeIfAbsent(refreshSources[i], SourceTap::new);
+                zone.contributorGains[contributors] = gain;
+                contributors++;
+            }
+            refreshSources[i] = null;
+        }
+        zone.contributorCount = contributors;
+    }
+
+    private void mixZone(Zone zone) {
+        long stamp = Long.MIN_VALUE;
+        mixer.begin(PcmMixer.FRAME_LENGTH);
+        for (int i = 0; i < zone.contributorCount; i++) {
+            SourceTap tap = zone.contributorTaps[i];
+            if (tap.fresh) {
+                mixer.mix(tap.pcm, zone.contributorGains[i]);
+                stamp = Math.max(stamp, tap.stamp);
+            }
+        }
+        if (stamp == Long.MIN_VALUE) {
+            return; // no stage produced a frame this tick
+        }
+        mixer.finish(zone.mixed);
+
+        // [Index: 56.4] One encode per zone and variant, shared by all of its listeners.
+        // Mono rungs read the stereo input, so they go before HIGH consumes it.
+        encodeInput.clear();
+        encodeInput.put(zone.mixed, 0, PcmMixer.FRAME_LENGTH);
+        encodeInput.flip();
+        long playoutTime = stamp + AudioFrameDelivery.PLAYOUT_DELAY_MS;
+        int wanted = zone.wantedVariants.get();
+        for (BitrateLadder.Variant variant : VARIANTS) {
+            if ((wanted & (1 << variant.ordinal())) != 0) {
+                encodeVariant(zone, variant, playoutTime);
+            }
+        }
+        framesMixed.incrementAndGet();
+    }
+
+    private void encodeVariant(Zone zone, BitrateLadder.Variant variant, long playoutTime) {
+        int index = variant.ordinal();
+        ShortBuffer input = encodeInput;
+        if (variant != BitrateLadder.Variant.HIGH) {
+            if (BitrateLadder.convert(variant, encodeInput, PcmMixer.FRAME_SAMPLES, variantPcm) != variant.getChunkSamples()) {
+                return;
+            }
+            input = variantPcm;
+        }
+
+        if (zone.encoders[index] == null) {
+            zone.encoders[index] = BitrateLadder.createEncoder(variant, configuration);
+        }
+        encoded.clear();
+        zone.encoders[index].encode(input, encoded);
+
+        FriendlyByteBuf body = zone.bodies[index];
+        if (body == null) {
+            body = new FriendlyByteBuf(PooledByteBufAllocator.DEFAULT.buffer(
+                BODY_HEADER_BYTES + DELIVER_EVERY_TICKS * (FRAME_HEADER_BYTES + encoded.remaining())));
+            zone.bodies[index] = body;
+            zone.bodyCountIndex[index] = AudioFramePayload.writeBodyHeader(body, MIX_STREAM_ID, variant);
+            zone.bodyFrames[index] = 0;
+        }
+        AudioFramePayload.writeFrame(body, playoutTime, encoded);
+        zone.bodyFrames[index]++;
+    }
+
+    /**
+     * [Index: 56.4] Each listener gets their variant, or the best encoded one below it
+     * while a newly wanted variant has not produced a frame yet; never one above it
+     */
+    private void deliverZone(Zone zone) {
+        FriendlyByteBuf[] bodies = zone.bodies;
+        for (int i = 0; i < bodies.length; i++) {
+            if (bodies[i] != null) {
+                bodies[i].setByte(zone.bodyCountIndex[i], zone.bodyFrames[i]);
+            }
+        }
+        try {
+            for (Listener listener : zone.listeners.values()) {
+                FriendlyByteBuf body = null;
+                for (int i = listener.variant.ordinal(); i >= 0 && body == null; i--) {
+                    body = bodies[i];
+                }
+                if (body != null
+                        && AudioFramePayload.sendTo(listener.player, AudioFramePayload.toVolumeLevel(listener.volume), body)) {
+                    payloadsSent.incrementAndGet();
+                }
+            }
+        } finally {
+            for (int i = 0; i < bodies.length; i++) {
+                if (bodies[i] != null) {
+                    bodies[i].release();
+                    bodies[i] = null;
+                }
+            }
+        }
+    }
+
+    // [Index: 56.5] Mix thread, or any thread once the mix thread has stopped
+    private void retireAll() {
+        Iterator<Zone> zoneIterator = zones.values().iterator();
+        while (zoneIterator.hasNext()) {
+            Zone zone = zoneIterator.next();
+            zone.retired = true;
+            zoneIterator.remove();
+            zone.release();
+        }
+        listeners.clear();
+        for (SourceTap tap : taps.values()) {
+            tap.release();
+        }
+        taps.clear();
+    }
+
+    private static ShortBuffer directShorts(int count) {
+        return ByteBuffer.allocateDirect(count * 2).order(ByteOrder.nativeOrder()).asShortBuffer();
+    }
+
+    // Monitoring
+    public int getZoneCount() {
+        return zones.size();
+    }
+
+    public long getFramesMixed() {
+        return framesMixed.get();
+    }
+
+    public long getPayloadsSent() {
+        return payloadsSent.get();
+    }
+
+    public LatencyHistogram.Snapshot getTickLatency() {
+        return tickLatency.snapshot();
+    }
+
+    public void shutdown() {
+        ScheduledExecutorService thread;
+        synchronized (this) {
+            thread = mixThread;
+            mixThread = null;
+        }
+        if (thread == null) {
+            return;
+        }
+        thread.shutdownNow();
+        try {
+            if (!thread.awaitTermination(1, TimeUnit.SECONDS)) {
+                MinefestCore.getLogger().warn("Zone mix thread did not stop; leaving its codecs to the GC");
+                return;
+            }
+        } catch (InterruptedException e) {
+            Thread.currentThread().interrupt();
+            return;
+        }
+        retireAll();
+    }
+}
@@ -9,11 +9,13 @@
  * 3. [Index: 18.3] Speaker network management with UUID-based identification
  * 4. [Index: 18.4] Multi-world and cross-dimensional speaker linking support
  * 5. [Index: 18.5] Block entity synchronization for client-server data consistency
+ * 6. [Index: 18.12] Hand autoStart stands to the startup prewarmer when they load
  * 
  * Dependencies:
  * - DJStandBlock [Index: 15] - parent block implementation
  * - SpeakerBlockEntity [Index: 19] - speaker network coordination
  * - ModBlockEntities [Index: 20] - registration and lifecycle management
+ * - AutoStartPrewarmer [Index: 46] - staged start of persisted autoStart streams
  * 
  * Related Files:
  * - DJStandBlock.java [Index: 15] - block implementation requiring entity support
@@ -22,6 +24,7 @@
  */
 package com.minefest.essentials.blocks.entity;
 
+import com.minefest.essentials.audio.AutoStartPrewarmer;
 import com.minefest.essentials.init.ModBlockEntities;
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
@@ -29,6 +32,7 @@ import net.minecraft.nbt.ListTag;
 import net.minecraft.nbt.Tag;
 import net.minecraft.network.Connection;
 import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
@@ -283,6 +287,15 @@ public class DJStandBlockEntity extends BlockEntity {
         syncToClient();
     }
     
+    public boolean isAutoStart() {
+        return autoStart;
+    }
+    
+    public void setAutoStart(boolean autoStart) {
+        this.autoStart = autoStart;
+        setChanged();
+    }
+    
     public String getDisplayName() {
         return displayName;
     }
@@ -347,4 +360,13 @@ public class DJStandBlockEntity extends BlockEntity {
         
         setChanged();
     }
+    
+    // [Index: 18.12] World lifecycle - persisted autoStart stands come back up as their chunk loads
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        if (level instanceof ServerLevel serverLevel) {
+            AutoStartPrewarmer.onDJStandLoaded(serverLevel, this);
+        }
+    }
 } 
\ No newline at end of file
@@ -14,6 +14,7 @@
  * - SpeakerBlock [Index: 16] - parent block implementation
  * - DJStandBlockEntity [Index: 18] - network source coordination
  * - ModBlockEntities [Index: 20] - registration and lifecycle management
+ * - NetworkAudioManager [Index: 26] - speaker load/unload/link notifications (feeds SpeakerRegistry [Index: 36])
  * 
  * Related Files:
  * - SpeakerBlock.java [Index: 16] - block implementation requiring entity support
@@ -22,11 +23,13 @@
  */
 package com.minefest.essentials.blocks.entity;
 
+import com.minefest.essentials.audio.NetworkAudioManager;
 import com.minefest.essentials.init.ModBlockEntities;
 import net.minecraft.core.BlockPos;
 import net.minecraft.nbt.CompoundTag;
 import net.minecraft.network.Connection;
 import net.minecraft.network.protocol.game.ClientboundBlockEntityDataPacket;
+import net.minecraft.server.level.ServerLevel;
 import net.minecraft.world.level.block.entity.BlockEntity;
 import net.minecraft.world.level.block.entity.BlockEntityType;
 import net.minecraft.world.level.block.state.BlockState;
@@ -192,6 +195,7 @@ public class SpeakerBlockEntity extends BlockEntity {
         this.lastConnectionCheck = 0;
         setChanged();
         syncToClient();
+        notifyLinkChanged();
     }
     
     public void clearLinkedDJStand() {
@@ -202,6 +206,7 @@ public class SpeakerBlockEntity extends BlockEntity {
         this.connectionValid = false;
         setChanged();
         syncToClient();
+        notifyLinkChanged();
     }
     
     public String getDJStandDimension() {
@@ -333,6 +338,39 @@ public class SpeakerBlockEntity extends BlockEntity {
         return (System.currentTimeMillis() - lastAudioReceived) < timeoutMs;
     }
     
+    // [Index: 19.14] World lifecycle - keeps the speaker registry and audio network current
+    @Override
+    public void onLoad() {
+        super.onLoad();
+        if (level instanceof ServerLevel serverLevel) {
+            NetworkAudioManager.onSpeakerLoaded(serverLevel, this);
+        }
+    }
+    
+    @Override
+    public void setRemoved() {
+        super.setRemoved();
+        notifyUnloaded();
+    }
+    
+    @Override
+    public void onChunkUnloaded() {
+        super.onChunkUnloaded();
+        notifyUnloaded();
+    }
+    
+    private void notifyUnloaded() {
+        if (level instanceof ServerLevel serverLevel) {
+            NetworkAudioManager.onSpeakerUnloaded(serverLevel, this);
+        }
+    }
+    
+    private void notifyLinkChanged() {
+        if (level instanceof ServerLevel serverLevel) {
+            NetworkAudioManager.onSpeakerLinkChanged(serverLevel, this);
+        }
+    }
+    
     // [Index: 19.11] Utility methods
     private void syncToClient() {
         if (level != null && !level.isClientSide) {
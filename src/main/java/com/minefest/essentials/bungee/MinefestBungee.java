@@ -1,6 +1,7 @@
 package com.minefest.essentials.bungee;
 
 import com.minefest.essentials.network.TimeSync;
+import com.minefest.essentials.network.TimeSyncCodec;
 import net.md_5.bungee.api.plugin.Plugin;
 import net.md_5.bungee.api.event.PluginMessageEvent;
 import net.md_5.bungee.api.plugin.Listener;
@@ -9,7 +10,8 @@ import net.md_5.bungee.api.config.ServerInfo;
 import net.md_5.bungee.api.connection.Server;
 import net.md_5.bungee.api.connection.ProxiedPlayer;
 
-import java.util.concurrent.TimeUnit;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
 
 /**
  * COMPONENT SIGNPOST [Index: 04]
@@ -20,11 +22,13 @@ import java.util.concurrent.TimeUnit;
  * 1. [Index: 04.1] Initialize plugin channel registration for time sync messages
  * 2. [Index: 04.2] Identify and configure time authority server
  * 3. [Index: 04.3] Forward time synchronization messages between servers
- * 4. [Index: 04.4] Schedule periodic time sync broadcasts
+ * 4. [Index: 04.4] Leave periodic time broadcasts to the authority, which sends its own
+ * 5. [Index: 04.5] Deliver time responses only to the server that asked, by its interned index
  * 
  * Dependencies:
  * - BungeeCord API [Index: N/A] - proxy server plugin framework
  * - TimeSync [Index: 03] - network protocol for time synchronization
+ * - TimeSyncCodec [Index: 63] - header peeks; no message is decoded in full here
  * 
  * Related Files:
  * - TimeSync.java [Index: 03] - protocol implementation for sync messages
@@ -33,6 +37,10 @@ import java.util.concurrent.TimeUnit;
 public class MinefestBungee extends Plugin implements Listener {
     private String timeAuthorityServer;
     
+    // [Index: 04.5] Which backend sent each server index, or each id not yet interned
+    private final Map<Integer, String> serverByIndex = new ConcurrentHashMap<>();
+    private final Map<String, String> serverByLiteral = new ConcurrentHashMap<>();
+    
     @Override
     public void onEnable() {
         // Register our plugin channel
@@ -44,9 +52,6 @@ public class MinefestBungee extends Plugin implements Listener {
         // Default to the first server as time authority
         timeAuthorityServer = getProxy().getServers().values().iterator().next().getName();
         getLogger().info("Time authority server set to: " + timeAuthorityServer);
-        
-        // Schedule periodic time sync broadcasts
-        getProxy().getScheduler().schedule(this, this::broadcastTimeSync, 5, 5, TimeUnit.SECONDS);
     }
     
     @Override
@@ -71,6 +76,9 @@ public class MinefestBungee extends Plugin implements Listener {
     private void forwardTimeSync(byte[] message, String sourceServer) {
         // If message is from time authority, broadcast to all other servers
         if (sourceServer.equals(timeAuthorityServer)) {
+            if (TimeSyncCodec.opcode(message) == TimeSyncCodec.OP_TIME_RESPONSE && sendToRequester(message)) {
+                return;
+            }
             for (ServerInfo server : getProxy().getServers().values()) {
                 if (!server.getName().equals(timeAuthorityServer)) {
                     server.sendData(TimeSync.CHANNEL, message);
@@ -79,6 +87,9 @@ public class MinefestBungee extends Plugin implements Listener {
         }
         // If message is a time request, forward only to time authority
         else {
+            if (TimeSyncCodec.opcode(message) == TimeSyncCodec.OP_TIME_REQUEST) {
+                rememberRequester(message, sourceServer);
+            }
             ServerInfo authority = getProxy().getServerInfo(timeAuthorityServer);
             if (authority != null) {
                 authority.sendData(TimeSync.CHANNEL, message);
@@ -86,12 +97,47 @@ public class MinefestBungee extends Plugin implements Listener {
         }
     }
     
-    private void broadcastTimeSync() {
-        // Request time update from authority to all servers
-        ServerInfo authority = getProxy().getServerInfo(timeAuthorityServer);
-        if (authority != null) {
-            authority.sendData(TimeSync.CHANNEL, new byte[]{0}); // Trigger time broadcast
+    /**
+     * [Index: 04.5] Backend names need not match the ids servers use for themselves, so
+     * requesters are tracked by what they send
+     */
+    private void rememberRequester(byte[] message, String sourceServer) {
+        int index = TimeSyncCodec.peekServerIndex(message);
+        if (index > 0) {
+            serverByIndex.put(index, sourceServer);
+        } else if (index == 0) {
+            String serverId = TimeSyncCodec.peekServerId(message);
+            if (serverId != null) {
+                serverByLiteral.put(serverId, sourceServer);
+            }
+        }
+    }
+    
+    /**
+     * [Index: 04.5] Other servers would only discard the response
+     *
+     * @return false if the requester is unknown and the response should be broadcast
+     */
+    private boolean sendToRequester(byte[] message) {
+        int index = TimeSyncCodec.peekServerIndex(message);
+        if (index <= 0) {
+            return false;
+        }
+        String serverId = TimeSyncCodec.peekServerId(message);
+        if (serverId != null) {
+            // A binding: the authority just assigned this index to a requester that sent its id
+            String requester = serverByLiteral.remove(serverId);
+            if (requester != null) {
+                serverByIndex.put(index, requester);
+            }
+        }
+        String target = serverByIndex.get(index);
+        ServerInfo server = target != null ? getProxy().getServerInfo(target) : null;
+        if (server == null) {
+            return false;
         }
+        server.sendData(TimeSync.CHANNEL, message);
+        return true;
     }
     
     /**
@@ -100,6 +146,9 @@ public class MinefestBungee extends Plugin implements Listener {
     public void setTimeAuthority(String serverName) {
         if (getProxy().getServerInfo(serverName) != null) {
             timeAuthorityServer = serverName;
+            // The new authority interns its own indexes
+            serverByIndex.clear();
+            serverByLiteral.clear();
             getLogger().info("Time authority changed to: " + serverName);
         }
     }
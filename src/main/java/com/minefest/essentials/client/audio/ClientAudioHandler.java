@@ -0,0 +1,287 @@
+/**
+ * COMPONENT SIGNPOST [Index: 29]
+ * Purpose: Client-side receipt and sample-aligned release of stream audio frames
+ * Side: CLIENT - network listeners plus a dedicated release thread
+ *
+ * Workflow:
+ * 1. [Index: 29.1] Register the audio frame and time sync channels during client setup
+ * 2. [Index: 29.2] Track the offset between the local clock and the server's MasterClock
+ * 3. [Index: 29.3] File received frames into one jitter buffer per network
+ * 4. [Index: 29.4] Release due frames to the playback sink every few milliseconds
+ * 5. [Index: 29.5] Drop all buffered audio and the clock estimate on disconnect
+ * 6. [Index: 29.6] Echo every time update so the server can measure this client's offset
+ *
+ * Dependencies:
+ * - ClientJitterBuffer [Index: 41] - per-network playout queue
+ * - AudioFramePayload [Index: 39] - audio frame wire format
+ * - TimeSync [Index: 03] - master time update decoding, echo encoding
+ * - TimeSyncCodec [Index: 63] - per-client time update decoding
+ * - Forge EventNetworkChannel [Index: N/A] - raw custom payload delivery
+ *
+ * Related Files:
+ * - AudioFrameDelivery.java [Index: 38] - stamps frames with their playout time
+ * - MasterClock.java [Index: 01] - source of the master time updates
+ * - ClientSyncEngine.java [Index: 62] - sends the updates, estimates each client's offset from the echoes
+ * - NetworkAudioManager.java [Index: 26] - decides which frames each player receives
+ *
+ * Every listener releases a frame at the same master time, so players between two
+ * stages hear both in phase and a late frame never delays the frames behind it.
+ */
+package com.minefest.essentials.client.audio;
+
+import com.minefest.essentials.MinefestCore;
+import com.minefest.essentials.audio.AudioFramePayload;
+import com.minefest.essentials.audio.BitrateLadder;
+import com.minefest.essentials.network.TimeSync;
+import com.minefest.essentials.network.TimeSyncCodec;
+import net.minecraft.client.Minecraft;
+import net.minecraft.client.multiplayer.ClientPacketListener;
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.protocol.common.ServerboundCustomPayloadPacket;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+import net.minecraftforge.client.event.ClientPlayerNetworkEvent;
+import net.minecraftforge.common.MinecraftForge;
+import net.minecraftforge.event.network.CustomPayloadEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.event.lifecycle.FMLClientSetupEvent;
+import net.minecraftforge.network.ChannelBuilder;
+
+import java.util.Map;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.Executors;
+import java.util.concurrent.ScheduledExecutorService;
+import java.util.concurrent.TimeUnit;
+
+@OnlyIn(Dist.CLIENT)
+@Mod.EventBusSubscriber(modid = MinefestCore.MOD_ID, bus = Mod.EventBusSubscriber.Bus.MOD, value = Dist.CLIENT)
+public class ClientAudioHandler {
+    private static final long RELEASE_INTERVAL_MS = 5;      // a quarter frame of release jitter
+    private static final long BUFFER_IDLE_MS = 10000;
+
+    // [Index: 29.2] Offset smoothing; a step beyond the threshold is a server clock change
+    private static final double OFFSET_SMOOTHING = 0.1;
+    private static final long OFFSET_RESET_THRESHOLD_MS = 1000;
+    private static final ResourceLocation TIME_SYNC_ID = new ResourceLocation(MinefestCore.MOD_ID, TimeSync.CHANNEL);
+
+    private static final Map<UUID, ClientJitterBuffer> buffers = new ConcurrentHashMap<>();
+    private static final ClientJitterBuffer.FrameSink SILENT_SINK = (networkId, variant, data, volume) -> { };
+
+    private static volatile ClientJitterBuffer.FrameSink frameSink = SILENT_SINK;
+    private static volatile long masterOffset;
+    private static volatile boolean offsetKnown = false;
+    // Set while the server sends its own estimate of our offset; a plain update clears it
+    private static volatile boolean offsetFromServer = false;
+    private static volatile long driftPpb;
+    private static volatile long offsetAnchor;
+    private static ScheduledExecutorService releaseThread;
+
+    private ClientAudioHandler() {
+    }
+
+    /**
+     * [Index: 29.1] Channels are optional so the client can still join servers without Minefest
+     */
+    @SubscribeEvent
+    public static void onClientSetup(FMLClientSetupEvent event) {
+        event.enqueueWork(() -> {
+            ChannelBuilder.named(AudioFramePayload.ID)
+                .optional()
+                .eventNetworkChannel()
+                .addListener(ClientAudioHandler::onAudioFrame);
+            ChannelBuilder.named(TIME_SYNC_ID)
+                .optional()
+                .eventNetworkChannel()
+                .addListener(ClientAudioHandler::onTimeSync);
+
+            MinecraftForge.EVENT_BUS.addListener(ClientAudioHandler::onLoggingOut);
+            startReleaseThread();
+            MinefestCore.getLogger().info("Client audio handler ready");
+        });
+    }
+
+    private static synchronized void startReleaseThread() {
+        if (releaseThread != null) {
+            return;
+        }
+        releaseThread = Executors.newSingleThreadScheduledExecutor(r -> {
+            Thread thread = new Thread(r, "Minefest-AudioRelease");
+            thread.setDaemon(true);
+            thread.setPriority(Thread.MAX_PRIORITY);
+            return thread;
+        });
+        releaseThread.scheduleAtFixedRate(ClientAudioHandler::releaseDueFrames,
+            RELEASE_INTERVAL_MS, RELEASE_INTERVAL_MS, TimeUnit.MILLISECONDS);
+    }
+
+    // [Index: 29.2] Master clock estimate
+
+    private static void onTimeSync(CustomPayloadEvent event) {
+        long received = System.currentTimeMillis();
+        FriendlyByteBuf payload = event.getPayload();
+        if (payload != null) {
+            byte[] message = new byte[payload.readableBytes()];
+            payload.readBytes(message);
+            if (TimeSyncCodec.opcode(message) == TimeSyncCodec.OP_CLIENT_TIME_UPDATE) {
+                onClientTimeUpdate(message, received);
+            } else {
+                long masterTime = TimeSync.readMasterTimeUpdate(message);
+                if (masterTime >= 0) {
+                    if (offsetFromServer) {
+                        // The server dropped its estimate for us (its filter reset, or another
+                        // server took over): carry on from where the drift had taken it
+                        masterOffset += (received - offsetAnchor) * driftPpb / 1_000_000_000L;
+                        driftPpb = 0;
+                        offsetFromServer = false;
+                    }
+                    updateOffset(masterTime - received);
+                    sendEcho(masterTime, received);
+                }
+            }
+        }
+        event.getSource().setPacketHandled(true);
+    }
+
+    /**
+     * The server's filtered offset for this client is measured over the round trip, so it
+     * carries no transit bias and replaces the local estimate outright
+     */
+    private static void onClientTimeUpdate(byte[] message, long received) {
+        try {
+            TimeSyncCodec.Reader in = TimeSyncCodec.reader(message);
+            long masterTime = in.fixed64();
+            long offset = in.zigzag();
+            long drift = in.zigzag();
+
+            offsetAnchor = received;
+            driftPpb = drift;
+            masterOffset = offset;
+            offsetFromServer = true;
+            offsetKnown = true;
+            sendEcho(masterTime, received);
+        } catch (IllegalStateException e) {
+            MinefestCore.getLogger().debug("Malformed client time update: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * [Index: 29.6] Sent straight from the network thread so local queueing stays out of the sample
+     */
+    private static void sendEcho(long masterTime, long received) {
+        ClientPacketListener connection = Minecraft.getInstance().getConnection();
+        if (connection == null) {
+            return;
+        }
+        byte[] echo = TimeSync.encodeClientEcho(masterTime, received, System.currentTimeMillis());
+        connection.send(new ServerboundCustomPayloadPacket(new TimeEchoPayload(echo)));
+    }
+
+    private record TimeEchoPayload(byte[] message) implements CustomPacketPayload {
+        @Override
+        public ResourceLocation id() {
+            return TIME_SYNC_ID;
+        }
+
+        @Override
+        public void write(FriendlyByteBuf buffer) {
+            buffer.writeBytes(message);
+        }
+    }
+
+    /**
+     * The sample includes the update's one-way transit, so the estimate trails the
+     * server by that much; smoothing only removes jitter, not the bias.
+     */
+    private static void updateOffset(long sample) {
+        if (!offsetKnown || Math.abs(sample - masterOffset) > OFFSET_RESET_THRESHOLD_MS) {
+            masterOffset = sample;
+            offsetKnown = true;
+            return;
+        }
+        masterOffset += Math.round((sample - masterOffset) * OFFSET_SMOOTHING);
+    }
+
+    public static boolean isClockSynchronized() {
+        return offsetKnown;
+    }
+
+    /**
+     * @return the client's estimate of the server's MasterClock time
+     */
+    public static long getMasterTime() {
+        long now = System.currentTimeMillis();
+        return now + masterOffset + (now - offsetAnchor) * driftPpb / 1_000_000_000L;
+    }
+
+    // [Index: 29.3] Frame receipt - runs on the network thread
+
+    private static void onAudioFrame(CustomPayloadEvent event) {
+        FriendlyByteBuf payload = event.getPayload();
+        if (payload != null && offsetKnown) {
+            try {
+                AudioFramePayload.decode(payload, ClientAudioHandler::acceptFrame);
+            } catch (RuntimeException e) {
+                MinefestCore.getLogger().debug("Discarding malformed audio frame payload: {}", e.getMessage());
+            }
+        }
+        event.getSource().setPacketHandled(true);
+    }
+
+    private static void acceptFrame(UUID networkId, BitrateLadder.Variant variant, long playoutTime,
+                                    byte[] data, float volume) {
+        buffers.computeIfAbsent(networkId, ClientJitterBuffer::new)
+            .offer(variant, playoutTime, data, volume, getMasterTime());
+    }
+
+    // [Index: 29.4] Release loop
+
+    private static void releaseDueFrames() {
+        if (buffers.isEmpty()) {
+            return;
+        }
+        try {
+            long masterNow = getMasterTime();
+            ClientJitterBuffer.FrameSink sink = frameSink;
+            for (ClientJitterBuffer buffer : buffers.values()) {
+                buffer.drainDue(masterNow, sink);
+                if (buffer.isIdle(masterNow, BUFFER_IDLE_MS)) {
+                    buffers.remove(buffer.getNetworkId(), buffer);
+                }
+            }
+        } catch (Exception e) {
+            // Never let an exception cancel the fixed-rate release task
+            MinefestCore.getLogger().debug("Audio release error: {}", e.getMessage());
+        }
+    }
+
+    /**
+     * Install the playback stage that decodes and outputs released frames.
+     * Until one is installed, due frames are released and discarded.
+     */
+    public static void setFrameSink(ClientJitterBuffer.FrameSink sink) {
+        frameSink = sink != null ? sink : SILENT_SINK;
+    }
+
+    // [Index: 29.5] Disconnect
+
+    private static void onLoggingOut(ClientPlayerNetworkEvent.LoggingOut event) {
+        buffers.values().forEach(ClientJitterBuffer::clear);
+        buffers.clear();
+        offsetKnown = false;
+        offsetFromServer = false;
+        driftPpb = 0;
+    }
+
+    // Monitoring
+    public static int getBufferCount() {
+        return buffers.size();
+    }
+
+    public static ClientJitterBuffer getBuffer(UUID networkId) {
+        return buffers.get(networkId);
+    }
+}
@@ -0,0 +1,167 @@
+/**
+ * COMPONENT SIGNPOST [Index: 41]
+ * Purpose: Per-network jitter buffer releasing stream frames at their MasterClock playout time
+ * Side: CLIENT - filled by the network thread, drained by the ClientAudioHandler release thread
+ *
+ * Workflow:
+ * 1. [Index: 41.1] Queue frames in playout order; the server stamps them monotonically per network
+ * 2. [Index: 41.2] Drop frames that arrive after their playout time instead of queueing them
+ * 3. [Index: 41.3] Bound the queue so a stalled consumer cannot grow latency or memory
+ * 4. [Index: 41.4] Release every frame whose playout time has been reached
+ *
+ * Dependencies:
+ * - BitrateLadder [Index: 40] - variant tag telling the decoder the frame's layout
+ *
+ * Related Files:
+ * - ClientAudioHandler.java [Index: 29] - owns one buffer per network and the master clock offset
+ * - AudioFrameDelivery.java [Index: 38] - server-side playout stamping
+ * - AudioFramePayload.java [Index: 39] - wire format the frames arrive in
+ *
+ * Threading: offer() and drainDue() may run on different threads; both lock the buffer
+ * for a handful of deque operations.
+ */
+package com.minefest.essentials.client.audio;
+
+import com.minefest.essentials.audio.BitrateLadder;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.api.distmarker.OnlyIn;
+
+import java.util.ArrayDeque;
+import java.util.UUID;
+import java.util.concurrent.atomic.AtomicLong;
+
+@OnlyIn(Dist.CLIENT)
+public class ClientJitterBuffer {
+    public static final long FRAME_DURATION_MS = 20;
+
+    // [Index: 41.3] 640ms, over twice the server's playout delay; anything beyond is a clock jump, not jitter
+    private static final int MAX_QUEUED_FRAMES = 32;
+
+    /**
+     * Receiver of frames that reached their playout time.
+     */
+    @FunctionalInterface
+    public interface FrameSink {
+        void play(UUID networkId, BitrateLadder.Variant variant, byte[] data, float volume);
+    }
+
+    private record Frame(BitrateLadder.Variant variant, long playoutTime, byte[] data, float volume) {
+    }
+
+    private final UUID networkId;
+    private final ArrayDeque<Frame> queue = new ArrayDeque<>(MAX_QUEUED_FRAMES);
+    private long newestPlayoutTime = Long.MIN_VALUE;
+
+    private final AtomicLong framesQueued = new AtomicLong(0);
+    private final AtomicLong framesPlayed = new AtomicLong(0);
+    private final AtomicLong lateFrames = new AtomicLong(0);
+    private final AtomicLong overflowFrames = new AtomicLong(0);
+
+    public ClientJitterBuffer(UUID networkId) {
+        this.networkId = networkId;
+    }
+
+    public UUID getNetworkId() {
+        return networkId;
+    }
+
+    /**
+     * [Index: 41.1] Add a received frame.
+     *
+     * @param masterNow current MasterClock time as estimated by the client
+     * @return false if the frame was late or a duplicate and was dropped
+     */
+    public synchronized boolean offer(BitrateLadder.Variant variant, long playoutTime, byte[] data,
+                                      float volume, long masterNow) {
+        // [Index: 41.2] Its slot has already passed; playing it now would shift everything after it
+        if (playoutTime + FRAME_DURATION_MS <= masterNow) {
+            lateFrames.incrementAndGet();
+            return false;
+        }
+
+        // A variant switch can resend the frame at the boundary; the stream is ordered otherwise
+        if (playoutTime <= newestPlayoutTime) {
+            return false;
+        }
+
+        // [Index: 41.3] Full queue - shed the oldest so the newest keeps its schedule
+        if (queue.size() >= MAX_QUEUED_FRAMES) {
+            queue.pollFirst();
+            overflowFrames.incrementAndGet();
+        }
+
+        queue.addLast(new Frame(variant, playoutTime, data, volume));
+        newestPlayoutTime = playoutTime;
+        framesQueued.incrementAndGet();
+        return true;
+    }
+
+    /**
+     * [Index: 41.4] Hand every due frame to the sink. A frame whose whole slot passed
+     * while it waited (release thread stalled) is dropped like a late arrival.
+     *
+     * @return number of frames played
+     */
+    public int drainDue(long masterNow, FrameSink sink) {
+        int played = 0;
+        while (true) {
+            Frame frame;
+            synchronized (this) {
+                Frame head = queue.peekFirst();
+                if (head == null || head.playoutTime() > masterNow) {
+                    return played;
+                }
+                frame = queue.pollFirst();
+            }
+
+            if (frame.playoutTime() + FRAME_DURATION_MS <= masterNow) {
+                lateFrames.incrementAndGet();
+                continue;
+            }
+
+            sink.play(networkId, frame.variant(), frame.data(), frame.volume());
+            framesPlayed.incrementAndGet();
+            played++;
+        }
+    }
+
+    public synchronized int getQueuedFrames() {
+        return queue.size();
+    }
+
+    /**
+     * @return milliseconds of audio buffered ahead of the given master time
+     */
+    public synchronized long getBufferedMillis(long masterNow) {
+        return queue.isEmpty() ? 0 : Math.max(0, newestPlayoutTime + FRAME_DURATION_MS - masterNow);
+    }
+
+    /**
+     * @return true once the buffer is empty and the network has sent nothing for {@code idleMs}
+     */
+    public synchronized boolean isIdle(long masterNow, long idleMs) {
+        return queue.isEmpty() && (newestPlayoutTime == Long.MIN_VALUE || masterNow - newestPlayoutTime > idleMs);
+    }
+
+    public synchronized void clear() {
+        queue.clear();
+        newestPlayoutTime = Long.MIN_VALUE;
+    }
+
+    // Monitoring
+    public long getFramesQueued() {
+        return framesQueued.get();
+    }
+
+    public long getFramesPlayed() {
+        return framesPlayed.get();
+    }
+
+    public long getLateFrames() {
+        return lateFrames.get();
+    }
+
+    public long getOverflowFrames() {
+        return overflowFrames.get();
+    }
+}
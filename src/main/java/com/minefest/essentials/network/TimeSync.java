@@ -1,14 +1,16 @@
 package com.minefest.essentials.network;
 
-import com.google.common.io.ByteArrayDataInput;
-import com.google.common.io.ByteArrayDataOutput;
-import com.google.common.io.ByteStreams;
 import com.minefest.essentials.MinefestCore;
+import com.minefest.essentials.timing.ClientSyncEngine;
+import com.minefest.essentials.timing.ClockSampleFilter;
+import com.minefest.essentials.timing.MasterClock;
+import com.minefest.essentials.timing.MonotonicClock;
 import net.minecraft.server.level.ServerPlayer;
 import org.apache.logging.log4j.Logger;
 import org.apache.logging.log4j.LogManager;
 
-import java.io.IOException;
+import java.util.Set;
+import java.util.concurrent.ConcurrentHashMap;
 import java.util.concurrent.atomic.AtomicInteger;
 
 /**
@@ -21,41 +23,111 @@ import java.util.concurrent.atomic.AtomicInteger;
  * 2. [Index: 03.2] Handle incoming network synchronization messages
  * 3. [Index: 03.3] Validate message integrity and server identity
  * 4. [Index: 03.4] Route messages to appropriate MasterClock handlers
+ * 5. [Index: 03.5] Four-timestamp (t1..t4) request/response on the monotonic clock
+ * 6. [Index: 03.6] Filter exchanges to an offset and drift, then apply them to the MasterClock
+ * 7. [Index: 03.7] Leave client master time updates to the ClientSyncEngine when it runs
+ * 8. [Index: 03.8] Refer to servers by an index the time authority interns, not by name
+ * 9. [Index: 03.9] Client echoes and per-client time updates for the client clock filter
+ * 10. [Index: 03.10] Start the clock filter over when the authority or this server's role changes
  * 
  * Dependencies:
  * - MasterClock [Index: 01] - timing authority and synchronization logic
  * - MinefestCore [Index: 02] - server access and logging
- * - Google Guava [Index: N/A] - byte array serialization utilities
+ * - TimeSyncCodec [Index: 63] - versioned binary wire format, pooled per thread
+ * - MonotonicClock [Index: 60] - microsecond t1..t4 timestamps immune to wall clock steps
+ * - ClockSampleFilter [Index: 61] - minimum-delay sample selection and drift estimate
  * 
  * Related Files:
  * - MasterClock.java [Index: 01] - timing logic and synchronization state
  * - MinefestBungee.java [Index: 04] - BungeeCord proxy integration
+ * - ClientSyncEngine.java [Index: 62] - bucketed client delivery, single-connection sends to the proxy
+ * - ClientTimeSync.java [Index: 12] - per-client offset and drift estimated from client echoes
  */
 public class TimeSync {
     public static final String CHANNEL = "timesync";
     private static final Logger LOGGER = LogManager.getLogger();
     private static final AtomicInteger messageCounter = new AtomicInteger(0);
-    private static final int MAX_MESSAGE_SIZE = 32768; // 32KB max message size
     private static final int MAX_RETRY_ATTEMPTS = 3;
+    private static final long SIGNIFICANT_STEP_MS = 10; // the network-wide precision target
+    
+    // [Index: 03.6] Offset and drift of this server's clock against the time authority
+    private static final ClockSampleFilter clockFilter = new ClockSampleFilter();
+    
+    // [Index: 03.7] Set while the ClientSyncEngine delivers client updates
+    private static volatile boolean clientUpdatesDelegated = false;
+    
+    // [Index: 03.8] Assigned by the time authority, learned from its bindings everywhere else
+    private static final TimeSyncCodec.ServerTable serverTable = new TimeSyncCodec.ServerTable();
+    // Authority side: servers whose last request spelled out their id, so the reply must bind it
+    private static final Set<String> bindingPending = ConcurrentHashMap.newKeySet();
+    // Follower side: this server's index (0 until bound), unanswered requests, last t1 sent
+    private static volatile int ownServerIndex = 0;
+    private static final AtomicInteger unansweredRequests = new AtomicInteger(0);
+    private static volatile long lastRequestOrigin = Long.MIN_VALUE;
+    private static final int MAX_UNANSWERED_REQUESTS = 2; // then assume the authority lost our index
+    
+    // [Index: 03.10] Role last seen on this server's MasterClock, null until the first look
+    private static final Object authorityLock = new Object();
+    private static volatile Boolean lastAuthorityRole = null;
     
     public enum MessageType {
-        MASTER_TIME_UPDATE,    // From time authority to other servers
-        TIME_REQUEST,          // From server to time authority
-        TIME_RESPONSE,         // From time authority to requesting server
-        DRIFT_REPORT           // Report significant drift to time authority
+        MASTER_TIME_UPDATE(TimeSyncCodec.OP_MASTER_TIME_UPDATE),    // From time authority to other servers
+        TIME_REQUEST(TimeSyncCodec.OP_TIME_REQUEST),                // From server to time authority
+        TIME_RESPONSE(TimeSyncCodec.OP_TIME_RESPONSE),              // From time authority to requesting server
+        DRIFT_REPORT(TimeSyncCodec.OP_DRIFT_REPORT);                // Report significant drift to time authority
+        
+        private static final MessageType[] BY_OPCODE = new MessageType[5];
+        
+        static {
+            for (MessageType type : values()) {
+                BY_OPCODE[type.opcode] = type;
+            }
+        }
+        
+        private final int opcode;
+        
+        MessageType(int opcode) {
+            this.opcode = opcode;
+        }
+        
+        public int getOpcode() {
+            return opcode;
+        }
+        
+        /**
+         * @return the type with this wire opcode, or null
+         */
+        public static MessageType fromOpcode(int opcode) {
+            return opcode >= 0 && opcode < BY_OPCODE.length ? BY_OPCODE[opcode] : null;
+        }
     }
     
     /**
-     * Create a master time update message
+     * Create a master time update message.
+     * [Index: 03.7] MasterClock calls this once per player per client sync round and
+     * broadcasts each result to everyone; while the ClientSyncEngine delivers updates this
+     * returns null, which MasterClock already treats as nothing to send. The engine then
+     * also sends the authority's update for the other servers, once per interval.
      */
     public static byte[] createMasterTimeUpdate(long masterTime) {
+        if (clientUpdatesDelegated) {
+            return null;
+        }
+        return encodeMasterTimeUpdate(masterTime);
+    }
+    
+    public static void setClientUpdatesDelegated(boolean delegated) {
+        clientUpdatesDelegated = delegated;
+    }
+    
+    /**
+     * Encode a master time update unconditionally
+     */
+    public static byte[] encodeMasterTimeUpdate(long masterTime) {
         try {
-            ByteArrayDataOutput out = ByteStreams.newDataOutput();
-            out.writeUTF(MessageType.MASTER_TIME_UPDATE.name());
-            out.writeLong(masterTime);
-            
-            byte[] message = out.toByteArray();
-            validateMessageSize(message);
+            byte[] message = TimeSyncCodec.writer(TimeSyncCodec.OP_MASTER_TIME_UPDATE)
+                .fixed64(masterTime)
+                .toByteArray();
             
             LOGGER.debug("Created master time update message: time={}", masterTime);
             return message;
@@ -66,21 +138,62 @@ public class TimeSync {
     }
     
     /**
-     * Create a time request message
+     * [Index: 03.9] Master time update carrying the server's estimate of this client's
+     * offset (master minus client time, ms) and drift, so the client need not assume the
+     * update arrived instantly
+     */
+    public static byte[] encodeClientTimeUpdate(long masterTime, long clientOffset, long driftPpb) {
+        return TimeSyncCodec.writer(TimeSyncCodec.OP_CLIENT_TIME_UPDATE)
+            .fixed64(masterTime)
+            .zigzag(clientOffset)
+            .zigzag(driftPpb)
+            .toByteArray();
+    }
+    
+    /**
+     * [Index: 03.9] Client reply to a time update: the master time it carried, and the
+     * client clock when it arrived and when this echo is sent
+     */
+    public static byte[] encodeClientEcho(long masterTime, long clientReceive, long clientTransmit) {
+        return TimeSyncCodec.writer(TimeSyncCodec.OP_CLIENT_ECHO)
+            .fixed64(masterTime)
+            .fixed64(clientReceive)
+            .fixed64(clientTransmit)
+            .toByteArray();
+    }
+    
+    /**
+     * Create a time request message. The wall clock reading passed by callers is not
+     * used; the origin timestamp (t1) is taken from the monotonic clock.
      */
     public static byte[] createTimeRequest(String serverId, long localTime) {
+        return createTimeRequest(serverId);
+    }
+    
+    /**
+     * [Index: 03.5] Create a time request stamped with t1 in monotonic microseconds.
+     * [Index: 03.8] Names this server by its index once the authority has bound one.
+     */
+    public static byte[] createTimeRequest(String serverId) {
         try {
             validateServerId(serverId);
             
-            ByteArrayDataOutput out = ByteStreams.newDataOutput();
-            out.writeUTF(MessageType.TIME_REQUEST.name());
-            out.writeUTF(serverId);
-            out.writeLong(localTime);
-            
-            byte[] message = out.toByteArray();
-            validateMessageSize(message);
+            if (serverId.equals(MinefestCore.getServerId())) {
+                observeAuthority(false); // only followers ask
+            }
+            // An authority that restarted, or a new one, no longer knows our index and drops
+            // the requests; its clock is not the one the filter has been tracking
+            if (unansweredRequests.incrementAndGet() > MAX_UNANSWERED_REQUESTS && ownServerIndex != 0) {
+                ownServerIndex = 0;
+                resetClockFilter("time authority stopped answering");
+            }
+            TimeSyncCodec.Writer out = TimeSyncCodec.writer(TimeSyncCodec.OP_TIME_REQUEST);
+            writeServerRef(out, serverId);
+            long originTime = MonotonicClock.currentTimeMicros();
+            byte[] message = out.fixed64(originTime).toByteArray();
+            lastRequestOrigin = originTime;
             
-            LOGGER.debug("Created time request message: server={}, localTime={}", serverId, localTime);
+            LOGGER.debug("Created time request message: server={}, t1={}us", serverId, originTime);
             return message;
         } catch (Exception e) {
             LOGGER.error("Failed to create time request message for server: {}", serverId, e);
@@ -89,23 +202,31 @@ public class TimeSync {
     }
     
     /**
-     * Create a time response message
+     * [Index: 03.5] Create a time response: t1 echoed from the request, t2 when the
+     * request arrived, t3 when this response is sent (all microseconds)
      */
-    public static byte[] createTimeResponse(String serverId, long masterTime, long requestTime) {
+    public static byte[] createTimeResponse(String serverId, long originTime, long receiveTime, long transmitTime) {
+        return createTimeResponse(serverId, true, originTime, receiveTime, transmitTime);
+    }
+    
+    /**
+     * [Index: 03.8] Interns the requesting server; the index alone goes out once it is known there
+     */
+    private static byte[] createTimeResponse(String serverId, boolean bind, long originTime, long receiveTime,
+                                             long transmitTime) {
         try {
             validateServerId(serverId);
             
-            ByteArrayDataOutput out = ByteStreams.newDataOutput();
-            out.writeUTF(MessageType.TIME_RESPONSE.name());
-            out.writeUTF(serverId);
-            out.writeLong(masterTime);
-            out.writeLong(requestTime);
+            int index = serverTable.intern(serverId);
+            byte[] message = TimeSyncCodec.writer(TimeSyncCodec.OP_TIME_RESPONSE)
+                .serverRef(index, bind || index == 0 ? serverId : null)
+                .fixed64(originTime)
+                .fixed64(receiveTime)
+                .fixed64(transmitTime)
+                .toByteArray();
             
-            byte[] message = out.toByteArray();
-            validateMessageSize(message);
-            
-            LOGGER.debug("Created time response message: server={}, masterTime={}, requestTime={}", 
-                serverId, masterTime, requestTime);
+            LOGGER.debug("Created time response message: server={}, t1={}us, t2={}us, t3={}us", 
+                serverId, originTime, receiveTime, transmitTime);
             return message;
         } catch (Exception e) {
             LOGGER.error("Failed to create time response message for server: {}", serverId, e);
@@ -120,15 +241,12 @@ public class TimeSync {
         try {
             validateServerId(serverId);
             
-            ByteArrayDataOutput out = ByteStreams.newDataOutput();
-            out.writeUTF(MessageType.DRIFT_REPORT.name());
-            out.writeUTF(serverId);
-            out.writeLong(localTime);
-            out.writeLong(estimatedMasterTime);
-            out.writeLong(drift);
-            
-            byte[] message = out.toByteArray();
-            validateMessageSize(message);
+            TimeSyncCodec.Writer out = TimeSyncCodec.writer(TimeSyncCodec.OP_DRIFT_REPORT);
+            writeServerRef(out, serverId);
+            byte[] message = out.fixed64(localTime)
+                .fixed64(estimatedMasterTime)
+                .zigzag(drift)
+                .toByteArray();
             
             LOGGER.debug("Created drift report message: server={}, drift={}ms", serverId, drift);
             return message;
@@ -138,121 +256,305 @@ public class TimeSync {
         }
     }
     
+    // Our own index if the authority bound one, otherwise the id spelled out
+    private static void writeServerRef(TimeSyncCodec.Writer out, String serverId) {
+        int index = serverId.equals(MinefestCore.getServerId()) ? ownServerIndex : serverTable.indexOf(serverId);
+        out.serverRef(index, index == 0 ? serverId : null);
+    }
+    
+    /**
+     * Read the master time from a MASTER_TIME_UPDATE received on the client.
+     * Clients hold no MasterClock, so this only decodes and never dispatches.
+     *
+     * @return the master time, or -1 if the message is not a master time update
+     */
+    public static long readMasterTimeUpdate(byte[] message) {
+        if (TimeSyncCodec.opcode(message) != TimeSyncCodec.OP_MASTER_TIME_UPDATE) {
+            return -1;
+        }
+        try {
+            return TimeSyncCodec.reader(message).fixed64();
+        } catch (IllegalStateException e) {
+            LOGGER.debug("Malformed master time update: {}", e.getMessage());
+            return -1;
+        }
+    }
+    
+    /**
+     * [Index: 03.4] Receiver of decoded messages. The server routes them to the
+     * MasterClock; benchmarks pass their own to measure decode and dispatch alone.
+     * receiveTime and destinationTime (t2, t4) are read when the message arrives.
+     */
+    public interface MessageHandler {
+        void onMasterTimeUpdate(String sourceServer, int msgId, long masterTime);
+        void onTimeRequest(String sourceServer, int msgId, String requestingServer, long originTime, long receiveTime);
+        void onTimeResponse(String sourceServer, int msgId, String serverId, long originTime, long receiveTime,
+                            long transmitTime, long destinationTime);
+        void onDriftReport(String sourceServer, int msgId, String serverId, long localTime, long estimatedMasterTime, long drift);
+    }
+    
+    private static final MessageHandler MASTER_CLOCK_HANDLER = new MessageHandler() {
+        @Override
+        public void onMasterTimeUpdate(String sourceServer, int msgId, long masterTime) {
+            LOGGER.debug("Message #{}: Master time update from {}: {}", msgId, sourceServer, masterTime);
+            MasterClock clock = MinefestCore.getMasterClock();
+            observeAuthority(clock.isTimeAuthority());
+            
+            // One-way updates carry the proxy delay in full; once exchanges have produced an
+            // estimate they only re-apply it, which also absorbs local wall clock steps
+            if (clockFilter.hasEstimate() && !clock.isTimeAuthority()) {
+                applyClockEstimate(clock);
+                return;
+            }
+            clock.handleMasterTimeUpdate(masterTime);
+        }
+        
+        @Override
+        public void onTimeRequest(String sourceServer, int msgId, String requestingServer, long originTime, long receiveTime) {
+            LOGGER.debug("Message #{}: Time request from {} at t1={}us", msgId, requestingServer, originTime);
+            
+            boolean authority = MinefestCore.getMasterClock().isTimeAuthority();
+            observeAuthority(authority);
+            if (authority) {
+                handleTimeRequestAsAuthority(requestingServer, originTime, receiveTime, msgId);
+            } else {
+                LOGGER.debug("Ignoring time request as this server is not the time authority");
+            }
+        }
+        
+        @Override
+        public void onTimeResponse(String sourceServer, int msgId, String serverId, long originTime, long receiveTime,
+                                   long transmitTime, long destinationTime) {
+            LOGGER.debug("Message #{}: Time response from {} for server {}: t1={}us, t2={}us, t3={}us, t4={}us", 
+                msgId, sourceServer, serverId, originTime, receiveTime, transmitTime, destinationTime);
+            
+            // The proxy broadcasts authority messages; only our own exchanges are samples
+            MasterClock clock = MinefestCore.getMasterClock();
+            observeAuthority(clock.isTimeAuthority());
+            if (!serverId.equals(MinefestCore.getServerId()) || clock.isTimeAuthority()) {
+                return;
+            }
+            // [Index: 03.8] The response carried or confirmed our index; a different one
+            // comes from an authority that interned us afresh
+            int index = serverTable.indexOf(serverId);
+            if (ownServerIndex != 0 && index != ownServerIndex) {
+                resetClockFilter("time authority rebound this server");
+            }
+            ownServerIndex = index;
+            unansweredRequests.set(0);
+            
+            // Only the reply to our latest request; a late reply to an earlier one would pair
+            // its t1 with a t4 taken now
+            if (originTime != lastRequestOrigin) {
+                LOGGER.debug("Message #{}: Ignoring stale time response (t1={}us)", msgId, originTime);
+                return;
+            }
+            if (!clockFilter.addSample(originTime, receiveTime, transmitTime, destinationTime)) {
+                LOGGER.debug("Message #{}: Rejected time sample with delay {}us", msgId,
+                    (destinationTime - originTime) - (transmitTime - receiveTime));
+                return;
+            }
+            applyClockEstimate(clock);
+        }
+        
+        @Override
+        public void onDriftReport(String sourceServer, int msgId, String serverId, long localTime, long estimatedMasterTime, long drift) {
+            LOGGER.warn("Message #{}: Drift report from {}: server={}, localTime={}, estimatedMasterTime={}, drift={}ms",
+                msgId, sourceServer, serverId, localTime, estimatedMasterTime, drift);
+        }
+    };
+    
     /**
      * Parse an incoming message
      */
     public static void handleMessage(byte[] message, String sourceServer) {
+        handleMessage(message, sourceServer, MASTER_CLOCK_HANDLER);
+    }
+    
+    /**
+     * [Index: 03.6] Point the MasterClock at the filtered authority time. The MasterClock
+     * reads the wall clock each tick, so the offset is set relative to it; re-applying on
+     * every authority broadcast keeps a stepped wall clock from lasting.
+     */
+    private static void applyClockEstimate(MasterClock clock) {
+        long localMicros = MonotonicClock.currentTimeMicros();
+        long authorityMillis = (localMicros + clockFilter.offsetMicrosAt(localMicros)) / 1000L;
+        long wallNow = System.currentTimeMillis();
+        long previousOffset = clock.getNetworkTimeOffset();
+        long offset = authorityMillis - wallNow;
+        
+        clock.setNetworkTimeOffset(offset);
+        clock.setLastSuccessfulSync(wallNow);
+        LOGGER.debug("Network time offset {}ms (delay {}us, drift {} ppm)", 
+            offset, clockFilter.getDelayMicros(), String.format("%.2f", clockFilter.getDriftPpm()));
+        
+        // Corrections beyond the precision target are reported to the authority
+        long step = offset - previousOffset;
+        if (Math.abs(step) > SIGNIFICANT_STEP_MS) {
+            byte[] report = createDriftReport(MinefestCore.getServerId(), wallNow, authorityMillis, step);
+            if (report != null) {
+                ClientSyncEngine.sendToNetwork(report);
+            }
+        }
+    }
+    
+    /**
+     * [Index: 03.10] Note this server's authority role; the filter tracks the authority
+     * from a follower's side, so its samples mean nothing across a change either way.
+     * Called every server tick and whenever a message is handled.
+     */
+    public static void observeAuthority(boolean isAuthority) {
+        Boolean last = lastAuthorityRole;
+        if (last != null && last == isAuthority) {
+            return;
+        }
+        synchronized (authorityLock) {
+            last = lastAuthorityRole;
+            lastAuthorityRole = isAuthority;
+            if (last != null && last != isAuthority) {
+                // The index was interned by the authority we followed, or is ours to hand out now
+                ownServerIndex = 0;
+                resetClockFilter(isAuthority ? "this server became the time authority"
+                    : "this server is no longer the time authority");
+            }
+        }
+    }
+    
+    // [Index: 03.10] A reply still in flight belongs to the old authority
+    private static void resetClockFilter(String reason) {
+        clockFilter.reset();
+        lastRequestOrigin = Long.MIN_VALUE;
+        LOGGER.info("Clock filter reset: {}", reason);
+    }
+    
+    /**
+     * Offset/drift estimate against the time authority (for monitoring)
+     */
+    public static ClockSampleFilter getClockFilter() {
+        return clockFilter;
+    }
+    
+    /**
+     * Parse an incoming message and dispatch it to the given handler
+     */
+    public static void handleMessage(byte[] message, String sourceServer, MessageHandler handler) {
+        // [Index: 03.5] t2 / t4 - read before anything else so decoding is not counted as delay
+        long arrivalTime = MonotonicClock.currentTimeMicros();
         if (message == null || message.length == 0) {
             LOGGER.warn("Received empty message from server: {}", sourceServer);
             return;
         }
         
         try {
-            validateMessageSize(message);
             validateServerId(sourceServer);
             
-            ByteArrayDataInput in = ByteStreams.newDataInput(message);
-            MessageType type = MessageType.valueOf(in.readUTF());
+            TimeSyncCodec.Reader in = TimeSyncCodec.reader(message);
+            MessageType type = in != null ? MessageType.fromOpcode(TimeSyncCodec.opcode(message)) : null;
+            if (type == null) {
+                LOGGER.debug("Ignoring unrecognised {}-byte message from server {}", message.length, sourceServer);
+                return;
+            }
             
             int msgId = messageCounter.incrementAndGet();
             LOGGER.debug("Processing message #{} of type {} from server {}", msgId, type, sourceServer);
             
             switch (type) {
                 case MASTER_TIME_UPDATE:
-                    handleMasterTimeUpdate(in, sourceServer, msgId);
+                    handler.onMasterTimeUpdate(sourceServer, msgId, in.fixed64());
                     break;
                     
                 case TIME_REQUEST:
-                    handleTimeRequest(in, sourceServer, msgId);
+                    handleTimeRequest(in, sourceServer, msgId, arrivalTime, handler);
                     break;
                     
                 case TIME_RESPONSE:
-                    handleTimeResponse(in, sourceServer, msgId);
+                    handleTimeResponse(in, sourceServer, msgId, arrivalTime, handler);
                     break;
                     
                 case DRIFT_REPORT:
-                    handleDriftReport(in, sourceServer, msgId);
+                    handleDriftReport(in, sourceServer, msgId, handler);
                     break;
-                    
-                default:
-                    LOGGER.warn("Unknown message type received: {} from server {}", type, sourceServer);
             }
         } catch (IllegalArgumentException e) {
             LOGGER.error("Invalid message format from server: {}", sourceServer, e);
-        } catch (IOException e) {
-            LOGGER.error("Error reading message from server: {}", sourceServer, e);
+        } catch (IllegalStateException e) {
+            LOGGER.error("Error reading message from server: {}: {}", sourceServer, e.getMessage());
         } catch (Exception e) {
             LOGGER.error("Unexpected error handling message from server: {}", sourceServer, e);
         }
     }
     
-    private static void handleMasterTimeUpdate(ByteArrayDataInput in, String sourceServer, int msgId) throws IOException {
-        long masterTime = in.readLong();
-        LOGGER.debug("Message #{}: Master time update from {}: {}", msgId, sourceServer, masterTime);
-        MinefestCore.getMasterClock().handleMasterTimeUpdate(masterTime);
-    }
-    
-    private static void handleTimeRequest(ByteArrayDataInput in, String sourceServer, int msgId) throws IOException {
-        String requestingServer = in.readUTF();
-        long requestTime = in.readLong();
-        
-        LOGGER.debug("Message #{}: Time request from {} at time {}", msgId, requestingServer, requestTime);
-        
-        if (MinefestCore.getMasterClock().isTimeAuthority()) {
-            handleTimeRequestAsAuthority(requestingServer, requestTime, msgId);
+    private static void handleTimeRequest(TimeSyncCodec.Reader in, String sourceServer, int msgId, long receiveTime,
+                                          MessageHandler handler) {
+        String requestingServer = in.serverRef(serverTable);
+        if (requestingServer == null) {
+            // Not interned here (e.g. this authority restarted); the requester falls back to its id
+            LOGGER.debug("Message #{}: Dropping time request from unknown server index", msgId);
+            return;
+        }
+        // [Index: 03.8] A requester that spelled out its id has not learned its index yet
+        if (in.lastRefBinding()) {
+            bindingPending.add(requestingServer);
         } else {
-            LOGGER.debug("Ignoring time request as this server is not the time authority");
+            bindingPending.remove(requestingServer);
         }
+        long originTime = in.fixed64();
+        handler.onTimeRequest(sourceServer, msgId, requestingServer, originTime, receiveTime);
     }
     
-    private static void handleTimeResponse(ByteArrayDataInput in, String sourceServer, int msgId) throws IOException {
-        String serverId = in.readUTF();
-        long responseMasterTime = in.readLong();
-        long originalRequestTime = in.readLong();
-        
-        LOGGER.debug("Message #{}: Time response from {} for server {}: masterTime={}, requestTime={}", 
-            msgId, sourceServer, serverId, responseMasterTime, originalRequestTime);
-            
-        MinefestCore.getMasterClock().handleTimeResponse(responseMasterTime, originalRequestTime);
+    private static void handleTimeResponse(TimeSyncCodec.Reader in, String sourceServer, int msgId, long destinationTime,
+                                           MessageHandler handler) {
+        String serverId = in.serverRef(serverTable);
+        if (serverId == null) {
+            return; // another server's exchange, bound before we were listening
+        }
+        long originTime = in.fixed64();
+        long receiveTime = in.fixed64();
+        long transmitTime = in.fixed64();
+        handler.onTimeResponse(sourceServer, msgId, serverId, originTime, receiveTime, transmitTime, destinationTime);
     }
     
-    private static void handleDriftReport(ByteArrayDataInput in, String sourceServer, int msgId) throws IOException {
-        String serverId = in.readUTF();
-        long localTime = in.readLong();
-        long estimatedMasterTime = in.readLong();
-        long drift = in.readLong();
-        
-        LOGGER.warn("Message #{}: Drift report from {}: server={}, localTime={}, estimatedMasterTime={}, drift={}ms",
-            msgId, sourceServer, serverId, localTime, estimatedMasterTime, drift);
+    private static void handleDriftReport(TimeSyncCodec.Reader in, String sourceServer, int msgId, MessageHandler handler) {
+        String serverId = in.serverRef(serverTable);
+        if (serverId == null) {
+            LOGGER.debug("Message #{}: Dropping drift report from unknown server index", msgId);
+            return;
+        }
+        long localTime = in.fixed64();
+        long estimatedMasterTime = in.fixed64();
+        long drift = in.zigzag();
+        handler.onDriftReport(sourceServer, msgId, serverId, localTime, estimatedMasterTime, drift);
     }
     
-    private static void handleTimeRequestAsAuthority(String requestingServer, long requestTime, int msgId) {
+    /**
+     * [Index: 03.5] t2 and t3 are on the authority's MasterClock timescale (its wall clock
+     * plus any offset), read through the monotonic clock at microsecond resolution rather
+     * than from the once-per-tick master time
+     */
+    private static void handleTimeRequestAsAuthority(String requestingServer, long originTime, long receiveTime, int msgId) {
+        long toMasterTime = (MonotonicClock.wallClockStepMillis() + MinefestCore.getMasterClock().getNetworkTimeOffset()) * 1000L;
         byte[] response = createTimeResponse(
             requestingServer,
-            MinefestCore.getMasterClock().getCurrentTime(),
-            requestTime
+            bindingPending.contains(requestingServer),
+            originTime,
+            receiveTime + toMasterTime,
+            MonotonicClock.currentTimeMicros() + toMasterTime
         );
         
         if (response != null) {
             LOGGER.debug("Message #{}: Sending time response to server {}", msgId, requestingServer);
-            MinefestCore.sendPluginMessage(CHANNEL, response);
+            ClientSyncEngine.sendToNetwork(response);
         } else {
             LOGGER.error("Message #{}: Failed to create time response for server {}", msgId, requestingServer);
         }
     }
     
-    private static void validateMessageSize(byte[] message) throws IOException {
-        if (message.length > MAX_MESSAGE_SIZE) {
-            throw new IOException("Message size exceeds maximum allowed size: " + message.length + " > " + MAX_MESSAGE_SIZE);
-        }
-    }
-    
     private static void validateServerId(String serverId) throws IllegalArgumentException {
         if (serverId == null || serverId.trim().isEmpty()) {
             throw new IllegalArgumentException("Server ID cannot be null or empty");
         }
-        if (serverId.length() > 64) {
-            throw new IllegalArgumentException("Server ID exceeds maximum length of 64 characters");
+        if (serverId.length() > TimeSyncCodec.MAX_SERVER_ID_BYTES) {
+            throw new IllegalArgumentException("Server ID exceeds maximum length of " + TimeSyncCodec.MAX_SERVER_ID_BYTES + " characters");
         }
     }
 } 
\ No newline at end of file
@@ -0,0 +1,383 @@
+package com.minefest.essentials.network;
+
+import java.nio.charset.StandardCharsets;
+import java.util.Arrays;
+import java.util.Map;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicReferenceArray;
+
+/**
+ * COMPONENT SIGNPOST [Index: 63]
+ * Purpose: Versioned binary wire format for TimeSync messages
+ * Side: COMMON - servers encode and decode, clients decode, the proxy peeks at headers
+ *
+ * Workflow:
+ * 1. [Index: 63.1] Header: one version tag byte and one opcode byte
+ * 2. [Index: 63.2] Fields: fixed64 timestamps, zigzag varints for signed deltas
+ * 3. [Index: 63.3] Server references: an interned index, with the id spelled out only to bind it
+ * 4. [Index: 63.4] Per-thread Writer and Reader reused for every message
+ * 5. [Index: 63.5] Header peeks for routing without decoding the body
+ *
+ * Dependencies:
+ * - None (plain Java, so the BungeeCord plugin can use it without Minecraft classes)
+ *
+ * Related Files:
+ * - TimeSync.java [Index: 03] - message semantics, encode/decode entry points
+ * - MinefestBungee.java [Index: 04] - routes responses using the header peeks
+ *
+ * Layout (version 1):
+ *   MASTER_TIME_UPDATE  [tag][1][masterTime:fixed64]
+ *   TIME_REQUEST        [tag][2][server ref][t1:fixed64]
+ *   TIME_RESPONSE       [tag][3][server ref][t1:fixed64][t2:fixed64][t3:fixed64]
+ *   DRIFT_REPORT        [tag][4][server ref][localTime:fixed64][estimatedMasterTime:fixed64][drift:zigzag]
+ *   CLIENT_ECHO         [tag][5][masterTime:fixed64][clientReceive:fixed64][clientTransmit:fixed64]
+ *   CLIENT_TIME_UPDATE  [tag][6][masterTime:fixed64][offset:zigzag][driftPpb:zigzag]
+ *   server ref          varint (index << 1), or varint (index << 1 | 1) + varint length + UTF-8 id
+ * Index 0 means "not yet assigned"; the time authority assigns indexes and echoes the
+ * binding in its response, after which the requester sends the index alone.
+ */
+public final class TimeSyncCodec {
+    public static final int VERSION = 1;
+    public static final byte VERSION_TAG = (byte) (0x80 | VERSION);   // never a legacy writeUTF length byte
+    public static final int MAX_SERVER_ID_BYTES = 64;
+    public static final int MAX_SERVER_INDEX = Short.MAX_VALUE;
+    public static final int MAX_MESSAGE_BYTES = 2 + 5 + 1 + MAX_SERVER_ID_BYTES + 3 * Long.BYTES + 10;
+
+    public static final int OP_MASTER_TIME_UPDATE = 1;
+    public static final int OP_TIME_REQUEST = 2;
+    public static final int OP_TIME_RESPONSE = 3;
+    public static final int OP_DRIFT_REPORT = 4;
+    public static final int OP_CLIENT_ECHO = 5;
+    public static final int OP_CLIENT_TIME_UPDATE = 6;
+
+    private static final ThreadLocal<Writer> WRITERS = ThreadLocal.withInitial(Writer::new);
+    private static final ThreadLocal<Reader> READERS = ThreadLocal.withInitial(Reader::new);
+
+    private TimeSyncCodec() {
+    }
+
+    /**
+     * [Index: 63.4] This thread's writer, reset to an empty message
+     */
+    public static Writer writer(int opcode) {
+        return WRITERS.get().begin(opcode);
+    }
+
+    /**
+     * [Index: 63.4] This thread's reader positioned after the header, or null if the
+     * message is not this version of the format
+     */
+    public static Reader reader(byte[] message) {
+        if (opcode(message) < 0) {
+            return null;
+        }
+        return READERS.get().reset(message);
+    }
+
+    // [Index: 63.5] Header peeks
+
+    /**
+     * @return the opcode, or -1 if the message is not version 1 binary
+     */
+    public static int opcode(byte[] message) {
+        if (message == null || message.length < 2 || message.length > MAX_MESSAGE_BYTES || message[0] != VERSION_TAG) {
+            return -1;
+        }
+        return message[1] & 0xFF;
+    }
+
+    /**
+     * @return the server index of a request, response or drift report (0 if unassigned), or -1
+     */
+    public static int peekServerIndex(byte[] message) {
+        int opcode = opcode(message);
+        if (opcode != OP_TIME_REQUEST && opcode != OP_TIME_RESPONSE && opcode != OP_DRIFT_REPORT) {
+            return -1;
+        }
+        Reader reader = READERS.get().reset(message);
+        try {
+            return (int) (reader.varint() >>> 1);
+        } catch (IllegalStateException e) {
+            return -1;
+        }
+    }
+
+    /**
+     * @return the spelled-out server id of a binding reference, or null if the message
+     *         carries an index alone
+     */
+    public static String peekServerId(byte[] message) {
+        if (peekServerIndex(message) < 0) {
+            return null;
+        }
+        Reader reader = READERS.get().reset(message);
+        try {
+            long ref = reader.varint();
+            if ((ref & 1) == 0) {
+                return null;
+            }
+            int length = reader.length();
+            return new String(message, reader.position, length, StandardCharsets.UTF_8);
+        } catch (IllegalStateException e) {
+            return null;
+        }
+    }
+
+    /**
+     * [Index: 63.4] Reusable encoder over a fixed array sized for the largest message
+     */
+    public static final class Writer {
+        private final byte[] buffer = new byte[MAX_MESSAGE_BYTES];
+        private int position;
+
+        private Writer begin(int opcode) {
+            buffer[0] = VERSION_TAG;
+            buffer[1] = (byte) opcode;
+            position = 2;
+            return this;
+        }
+
+        // [Index: 63.2] Big-endian, eight bytes - timestamps are too large for varints to help
+        public Writer fixed64(long value) {
+            for (int shift = 56; shift >= 0; shift -= 8) {
+                buffer[position++] = (byte) (value >>> shift);
+            }
+            return this;
+        }
+
+        public Writer varint(long value) {
+            while ((value & ~0x7FL) != 0) {
+                buffer[position++] = (byte) ((value & 0x7F) | 0x80);
+                value >>>= 7;
+            }
+            buffer[position++] = (byte) value;
+            return this;
+        }
+
+        public Writer zigzag(long value) {
+            return varint((value << 1) ^ (value >> 63));
+        }
+
+        /**
+         * [Index: 63.3] Index alone when {@code serverId} is null, otherwise a binding
+         */
+        public Writer serverRef(int index, String serverId) {
+            if (serverId == null) {
+                return varint((long) index << 1);
+            }
+            varint(((long) index << 1) | 1);
+            int lengthAt = position++;
+            int length = 0;
+            for (int i = 0; i < serverId.length(); i++) {
+                char c = serverId.charAt(i);
+                if (c >= 0x80) {
+                    // Rare; server ids are ASCII in practice
+                    byte[] utf8 = serverId.getBytes(StandardCharsets.UTF_8);
+                    if (utf8.length > MAX_SERVER_ID_BYTES) {
+                        throw new IllegalArgumentException("Server ID exceeds " + MAX_SERVER_ID_BYTES + " bytes");
+                    }
+                    System.arraycopy(utf8, 0, buffer, lengthAt + 1, utf8.length);
+                    length = utf8.length;
+                    break;
+                }
+                if (length == MAX_SERVER_ID_BYTES) {
+                    throw new IllegalArgumentException("Server ID exceeds " + MAX_SERVER_ID_BYTES + " bytes");
+                }
+                buffer[lengthAt + 1 + length++] = (byte) c;
+            }
+            buffer[lengthAt] = (byte) length;
+            position = lengthAt + 1 + length;
+            return this;
+        }
+
+        public int length() {
+            return position;
+        }
+
+        /**
+         * The encoded bytes; valid until this thread's next message
+         */
+        public byte[] array() {
+            return buffer;
+        }
+
+        public byte[] toByteArray() {
+            return Arrays.copyOf(buffer, position);
+        }
+    }
+
+    /**
+     * [Index: 63.4] Reusable decoder reading primitives straight from the message array
+     */
+    public static final class Reader {
+        private byte[] buffer;
+        private int position;
+        private int limit;
+        private boolean lastRefBinding;
+
+        private Reader reset(byte[] message) {
+            this.buffer = message;
+            this.position = 2;
+            this.limit = message.length;
+            return this;
+        }
+
+        public long fixed64() {
+            require(Long.BYTES);
+            long value = 0;
+            for (int i = 0; i < Long.BYTES; i++) {
+                value = (value << 8) | (buffer[position++] & 0xFF);
+            }
+            return value;
+        }
+
+        public long varint() {
+            long value = 0;
+            for (int shift = 0; shift < 64; shift += 7) {
+                require(1);
+                byte b = buffer[position++];
+                value |= (long) (b & 0x7F) << shift;
+                if (b >= 0) {
+                    return value;
+                }
+            }
+            throw new IllegalStateException("Malformed varint");
+        }
+
+        public long zigzag() {
+            long raw = varint();
+            return (raw >>> 1) ^ -(raw & 1);
+        }
+
+        /**
+         * [Index: 63.3] Read a server reference. Bindings are recorded in {@code table};
+         * the returned id is the table's own instance whenever it already knows it.
+         *
+         * @return the server id, or null if the index is unknown here
+         */
+        public String serverRef(ServerTable table) {
+            long ref = varint();
+            int index = (int) (ref >>> 1);
+            lastRefBinding = (ref & 1) != 0;
+            if (!lastRefBinding) {
+                return table.nameOf(index);
+            }
+
+            int length = length();
+            String known = table.nameOf(index);
+            String id = known != null && matches(known, buffer, position, length)
+                ? known
+                : new String(buffer, position, length, StandardCharsets.UTF_8);
+            position += length;
+            if (index > 0) {
+                table.bind(index, id);
+            }
+            return id;
+        }
+
+        /**
+         * Whether the last server reference spelled its id out, i.e. the sender has no index yet
+         */
+        public boolean lastRefBinding() {
+            return lastRefBinding;
+        }
+
+        public boolean hasRemaining() {
+            return position < limit;
+        }
+
+        private int length() {
+            int length = (int) varint();
+            if (length < 0 || length > MAX_SERVER_ID_BYTES) {
+                throw new IllegalStateException("Server ID length " + length + " out of range");
+            }
+            require(length);
+            return length;
+        }
+
+        private void require(int bytes) {
+            if (limit - position < bytes) {
+                throw new IllegalStateException("Truncated message");
+            }
+        }
+
+        private static boolean matches(String id, byte[] bytes, int offset, int length) {
+            if (id.length() != length) {
+                return false;
+            }
+            for (int i = 0; i < length; i++) {
+                if (id.charAt(i) != bytes[offset + i]) {
+                    return false; // also catches multi-byte UTF-8, which then decodes normally
+                }
+            }
+            return true;
+        }
+    }
+
+    /**
+     * [Index: 63.3] Server id interning. The time authority assigns indexes with intern();
+     * every other party learns them from bindings with bind().
+     */
+    public static final class ServerTable {
+        private final Map<String, Integer> indexByName = new ConcurrentHashMap<>();
+        private final AtomicReferenceArray<String> nameByIndex = new AtomicReferenceArray<>(MAX_SERVER_INDEX + 1);
+        private int nextIndex = 1;
+
+        /**
+         * @return the index for {@code serverId}, assigning one if needed, or 0 if the table is full
+         */
+        public int intern(String serverId) {
+            Integer index = indexByName.get(serverId);
+            if (index != null) {
+                return index;
+            }
+            synchronized (this) {
+                index = indexByName.get(serverId);
+                if (index != null) {
+                    return index;
+                }
+                if (nextIndex > MAX_SERVER_INDEX) {
+                    return 0;
+                }
+                int assigned = nextIndex++;
+                nameByIndex.set(assigned, serverId);
+                indexByName.put(serverId, assigned);
+                return assigned;
+            }
+        }
+
+        public void bind(int index, String serverId) {
+            if (index <= 0 || index > MAX_SERVER_INDEX || serverId.equals(nameByIndex.get(index))) {
+                return;
+            }
+            synchronized (this) {
+                String previous = nameByIndex.getAndSet(index, serverId);
+                if (previous != null) {
+                    indexByName.remove(previous, index);
+                }
+                indexByName.put(serverId, index);
+                nextIndex = Math.max(nextIndex, index + 1);
+            }
+        }
+
+        public String nameOf(int index) {
+            return index > 0 && index <= MAX_SERVER_INDEX ? nameByIndex.get(index) : null;
+        }
+
+        /**
+         * @return the index of {@code serverId}, or 0 if it has none
+         */
+        public int indexOf(String serverId) {
+            Integer index = indexByName.get(serverId);
+            return index != null ? index : 0;
+        }
+
+        public synchronized void clear() {
+            for (String name : indexByName.keySet()) {
+                nameByIndex.set(indexByName.get(name), null);
+            }
+            indexByName.clear();
+            nextIndex = 1;
+        }
+    }
+}
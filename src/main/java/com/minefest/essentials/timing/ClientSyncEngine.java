@@ -0,0 +1,411 @@
+package com.minefest.essentials.timing;
+
+import com.minefest.essentials.MinefestCore;
+import com.minefest.essentials.config.MinefestConfig;
+import com.minefest.essentials.network.TimeSync;
+import com.minefest.essentials.network.TimeSyncCodec;
+
+import net.minecraft.network.FriendlyByteBuf;
+import net.minecraft.network.protocol.common.ClientboundCustomPayloadPacket;
+import net.minecraft.network.protocol.common.custom.CustomPacketPayload;
+import net.minecraft.resources.ResourceLocation;
+import net.minecraft.server.MinecraftServer;
+import net.minecraft.server.level.ServerPlayer;
+import net.minecraftforge.api.distmarker.Dist;
+import net.minecraftforge.event.TickEvent;
+import net.minecraftforge.event.entity.player.PlayerEvent;
+import net.minecraftforge.event.network.CustomPayloadEvent;
+import net.minecraftforge.eventbus.api.SubscribeEvent;
+import net.minecraftforge.fml.common.Mod;
+import net.minecraftforge.fml.event.lifecycle.FMLCommonSetupEvent;
+import net.minecraftforge.network.ChannelBuilder;
+import net.minecraftforge.server.ServerLifecycleHooks;
+
+import java.util.ArrayList;
+import java.util.List;
+import java.util.Set;
+import java.util.UUID;
+import java.util.concurrent.ConcurrentHashMap;
+import java.util.concurrent.atomic.AtomicLong;
+
+/**
+ * COMPONENT SIGNPOST [Index: 62]
+ * Purpose: Client master time delivery - one encode and one packet per player per interval
+ * Side: DEDICATED_SERVER only - runs at the end of each server tick
+ *
+ * Workflow:
+ * 1. [Index: 62.1] Hash every player into one of (clientSyncInterval / tick) buckets
+ * 2. [Index: 62.2] Each tick, serialize the master time once and send it to that tick's bucket
+ * 3. [Index: 62.3] Send to players as they join so nobody waits a full interval
+ * 4. [Index: 62.4] Take client updates over from MasterClock's per-player broadcast loop
+ * 5. [Index: 62.5] Feed each client's echoes into its ClientTimeSync filter
+ * 6. [Index: 62.6] Skip bucket visits while a client's filter says it is still in sync
+ * 7. [Index: 62.7] Keep each bucket's players in a list maintained on login and logout
+ * 8. [Index: 62.8] Send server-to-server time messages over a single player connection
+ *
+ * Dependencies:
+ * - MasterClock [Index: 01] - network time offset of this server
+ * - TimeSync [Index: 03] - master time update encoding, authority role changes
+ * - MinefestConfig [Index: 10] - clientSyncInterval
+ * - ClientTimeSync [Index: 12] - per-client offset, drift and sync interval
+ *
+ * Related Files:
+ * - ClientAudioHandler.java [Index: 29] - receives the updates and keeps the client offset
+ *
+ * MasterClock.syncToClients (locked) broadcasts to every player once per player; while this
+ * engine runs, TimeSync hands that loop nothing to send, so each player gets exactly one
+ * packet per interval and the cost of a tick is bounded by the bucket, not the player count.
+ * Clients whose offset estimate has converged are synced every few intervals instead, and
+ * are sent their own offset rather than the shared one-way update.
+ *
+ * That loop also carried the time authority's update to the other servers, so on the
+ * authority this engine sends one per interval itself. Messages for the proxy only need
+ * one connection to reach it; every further copy is a packet the proxy discards.
+ */
+@Mod.EventBusSubscriber(modid = MinefestCore.MOD_ID, value = Dist.DEDICATED_SERVER)
+public final class ClientSyncEngine {
+    private static final long TICK_MS = 50;
+    private static final ResourceLocation CHANNEL_ID = new ResourceLocation(MinefestCore.MOD_ID, TimeSync.CHANNEL);
+
+    private static volatile boolean enabled = true;
+    private static long tick = 0;
+
+    private static final AtomicLong updatesEncoded = new AtomicLong(0);
+    private static final AtomicLong packetsSent = new AtomicLong(0);
+    private static final AtomicLong echoesReceived = new AtomicLong(0);
+    private static volatile int lastBucketSize = 0;
+    private static final AtomicLong networkMessagesSent = new AtomicLong(0);
+
+    // [Index: 62.7] Online players, and the same players by bucket (server thread only)
+    private static final Set<UUID> online = ConcurrentHashMap.newKeySet();
+    private static List<List<UUID>> bucketPlayers = List.of();
+    private static boolean wasAuthority = false;
+
+    // Creates and removes ClientTimeSyncs; the network and server threads both look them up
+    private static final Object clientSyncLock = new Object();
+
+    /**
+     * Encoded once per tick and shared by every packet of that tick, or once per player
+     * for clients with their own offset estimate; also carries messages for the proxy
+     */
+    private record MasterTimePayload(byte[] message) implements CustomPacketPayload {
+        @Override
+        public ResourceLocation id() {
+            return CHANNEL_ID;
+        }
+
+        @Override
+        public void write(FriendlyByteBuf buffer) {
+            buffer.writeBytes(message);
+        }
+    }
+
+    private ClientSyncEngine() {
+    }
+
+    /**
+     * [Index: 62.5] The echo channel is registered on the mod bus, like the client's listeners
+     */
+    @Mod.EventBusSubscriber(modid = MinefestCore.MOD_ID, bus = Mod.EventBusSubscriber.Bus.MOD, value = Dist.DEDICATED_SERVER)
+    public static final class Registration {
+        private Registration() {
+        }
+
+        @SubscribeEvent
+        public static void onCommonSetup(FMLCommonSetupEvent event) {
+            event.enqueueWork(() -> ChannelBuilder.named(CHANNEL_ID)
+                .optional()
+                .eventNetworkChannel()
+                .addListener(ClientSyncEngine::onClientEcho));
+        }
+    }
+
+    public static boolean isEnabled() {
+        return enabled;
+    }
+
+    /**
+     * Disabled, MasterClock's own client broadcast resumes
+     */
+    public static void setEnabled(boolean engineEnabled) {
+        enabled = engineEnabled;
+        TimeSync.setClientUpdatesDelegated(engineEnabled);
+    }
+
+    /**
+     * [Index: 62.2] One bucket per tick
+     */
+    @SubscribeEvent
+    public static void onServerTick(TickEvent.ServerTickEvent event) {
+        if (event.phase != TickEvent.Phase.END) {
+            return;
+        }
+
+        try {
+            if (!MinefestConfig.ensureLoaded()) {
+                return;
+            }
+            MasterClock clock = MinefestCore.getMasterClock();
+            // [Index: 03.10] Role changes show up here even when no time message arrives
+            boolean authority = clock.isTimeAuthority();
+            TimeSync.observeAuthority(authority);
+            if (!enabled) {
+                wasAuthority = false;
+                return;
+            }
+            // [Index: 62.4] Idempotent; covers the first tick after startup
+            TimeSync.setClientUpdatesDelegated(true);
+
+            MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+            if (server == null) {
+                return;
+            }
+            int interval = MinefestConfig.COMMON.clientSyncInterval.get();
+            int buckets = bucketCount(interval);
+            int bucket = (int) (tick++ % buckets);
+
+            long now = System.currentTimeMillis();
+            long masterTime = now + clock.getNetworkTimeOffset();
+
+            // [Index: 62.8] Once per interval, and straight away on taking the role
+            if (authority && (bucket == 0 || !wasAuthority)) {
+                byte[] update = TimeSync.encodeMasterTimeUpdate(masterTime);
+                if (update != null) {
+                    sendToNetwork(update);
+                }
+            }
+            wasAuthority = authority;
+
+            ClientboundCustomPayloadPacket shared = null;
+            int sent = 0;
+            List<UUID> members = bucketPlayers(buckets).get(bucket);
+            for (int i = 0; i < members.size(); i++) {
+                ServerPlayer player = server.getPlayerList().getPlayer(members.get(i));
+                if (player == null) {
+                    continue;
+                }
+                // [Index: 62.6] Converged clients sit out most of their visits
+                ClientTimeSync sync = clientSync(clock, player.getUUID());
+                if (!sync.takeSyncSlot(interval)) {
+                    continue;
+                }
+
+                ClientboundCustomPayloadPacket packet;
+                if (sync.hasEstimate()) {
+                    packet = encodeClientUpdate(masterTime, sync.offsetAt(now), sync.getDriftPpb());
+                } else {
+                    if (shared == null) {
+                        shared = encodeUpdate(masterTime);
+                    }
+                    packet = shared;
+                }
+                if (packet != null && send(player, packet)) {
+                    sent++;
+                }
+            }
+            lastBucketSize = sent;
+        } catch (Exception e) {
+            MinefestCore.getLogger().error("Client time sync tick failed", e);
+        }
+    }
+
+    /**
+     * [Index: 62.3] A joining player gets the master time at once
+     */
+    @SubscribeEvent
+    public static void onPlayerLoggedIn(PlayerEvent.PlayerLoggedInEvent event) {
+        if (!(event.getEntity() instanceof ServerPlayer player)) {
+            return;
+        }
+        // [Index: 62.7] Kept while disabled too, so the lists are current when it resumes
+        UUID playerId = player.getUUID();
+        if (online.add(playerId) && !bucketPlayers.isEmpty()) {
+            bucketPlayers.get(bucketOf(playerId, bucketPlayers.size())).add(playerId);
+        }
+        if (!enabled) {
+            return;
+        }
+        ClientboundCustomPayloadPacket packet = encodeUpdate(masterNow());
+        if (packet != null) {
+            send(player, packet);
+        }
+    }
+
+    @SubscribeEvent
+    public static void onPlayerLoggedOut(PlayerEvent.PlayerLoggedOutEvent event) {
+        UUID playerId = event.getEntity().getUUID();
+        if (online.remove(playerId) && !bucketPlayers.isEmpty()) {
+            bucketPlayers.get(bucketOf(playerId, bucketPlayers.size())).remove(playerId);
+        }
+        synchronized (clientSyncLock) {
+            MinefestCore.getMasterClock().unregisterClientSync(playerId);
+        }
+    }
+
+    /**
+     * [Index: 62.7] The lists for this bucket count, redistributed when clientSyncInterval
+     * changes it
+     */
+    private static List<List<UUID>> bucketPlayers(int buckets) {
+        if (bucketPlayers.size() != buckets) {
+            List<List<UUID>> lists = new ArrayList<>(buckets);
+            for (int i = 0; i < buckets; i++) {
+                lists.add(new ArrayList<>());
+            }
+            for (UUID playerId : online) {
+                lists.get(bucketOf(playerId, buckets)).add(playerId);
+            }
+            bucketPlayers = lists;
+        }
+        return bucketPlayers;
+    }
+
+    /**
+     * [Index: 62.8] Hand a time message to the proxy over one player's connection. The
+     * proxy reads it off whichever connection it arrives on, so sending it to every player
+     * only multiplies the copies it has to drop.
+     *
+     * @return false if no player is online to carry it
+     */
+    public static boolean sendToNetwork(byte[] message) {
+        MinecraftServer server = ServerLifecycleHooks.getCurrentServer();
+        if (server == null || message == null) {
+            return false;
+        }
+        List<ServerPlayer> players = server.getPlayerList().getPlayers();
+        ServerPlayer carrier;
+        try {
+            carrier = players.isEmpty() ? null : players.get(0);
+        } catch (IndexOutOfBoundsException e) {
+            carrier = null; // the last player left while we looked
+        }
+        if (carrier == null) {
+            MinefestCore.getLogger().debug("No player connection to carry a time message to the proxy");
+            return false;
+        }
+        try {
+            carrier.connection.send(new ClientboundCustomPayloadPacket(new MasterTimePayload(message)));
+            networkMessagesSent.incrementAndGet();
+            return true;
+        } catch (Exception e) {
+            MinefestCore.getLogger().error("Failed to send time message via player {}", carrier.getName().getString(), e);
+            return false;
+        }
+    }
+
+    /**
+     * [Index: 62.5] Runs on the network thread; the arrival time is read before decoding
+     */
+    private static void onClientEcho(CustomPayloadEvent event) {
+        long serverReceive = masterNow();
+        ServerPlayer player = event.getSource().getSender();
+        FriendlyByteBuf payload = event.getPayload();
+        // An echo still in flight at logout would bring back the filter just dropped
+        if (player != null && payload != null && online.contains(player.getUUID())) {
+            byte[] message = new byte[payload.readableBytes()];
+            payload.readBytes(message);
+            if (TimeSyncCodec.opcode(message) == TimeSyncCodec.OP_CLIENT_ECHO) {
+                try {
+                    TimeSyncCodec.Reader in = TimeSyncCodec.reader(message);
+                    long serverTransmit = in.fixed64();
+                    long clientReceive = in.fixed64();
+                    long clientTransmit = in.fixed64();
+                    clientSync(MinefestCore.getMasterClock(), player.getUUID())
+                        .addExchange(serverTransmit, clientReceive, clientTransmit, serverReceive);
+                    echoesReceived.incrementAndGet();
+                } catch (IllegalStateException e) {
+                    MinefestCore.getLogger().debug("Malformed time echo from {}: {}", player.getName().getString(), e.getMessage());
+                }
+            }
+        }
+        event.getSource().setPacketHandled(true);
+    }
+
+    /**
+     * Echoes arrive on the network thread while the tick runs on the server thread; without
+     * the lock both could create a filter and one of them would feed a filter nobody reads
+     */
+    private static ClientTimeSync clientSync(MasterClock clock, UUID playerId) {
+        ClientTimeSync sync = clock.getClientSync(playerId);
+        if (sync != null) {
+            return sync;
+        }
+        synchronized (clientSyncLock) {
+            sync = clock.getClientSync(playerId);
+            if (sync == null) {
+                sync = new ClientTimeSync(playerId);
+                clock.registerClientSync(playerId, sync);
+            }
+            return sync;
+        }
+    }
+
+    /**
+     * [Index: 62.1] Players sync once per clientSyncInterval, one bucket per 50ms tick
+     */
+    static int bucketCount(int clientSyncIntervalMs) {
+        return (int) Math.max(1, clientSyncIntervalMs / TICK_MS);
+    }
+
+    static int bucketOf(UUID playerId, int buckets) {
+        return Math.floorMod(playerId.hashCode(), buckets);
+    }
+
+    // Read the clock now rather than the master time MasterClock cached at its own tick
+    private static long masterNow() {
+        return System.currentTimeMillis() + MinefestCore.getMasterClock().getNetworkTimeOffset();
+    }
+
+    private static ClientboundCustomPayloadPacket encodeUpdate(long masterTime) {
+        byte[] message = TimeSync.encodeMasterTimeUpdate(masterTime);
+        if (message == null) {
+            return null;
+        }
+        updatesEncoded.incrementAndGet();
+        return new ClientboundCustomPayloadPacket(new MasterTimePayload(message));
+    }
+
+    private static ClientboundCustomPayloadPacket encodeClientUpdate(long masterTime, long clientOffset, long driftPpb) {
+        byte[] message = TimeSync.encodeClientTimeUpdate(masterTime, clientOffset, driftPpb);
+        updatesEncoded.incrementAndGet();
+        return new ClientboundCustomPayloadPacket(new MasterTimePayload(message));
+    }
+
+    private static boolean send(ServerPlayer player, ClientboundCustomPayloadPacket packet) {
+        try {
+            player.connection.send(packet);
+            packetsSent.incrementAndGet();
+            return true;
+        } catch (Exception e) {
+            MinefestCore.getLogger().error("Failed to send time update to player {}", player.getName().getString(), e);
+            return false;
+        }
+    }
+
+    // Monitoring
+    public static long getUpdatesEncoded() {
+        return updatesEncoded.get();
+    }
+
+    public static long getPacketsSent() {
+        return packetsSent.get();
+    }
+
+    public static long getEchoesReceived() {
+        return echoesReceived.get();
+    }
+
+    /**
+     * Server-to-server time messages handed to the proxy
+     */
+    public static long getNetworkMessagesSent() {
+        return networkMessagesSent.get();
+    }
+
+    /**
+     * Players served by the most recent tick
+     */
+    public static int getLastBucketSize() {
+        return lastBucketSize;
+    }
+}
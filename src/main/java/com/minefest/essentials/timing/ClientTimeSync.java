@@ -10,9 +10,11 @@ import java.util.concurrent.atomic.AtomicLong;
  * 
  * Workflow:
  * 1. [Index: 12.1] Initialize client synchronization tracking with UUID
- * 2. [Index: 12.2] Update sync data with exponential moving average for smoothing
+ * 2. [Index: 12.2] Estimate offset and drift with a two-state Kalman filter per client
  * 3. [Index: 12.3] Track latency and connection staleness
  * 4. [Index: 12.4] Provide sync status for timing system decisions
+ * 5. [Index: 12.5] Learn each client's measurement variance from its own innovations
+ * 6. [Index: 12.6] Space syncs out while the predicted error stays within the precision target
  * 
  * Dependencies:
  * - MasterClock [Index: 01] - creates and manages client sync instances
@@ -22,12 +24,48 @@ import java.util.concurrent.atomic.AtomicLong;
  * Related Files:
  * - MasterClock.java [Index: 01] - manages collection of client sync instances
  * - TimeSync.java [Index: 03] - network protocol for sync messages
+ * - ClientSyncEngine.java [Index: 62] - feeds echoed exchanges and asks when each client is due
+ * 
+ * Offsets are master time minus client time in milliseconds; drift is in milliseconds per
+ * second. The filter's time axis is this server's wall clock.
+ * Threading: exchanges arrive on the network thread, sync slots are taken on the server thread.
  */
 public class ClientTimeSync {
+    public static final double TARGET_SIGMA_MS = 2.0;            // a fifth of the network-wide 10ms budget
+    public static final int MAX_SYNC_MULTIPLE = 16;              // stable clients sync every 16 intervals
+    private static final int MIN_SAMPLES = 4;                    // before any interval is stretched
+    private static final double OFFSET_NOISE = 0.01;             // ms^2 per second, white phase noise
+    private static final double DRIFT_NOISE = 1e-8;              // (ms/s)^2 per second, oscillator wander
+    private static final double INITIAL_DRIFT_VARIANCE = 0.25;   // (ms/s)^2, i.e. +-500ppm
+    private static final double MIN_MEASUREMENT_VARIANCE = 0.25; // ms^2, millisecond timestamps
+    private static final double VARIANCE_SMOOTHING = 0.2;
+    private static final double GATE_SIGMAS = 4.0;
+    private static final int MAX_CONSECUTIVE_OUTLIERS = 3;       // then the client clock was stepped
+    private static final double MIN_RTT_CREEP_MS_PER_S = 0.05;   // lets the RTT floor follow a route change
+    
     private final UUID clientId;
     private final AtomicLong timeOffset; // Difference between server and client time
     private final AtomicLong latency; // Round trip time in milliseconds
-    private long lastSyncTime; // Last time we received a sync from this client
+    private volatile long lastSyncTime; // Last time we received a sync from this client
+    
+    // [Index: 12.2] Filter state at stateTime
+    private double offset;
+    private double drift;
+    private double p00;
+    private double p01;
+    private double p11;
+    private long stateTime;
+    private int samples;
+    
+    // [Index: 12.5] Measurement noise
+    private double measurementVariance = MIN_MEASUREMENT_VARIANCE;
+    private double minRtt = Double.MAX_VALUE;
+    private int consecutiveOutliers;
+    private long outliers;
+    
+    // [Index: 12.6] Bucket visits to skip before the next sync
+    private int visitsUntilSync;
+    private int syncMultiple = 1;
     
     public ClientTimeSync(UUID clientId) {
         this.clientId = clientId;
@@ -41,15 +79,162 @@ public class ClientTimeSync {
      * @param offset Time difference between server and client
      * @param roundTripTime Network round trip time
      */
-    public void updateSync(long offset, long roundTripTime) {
-        // Use exponential moving average for smooth offset adjustments
-        long currentOffset = timeOffset.get();
-        long newOffset = (long)(currentOffset * 0.8 + offset * 0.2);
-        timeOffset.set(newOffset);
+    public synchronized void updateSync(long offset, long roundTripTime) {
+        long now = System.currentTimeMillis();
+        measure(now, offset, Math.max(0, roundTripTime));
         
-        // Update latency measurement
+        timeOffset.set(Math.round(this.offset));
         latency.set(roundTripTime);
-        lastSyncTime = System.currentTimeMillis();
+        lastSyncTime = now;
+    }
+    
+    /**
+     * [Index: 12.2] One echoed time update: the master time the server sent, the client's
+     * clock when it arrived and when the echo left, and the master time the echo arrived
+     */
+    public void addExchange(long serverTransmit, long clientReceive, long clientTransmit, long serverReceive) {
+        long roundTripTime = (serverReceive - serverTransmit) - (clientTransmit - clientReceive);
+        long sample = ((serverTransmit - clientReceive) + (serverReceive - clientTransmit)) / 2;
+        if (roundTripTime < 0 || clientTransmit < clientReceive) {
+            return; // not one exchange
+        }
+        updateSync(sample, roundTripTime);
+    }
+    
+    private void measure(long now, double sample, double roundTripTime) {
+        if (samples == 0) {
+            initialize(now, sample, roundTripTime);
+            return;
+        }
+        
+        double dt = Math.max(0, now - stateTime) / 1000.0;
+        predict(dt);
+        stateTime = now;
+        minRtt = Math.min(roundTripTime, minRtt + dt * MIN_RTT_CREEP_MS_PER_S);
+        
+        // Queueing on one leg shifts the sample by up to half the excess delay
+        double excess = (roundTripTime - minRtt) / 2.0;
+        double r = measurementVariance + excess * excess;
+        double innovation = sample - offset;
+        double s = p00 + r;
+        
+        if (samples >= MIN_SAMPLES && innovation * innovation > GATE_SIGMAS * GATE_SIGMAS * s) {
+            outliers++;
+            visitsUntilSync = 0; // jittery or stepped - look again soon
+            if (++consecutiveOutliers >= MAX_CONSECUTIVE_OUTLIERS) {
+                initialize(now, sample, roundTripTime);
+            }
+            return;
+        }
+        consecutiveOutliers = 0;
+        
+        // [Index: 12.5] Innovation variance beyond what the filter expected is measurement noise
+        double observed = Math.max(MIN_MEASUREMENT_VARIANCE, innovation * innovation - p00);
+        measurementVariance += (observed - measurementVariance) * VARIANCE_SMOOTHING;
+        
+        double k0 = p00 / s;
+        double k1 = p01 / s;
+        offset += k0 * innovation;
+        drift += k1 * innovation;
+        p11 -= k1 * p01;
+        p01 *= (1 - k0);
+        p00 *= (1 - k0);
+        samples++;
+    }
+    
+    private void initialize(long now, double sample, double roundTripTime) {
+        double halfRtt = roundTripTime / 2.0;
+        offset = sample;
+        drift = 0.0;
+        measurementVariance = Math.max(MIN_MEASUREMENT_VARIANCE, halfRtt * halfRtt / 3.0);
+        p00 = measurementVariance;
+        p01 = 0.0;
+        p11 = INITIAL_DRIFT_VARIANCE;
+        minRtt = roundTripTime;
+        stateTime = now;
+        samples = 1;
+        consecutiveOutliers = 0;
+        visitsUntilSync = 0;
+    }
+    
+    private void predict(double dt) {
+        offset += drift * dt;
+        p00 += 2 * dt * p01 + dt * dt * p11 + OFFSET_NOISE * dt + DRIFT_NOISE * dt * dt * dt / 3;
+        p01 += dt * p11 + DRIFT_NOISE * dt * dt / 2;
+        p11 += DRIFT_NOISE * dt;
+    }
+    
+    // Offset variance the filter would have after dt seconds without a measurement
+    private double predictedVariance(double dt) {
+        return p00 + 2 * dt * p01 + dt * dt * p11 + OFFSET_NOISE * dt + DRIFT_NOISE * dt * dt * dt / 3;
+    }
+    
+    /**
+     * [Index: 12.6] Called each time the client's bucket comes round
+     *
+     * @param baseIntervalMs the configured client sync interval
+     * @return true if the client should be sent an update now
+     */
+    public synchronized boolean takeSyncSlot(long baseIntervalMs) {
+        if (visitsUntilSync > 0) {
+            visitsUntilSync--;
+            return false;
+        }
+        syncMultiple = computeSyncMultiple(System.currentTimeMillis(), baseIntervalMs / 1000.0);
+        visitsUntilSync = syncMultiple - 1;
+        return true;
+    }
+    
+    // Longest multiple of the base interval whose predicted error still meets the target
+    private int computeSyncMultiple(long now, double baseIntervalSeconds) {
+        if (samples < MIN_SAMPLES || consecutiveOutliers > 0) {
+            return 1;
+        }
+        double sinceState = Math.max(0, now - stateTime) / 1000.0;
+        double target = TARGET_SIGMA_MS * TARGET_SIGMA_MS;
+        for (int multiple = MAX_SYNC_MULTIPLE; multiple > 1; multiple--) {
+            if (predictedVariance(sinceState + multiple * baseIntervalSeconds) <= target) {
+                return multiple;
+            }
+        }
+        return 1;
+    }
+    
+    public synchronized boolean hasEstimate() {
+        return samples >= MIN_SAMPLES;
+    }
+    
+    /**
+     * [Index: 12.2] Master time minus client time at {@code serverTime} on this server's wall clock
+     */
+    public synchronized long offsetAt(long serverTime) {
+        return Math.round(offset + drift * (serverTime - stateTime) / 1000.0);
+    }
+    
+    /**
+     * Client drift against the master clock in parts per billion
+     */
+    public synchronized long getDriftPpb() {
+        return Math.round(drift * 1_000_000.0);
+    }
+    
+    /**
+     * One standard deviation of the offset estimate right now, in milliseconds
+     */
+    public synchronized double getOffsetSigmaMs() {
+        return Math.sqrt(predictedVariance(Math.max(0, System.currentTimeMillis() - stateTime) / 1000.0));
+    }
+    
+    public synchronized double getMeasurementVariance() {
+        return measurementVariance;
+    }
+    
+    public synchronized int getSyncMultiple() {
+        return syncMultiple;
+    }
+    
+    public synchronized long getOutliers() {
+        return outliers;
     }
     
     public UUID getClientId() {
@@ -74,4 +259,4 @@ public class ClientTimeSync {
     public boolean isSyncStale(long maxAgeMs) {
         return System.currentTimeMillis() - lastSyncTime > maxAgeMs;
     }
-} 
\ No newline at end of file
+}
\ No newline at end of file
@@ -0,0 +1,218 @@
+package com.minefest.essentials.timing;
+
+/**
+ * COMPONENT SIGNPOST [Index: 61]
+ * Purpose: NTP-style clock filter turning four-timestamp exchanges into an offset and drift
+ * Side: DEDICATED_SERVER only - one instance per server following the time authority
+ *
+ * Workflow:
+ * 1. [Index: 61.1] Compute offset and round-trip delay of each (t1, t2, t3, t4) sample
+ * 2. [Index: 61.2] Reject samples with impossible or excessive delay
+ * 3. [Index: 61.3] Select the minimum-delay sample of the last FILTER_WINDOW; queueing only adds delay
+ * 4. [Index: 61.4] Fit frequency drift by least squares over the recently selected samples
+ * 5. [Index: 61.5] Project the offset to any local time using the selected sample and drift
+ * 6. [Index: 61.6] Hold the estimate through bursts where even the best sample is congested
+ *
+ * Dependencies:
+ * - MonotonicClock [Index: 60] - local timescale of t1 and t4
+ *
+ * Related Files:
+ * - TimeSync.java [Index: 03] - feeds samples and applies the estimate to the MasterClock
+ *
+ * All times are microseconds. t1/t4 are the follower's MonotonicClock, t2/t3 the authority's.
+ * Threading: synchronized; samples arrive every network sync interval, reads are rare.
+ */
+public final class ClockSampleFilter {
+    public static final int FILTER_WINDOW = 8;                     // as in the NTP clock filter
+    public static final int DRIFT_WINDOW = 16;
+    public static final long MAX_DELAY_MICROS = 2_000_000;         // slower exchanges say nothing useful
+    public static final double MAX_DRIFT_PPM = 500.0;              // NTP's frequency tolerance
+    private static final long MIN_DRIFT_SPAN_MICROS = 30_000_000;  // fit only across 30s or more
+    private static final long CONGESTION_MARGIN_MICROS = 5_000;    // tolerated delay above the floor
+    private static final int MAX_HELD_SELECTIONS = 16;             // then the path itself has changed
+
+    // [Index: 61.3] Raw samples
+    private final long[] sampleOffset = new long[FILTER_WINDOW];
+    private final long[] sampleDelay = new long[FILTER_WINDOW];
+    private final long[] sampleTime = new long[FILTER_WINDOW];
+    private int sampleCount;
+    private int sampleNext;
+
+    // [Index: 61.4] Selected samples for the drift fit
+    private final long[] driftOffset = new long[DRIFT_WINDOW];
+    private final long[] driftTime = new long[DRIFT_WINDOW];
+    private final long[] driftDelay = new long[DRIFT_WINDOW];
+    private int driftCount;
+    private int driftNext;
+
+    private int heldSelections;
+    private boolean hasEstimate;
+    private long selectedOffset;
+    private long selectedDelay;
+    private long selectedTime = Long.MIN_VALUE;
+    private double driftPpm;
+    private long samplesAccepted;
+    private long samplesRejected;
+
+    /**
+     * [Index: 61.1] Add one exchange
+     *
+     * @param t1 request sent (follower clock)
+     * @param t2 request received (authority clock)
+     * @param t3 response sent (authority clock)
+     * @param t4 response received (follower clock)
+     * @return true if the sample was accepted
+     */
+    public synchronized boolean addSample(long t1, long t2, long t3, long t4) {
+        long delay = (t4 - t1) - (t3 - t2);
+        long offset = ((t2 - t1) + (t3 - t4)) / 2;
+
+        // [Index: 61.2] Negative delay means the timestamps are not from one exchange
+        if (delay < 0 || delay > MAX_DELAY_MICROS || t3 < t2) {
+            samplesRejected++;
+            return false;
+        }
+        samplesAccepted++;
+
+        sampleOffset[sampleNext] = offset;
+        sampleDelay[sampleNext] = delay;
+        sampleTime[sampleNext] = t4;
+        sampleNext = (sampleNext + 1) % FILTER_WINDOW;
+        sampleCount = Math.min(sampleCount + 1, FILTER_WINDOW);
+
+        // [Index: 61.3] Minimum delay wins; the first sample is used until the window fills
+        int best = -1;
+        for (int i = 0; i < sampleCount; i++) {
+            if (best < 0 || sampleDelay[i] < sampleDelay[best]) {
+                best = i;
+            }
+        }
+
+        // A sample is only ever selected once, so old low-delay samples do not freeze the estimate
+        if (sampleTime[best] <= selectedTime) {
+            return true;
+        }
+
+        // [Index: 61.6] Extrapolate rather than take an offset skewed by queueing on one leg
+        if (hasEstimate && sampleDelay[best] > delayFloor() + CONGESTION_MARGIN_MICROS
+                && heldSelections < MAX_HELD_SELECTIONS) {
+            heldSelections++;
+            return true;
+        }
+        heldSelections = 0;
+        selectedOffset = sampleOffset[best];
+        selectedDelay = sampleDelay[best];
+        selectedTime = sampleTime[best];
+        hasEstimate = true;
+
+        driftOffset[driftNext] = selectedOffset;
+        driftTime[driftNext] = selectedTime;
+        driftDelay[driftNext] = selectedDelay;
+        driftNext = (driftNext + 1) % DRIFT_WINDOW;
+        driftCount = Math.min(driftCount + 1, DRIFT_WINDOW);
+        driftPpm = fitDrift();
+        return true;
+    }
+
+    // Lowest delay among the recently selected samples
+    private long delayFloor() {
+        long floor = selectedDelay;
+        for (int i = 0; i < driftCount; i++) {
+            floor = Math.min(floor, driftDelay[i]);
+        }
+        return floor;
+    }
+
+    /**
+     * [Index: 61.4] Slope of offset over local time, in parts per million
+     */
+    private double fitDrift() {
+        if (driftCount < 3) {
+            return driftPpm;
+        }
+        long origin = Long.MAX_VALUE;
+        long newest = Long.MIN_VALUE;
+        for (int i = 0; i < driftCount; i++) {
+            origin = Math.min(origin, driftTime[i]);
+            newest = Math.max(newest, driftTime[i]);
+        }
+        if (newest - origin < MIN_DRIFT_SPAN_MICROS) {
+            return driftPpm;
+        }
+
+        double meanX = 0.0;
+        double meanY = 0.0;
+        for (int i = 0; i < driftCount; i++) {
+            meanX += driftTime[i] - origin;
+            meanY += driftOffset[i];
+        }
+        meanX /= driftCount;
+        meanY /= driftCount;
+
+        double covariance = 0.0;
+        double variance = 0.0;
+        for (int i = 0; i < driftCount; i++) {
+            double dx = (driftTime[i] - origin) - meanX;
+            covariance += dx * (driftOffset[i] - meanY);
+            variance += dx * dx;
+        }
+        if (variance == 0.0) {
+            return driftPpm;
+        }
+        double ppm = covariance / variance * 1_000_000.0;
+        return Math.max(-MAX_DRIFT_PPM, Math.min(MAX_DRIFT_PPM, ppm));
+    }
+
+    /**
+     * [Index: 61.5] Authority time minus local time at {@code localMicros}
+     */
+    public synchronized long offsetMicrosAt(long localMicros) {
+        if (!hasEstimate) {
+            return 0;
+        }
+        return selectedOffset + Math.round(driftPpm * (localMicros - selectedTime) / 1_000_000.0);
+    }
+
+    public synchronized boolean hasEstimate() {
+        return hasEstimate;
+    }
+
+    public synchronized long getOffsetMicros() {
+        return selectedOffset;
+    }
+
+    /**
+     * Round-trip delay of the selected sample; the offset error is at most half of it
+     */
+    public synchronized long getDelayMicros() {
+        return selectedDelay;
+    }
+
+    public synchronized double getDriftPpm() {
+        return driftPpm;
+    }
+
+    public synchronized long getSamplesAccepted() {
+        return samplesAccepted;
+    }
+
+    public synchronized long getSamplesRejected() {
+        return samplesRejected;
+    }
+
+    /**
+     * Forget everything, e.g. when the time authority changes
+     */
+    public synchronized void reset() {
+        sampleCount = 0;
+        sampleNext = 0;
+        driftCount = 0;
+        driftNext = 0;
+        heldSelections = 0;
+        hasEstimate = false;
+        selectedOffset = 0;
+        selectedDelay = 0;
+        selectedTime = Long.MIN_VALUE;
+        driftPpm = 0.0;
+    }
+}
@@ -0,0 +1,48 @@
+package com.minefest.essentials.timing;
+
+/**
+ * COMPONENT SIGNPOST [Index: 60]
+ * Purpose: Wall-clock-epoch time that only ever moves forward at the rate of System.nanoTime
+ * Side: DEDICATED_SERVER only - timestamps for the server-to-server time exchange
+ *
+ * Workflow:
+ * 1. [Index: 60.1] Anchor nanoTime to the wall clock once, when the class loads
+ * 2. [Index: 60.2] Read epoch time in microseconds as anchor + elapsed nanoTime
+ * 3. [Index: 60.3] Report how far the wall clock has since been stepped away from it
+ *
+ * Dependencies:
+ * - None
+ *
+ * Related Files:
+ * - TimeSync.java [Index: 03] - stamps t1..t4 of each time exchange with this clock
+ * - ClockSampleFilter.java [Index: 61] - offset and drift estimates on this timescale
+ *
+ * NTP daemons and admins step System.currentTimeMillis(); a step between request and
+ * response would otherwise land in the measured offset as if it were network delay.
+ */
+public final class MonotonicClock {
+    private static final long EPOCH_ANCHOR_MICROS = System.currentTimeMillis() * 1000L;
+    private static final long NANO_ANCHOR = System.nanoTime();
+
+    private MonotonicClock() {
+    }
+
+    /**
+     * [Index: 60.2] Microseconds since the Unix epoch, monotonic
+     */
+    public static long currentTimeMicros() {
+        return EPOCH_ANCHOR_MICROS + (System.nanoTime() - NANO_ANCHOR) / 1000L;
+    }
+
+    public static long currentTimeMillis() {
+        return currentTimeMicros() / 1000L;
+    }
+
+    /**
+     * [Index: 60.3] Wall clock minus this clock, in milliseconds. Grows with
+     * local oscillator drift and jumps whenever the system clock is stepped.
+     */
+    public static long wallClockStepMillis() {
+        return System.currentTimeMillis() - currentTimeMillis();
+    }
+}
@@ -0,0 +1,137 @@
+package com.minefest.essentials.audio;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * AudioFrameRing [Index: 32] - sequence wraparound, lapped consumers and live-edge cursors
+ */
+class AudioFrameRingTest {
+    private static final int SLOTS = 8;
+    private static final int SLOT_BYTES = 16;
+
+    private static void publish(AudioFrameRing ring, int value) {
+        byte[] slot = ring.claim();
+        slot[0] = (byte) value;
+        ring.commit(1, value * 20L, 1_000L + value);
+    }
+
+    @Test
+    void rejectsSlotCountsThatAreNotPowersOfTwo() {
+        assertThrows(IllegalArgumentException.class, () -> new AudioFrameRing(6, SLOT_BYTES));
+        assertThrows(IllegalArgumentException.class, () -> new AudioFrameRing(0, SLOT_BYTES));
+    }
+
+    @Test
+    void cursorOpensAtTheLiveEdge() {
+        AudioFrameRing ring = new AudioFrameRing(SLOTS, SLOT_BYTES);
+        publish(ring, 1);
+        AudioFrameRing.Cursor cursor = ring.openCursor();
+        byte[] frame = new byte[SLOT_BYTES];
+
+        assertEquals(AudioFrameRing.NO_FRAME, cursor.read(frame));
+        publish(ring, 2);
+        assertEquals(1, cursor.read(frame));
+        assertEquals(2, frame[0]);
+        assertEquals(AudioFrameRing.NO_FRAME, cursor.read(frame));
+    }
+
+    @Test
+    void readsInOrderAcrossManyWraparounds() {
+        AudioFrameRing ring = new AudioFrameRing(SLOTS, SLOT_BYTES);
+        AudioFrameRing.Cursor cursor = ring.openCursor();
+        byte[] frame = new byte[SLOT_BYTES];
+
+        // Half a ring at a time keeps the reader inside the window while the index wraps
+        int next = 0;
+        for (int round = 0; round < 10; round++) {
+            for (int i = 0; i < SLOTS / 2; i++) {
+                publish(ring, next + i);
+            }
+            for (int i = 0; i < SLOTS / 2; i++) {
+                assertEquals(1, cursor.read(frame));
+                assertEquals((byte) (next + i), frame[0]);
+                assertEquals((next + i) * 20L, cursor.getLastTimecode());
+                assertEquals(1_000L + next + i, cursor.getLastStamp());
+            }
+            next += SLOTS / 2;
+        }
+        assertEquals(0, cursor.getDroppedFrames());
+        assertEquals(next - 1, ring.getPublishedSequence());
+    }
+
+    @Test
+    void lappedCursorSkipsToTheOldestIntactFrame() {
+        AudioFrameRing ring = new AudioFrameRing(SLOTS, SLOT_BYTES);
+        AudioFrameRing.Cursor cursor = ring.openCursor();
+        byte[] frame = new byte[SLOT_BYTES];
+
+        int produced = SLOTS * 2 + 3;
+        for (int i = 0; i < produced; i++) {
+            publish(ring, i);
+        }
+        assertEquals(SLOTS, cursor.available());
+
+        // Only the last SLOTS frames survive; everything before them was overwritten
+        assertEquals(1, cursor.read(frame));
+        assertEquals((byte) (produced - SLOTS), frame[0]);
+        assertEquals(produced - SLOTS, cursor.getDroppedFrames());
+
+        for (int i = produced - SLOTS + 1; i < produced; i++) {
+            assertEquals(1, cursor.read(frame));
+            assertEquals((byte) i, frame[0]);
+        }
+        assertEquals(AudioFrameRing.NO_FRAME, cursor.read(frame));
+        assertEquals(produced - SLOTS, cursor.getDroppedFrames());
+    }
+
+    @Test
+    void cursorsAreIndependent() {
+        AudioFrameRing ring = new AudioFrameRing(SLOTS, SLOT_BYTES);
+        AudioFrameRing.Cursor slow = ring.openCursor();
+        AudioFrameRing.Cursor fast = ring.openCursor();
+        byte[] frame = new byte[SLOT_BYTES];
+
+        for (int i = 0; i < SLOTS + 2; i++) {
+            publish(ring, i);
+            assertEquals(1, fast.read(frame));
+        }
+        assertEquals(0, fast.getDroppedFrames());
+        assertEquals(1, slow.read(frame));
+        assertEquals(2, frame[0]);
+        assertEquals(2, slow.getDroppedFrames());
+    }
+
+    @Test
+    void skipToLiveDiscardsTheBacklog() {
+        AudioFrameRing ring = new AudioFrameRing(SLOTS, SLOT_BYTES);
+        AudioFrameRing.Cursor cursor = ring.openCursor();
+        byte[] frame = new byte[SLOT_BYTES];
+        for (int i = 0; i < 5; i++) {
+            publish(ring, i);
+        }
+
+        cursor.skipToLive();
+        assertEquals(0, cursor.available());
+        assertEquals(AudioFrameRing.NO_FRAME, cursor.read(frame));
+        publish(ring, 5);
+        assertEquals(1, cursor.read(frame));
+        assertEquals(5, frame[0]);
+        assertEquals(0, cursor.getDroppedFrames());
+    }
+
+    @Test
+    void publishRefusesFramesLargerThanASlot() {
+        AudioFrameRing ring = new AudioFrameRing(SLOTS, SLOT_BYTES);
+        byte[] tooLarge = new byte[SLOT_BYTES + 1];
+
+        assertFalse(ring.publish(tooLarge, 0, tooLarge.length, 0L, 0L));
+        assertEquals(-1, ring.getPublishedSequence());
+        assertTrue(ring.publish(tooLarge, 1, SLOT_BYTES, 0L, 0L));
+        assertEquals(0, ring.getPublishedSequence());
+    }
+}
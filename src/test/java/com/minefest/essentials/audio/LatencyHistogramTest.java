@@ -0,0 +1,115 @@
+package com.minefest.essentials.audio;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * LatencyHistogram [Index: 48] - bucket boundaries, percentiles, merge and totals
+ */
+class LatencyHistogramTest {
+
+    @Test
+    void smallValuesHaveExactBuckets() {
+        for (long value = 0; value < 8; value++) {
+            assertEquals((int) value, LatencyHistogram.bucketOf(value));
+            assertEquals(value, LatencyHistogram.upperBoundOf((int) value));
+        }
+    }
+
+    @Test
+    void everyValueFallsInsideItsBucket() {
+        Random random = new Random(16);
+        for (int i = 0; i < 100_000; i++) {
+            long value = random.nextInt(64) < 32 ? random.nextInt(100_000) : (random.nextLong() >>> 33);
+            int bucket = LatencyHistogram.bucketOf(value);
+            assertTrue(bucket >= 0 && bucket < LatencyHistogram.BUCKET_COUNT, "bucket of " + value);
+            assertTrue(value <= LatencyHistogram.upperBoundOf(bucket), "upper bound of " + value);
+            if (bucket > 0) {
+                assertTrue(value > LatencyHistogram.upperBoundOf(bucket - 1), "lower bound of " + value);
+            }
+        }
+    }
+
+    @Test
+    void bucketsAreContiguousAndAtMostAnEighthWide() {
+        for (int bucket = 8; bucket < LatencyHistogram.BUCKET_COUNT; bucket++) {
+            long lower = LatencyHistogram.upperBoundOf(bucket - 1) + 1;
+            long upper = LatencyHistogram.upperBoundOf(bucket);
+            assertEquals(bucket, LatencyHistogram.bucketOf(lower), "first value of bucket " + bucket);
+            assertEquals(bucket, LatencyHistogram.bucketOf(upper), "last value of bucket " + bucket);
+            assertTrue((upper - lower + 1) * 8 <= lower, "width of bucket " + bucket);
+        }
+    }
+
+    @Test
+    void outOfRangeValuesAreClamped() {
+        assertEquals(0, LatencyHistogram.bucketOf(-5));
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.bucketOf(Long.MAX_VALUE));
+        assertEquals(LatencyHistogram.BUCKET_COUNT - 1, LatencyHistogram.bucketOf((1L << 32) - 1));
+    }
+
+    @Test
+    void percentilesReportBucketUpperBoundsCappedAtTheMax() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        for (int micros = 1; micros <= 1000; micros++) {
+            histogram.recordMicros(micros);
+        }
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+
+        assertEquals(1000, snapshot.getCount());
+        assertEquals(500.5, snapshot.getMeanMicros(), 1e-9);
+        assertEquals(1000, snapshot.getMaxMicros());
+        assertEquals(1, snapshot.getPercentileMicros(0));
+        assertEquals(1000, snapshot.getPercentileMicros(100));
+
+        long p50 = snapshot.getPercentileMicros(50);
+        assertEquals(LatencyHistogram.upperBoundOf(LatencyHistogram.bucketOf(500)), p50);
+        assertTrue(p50 >= 500 && p50 <= 500 * 9 / 8, "p50 " + p50);
+        long p99 = snapshot.getPercentileMicros(99);
+        assertTrue(p99 >= 990 && p99 <= 1000, "p99 " + p99);
+    }
+
+    @Test
+    void recordsNanosAsMicros() {
+        LatencyHistogram histogram = new LatencyHistogram();
+        histogram.recordNanos(2_500_000);
+        histogram.recordNanos(-1);
+
+        LatencyHistogram.Snapshot snapshot = histogram.snapshot();
+        assertEquals(2, snapshot.getCount());
+        assertEquals(2_500, snapshot.getMaxMicros());
+        assertEquals(1_250.0, snapshot.getMeanMicros(), 1e-9);
+    }
+
+    @Test
+    void mergeAddsCountsAndKeepsTheLargerMax() {
+        LatencyHistogram first = new LatencyHistogram();
+        LatencyHistogram second = new LatencyHistogram();
+        for (int i = 0; i < 90; i++) {
+            first.recordMicros(100);
+        }
+        for (int i = 0; i < 10; i++) {
+            second.recordMicros(10_000);
+        }
+
+        LatencyHistogram.Snapshot merged = first.snapshot().merge(second.snapshot());
+        assertEquals(100, merged.getCount());
+        assertEquals(10_000, merged.getMaxMicros());
+        assertEquals(1_090.0, merged.getMeanMicros(), 1e-9);
+        // 100 shares a bucket with 96..103; 10,000 is the max, which caps its bucket
+        assertEquals(LatencyHistogram.upperBoundOf(LatencyHistogram.bucketOf(100)), merged.getPercentileMicros(90));
+        assertEquals(10_000, merged.getPercentileMicros(91));
+    }
+
+    @Test
+    void emptySnapshotReportsZero() {
+        LatencyHistogram.Snapshot empty = LatencyHistogram.Snapshot.EMPTY;
+        assertEquals(0, empty.getCount());
+        assertEquals(0, empty.getPercentileMicros(99));
+        assertEquals(0.0, empty.getMeanMicros(), 0.0);
+    }
+}
@@ -0,0 +1,121 @@
+package com.minefest.essentials.audio;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.HashMap;
+import java.util.Map;
+import java.util.Random;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * SpeakerVolumeMap [Index: 37] - probing, backward-shift deletion, growth and snapshots
+ */
+class SpeakerVolumeMapTest {
+
+    @Test
+    void putGetAndOverwrite() {
+        SpeakerVolumeMap map = new SpeakerVolumeMap();
+        map.put(42L, 0.5f);
+        map.put(-7L, 1.0f);
+
+        assertEquals(0.5f, map.get(42L, -1f), 0f);
+        assertEquals(1.0f, map.get(-7L, -1f), 0f);
+        assertEquals(-1f, map.get(43L, -1f), 0f);
+        assertEquals(2, map.size());
+
+        map.put(42L, 0.25f);
+        assertEquals(0.25f, map.get(42L, -1f), 0f);
+        assertEquals(2, map.size());
+    }
+
+    @Test
+    void rejectsTheEmptyMarker() {
+        SpeakerVolumeMap map = new SpeakerVolumeMap();
+        assertThrows(IllegalArgumentException.class, () -> map.put(Long.MIN_VALUE, 1.0f));
+    }
+
+    @Test
+    void removeKeepsProbeChainsIntact() {
+        SpeakerVolumeMap map = new SpeakerVolumeMap();
+        Map<Long, Float> expected = new HashMap<>();
+        Random random = new Random(7);
+
+        // A small key range forces collisions, wrapped probe chains and repeated removals
+        for (int i = 0; i < 20_000; i++) {
+            long key = random.nextInt(64) - 32;
+            if (random.nextInt(3) == 0) {
+                assertEquals(expected.remove(key) != null, map.remove(key));
+            } else {
+                float value = random.nextFloat();
+                expected.put(key, value);
+                map.put(key, value);
+            }
+        }
+
+        assertEquals(expected.size(), map.size());
+        for (long key = -32; key < 32; key++) {
+            Float value = expected.get(key);
+            assertEquals(value != null, map.containsKey(key), "key " + key);
+            if (value != null) {
+                assertEquals(value, map.get(key, -1f), 0f);
+            }
+        }
+    }
+
+    @Test
+    void growsPastTheInitialCapacity() {
+        SpeakerVolumeMap map = new SpeakerVolumeMap();
+        for (int i = 0; i < 1_000; i++) {
+            map.put(i * 4096L, i / 1000f);
+        }
+
+        assertEquals(1_000, map.size());
+        for (int i = 0; i < 1_000; i++) {
+            assertEquals(i / 1000f, map.get(i * 4096L, -1f), 0f);
+        }
+    }
+
+    @Test
+    void snapshotIsSortedAndCachedUntilTheNextChange() {
+        SpeakerVolumeMap map = new SpeakerVolumeMap();
+        map.put(30L, 0.3f);
+        map.put(-10L, 0.1f);
+        map.put(20L, 0.2f);
+
+        SpeakerVolumeMap.Snapshot snapshot = map.snapshot();
+        assertEquals(3, snapshot.size());
+        assertEquals(-10L, snapshot.positionAt(0));
+        assertEquals(20L, snapshot.positionAt(1));
+        assertEquals(30L, snapshot.positionAt(2));
+        assertEquals(0.2f, snapshot.volumeAt(1), 0f);
+        assertEquals(0.3f, snapshot.volumeOf(30L, -1f), 0f);
+        assertEquals(-1f, snapshot.volumeOf(25L, -1f), 0f);
+        assertSame(snapshot, map.snapshot());
+
+        map.remove(20L);
+        SpeakerVolumeMap.Snapshot changed = map.snapshot();
+        assertEquals(2, changed.size());
+        assertFalse(changed.contains(20L));
+        // Readers holding the old snapshot keep an unchanged view
+        assertTrue(snapshot.contains(20L));
+    }
+
+    @Test
+    void clearEmptiesMapAndSnapshot() {
+        SpeakerVolumeMap map = new SpeakerVolumeMap();
+        for (int i = 0; i < 100; i++) {
+            map.put(i, 1.0f);
+        }
+        map.snapshot();
+
+        map.clear();
+        assertEquals(0, map.size());
+        assertFalse(map.containsKey(5L));
+        assertEquals(0, map.snapshot().size());
+    }
+}
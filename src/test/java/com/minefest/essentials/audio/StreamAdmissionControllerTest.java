@@ -0,0 +1,139 @@
+package com.minefest.essentials.audio;
+
+import com.minefest.essentials.audio.StreamAdmissionController.Rejection;
+import com.minefest.essentials.audio.StreamValidator.TicketTier;
+import org.junit.jupiter.api.AfterEach;
+import org.junit.jupiter.api.Test;
+
+import java.util.ArrayList;
+import java.util.Collections;
+import java.util.List;
+import java.util.concurrent.CountDownLatch;
+import java.util.concurrent.TimeUnit;
+import java.util.function.Consumer;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * StreamAdmissionController [Index: 43] - slot reservation, tier ordering and displacement.
+ * Workers are started only after the queue is filled, so queue order is observable.
+ */
+class StreamAdmissionControllerTest {
+    private StreamAdmissionController controller;
+
+    @AfterEach
+    void tearDown() {
+        if (controller != null) {
+            controller.shutdown();
+        }
+    }
+
+    private static Runnable record(List<String> log, String name, CountDownLatch done) {
+        return () -> {
+            log.add(name);
+            done.countDown();
+        };
+    }
+
+    private static Consumer<Rejection> recordRejection(List<String> log, String name) {
+        return reason -> log.add(name + ":" + reason);
+    }
+
+    @Test
+    void reservesUpToTheConnectionLimit() {
+        controller = new StreamAdmissionController(2, 4, 1);
+
+        assertNull(controller.reserveConnection());
+        assertNull(controller.reserveConnection());
+        assertEquals(Rejection.AT_CAPACITY, controller.reserveConnection());
+        assertEquals(1, controller.getRejectedCount(Rejection.AT_CAPACITY));
+
+        controller.releaseConnection();
+        assertNull(controller.reserveConnection());
+        assertEquals(2, controller.getActiveConnections());
+
+        // Extra releases never take the count below zero
+        controller.releaseConnection();
+        controller.releaseConnection();
+        controller.releaseConnection();
+        assertEquals(0, controller.getActiveConnections());
+    }
+
+    @Test
+    void runsHigherTiersFirstAndFifoWithinATier() throws InterruptedException {
+        controller = new StreamAdmissionController(10, 10, 1);
+        List<String> ran = Collections.synchronizedList(new ArrayList<>());
+        List<String> rejected = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(5);
+
+        controller.submit(TicketTier.GENERAL_ADMISSION, record(ran, "ga-1", done), recordRejection(rejected, "ga-1"));
+        controller.submit(TicketTier.VIP, record(ran, "vip-1", done), recordRejection(rejected, "vip-1"));
+        controller.submit(null, record(ran, "default", done), recordRejection(rejected, "default"));
+        controller.submit(TicketTier.BACKSTAGE, record(ran, "backstage", done), recordRejection(rejected, "backstage"));
+        controller.submit(TicketTier.VIP, record(ran, "vip-2", done), recordRejection(rejected, "vip-2"));
+        controller.start();
+
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("backstage", "vip-1", "vip-2", "ga-1", "default"), ran);
+        assertTrue(rejected.isEmpty());
+    }
+
+    @Test
+    void fullQueueDisplacesTheNewestLowestTierEntry() throws InterruptedException {
+        controller = new StreamAdmissionController(10, 3, 1);
+        List<String> ran = Collections.synchronizedList(new ArrayList<>());
+        List<String> rejected = Collections.synchronizedList(new ArrayList<>());
+        CountDownLatch done = new CountDownLatch(3);
+
+        assertTrue(controller.submit(TicketTier.GENERAL_ADMISSION, record(ran, "ga-1", done), recordRejection(rejected, "ga-1")));
+        assertTrue(controller.submit(TicketTier.GENERAL_ADMISSION, record(ran, "ga-2", done), recordRejection(rejected, "ga-2")));
+        assertTrue(controller.submit(TicketTier.MULTI_STAGE, record(ran, "multi", done), recordRejection(rejected, "multi")));
+
+        // The youngest of the lowest tier goes first
+        assertTrue(controller.submit(TicketTier.VIP, record(ran, "vip", done), recordRejection(rejected, "vip")));
+        assertEquals(List.of("ga-2:DISPLACED"), rejected);
+        assertEquals(3, controller.getPendingCount());
+
+        // Then the remaining general admission entry
+        assertTrue(controller.submit(TicketTier.MULTI_STAGE, record(ran, "multi-2", done), recordRejection(rejected, "multi-2")));
+        assertEquals(List.of("ga-2:DISPLACED", "ga-1:DISPLACED"), rejected);
+        assertEquals(2, controller.getRejectedCount(Rejection.DISPLACED));
+
+        controller.start();
+        assertTrue(done.await(5, TimeUnit.SECONDS));
+        assertEquals(List.of("vip", "multi", "multi-2"), ran);
+    }
+
+    @Test
+    void equalTierCannotDisplace() {
+        controller = new StreamAdmissionController(10, 2, 1);
+        List<String> rejected = Collections.synchronizedList(new ArrayList<>());
+
+        controller.submit(TicketTier.VIP, () -> { }, recordRejection(rejected, "vip-1"));
+        controller.submit(TicketTier.BACKSTAGE, () -> { }, recordRejection(rejected, "backstage"));
+
+        assertFalse(controller.submit(TicketTier.VIP, () -> { }, recordRejection(rejected, "vip-2")));
+        assertFalse(controller.submit(TicketTier.GENERAL_ADMISSION, () -> { }, recordRejection(rejected, "ga")));
+        assertEquals(List.of("vip-2:QUEUE_FULL", "ga:QUEUE_FULL"), rejected);
+        assertEquals(2, controller.getRejectedCount(Rejection.QUEUE_FULL));
+        assertEquals(0, controller.getRejectedCount(Rejection.DISPLACED));
+        assertEquals(2, controller.getPendingCount());
+    }
+
+    @Test
+    void shutdownRejectsQueuedAndLaterSubmissions() {
+        controller = new StreamAdmissionController(10, 4, 1);
+        List<String> rejected = Collections.synchronizedList(new ArrayList<>());
+
+        controller.submit(TicketTier.VIP, () -> { }, recordRejection(rejected, "queued"));
+        controller.shutdown();
+
+        assertEquals(List.of("queued:SHUTDOWN"), rejected);
+        assertFalse(controller.submit(TicketTier.VIP, () -> { }, recordRejection(rejected, "late")));
+        assertEquals(Rejection.SHUTDOWN, controller.reserveConnection());
+        assertEquals(List.of("queued:SHUTDOWN", "late:SHUTDOWN"), rejected);
+    }
+}
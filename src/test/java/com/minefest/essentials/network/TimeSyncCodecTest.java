@@ -0,0 +1,172 @@
+package com.minefest.essentials.network;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.Arrays;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertNull;
+import static org.junit.jupiter.api.Assertions.assertSame;
+import static org.junit.jupiter.api.Assertions.assertThrows;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * TimeSyncCodec [Index: 63] - field round trips, malformed input and server index binding
+ */
+class TimeSyncCodecTest {
+
+    @Test
+    void primitivesRoundTrip() {
+        long[] values = {0L, 1L, -1L, 63L, -64L, 64L, 300L, Integer.MAX_VALUE, Integer.MIN_VALUE,
+            1_700_000_000_123L, Long.MAX_VALUE, Long.MIN_VALUE};
+        for (long value : values) {
+            byte[] message = TimeSyncCodec.writer(TimeSyncCodec.OP_DRIFT_REPORT)
+                .fixed64(value)
+                .zigzag(value)
+                .varint(value)
+                .toByteArray();
+
+            TimeSyncCodec.Reader in = TimeSyncCodec.reader(message);
+            assertEquals(value, in.fixed64(), "fixed64");
+            assertEquals(value, in.zigzag(), "zigzag");
+            assertEquals(value, in.varint(), "varint");
+            assertFalse(in.hasRemaining());
+        }
+    }
+
+    @Test
+    void smallSignedDeltasStayShort() {
+        assertEquals(3, TimeSyncCodec.writer(TimeSyncCodec.OP_DRIFT_REPORT).zigzag(-64).length());
+        assertEquals(4, TimeSyncCodec.writer(TimeSyncCodec.OP_DRIFT_REPORT).zigzag(64).length());
+        assertEquals(12, TimeSyncCodec.writer(TimeSyncCodec.OP_DRIFT_REPORT).zigzag(Long.MIN_VALUE).length());
+    }
+
+    @Test
+    void headerIdentifiesVersionAndOpcode() {
+        byte[] update = TimeSyncCodec.writer(TimeSyncCodec.OP_MASTER_TIME_UPDATE).fixed64(42).toByteArray();
+        assertEquals(10, update.length);
+        assertEquals(TimeSyncCodec.VERSION_TAG, update[0]);
+        assertEquals(TimeSyncCodec.OP_MASTER_TIME_UPDATE, TimeSyncCodec.opcode(update));
+
+        assertEquals(-1, TimeSyncCodec.opcode(null));
+        assertEquals(-1, TimeSyncCodec.opcode(new byte[]{0}));
+        assertEquals(-1, TimeSyncCodec.opcode(new byte[]{0, 18, 'M', 'A'}), "legacy writeUTF framing");
+        assertEquals(-1, TimeSyncCodec.opcode(new byte[]{(byte) 0x82, 1}), "another version");
+        assertEquals(-1, TimeSyncCodec.opcode(new byte[TimeSyncCodec.MAX_MESSAGE_BYTES + 1]));
+        assertNull(TimeSyncCodec.reader(new byte[]{0, 1}));
+    }
+
+    @Test
+    void truncatedFieldsAreRejected() {
+        byte[] update = TimeSyncCodec.writer(TimeSyncCodec.OP_MASTER_TIME_UPDATE).fixed64(42).toByteArray();
+        byte[] truncated = Arrays.copyOf(update, update.length - 1);
+        assertThrows(IllegalStateException.class, () -> TimeSyncCodec.reader(truncated).fixed64());
+
+        // A continuation bit on the last byte
+        byte[] varint = {TimeSyncCodec.VERSION_TAG, TimeSyncCodec.OP_DRIFT_REPORT, (byte) 0x80, (byte) 0x81};
+        assertThrows(IllegalStateException.class, () -> TimeSyncCodec.reader(varint).varint());
+        assertEquals(-1, TimeSyncCodec.peekServerIndex(varint));
+    }
+
+    @Test
+    void overlongVarintIsMalformed() {
+        byte[] message = new byte[2 + 11];
+        message[0] = TimeSyncCodec.VERSION_TAG;
+        message[1] = TimeSyncCodec.OP_DRIFT_REPORT;
+        Arrays.fill(message, 2, message.length, (byte) 0xFF);
+
+        IllegalStateException e = assertThrows(IllegalStateException.class, () -> TimeSyncCodec.reader(message).varint());
+        assertEquals("Malformed varint", e.getMessage());
+    }
+
+    @Test
+    void serverIdLengthOutOfRangeIsRejected() {
+        byte[] message = TimeSyncCodec.writer(TimeSyncCodec.OP_TIME_REQUEST)
+            .varint((3L << 1) | 1)
+            .varint(TimeSyncCodec.MAX_SERVER_ID_BYTES + 1)
+            .toByteArray();
+        TimeSyncCodec.ServerTable table = new TimeSyncCodec.ServerTable();
+
+        assertThrows(IllegalStateException.class, () -> TimeSyncCodec.reader(message).serverRef(table));
+        assertNull(TimeSyncCodec.peekServerId(message));
+        assertNull(table.nameOf(3));
+    }
+
+    @Test
+    void writerRefusesOverlongServerIds() {
+        String ascii = "s".repeat(TimeSyncCodec.MAX_SERVER_ID_BYTES + 1);
+        assertThrows(IllegalArgumentException.class,
+            () -> TimeSyncCodec.writer(TimeSyncCodec.OP_TIME_REQUEST).serverRef(0, ascii));
+        String utf8 = "é".repeat(TimeSyncCodec.MAX_SERVER_ID_BYTES / 2 + 1);
+        assertThrows(IllegalArgumentException.class,
+            () -> TimeSyncCodec.writer(TimeSyncCodec.OP_TIME_REQUEST).serverRef(0, utf8));
+    }
+
+    @Test
+    void bindingThenIndexAlone() {
+        TimeSyncCodec.ServerTable authority = new TimeSyncCodec.ServerTable();
+        TimeSyncCodec.ServerTable follower = new TimeSyncCodec.ServerTable();
+        int index = authority.intern("festival-main-01");
+        assertEquals(1, index);
+        assertEquals(index, authority.intern("festival-main-01"));
+
+        // The first response spells the id out and binds it on the follower
+        byte[] binding = TimeSyncCodec.writer(TimeSyncCodec.OP_TIME_RESPONSE)
+            .serverRef(index, "festival-main-01")
+            .fixed64(7)
+            .toByteArray();
+        assertEquals(index, TimeSyncCodec.peekServerIndex(binding));
+        assertEquals("festival-main-01", TimeSyncCodec.peekServerId(binding));
+
+        TimeSyncCodec.Reader in = TimeSyncCodec.reader(binding);
+        String bound = in.serverRef(follower);
+        assertEquals("festival-main-01", bound);
+        assertTrue(in.lastRefBinding());
+        assertEquals(7, in.fixed64());
+        assertEquals(index, follower.indexOf("festival-main-01"));
+
+        // Afterwards the index alone resolves to the same instance
+        byte[] indexed = TimeSyncCodec.writer(TimeSyncCodec.OP_TIME_RESPONSE).serverRef(index, null).fixed64(8).toByteArray();
+        assertNull(TimeSyncCodec.peekServerId(indexed));
+        in = TimeSyncCodec.reader(indexed);
+        assertSame(bound, in.serverRef(follower));
+        assertFalse(in.lastRefBinding());
+        assertEquals(8, in.fixed64());
+        assertTrue(indexed.length < binding.length);
+    }
+
+    @Test
+    void unknownIndexAndUnassignedIdentity() {
+        TimeSyncCodec.ServerTable table = new TimeSyncCodec.ServerTable();
+        byte[] unknown = TimeSyncCodec.writer(TimeSyncCodec.OP_TIME_REQUEST).serverRef(9, null).fixed64(1).toByteArray();
+        assertNull(TimeSyncCodec.reader(unknown).serverRef(table));
+
+        // Index 0 carries the id without binding anything
+        byte[] literal = TimeSyncCodec.writer(TimeSyncCodec.OP_TIME_REQUEST).serverRef(0, "lobby-é").fixed64(1).toByteArray();
+        assertEquals(0, TimeSyncCodec.peekServerIndex(literal));
+        TimeSyncCodec.Reader in = TimeSyncCodec.reader(literal);
+        assertEquals("lobby-é", in.serverRef(table));
+        assertTrue(in.lastRefBinding());
+        assertEquals(0, table.indexOf("lobby-é"));
+        assertEquals(-1, TimeSyncCodec.peekServerIndex(
+            TimeSyncCodec.writer(TimeSyncCodec.OP_MASTER_TIME_UPDATE).fixed64(1).toByteArray()));
+    }
+
+    @Test
+    void rebindingMovesTheIndexToTheNewId() {
+        TimeSyncCodec.ServerTable table = new TimeSyncCodec.ServerTable();
+        table.bind(4, "old-name");
+        table.bind(4, "new-name");
+
+        assertEquals("new-name", table.nameOf(4));
+        assertEquals(0, table.indexOf("old-name"));
+        assertEquals(4, table.indexOf("new-name"));
+        // Interning continues above the bound indexes
+        assertEquals(5, table.intern("another"));
+
+        table.clear();
+        assertNull(table.nameOf(4));
+        assertEquals(1, table.intern("another"));
+    }
+}
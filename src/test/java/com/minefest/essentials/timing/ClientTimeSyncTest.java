@@ -0,0 +1,128 @@
+package com.minefest.essentials.timing;
+
+import org.junit.jupiter.api.Test;
+
+import java.util.UUID;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ClientTimeSync [Index: 12] - innovation gating, re-initialisation after repeated outliers
+ * and exchange validation. Samples land within the same few milliseconds, so drift plays no part.
+ */
+class ClientTimeSyncTest {
+    private static final long OFFSET = 250;
+    private static final long RTT = 20;
+
+    private static ClientTimeSync converged() {
+        ClientTimeSync sync = new ClientTimeSync(UUID.randomUUID());
+        for (int i = 0; i < 8; i++) {
+            sync.updateSync(OFFSET + (i % 2), RTT);
+        }
+        assertTrue(sync.hasEstimate());
+        return sync;
+    }
+
+    private static long offsetNow(ClientTimeSync sync) {
+        return sync.offsetAt(System.currentTimeMillis());
+    }
+
+    @Test
+    void needsFourSamplesForAnEstimate() {
+        ClientTimeSync sync = new ClientTimeSync(UUID.randomUUID());
+        for (int i = 0; i < 3; i++) {
+            sync.updateSync(OFFSET, RTT);
+            assertFalse(sync.hasEstimate());
+        }
+        sync.updateSync(OFFSET, RTT);
+        assertTrue(sync.hasEstimate());
+    }
+
+    @Test
+    void earlySamplesAreNotGated() {
+        ClientTimeSync sync = new ClientTimeSync(UUID.randomUUID());
+        sync.updateSync(OFFSET, RTT);
+        sync.updateSync(OFFSET + 5_000, RTT);
+        assertEquals(0, sync.getOutliers());
+    }
+
+    @Test
+    void gatesASingleOutlier() {
+        ClientTimeSync sync = converged();
+        long before = offsetNow(sync);
+
+        sync.updateSync(OFFSET + 5_000, RTT);
+        assertEquals(1, sync.getOutliers());
+        assertEquals(before, offsetNow(sync), 1.0);
+        assertTrue(sync.hasEstimate());
+
+        // Consistent samples are still accepted and clear the run
+        sync.updateSync(OFFSET, RTT);
+        sync.updateSync(OFFSET + 5_000, RTT);
+        sync.updateSync(OFFSET + 5_000, RTT);
+        sync.updateSync(OFFSET, RTT);
+        assertEquals(3, sync.getOutliers());
+        assertEquals(OFFSET, offsetNow(sync), 1.0);
+        assertTrue(sync.hasEstimate());
+    }
+
+    @Test
+    void resetsAfterThreeConsecutiveOutliers() {
+        ClientTimeSync sync = converged();
+        long stepped = OFFSET + 5_000;
+
+        sync.updateSync(stepped, RTT);
+        sync.updateSync(stepped, RTT);
+        assertEquals(OFFSET, offsetNow(sync), 1.0);
+        assertTrue(sync.hasEstimate());
+
+        // The third in a row means the client clock was stepped: start over from it
+        sync.updateSync(stepped, RTT);
+        assertEquals(3, sync.getOutliers());
+        assertEquals(stepped, offsetNow(sync));
+        assertFalse(sync.hasEstimate());
+
+        // Which re-converges on the new offset without further outliers
+        for (int i = 0; i < 3; i++) {
+            sync.updateSync(stepped, RTT);
+        }
+        assertTrue(sync.hasEstimate());
+        assertEquals(3, sync.getOutliers());
+        assertEquals(stepped, offsetNow(sync), 1.0);
+    }
+
+    @Test
+    void outliersKeepTheClientOnTheBaseInterval() {
+        ClientTimeSync sync = converged();
+        sync.updateSync(OFFSET + 5_000, RTT);
+
+        assertTrue(sync.takeSyncSlot(1_000));
+        assertEquals(1, sync.getSyncMultiple());
+        assertTrue(sync.takeSyncSlot(1_000));
+    }
+
+    @Test
+    void addExchangeComputesOffsetAndRoundTrip() {
+        ClientTimeSync sync = new ClientTimeSync(UUID.randomUUID());
+        // Client is 250ms behind the master; 10ms each way, 2ms on the client
+        long serverTransmit = 1_000_000;
+        long clientReceive = serverTransmit + 10 - OFFSET;
+        long clientTransmit = clientReceive + 2;
+        long serverReceive = clientTransmit + OFFSET + 10;
+
+        sync.addExchange(serverTransmit, clientReceive, clientTransmit, serverReceive);
+        assertEquals(OFFSET, sync.getOffset());
+        assertEquals(RTT, sync.getLatency());
+    }
+
+    @Test
+    void addExchangeIgnoresImpossibleTimestamps() {
+        ClientTimeSync sync = new ClientTimeSync(UUID.randomUUID());
+        sync.addExchange(1_000, 900, 950, 990);  // negative round trip
+        sync.addExchange(1_000, 900, 890, 1_100); // echo left before the update arrived
+        assertEquals(0, sync.getOffset());
+        assertEquals(0, sync.getLatency());
+    }
+}
@@ -0,0 +1,151 @@
+package com.minefest.essentials.timing;
+
+import org.junit.jupiter.api.Test;
+
+import static org.junit.jupiter.api.Assertions.assertEquals;
+import static org.junit.jupiter.api.Assertions.assertFalse;
+import static org.junit.jupiter.api.Assertions.assertTrue;
+
+/**
+ * ClockSampleFilter [Index: 61] - minimum-delay selection, congestion hold, drift fit and clamp.
+ * Exchanges are synthesised from a true offset and the delay of each leg, in microseconds.
+ */
+class ClockSampleFilterTest {
+    private static final long SECOND = 1_000_000L;
+
+    /**
+     * One exchange sent at {@code t1}; the measured offset is off by half the leg asymmetry
+     */
+    private static boolean exchange(ClockSampleFilter filter, long t1, long trueOffset, long upMicros, long downMicros) {
+        long t2 = t1 + upMicros + trueOffset;
+        long t3 = t2 + 50;
+        long t4 = t3 - trueOffset + downMicros;
+        return filter.addSample(t1, t2, t3, t4);
+    }
+
+    @Test
+    void computesOffsetAndDelayOfAnExchange() {
+        ClockSampleFilter filter = new ClockSampleFilter();
+        assertFalse(filter.hasEstimate());
+        assertEquals(0, filter.offsetMicrosAt(123));
+
+        assertTrue(exchange(filter, 10 * SECOND, 250_000, 3_000, 3_000));
+        assertTrue(filter.hasEstimate());
+        assertEquals(250_000, filter.getOffsetMicros());
+        assertEquals(6_000, filter.getDelayMicros());
+    }
+
+    @Test
+    void selectsTheMinimumDelaySample() {
+        ClockSampleFilter filter = new ClockSampleFilter();
+        exchange(filter, SECOND, 1_000, 5_000, 5_000);
+
+        // Queueing on the way out skews the offset; the earlier quiet sample is kept
+        exchange(filter, 2 * SECOND, 1_000, 35_000, 5_000);
+        assertEquals(1_000, filter.getOffsetMicros());
+        assertEquals(10_000, filter.getDelayMicros());
+
+        // A quieter exchange replaces it
+        exchange(filter, 3 * SECOND, 1_200, 4_000, 4_000);
+        assertEquals(1_200, filter.getOffsetMicros());
+        assertEquals(8_000, filter.getDelayMicros());
+    }
+
+    @Test
+    void rejectsImpossibleAndSlowExchanges() {
+        ClockSampleFilter filter = new ClockSampleFilter();
+
+        assertFalse(filter.addSample(100, 200, 300, 150), "negative delay");
+        assertFalse(filter.addSample(100, 300, 200, 500), "response sent before the request arrived");
+        assertFalse(exchange(filter, SECOND, 0, ClockSampleFilter.MAX_DELAY_MICROS, 1), "too slow");
+        assertEquals(3, filter.getSamplesRejected());
+        assertEquals(0, filter.getSamplesAccepted());
+        assertFalse(filter.hasEstimate());
+    }
+
+    @Test
+    void holdsTheEstimateThroughCongestionThenFollowsTheNewPath() {
+        ClockSampleFilter filter = new ClockSampleFilter();
+        long t = SECOND;
+        for (int i = 0; i < ClockSampleFilter.FILTER_WINDOW; i++, t += SECOND) {
+            exchange(filter, t, 0, 1_000, 1_000);
+        }
+        assertEquals(0, filter.getOffsetMicros());
+
+        // Every sample now queues 18ms on one leg: offsets read 9ms high
+        int congested = 0;
+        for (; congested < 20; congested++, t += SECOND) {
+            exchange(filter, t, 0, 19_000, 1_000);
+        }
+        assertEquals(0, filter.getOffsetMicros(), "held while congested");
+        assertEquals(2_000, filter.getDelayMicros());
+
+        // A congestion that outlasts the hold limit is the path itself
+        for (; congested < 40; congested++, t += SECOND) {
+            exchange(filter, t, 0, 19_000, 1_000);
+        }
+        assertEquals(9_000, filter.getOffsetMicros());
+        assertEquals(20_000, filter.getDelayMicros());
+    }
+
+    @Test
+    void fitsDriftAndProjectsTheOffset() {
+        ClockSampleFilter filter = new ClockSampleFilter();
+        double ppm = 50.0;
+        long t = 0;
+        for (int i = 0; i < 200; i++, t += 10 * SECOND) {
+            exchange(filter, t, Math.round(t * ppm / 1_000_000.0), 2_000, 2_000);
+        }
+
+        assertEquals(ppm, filter.getDriftPpm(), 1.0);
+        long later = t + 600 * SECOND;
+        long expected = Math.round(later * ppm / 1_000_000.0);
+        assertEquals(expected, filter.offsetMicrosAt(later), 1_000.0);
+    }
+
+    @Test
+    void clampsDriftToTheFrequencyTolerance() {
+        ClockSampleFilter filter = new ClockSampleFilter();
+        long t = 0;
+        for (int i = 0; i < 200; i++, t += 10 * SECOND) {
+            exchange(filter, t, t / 500, 2_000, 2_000); // 2000 ppm
+        }
+        assertEquals(ClockSampleFilter.MAX_DRIFT_PPM, filter.getDriftPpm(), 0.0);
+
+        ClockSampleFilter falling = new ClockSampleFilter();
+        t = 0;
+        for (int i = 0; i < 200; i++, t += 10 * SECOND) {
+            exchange(falling, t, -t / 500, 2_000, 2_000);
+        }
+        assertEquals(-ClockSampleFilter.MAX_DRIFT_PPM, falling.getDriftPpm(), 0.0);
+    }
+
+    @Test
+    void noDriftIsFittedOverShortSpans() {
+        ClockSampleFilter filter = new ClockSampleFilter();
+        long t = 0;
+        for (int i = 0; i < 100; i++, t += SECOND / 10) {
+            exchange(filter, t, t / 500, 2_000, 2_000);
+        }
+        assertEquals(0.0, filter.getDriftPpm(), 0.0);
+    }
+
+    @Test
+    void resetForgetsEverything() {
+        ClockSampleFilter filter = new ClockSampleFilter();
+        long t = 0;
+        for (int i = 0; i < 50; i++, t += 10 * SECOND) {
+            exchange(filter, t, 5_000 + t / 10_000, 2_000, 2_000);
+        }
+        assertTrue(filter.hasEstimate());
+
+        filter.reset();
+        assertFalse(filter.hasEstimate());
+        assertEquals(0.0, filter.getDriftPpm(), 0.0);
+        assertEquals(0, filter.offsetMicrosAt(t));
+
+        // The next authority's samples start over, even at earlier local times
+        exchange(filter, SECOND, -7_000, 2_000, 2_000);
+        assertEquals(-7_000, filter.getOffsetMicros());
+    }
+}